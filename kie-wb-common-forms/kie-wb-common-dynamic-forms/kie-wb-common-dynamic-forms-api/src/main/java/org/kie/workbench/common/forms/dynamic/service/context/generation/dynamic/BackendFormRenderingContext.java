@@ -27,7 +27,7 @@ import org.kie.workbench.common.forms.dynamic.service.shared.impl.MapModelRender
 public interface BackendFormRenderingContext extends Serializable {
 
     /**
-     * Retrieves the timestamp when the context was created.
+     * Retrieves the unique identifier of the context, generated when the context was created.
      */
     Long getTimestamp();
 
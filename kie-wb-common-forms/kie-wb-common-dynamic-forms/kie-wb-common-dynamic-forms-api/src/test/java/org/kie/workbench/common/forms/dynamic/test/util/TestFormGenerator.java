@@ -95,12 +95,12 @@ public class TestFormGenerator {
         address.setNestedForm("Address");
         address.setStandaloneClassName(Address.class.getName());
 
-        form.getFields().add(name);
-        form.getFields().add(lastName);
-        form.getFields().add(birthday);
-        form.getFields().add(age);
-        form.getFields().add(married);
-        form.getFields().add(address);
+        form.addField(name);
+        form.addField(lastName);
+        form.addField(birthday);
+        form.addField(age);
+        form.addField(married);
+        form.addField(address);
 
         return form;
     }
@@ -126,8 +126,8 @@ public class TestFormGenerator {
         num.setBinding("num");
         num.setStandaloneClassName(Integer.class.getName());
 
-        form.getFields().add(name);
-        form.getFields().add(num);
+        form.addField(name);
+        form.addField(num);
 
         return form;
     }
@@ -17,8 +17,8 @@
 package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.SessionScoped;
 import javax.inject.Inject;
 
@@ -36,7 +36,7 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
 
     private static final Logger logger = LoggerFactory.getLogger(BackendFormRenderingContextManagerImpl.class);
 
-    protected Map<Long, BackendFormRenderingContextImpl> contexts = new HashMap<>();
+    protected BackendFormRenderingContextStore contexts = new BackendFormRenderingContextStore();
 
     protected FormValuesProcessor valuesProcessor;
 
@@ -62,7 +62,7 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
         Arrays.stream(nestedForms).forEach(form -> clientRenderingContext.getAvailableForms().put(form.getId(),
                                                                                                   form));
 
-        BackendFormRenderingContextImpl context = new BackendFormRenderingContextImpl(System.currentTimeMillis(),
+        BackendFormRenderingContextImpl context = new BackendFormRenderingContextImpl(BackendFormRenderingContextStore.nextId(),
                                                                                       clientRenderingContext,
                                                                                       formData,
                                                                                       classLoader);
@@ -76,8 +76,7 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
 
         clientRenderingContext.setModel(clienFormData);
 
-        contexts.put(context.getTimestamp(),
-                     context);
+        contexts.put(context);
 
         return context;
     }
@@ -99,6 +98,8 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
 
         context.setFormData(contextData);
 
+        contexts.refresh(timestamp);
+
         return context;
     }
 
@@ -109,6 +110,25 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
 
     @Override
     public boolean removeContext(Long timestamp) {
-        return contexts.remove(timestamp) != null;
+        return contexts.remove(timestamp);
+    }
+
+    /**
+     * Number of live contexts on the current session.
+     */
+    public int getContextCount() {
+        return contexts.size();
+    }
+
+    /**
+     * Estimated amount of bytes retained by the live contexts on the current session.
+     */
+    public long getRetainedBytes() {
+        return contexts.getRetainedBytes();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        contexts.clear();
     }
 }
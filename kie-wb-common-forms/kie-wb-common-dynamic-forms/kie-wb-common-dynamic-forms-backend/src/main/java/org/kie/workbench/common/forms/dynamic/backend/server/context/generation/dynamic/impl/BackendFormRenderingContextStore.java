@@ -0,0 +1,314 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded store for the {@link BackendFormRenderingContextImpl} registered on a session. Contexts are evicted when
+ * they stay idle longer than the configured timeout or when the store exceeds its max number of entries (least
+ * recently used first). The store also keeps an estimation of the memory retained by the form data of its contexts.
+ */
+public class BackendFormRenderingContextStore implements Serializable {
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.forms.renderingContext.maxEntries";
+
+    public static final String IDLE_TIMEOUT_PROPERTY = "org.kie.workbench.forms.renderingContext.idleTimeout";
+
+    public static final int DEFAULT_MAX_ENTRIES = 50;
+
+    public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(30);
+
+    private static final Logger logger = LoggerFactory.getLogger(BackendFormRenderingContextStore.class);
+
+    // Estimated sizes (in bytes) used to account the memory retained by the form data
+    static final int OBJECT_SIZE = 16;
+    static final int REFERENCE_SIZE = 8;
+    static final int MAP_ENTRY_SIZE = 32;
+
+    private static final AtomicLong ID_SEQUENCE = new AtomicLong(System.currentTimeMillis());
+
+    private static final AtomicInteger TOTAL_LIVE_CONTEXTS = new AtomicInteger();
+
+    private static final AtomicLong TOTAL_RETAINED_BYTES = new AtomicLong();
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16,
+                                                                           0.75f,
+                                                                           true);
+
+    private final int maxEntries;
+
+    private final long idleTimeout;
+
+    private transient LongSupplier clock;
+
+    private long retainedBytes = 0;
+
+    public BackendFormRenderingContextStore() {
+        this(Integer.getInteger(MAX_ENTRIES_PROPERTY,
+                                DEFAULT_MAX_ENTRIES),
+             Long.getLong(IDLE_TIMEOUT_PROPERTY,
+                          DEFAULT_IDLE_TIMEOUT),
+             System::currentTimeMillis);
+    }
+
+    public BackendFormRenderingContextStore(int maxEntries,
+                                            long idleTimeout,
+                                            LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        if (idleTimeout < 1) {
+            throw new IllegalArgumentException("Idle timeout must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Generates a new context id. Ids are unique for the whole application, even for contexts created at the same
+     * millisecond.
+     */
+    public static Long nextId() {
+        return ID_SEQUENCE.incrementAndGet();
+    }
+
+    public synchronized void put(BackendFormRenderingContextImpl context) {
+        long now = now();
+
+        purgeExpired(now);
+
+        Entry entry = new Entry(context,
+                                estimateSize(context.getFormData()),
+                                now);
+
+        release(entries.put(context.getTimestamp(),
+                            entry));
+
+        retain(entry.size);
+
+        TOTAL_LIVE_CONTEXTS.incrementAndGet();
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            Entry eldest = it.next();
+            it.remove();
+            logger.debug("Evicting rendering context '{}': max number of contexts ({}) reached",
+                         eldest.context.getTimestamp(),
+                         maxEntries);
+            release(eldest);
+        }
+    }
+
+    public synchronized BackendFormRenderingContextImpl get(Long id) {
+        long now = now();
+
+        purgeExpired(now);
+
+        Entry entry = entries.get(id);
+
+        if (entry == null) {
+            return null;
+        }
+
+        entry.lastAccess = now;
+
+        return entry.context;
+    }
+
+    /**
+     * Recalculates the memory accounted for the given context, it should be called after modifying the context
+     * form data.
+     */
+    public synchronized void refresh(Long id) {
+        Entry entry = entries.get(id);
+
+        if (entry != null) {
+            long size = estimateSize(entry.context.getFormData());
+            retain(size - entry.size);
+            entry.size = size;
+            entry.lastAccess = now();
+        }
+    }
+
+    public synchronized boolean remove(Long id) {
+        Entry entry = entries.remove(id);
+        release(entry);
+        return entry != null;
+    }
+
+    public synchronized void clear() {
+        entries.values().forEach(this::release);
+        entries.clear();
+    }
+
+    /**
+     * Number of live contexts on this store.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Estimated amount of bytes retained by the contexts on this store.
+     */
+    public synchronized long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    /**
+     * Number of live contexts on all the stores.
+     */
+    public static int getTotalLiveContexts() {
+        return TOTAL_LIVE_CONTEXTS.get();
+    }
+
+    /**
+     * Estimated amount of bytes retained by the contexts on all the stores.
+     */
+    public static long getTotalRetainedBytes() {
+        return TOTAL_RETAINED_BYTES.get();
+    }
+
+    private long now() {
+        if (clock == null) {
+            clock = System::currentTimeMillis;
+        }
+        return clock.getAsLong();
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (now - entry.lastAccess > idleTimeout) {
+                it.remove();
+                logger.debug("Evicting rendering context '{}': idle timeout expired",
+                             entry.context.getTimestamp());
+                release(entry);
+            }
+        }
+    }
+
+    private void retain(long size) {
+        retainedBytes += size;
+        TOTAL_RETAINED_BYTES.addAndGet(size);
+    }
+
+    private void release(Entry entry) {
+        if (entry != null) {
+            retain(-entry.size);
+            TOTAL_LIVE_CONTEXTS.decrementAndGet();
+        }
+    }
+
+    /**
+     * Roughly estimates the memory retained by the given form data. Only the structure of the form data (maps,
+     * collections, arrays and simple values) is walked, any other object is accounted as a plain object.
+     */
+    static long estimateSize(Object value) {
+        return estimateSize(value,
+                            Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static long estimateSize(Object value,
+                                     Set<Object> visited) {
+        if (value == null) {
+            return 0;
+        }
+
+        if (!visited.add(value)) {
+            return REFERENCE_SIZE;
+        }
+
+        if (value instanceof String) {
+            return OBJECT_SIZE + ((String) value).length() * 2;
+        }
+
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Date) {
+            return OBJECT_SIZE + REFERENCE_SIZE;
+        }
+
+        if (value instanceof Map) {
+            long size = OBJECT_SIZE;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += MAP_ENTRY_SIZE + estimateSize(entry.getKey(),
+                                                      visited) + estimateSize(entry.getValue(),
+                                                                              visited);
+            }
+            return size;
+        }
+
+        if (value instanceof Collection) {
+            long size = OBJECT_SIZE;
+            for (Object item : (Collection<?>) value) {
+                size += REFERENCE_SIZE + estimateSize(item,
+                                                      visited);
+            }
+            return size;
+        }
+
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            long size = OBJECT_SIZE + length * REFERENCE_SIZE;
+            if (!value.getClass().getComponentType().isPrimitive()) {
+                for (int i = 0; i < length; i++) {
+                    size += estimateSize(Array.get(value,
+                                                   i),
+                                         visited);
+                }
+            }
+            return size;
+        }
+
+        return OBJECT_SIZE;
+    }
+
+    private static class Entry implements Serializable {
+
+        private final BackendFormRenderingContextImpl context;
+
+        private long size;
+
+        private long lastAccess;
+
+        Entry(BackendFormRenderingContextImpl context,
+              long size,
+              long lastAccess) {
+            this.context = context;
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
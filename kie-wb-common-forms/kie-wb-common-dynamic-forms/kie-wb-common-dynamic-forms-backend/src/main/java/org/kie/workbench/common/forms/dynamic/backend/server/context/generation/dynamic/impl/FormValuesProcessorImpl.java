@@ -29,6 +29,13 @@ import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic
 import org.kie.workbench.common.forms.model.FieldDefinition;
 import org.kie.workbench.common.forms.model.FormDefinition;
 
+/**
+ * Flattens and unflattens form values. Every value is resolved with constant time lookups: the field through the
+ * {@link FormDefinition} binding index and the processor by field type, while nested models are read through the
+ * getters cached by {@link org.kie.workbench.common.forms.adf.engine.backend.formGeneration.util.BeanPropertyReader}.
+ * No per form value plan is compiled on top of that: it would only save those lookups and would need to be
+ * invalidated whenever the form fields change.
+ */
 @Dependent
 public class FormValuesProcessorImpl implements FormValuesProcessor {
 
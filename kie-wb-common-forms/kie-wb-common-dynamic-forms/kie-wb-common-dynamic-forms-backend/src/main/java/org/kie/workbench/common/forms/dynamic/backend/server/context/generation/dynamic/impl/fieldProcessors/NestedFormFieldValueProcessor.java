@@ -20,6 +20,7 @@ import java.util.Map;
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.beanutils.ConstructorUtils;
 import org.apache.commons.beanutils.PropertyUtils;
+import org.kie.workbench.common.forms.adf.engine.backend.formGeneration.util.BeanPropertyReader;
 import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContext;
 import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.FieldValueProcessor;
 import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.FormValuesProcessor;
@@ -125,11 +126,8 @@ public abstract class NestedFormFieldValueProcessor<F extends FieldDefinition, R
     protected Object readValue(String property,
                                Object model) {
         try {
-            if (PropertyUtils.getPropertyDescriptor(model,
-                                                    property) != null) {
-                return PropertyUtils.getProperty(model,
-                                                 property);
-            }
+            return BeanPropertyReader.readProperty(model,
+                                                   property);
         } catch (Exception e) {
             getLogger().warn("Error getting property '{}' from object '{}'",
                              property,
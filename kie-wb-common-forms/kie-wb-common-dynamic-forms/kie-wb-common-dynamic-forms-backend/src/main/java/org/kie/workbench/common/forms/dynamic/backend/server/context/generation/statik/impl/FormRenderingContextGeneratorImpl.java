@@ -151,7 +151,7 @@ public class FormRenderingContextGeneratorImpl implements FormRenderingContextGe
                 }
             }
 
-            form.getFields().add(field);
+            form.addField(field);
         }
 
         layoutGenerator.generateLayoutTemplate(form);
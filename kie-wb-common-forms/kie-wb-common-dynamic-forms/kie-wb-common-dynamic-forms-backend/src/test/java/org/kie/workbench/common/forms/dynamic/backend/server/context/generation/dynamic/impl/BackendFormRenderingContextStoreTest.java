@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.forms.dynamic.service.shared.impl.MapModelRenderingContext;
+
+import static org.junit.Assert.*;
+
+public class BackendFormRenderingContextStoreTest {
+
+    private static final int MAX_ENTRIES = 3;
+
+    private static final long IDLE_TIMEOUT = 1000;
+
+    private long currentTime;
+
+    private BackendFormRenderingContextStore store;
+
+    @Before
+    public void init() {
+        currentTime = 0;
+        store = new BackendFormRenderingContextStore(MAX_ENTRIES,
+                                                     IDLE_TIMEOUT,
+                                                     () -> currentTime);
+    }
+
+    @After
+    public void clear() {
+        store.clear();
+        assertEquals(0,
+                     store.size());
+        assertEquals(0,
+                     store.getRetainedBytes());
+    }
+
+    @Test
+    public void testUniqueIds() {
+        Long first = BackendFormRenderingContextStore.nextId();
+        Long second = BackendFormRenderingContextStore.nextId();
+
+        assertNotEquals(first,
+                        second);
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        BackendFormRenderingContextImpl context = newContext();
+
+        store.put(context);
+
+        assertEquals(1,
+                     store.size());
+        assertSame(context,
+                   store.get(context.getTimestamp()));
+        assertTrue(store.getRetainedBytes() > 0);
+
+        assertTrue(store.remove(context.getTimestamp()));
+        assertFalse(store.remove(context.getTimestamp()));
+        assertNull(store.get(context.getTimestamp()));
+        assertEquals(0,
+                     store.getRetainedBytes());
+    }
+
+    @Test
+    public void testIdleTimeoutEviction() {
+        BackendFormRenderingContextImpl expiring = newContext();
+        BackendFormRenderingContextImpl alive = newContext();
+
+        store.put(expiring);
+        store.put(alive);
+
+        currentTime = IDLE_TIMEOUT / 2;
+
+        assertNotNull(store.get(alive.getTimestamp()));
+
+        currentTime = IDLE_TIMEOUT + 1;
+
+        assertNull(store.get(expiring.getTimestamp()));
+        assertNotNull(store.get(alive.getTimestamp()));
+        assertEquals(1,
+                     store.size());
+    }
+
+    @Test
+    public void testMaxEntriesEviction() {
+        List<BackendFormRenderingContextImpl> contexts = new ArrayList<>();
+
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            BackendFormRenderingContextImpl context = newContext();
+            contexts.add(context);
+            store.put(context);
+        }
+
+        // accessing the first context makes the second one the least recently used
+        assertNotNull(store.get(contexts.get(0).getTimestamp()));
+
+        BackendFormRenderingContextImpl newContext = newContext();
+        store.put(newContext);
+
+        assertEquals(MAX_ENTRIES,
+                     store.size());
+        assertNotNull(store.get(contexts.get(0).getTimestamp()));
+        assertNull(store.get(contexts.get(1).getTimestamp()));
+        assertNotNull(store.get(contexts.get(2).getTimestamp()));
+        assertNotNull(store.get(newContext.getTimestamp()));
+    }
+
+    @Test
+    public void testMemoryAccounting() {
+        BackendFormRenderingContextImpl context = newContext();
+
+        store.put(context);
+
+        long initialSize = store.getRetainedBytes();
+
+        assertEquals(BackendFormRenderingContextStore.estimateSize(context.getFormData()),
+                     initialSize);
+
+        Map<String, Object> newData = new HashMap<>(context.getFormData());
+        newData.put("description",
+                    "a long description that makes the form data grow");
+        context.setFormData(newData);
+
+        store.refresh(context.getTimestamp());
+
+        assertTrue(store.getRetainedBytes() > initialSize);
+        assertEquals(BackendFormRenderingContextStore.estimateSize(newData),
+                     store.getRetainedBytes());
+    }
+
+    @Test
+    public void testEstimateSizeWithCycles() {
+        Map<String, Object> data = new HashMap<>();
+        List<Object> values = new ArrayList<>();
+        values.add(data);
+        data.put("values",
+                 values);
+
+        assertTrue(BackendFormRenderingContextStore.estimateSize(data) > 0);
+    }
+
+    private BackendFormRenderingContextImpl newContext() {
+        Map<String, Object> formData = new HashMap<>();
+        formData.put("name",
+                     "John");
+        formData.put("age",
+                     30);
+        return new BackendFormRenderingContextImpl(BackendFormRenderingContextStore.nextId(),
+                                                   new MapModelRenderingContext(),
+                                                   formData,
+                                                   getClass().getClassLoader());
+    }
+}
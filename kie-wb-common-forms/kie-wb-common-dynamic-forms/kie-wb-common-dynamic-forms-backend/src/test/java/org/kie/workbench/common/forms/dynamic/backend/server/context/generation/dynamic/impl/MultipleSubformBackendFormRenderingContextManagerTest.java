@@ -279,22 +279,22 @@ public class MultipleSubformBackendFormRenderingContextManagerTest extends Abstr
         FieldDefinition field = fieldManager.getDefinitionByDataType(new FieldDataType(Long.class.getName()));
         field.setName("id");
         field.setBinding("id");
-        creationForm.getFields().add(field);
+        creationForm.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(String.class.getName()));
         field.setName("name");
         field.setBinding("name");
-        creationForm.getFields().add(field);
+        creationForm.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(String.class.getName()));
         field.setName("lastName");
         field.setBinding("lastName");
-        creationForm.getFields().add(field);
+        creationForm.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(Date.class.getName()));
         field.setName("birthday");
         field.setBinding("birthday");
-        creationForm.getFields().add(field);
+        creationForm.addField(field);
 
         FormDefinition editionForm = new FormDefinition(model);
         editionForm.setId("person-edition");
@@ -302,22 +302,22 @@ public class MultipleSubformBackendFormRenderingContextManagerTest extends Abstr
         field = fieldManager.getDefinitionByDataType(new FieldDataType(Long.class.getName()));
         field.setName("id");
         field.setBinding("id");
-        editionForm.getFields().add(field);
+        editionForm.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(String.class.getName()));
         field.setName("name");
         field.setBinding("name");
-        editionForm.getFields().add(field);
+        editionForm.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(String.class.getName()));
         field.setName("lastName");
         field.setBinding("lastName");
-        editionForm.getFields().add(field);
+        editionForm.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(Date.class.getName()));
         field.setName("birthday");
         field.setBinding("birthday");
-        editionForm.getFields().add(field);
+        editionForm.addField(field);
 
         return new FormDefinition[]{creationForm, editionForm};
     }
@@ -338,7 +338,7 @@ public class MultipleSubformBackendFormRenderingContextManagerTest extends Abstr
         multpleSubForm.setCreationForm("person-creation");
         multpleSubForm.setEditionForm("person-edition");
 
-        form.getFields().add(field);
+        form.addField(field);
 
         form.setModel(() -> "default");
 
@@ -262,17 +262,17 @@ public class NestedFormBackendFormRenderingContextManagerTest extends AbstractBa
         FieldDefinition field = fieldManager.getDefinitionByDataType(new FieldDataType(String.class.getName()));
         field.setName("name");
         field.setBinding("name");
-        form.getFields().add(field);
+        form.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(String.class.getName()));
         field.setName("lastName");
         field.setBinding("lastName");
-        form.getFields().add(field);
+        form.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(Date.class.getName()));
         field.setName("birthday");
         field.setBinding("birthday");
-        form.getFields().add(field);
+        form.addField(field);
 
         return new FormDefinition[]{form};
     }
@@ -288,7 +288,7 @@ public class NestedFormBackendFormRenderingContextManagerTest extends AbstractBa
         SubFormFieldDefinition subForm = (SubFormFieldDefinition) field;
         subForm.setNestedForm(Person.class.getName());
 
-        form.getFields().add(field);
+        form.addField(field);
 
         return form;
     }
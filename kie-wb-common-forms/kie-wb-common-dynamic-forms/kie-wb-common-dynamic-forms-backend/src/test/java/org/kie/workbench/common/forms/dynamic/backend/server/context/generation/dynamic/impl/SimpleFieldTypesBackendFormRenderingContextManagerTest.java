@@ -111,28 +111,28 @@ public class SimpleFieldTypesBackendFormRenderingContextManagerTest extends Abst
         field.setName("string");
         field.setBinding("string");
 
-        form.getFields().add(field);
+        form.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(Integer.class.getName()));
 
         field.setName("integer");
         field.setBinding("integer");
 
-        form.getFields().add(field);
+        form.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(Date.class.getName()));
 
         field.setName("date");
         field.setBinding("date");
 
-        form.getFields().add(field);
+        form.addField(field);
 
         field = fieldManager.getDefinitionByDataType(new FieldDataType(Boolean.class.getName()));
 
         field.setName("boolean");
         field.setBinding("boolean");
 
-        form.getFields().add(field);
+        form.addField(field);
         return form;
     }
 
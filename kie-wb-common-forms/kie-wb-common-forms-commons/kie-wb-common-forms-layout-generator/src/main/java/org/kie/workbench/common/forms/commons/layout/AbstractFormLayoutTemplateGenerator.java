@@ -44,7 +44,7 @@ public abstract class AbstractFormLayoutTemplateGenerator implements FormLayoutT
 
         newFields.forEach(newField -> {
             if (form.getFieldById(newField.getId()) == null) {
-                form.getFields().add(newField);
+                form.addField(newField);
             }
         });
 
@@ -79,10 +79,10 @@ public abstract class FormLayoutTemplateGeneratorTest {
         married.setBinding("married");
         married.setStandaloneClassName(Boolean.class.getName());
 
-        form.getFields().add(name);
-        form.getFields().add(lastName);
-        form.getFields().add(birthday);
-        form.getFields().add(married);
+        form.addField(name);
+        form.addField(lastName);
+        form.addField(birthday);
+        form.addField(married);
     }
 
     @Test
@@ -29,40 +29,28 @@ import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
 @Dependent
 public class FormDefinitionSerializerImpl implements FormDefinitionSerializer {
 
-    private FieldSerializer fieldSerializer;
-
-    private FormModelSerializer formModelSerializer;
+    private Gson gson;
 
     @Inject
     public FormDefinitionSerializerImpl(FieldSerializer fieldSerializer,
                                         FormModelSerializer formModelSerializer) {
-        this.fieldSerializer = fieldSerializer;
-        this.formModelSerializer = formModelSerializer;
-    }
-
-    @Override
-    public String serialize(FormDefinition form) {
+        // Gson instances are thread-safe, the same one is reused for all the (de)serializations
         GsonBuilder builder = new GsonBuilder();
         builder.registerTypeAdapter(FormModel.class,
                                     formModelSerializer);
         builder.registerTypeAdapter(FieldDefinition.class,
                                     fieldSerializer);
 
-        Gson gson = builder.create();
+        gson = builder.create();
+    }
 
+    @Override
+    public String serialize(FormDefinition form) {
         return gson.toJson(form);
     }
 
     @Override
     public FormDefinition deserialize(String serializedForm) {
-        GsonBuilder builder = new GsonBuilder();
-        builder.registerTypeAdapter(FormModel.class,
-                                    formModelSerializer);
-        builder.registerTypeAdapter(FieldDefinition.class,
-                                    fieldSerializer);
-
-        Gson gson = builder.create();
-
         return gson.fromJson(serializedForm,
                              FormDefinition.class);
     }
@@ -71,7 +71,7 @@ public class FormDefinitionSerializerImplTest extends TestCase {
 
                 field.setBinding(fieldDescription);
 
-                formDefinition.getFields().add(field);
+                formDefinition.addField(field);
             }
         }
 
@@ -83,7 +83,7 @@ public class FormDefinitionSerializerImplTest extends TestCase {
         subForm.setStandaloneClassName("org.test.MyTestModel");
         subForm.setBinding("SubForm");
 
-        formDefinition.getFields().add(subForm);
+        formDefinition.addField(subForm);
 
         MultipleSubFormFieldDefinition multipleSubForm = new MultipleSubFormFieldDefinition();
 
@@ -93,7 +93,7 @@ public class FormDefinitionSerializerImplTest extends TestCase {
         multipleSubForm.setStandaloneClassName("org.test.MyTestModel");
         multipleSubForm.setBinding("MultipleSubForm");
 
-        formDefinition.getFields().add(multipleSubForm);
+        formDefinition.addField(multipleSubForm);
 
         EnumListBoxFieldDefinition enumListBox = new EnumListBoxFieldDefinition();
 
@@ -101,7 +101,7 @@ public class FormDefinitionSerializerImplTest extends TestCase {
         enumListBox.setBinding("EnumListBox");
         enumListBox.setStandaloneClassName("org.test.MyTestModel");
 
-        formDefinition.getFields().add(enumListBox);
+        formDefinition.addField(enumListBox);
     }
 
     @Test
@@ -68,7 +68,7 @@ public abstract class AbstractFieldElementProcessor implements FormElementProces
         }
 
         if (field != null) {
-            context.getFormDefinition().getFields().add(field);
+            context.getFormDefinition().addField(field);
 
             field.setId(element.getName());
             field.setName(element.getName());
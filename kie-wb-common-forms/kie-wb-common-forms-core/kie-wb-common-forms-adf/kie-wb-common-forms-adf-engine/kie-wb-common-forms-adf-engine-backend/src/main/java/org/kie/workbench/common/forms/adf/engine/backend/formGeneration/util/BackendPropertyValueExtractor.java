@@ -18,7 +18,6 @@ package org.kie.workbench.common.forms.adf.engine.backend.formGeneration.util;
 
 import javax.enterprise.context.Dependent;
 
-import org.apache.commons.beanutils.PropertyUtils;
 import org.kie.workbench.common.forms.adf.engine.shared.formGeneration.util.impl.AbstractPropertyValueExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,11 +31,8 @@ public class BackendPropertyValueExtractor extends AbstractPropertyValueExtracto
     protected Object readValue(Object model,
                                String propertyName) {
         try {
-            if (PropertyUtils.getPropertyDescriptor(model,
-                                                    propertyName) != null) {
-                return PropertyUtils.getProperty(model,
-                                                 propertyName);
-            }
+            return BeanPropertyReader.readProperty(model,
+                                                   propertyName);
         } catch (Exception e) {
             logger.warn("Error getting property '{}' from object '{}'",
                         propertyName,
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.adf.engine.backend.formGeneration.util;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.beanutils.PropertyUtils;
+
+/**
+ * Reads bean properties through {@link MethodHandle}s that are resolved once per model class, falling back to
+ * {@link PropertyUtils} for nested, indexed, mapped or non accessible properties. Classes are kept on a
+ * {@link ClassValue} so the cached accessors don't prevent project classloaders from being collected.
+ */
+public class BeanPropertyReader {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+                                                                        Object.class);
+
+    private static final ClassValue<Map<String, MethodHandle>> GETTERS = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return resolveGetters(type);
+        }
+    };
+
+    /**
+     * Returns the getter for the given simple property of the given class, or null if the property cannot be read
+     * through a public getter (nested, indexed or mapped properties for example).
+     */
+    public static MethodHandle getGetter(Class<?> type,
+                                         String property) {
+        if (type == null || property == null) {
+            return null;
+        }
+        return GETTERS.get(type).get(property);
+    }
+
+    /**
+     * Reads the given property of the model, returns null if the model has no such property.
+     * @throws Exception if the property cannot be read, errors thrown by the getter are propagated as they are.
+     */
+    public static Object readProperty(Object model,
+                                      String property) throws Exception {
+        MethodHandle getter = getGetter(model != null ? model.getClass() : null,
+                                        property);
+        if (getter != null) {
+            return invoke(getter,
+                          model);
+        }
+        if (PropertyUtils.getPropertyDescriptor(model,
+                                                property) != null) {
+            return PropertyUtils.getProperty(model,
+                                             property);
+        }
+        return null;
+    }
+
+    private static Object invoke(MethodHandle getter,
+                                 Object model) throws Exception {
+        try {
+            return getter.invokeExact(model);
+        } catch (Error | Exception e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static Map<String, MethodHandle> resolveGetters(Class<?> type) {
+        Map<String, MethodHandle> getters = new HashMap<>();
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                if (descriptor.getReadMethod() != null) {
+                    try {
+                        getters.put(descriptor.getName(),
+                                    lookup.unreflect(descriptor.getReadMethod()).asType(GETTER_TYPE));
+                    } catch (IllegalAccessException e) {
+                        // Not accessible (non public class), it will be read using PropertyUtils
+                    }
+                }
+            }
+        } catch (IntrospectionException e) {
+            return Collections.emptyMap();
+        }
+        return getters;
+    }
+}
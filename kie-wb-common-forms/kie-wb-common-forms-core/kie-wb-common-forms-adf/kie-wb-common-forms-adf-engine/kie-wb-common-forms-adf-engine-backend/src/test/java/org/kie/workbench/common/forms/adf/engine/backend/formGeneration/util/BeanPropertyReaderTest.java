@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.adf.engine.backend.formGeneration.util;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Date;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BeanPropertyReaderTest {
+
+    @Test
+    public void testReadProperties() throws Throwable {
+        Date birthday = new Date();
+        Person person = new Person(1,
+                                   "John",
+                                   birthday);
+
+        assertEquals(1,
+                     read(person,
+                          "id"));
+        assertEquals("John",
+                     read(person,
+                          "name"));
+        assertEquals(birthday,
+                     read(person,
+                          "birthday"));
+    }
+
+    @Test
+    public void testReadProperty() throws Exception {
+        Person person = new Person(1,
+                                   "John",
+                                   null);
+        person.setAddress(new Address("Main Street"));
+
+        assertEquals("John",
+                     BeanPropertyReader.readProperty(person,
+                                                     "name"));
+        assertNull(BeanPropertyReader.readProperty(person,
+                                                   "birthday"));
+        // Nested properties are read through PropertyUtils
+        assertEquals("Main Street",
+                     BeanPropertyReader.readProperty(person,
+                                                     "address.street"));
+        assertNull(BeanPropertyReader.readProperty(person,
+                                                   "nonExistingProperty"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReadPropertyException() throws Exception {
+        BeanPropertyReader.readProperty(new Person(1,
+                                                   "John",
+                                                   null),
+                                        "failing");
+    }
+
+    @Test(expected = AssertionError.class)
+    public void testReadPropertyErrorPropagated() throws Exception {
+        BeanPropertyReader.readProperty(new Person(1,
+                                                   "John",
+                                                   null),
+                                        "broken");
+    }
+
+    @Test
+    public void testGettersAreCached() {
+        assertSame(BeanPropertyReader.getGetter(Person.class,
+                                                "name"),
+                   BeanPropertyReader.getGetter(Person.class,
+                                                "name"));
+    }
+
+    @Test
+    public void testWrongProperties() {
+        assertNull(BeanPropertyReader.getGetter(Person.class,
+                                                "nonExistingProperty"));
+        assertNull(BeanPropertyReader.getGetter(Person.class,
+                                                "address.street"));
+        assertNull(BeanPropertyReader.getGetter(Person.class,
+                                                null));
+        assertNull(BeanPropertyReader.getGetter(null,
+                                                "name"));
+    }
+
+    private Object read(Object model,
+                        String property) throws Throwable {
+        MethodHandle getter = BeanPropertyReader.getGetter(model.getClass(),
+                                                           property);
+        assertNotNull(getter);
+        return getter.invokeExact(model);
+    }
+
+    public static class Person {
+
+        private Integer id;
+        private String name;
+        private Date birthday;
+        private Address address;
+
+        public Person(Integer id,
+                      String name,
+                      Date birthday) {
+            this.id = id;
+            this.name = name;
+            this.birthday = birthday;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Date getBirthday() {
+            return birthday;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        public String getFailing() {
+            throw new IllegalStateException("Unable to read the property");
+        }
+
+        public String getBroken() {
+            throw new AssertionError("Broken getter");
+        }
+    }
+
+    public static class Address {
+
+        private String street;
+
+        public Address(String street) {
+            this.street = street;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+    }
+}
@@ -16,9 +16,14 @@
 
 package org.kie.workbench.common.forms.model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.jboss.errai.common.client.api.annotations.MapsTo;
@@ -36,6 +41,12 @@ public class FormDefinition {
 
     private LayoutTemplate layoutTemplate;
 
+    /*
+     * Lookup indexes for the form fields, lazily built and dropped when fields are added or removed. They aren't
+     * marshalled.
+     */
+    private transient FieldIndexes indexes;
+
     public FormDefinition() {
     }
 
@@ -59,8 +70,35 @@ public class FormDefinition {
         this.name = name;
     }
 
+    /**
+     * Returns the form fields. The list can be modified, any change on it drops the lookup indexes.
+     */
     public List<FieldDefinition> getFields() {
-        return fields;
+        return new FieldList();
+    }
+
+    public void addField(FieldDefinition field) {
+        fields.add(field);
+        invalidateIndexes();
+    }
+
+    public void addFields(Collection<? extends FieldDefinition> newFields) {
+        fields.addAll(newFields);
+        invalidateIndexes();
+    }
+
+    /**
+     * Removes the given field instance from the form, returns false if it wasn't on the form.
+     */
+    public boolean removeField(FieldDefinition field) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i) == field) {
+                fields.remove(i);
+                invalidateIndexes();
+                return true;
+            }
+        }
+        return false;
     }
 
     public LayoutTemplate getLayoutTemplate() {
@@ -80,15 +118,56 @@ public class FormDefinition {
     }
 
     public FieldDefinition getFieldByBinding(final String binding) {
-        return getFieldBy(field -> field.getBinding() != null && field.getBinding().equals(binding));
+        if (binding == null) {
+            return null;
+        }
+        return getIndexedField(getIndexes().fieldsByBinding,
+                               binding,
+                               FieldDefinition::getBinding);
     }
 
     public FieldDefinition getFieldByName(final String name) {
-        return getFieldBy(field -> field.getName().equals(name));
+        return getIndexedField(getIndexes().fieldsByName,
+                               name,
+                               FieldDefinition::getName);
     }
 
     public FieldDefinition getFieldById(final String fieldId) {
-        return getFieldBy(field -> field.getId().equals(fieldId));
+        return getIndexedField(getIndexes().fieldsById,
+                               fieldId,
+                               FieldDefinition::getId);
+    }
+
+    private FieldDefinition getIndexedField(Map<String, FieldDefinition> index,
+                                            String key,
+                                            Function<FieldDefinition, String> keyExtractor) {
+        FieldDefinition field = index.get(key);
+
+        if (field != null && key.equals(keyExtractor.apply(field))) {
+            return field;
+        }
+
+        // The index may be outdated if a field binding, name or id has been changed, falling back to the fields list
+        field = getFieldBy(candidate -> key != null && key.equals(keyExtractor.apply(candidate)));
+
+        if (field != null) {
+            invalidateIndexes();
+        }
+
+        return field;
+    }
+
+    private void invalidateIndexes() {
+        indexes = null;
+    }
+
+    private FieldIndexes getIndexes() {
+        FieldIndexes current = indexes;
+        if (current == null) {
+            current = new FieldIndexes(fields);
+            indexes = current;
+        }
+        return current;
     }
 
     protected FieldDefinition getFieldBy(Predicate<FieldDefinition> predicate) {
@@ -141,4 +220,70 @@ public class FormDefinition {
         result = ~~result;
         return result;
     }
+
+    /**
+     * Live view of the form fields that drops the lookup indexes whenever the fields change.
+     */
+    private class FieldList extends AbstractList<FieldDefinition> {
+
+        @Override
+        public FieldDefinition get(int index) {
+            return fields.get(index);
+        }
+
+        @Override
+        public int size() {
+            return fields.size();
+        }
+
+        @Override
+        public FieldDefinition set(int index,
+                                   FieldDefinition field) {
+            FieldDefinition old = fields.set(index,
+                                             field);
+            invalidateIndexes();
+            return old;
+        }
+
+        @Override
+        public void add(int index,
+                        FieldDefinition field) {
+            fields.add(index,
+                       field);
+            modCount++;
+            invalidateIndexes();
+        }
+
+        @Override
+        public FieldDefinition remove(int index) {
+            FieldDefinition old = fields.remove(index);
+            modCount++;
+            invalidateIndexes();
+            return old;
+        }
+    }
+
+    private static class FieldIndexes {
+
+        private final Map<String, FieldDefinition> fieldsByBinding = new HashMap<>();
+        private final Map<String, FieldDefinition> fieldsByName = new HashMap<>();
+        private final Map<String, FieldDefinition> fieldsById = new HashMap<>();
+
+        FieldIndexes(List<FieldDefinition> fields) {
+            fields.forEach(field -> {
+                if (field.getBinding() != null) {
+                    fieldsByBinding.putIfAbsent(field.getBinding(),
+                                                field);
+                }
+                if (field.getName() != null) {
+                    fieldsByName.putIfAbsent(field.getName(),
+                                             field);
+                }
+                if (field.getId() != null) {
+                    fieldsById.putIfAbsent(field.getId(),
+                                           field);
+                }
+            });
+        }
+    }
 }
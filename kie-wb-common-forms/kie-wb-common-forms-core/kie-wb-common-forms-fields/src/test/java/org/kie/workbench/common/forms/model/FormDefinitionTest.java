@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.forms.fields.shared.fieldTypes.basic.textBox.definition.TextBoxFieldDefinition;
+
+import static org.junit.Assert.*;
+
+public class FormDefinitionTest {
+
+    private FormDefinition form;
+
+    private FieldDefinition name;
+    private FieldDefinition lastName;
+
+    @Before
+    public void init() {
+        form = new FormDefinition();
+
+        name = newField("name");
+        lastName = newField("lastName");
+
+        form.addFields(Arrays.asList(name,
+                                     lastName));
+    }
+
+    @Test
+    public void testLookups() {
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+        assertSame(name,
+                   form.getFieldByName("field_name"));
+        assertSame(name,
+                   form.getFieldById(name.getId()));
+
+        assertNull(form.getFieldByBinding("unknown"));
+        assertNull(form.getFieldByName("unknown"));
+        assertNull(form.getFieldById("unknown"));
+        assertNull(form.getFieldByBinding(null));
+    }
+
+    @Test
+    public void testLookupsAfterAddingFields() {
+        // Build the indexes before adding the field
+        assertNull(form.getFieldByBinding("age"));
+
+        FieldDefinition age = newField("age");
+        form.addField(age);
+
+        assertSame(age,
+                   form.getFieldByBinding("age"));
+        assertSame(age,
+                   form.getFieldByName("field_age"));
+        assertSame(age,
+                   form.getFieldById(age.getId()));
+    }
+
+    @Test
+    public void testLookupsAfterRemovingFields() {
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+
+        assertTrue(form.removeField(name));
+        assertFalse(form.removeField(name));
+
+        assertNull(form.getFieldByBinding("name"));
+        assertNull(form.getFieldByName("field_name"));
+        assertNull(form.getFieldById(name.getId()));
+        assertSame(lastName,
+                   form.getFieldByBinding("lastName"));
+    }
+
+    @Test
+    public void testLookupsAfterReplacingFields() {
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+
+        // Same size, different fields
+        FieldDefinition newName = newField("name");
+        form.removeField(name);
+        form.addField(newName);
+
+        assertSame(newName,
+                   form.getFieldByBinding("name"));
+        assertSame(newName,
+                   form.getFieldByName("field_name"));
+        assertSame(newName,
+                   form.getFieldById(newName.getId()));
+        assertNull(form.getFieldById(name.getId()));
+    }
+
+    @Test
+    public void testLookupsAfterModifyingFields() {
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+
+        name.setBinding("firstName");
+        name.setName("field_firstName");
+        name.setId("firstName_id");
+
+        assertNull(form.getFieldByBinding("name"));
+        assertNull(form.getFieldByName("field_name"));
+        assertSame(name,
+                   form.getFieldByBinding("firstName"));
+        assertSame(name,
+                   form.getFieldByName("field_firstName"));
+        assertSame(name,
+                   form.getFieldById("firstName_id"));
+    }
+
+    @Test
+    public void testLookupsAfterModifyingFieldsList() {
+        // Build the indexes before modifying the list
+        assertSame(name,
+                   form.getFieldByBinding("name"));
+
+        FieldDefinition age = newField("age");
+        form.getFields().add(age);
+        assertSame(age,
+                   form.getFieldByBinding("age"));
+
+        assertTrue(form.getFields().remove(name));
+        assertNull(form.getFieldByBinding("name"));
+        assertNull(form.getFieldById(name.getId()));
+
+        FieldDefinition newLastName = newField("lastName");
+        form.getFields().set(form.getFields().indexOf(lastName),
+                             newLastName);
+        assertSame(newLastName,
+                   form.getFieldByBinding("lastName"));
+        assertNull(form.getFieldById(lastName.getId()));
+
+        Iterator<FieldDefinition> it = form.getFields().iterator();
+        it.next();
+        it.remove();
+        assertNull(form.getFieldByBinding("lastName"));
+        assertEquals(1,
+                     form.getFields().size());
+
+        form.getFields().clear();
+        assertNull(form.getFieldByBinding("age"));
+        assertTrue(form.getFields().isEmpty());
+    }
+
+    private FieldDefinition newField(String binding) {
+        FieldDefinition field = new TextBoxFieldDefinition();
+        field.setName("field_" + binding);
+        field.setBinding(binding);
+        return field;
+    }
+}
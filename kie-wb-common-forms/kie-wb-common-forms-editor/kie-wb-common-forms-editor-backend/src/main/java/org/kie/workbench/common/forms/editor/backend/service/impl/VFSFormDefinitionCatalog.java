@@ -0,0 +1,465 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
+import org.kie.workbench.common.forms.editor.type.FormResourceTypeDefinition;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.JavaModel;
+import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
+import org.kie.workbench.common.services.datamodeller.util.FileUtils;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamed;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * In-memory catalog of the forms available on each project. For every project it keeps the form id -> path and
+ * model type -> form ids relations and a LRU of the form contents, so form lookups don't need to scan and read all
+ * the project forms. The catalog of a project is built the first time it is accessed, it is kept up to date observing
+ * the resource events of the form files and it is dropped when the project or its repository are removed.
+ * <p>
+ * Every lookup deserializes new {@link FormDefinition} instances, so callers are free to modify them.
+ */
+@ApplicationScoped
+public class VFSFormDefinitionCatalog {
+
+    public static final int MAX_CACHED_FORMS_PER_PROJECT = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(VFSFormDefinitionCatalog.class);
+
+    private static final String FORM_SUFFIX = "." + FormResourceTypeDefinition.EXTENSION;
+
+    private IOService ioService;
+
+    private KieProjectService projectService;
+
+    private FormDefinitionSerializer serializer;
+
+    protected Map<String, ProjectForms> projectForms = new ConcurrentHashMap<>();
+
+    public VFSFormDefinitionCatalog() {
+        //CDI proxy
+    }
+
+    @Inject
+    public VFSFormDefinitionCatalog(@Named("ioStrategy") IOService ioService,
+                                    KieProjectService projectService,
+                                    FormDefinitionSerializer serializer) {
+        this.ioService = ioService;
+        this.projectService = projectService;
+        this.serializer = serializer;
+    }
+
+    public List<FormDefinition> getAllForms(Path path) {
+        ProjectForms forms = getProjectForms(path);
+
+        if (forms == null) {
+            return new ArrayList<>();
+        }
+
+        return forms.getAllForms();
+    }
+
+    public List<FormDefinition> getFormsForType(String typeName,
+                                                Path path) {
+        ProjectForms forms = getProjectForms(path);
+
+        if (forms == null) {
+            return new ArrayList<>();
+        }
+
+        return forms.getFormsForType(typeName);
+    }
+
+    public FormDefinition getFormById(String id,
+                                      Path path) {
+        ProjectForms forms = getProjectForms(path);
+
+        if (forms == null) {
+            return null;
+        }
+
+        return forms.getFormById(id);
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        refresh(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        refresh(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        refresh(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        refresh(event.getPath());
+        refresh(event.getDestinationPath());
+    }
+
+    public void onResourceCopied(@Observes final ResourceCopiedEvent event) {
+        refresh(event.getDestinationPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent event) {
+        for (Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            refresh(entry.getKey());
+            for (ResourceChange change : entry.getValue()) {
+                if (change instanceof ResourceRenamed) {
+                    refresh(((ResourceRenamed) change).getDestinationPath());
+                }
+            }
+        }
+    }
+
+    public void onProjectDeleted(@Observes final DeleteProjectEvent event) {
+        Project project = event.getProject();
+        if (project != null && project.getRootPath() != null) {
+            projectForms.remove(project.getRootPath().toURI());
+        }
+    }
+
+    public void onRepositoryRemoved(@Observes final RepositoryRemovedEvent event) {
+        Repository repository = event.getRepository();
+        if (repository != null && repository.getRoot() != null) {
+            String repositoryUri = normalize(repository.getRoot().toURI());
+            projectForms.keySet().removeIf(rootUri -> normalize(rootUri).startsWith(repositoryUri));
+        }
+    }
+
+    protected ProjectForms getProjectForms(Path path) {
+        Project project = projectService.resolveProject(path);
+
+        if (project == null) {
+            return null;
+        }
+
+        return projectForms.computeIfAbsent(project.getRootPath().toURI(),
+                                            uri -> new ProjectForms(project.getRootPath()));
+    }
+
+    protected void refresh(Path path) {
+        if (path == null || !path.getFileName().endsWith(FORM_SUFFIX)) {
+            return;
+        }
+
+        String uri = path.toURI();
+
+        projectForms.forEach((rootUri, forms) -> {
+            if (uri.startsWith(normalize(rootUri))) {
+                forms.refresh(path);
+            }
+        });
+    }
+
+    private String readContent(org.uberfire.java.nio.file.Path path) {
+        try {
+            return ioService.readAllString(path).trim();
+        } catch (Exception ex) {
+            logger.warn("Unable to read form {}",
+                        path,
+                        ex);
+        }
+        return null;
+    }
+
+    private FormDefinition parseForm(String content,
+                                     org.uberfire.java.nio.file.Path path) {
+        if (content == null) {
+            return null;
+        }
+        try {
+            return serializer.deserialize(content);
+        } catch (Exception ex) {
+            logger.warn("Unable to generate FormDefinition for {}",
+                        path,
+                        ex);
+        }
+        return null;
+    }
+
+    private static String normalize(String uri) {
+        return uri.endsWith("/") ? uri : uri + "/";
+    }
+
+    private static String getModelType(FormDefinition form) {
+        if (form.getModel() instanceof JavaModel) {
+            return ((JavaModel) form.getModel()).getType();
+        }
+        return null;
+    }
+
+    /**
+     * Catalog of the forms available on a project.
+     */
+    protected class ProjectForms {
+
+        private final Path rootPath;
+
+        private boolean initialized = false;
+
+        // form path uri -> form entry, sorted as they were found on the project
+        private final Map<String, FormEntry> entries = new LinkedHashMap<>();
+
+        private final Map<String, String> pathsById = new LinkedHashMap<>();
+
+        private final Map<String, Set<String>> pathsByModelType = new LinkedHashMap<>();
+
+        // form path uri -> form content, the forms are deserialized on every lookup so they are never shared
+        private final Map<String, String> formContents = new LinkedHashMap<String, String>(16,
+                                                                                           0.75f,
+                                                                                           true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > MAX_CACHED_FORMS_PER_PROJECT;
+            }
+        };
+
+        ProjectForms(Path rootPath) {
+            this.rootPath = rootPath;
+        }
+
+        synchronized List<FormDefinition> getAllForms() {
+            checkInitialized();
+
+            List<FormDefinition> result = new ArrayList<>();
+
+            new ArrayList<>(entries.keySet()).forEach(uri -> addForm(uri,
+                                                                     result));
+
+            return result;
+        }
+
+        synchronized List<FormDefinition> getFormsForType(String typeName) {
+            checkInitialized();
+
+            List<FormDefinition> result = new ArrayList<>();
+
+            new ArrayList<>(pathsByModelType.getOrDefault(typeName,
+                                                          Collections.emptySet())).forEach(uri -> addForm(uri,
+                                                                                                          result));
+
+            return result;
+        }
+
+        synchronized FormDefinition getFormById(String id) {
+            checkInitialized();
+
+            String uri = pathsById.get(id);
+
+            if (uri == null) {
+                return null;
+            }
+
+            return getForm(uri);
+        }
+
+        synchronized void refresh(Path path) {
+            if (!initialized) {
+                return;
+            }
+
+            String uri = path.toURI();
+
+            removeEntry(uri);
+
+            org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
+
+            if (ioService.exists(nioPath)) {
+                index(uri,
+                      nioPath);
+            }
+        }
+
+        private void addForm(String uri,
+                             List<FormDefinition> result) {
+            FormDefinition form = getForm(uri);
+            if (form != null) {
+                result.add(form);
+            }
+        }
+
+        private FormDefinition getForm(String uri) {
+            FormEntry entry = entries.get(uri);
+
+            if (entry == null) {
+                return null;
+            }
+
+            String content = formContents.get(uri);
+
+            if (content != null) {
+                return parseForm(content,
+                                 entry.path);
+            }
+
+            content = readContent(entry.path);
+
+            FormDefinition form = parseForm(content,
+                                            entry.path);
+
+            if (form == null || !Objects.equals(form.getId(),
+                                                entry.id) || !Objects.equals(getModelType(form),
+                                                                             entry.modelType)) {
+                // The form changed without notifying it, reindexing it
+                removeEntry(uri);
+                return form != null ? index(uri,
+                                            entry.path) : null;
+            }
+
+            formContents.put(uri,
+                             content);
+
+            return form;
+        }
+
+        private void checkInitialized() {
+            if (initialized) {
+                return;
+            }
+
+            List<org.uberfire.java.nio.file.Path> nioPaths = new ArrayList<>();
+
+            nioPaths.add(Paths.convert(rootPath));
+
+            Collection<FileUtils.ScanResult> forms = FileUtils.getInstance().scan(ioService,
+                                                                                 nioPaths,
+                                                                                 FormResourceTypeDefinition.EXTENSION,
+                                                                                 true);
+
+            for (FileUtils.ScanResult form : forms) {
+                org.uberfire.java.nio.file.Path formPath = form.getFile();
+                index(Paths.convert(formPath).toURI(),
+                      formPath);
+            }
+
+            initialized = true;
+        }
+
+        private FormDefinition index(String uri,
+                                     org.uberfire.java.nio.file.Path path) {
+            String content = readContent(path);
+
+            FormDefinition form = parseForm(content,
+                                            path);
+
+            if (form == null) {
+                return null;
+            }
+
+            FormEntry entry = new FormEntry(path,
+                                            form.getId(),
+                                            getModelType(form));
+
+            entries.put(uri,
+                        entry);
+
+            if (entry.id != null) {
+                pathsById.putIfAbsent(entry.id,
+                                      uri);
+            }
+
+            if (entry.modelType != null) {
+                pathsByModelType.computeIfAbsent(entry.modelType,
+                                                 type -> new LinkedHashSet<>()).add(uri);
+            }
+
+            formContents.put(uri,
+                             content);
+
+            return form;
+        }
+
+        private void removeEntry(String uri) {
+            FormEntry entry = entries.remove(uri);
+
+            formContents.remove(uri);
+
+            if (entry == null) {
+                return;
+            }
+
+            if (entry.id != null && uri.equals(pathsById.get(entry.id))) {
+                pathsById.remove(entry.id);
+                // Another form may have the same id
+                entries.entrySet().stream()
+                        .filter(other -> entry.id.equals(other.getValue().id))
+                        .findFirst()
+                        .ifPresent(other -> pathsById.put(entry.id,
+                                                          other.getKey()));
+            }
+
+            if (entry.modelType != null) {
+                Set<String> uris = pathsByModelType.get(entry.modelType);
+                if (uris != null) {
+                    uris.remove(uri);
+                    if (uris.isEmpty()) {
+                        pathsByModelType.remove(entry.modelType);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class FormEntry {
+
+        private final org.uberfire.java.nio.file.Path path;
+
+        private final String id;
+
+        private final String modelType;
+
+        FormEntry(org.uberfire.java.nio.file.Path path,
+                  String id,
+                  String modelType) {
+            this.path = path;
+            this.id = id;
+            this.modelType = modelType;
+        }
+    }
+}
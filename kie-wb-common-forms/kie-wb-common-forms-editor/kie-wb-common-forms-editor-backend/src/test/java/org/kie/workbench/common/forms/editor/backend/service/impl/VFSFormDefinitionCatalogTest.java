@@ -0,0 +1,319 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.PortableJavaModel;
+import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
+import org.kie.workbench.common.forms.serialization.impl.FieldSerializer;
+import org.kie.workbench.common.forms.serialization.impl.FormDefinitionSerializerImpl;
+import org.kie.workbench.common.forms.serialization.impl.FormModelSerializer;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.io.impl.IOServiceDotFileImpl;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class VFSFormDefinitionCatalogTest {
+
+    private static final String PERSON = "org.test.Person";
+
+    private static final String ADDRESS = "org.test.Address";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
+
+    private final IOService ioService = spy(new IOServiceDotFileImpl());
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private KieProject project;
+
+    private FormDefinitionSerializer serializer = new FormDefinitionSerializerImpl(new FieldSerializer(),
+                                                                                   new FormModelSerializer());
+
+    private org.uberfire.java.nio.file.Path nioRootPath;
+
+    private Path rootPath;
+
+    private VFSFormDefinitionCatalog catalog;
+
+    @Before
+    public void init() throws Exception {
+        fs.forceAsDefault();
+
+        nioRootPath = fs.getPath(temporaryFolder.newFolder("project").toURI());
+        rootPath = Paths.convert(nioRootPath);
+
+        when(project.getRootPath()).thenReturn(rootPath);
+        when(projectService.resolveProject(any(Path.class))).thenReturn(project);
+
+        writeForm("form1.frm",
+                  "form1",
+                  PERSON);
+        writeForm("form2.frm",
+                  "form2",
+                  PERSON);
+        writeForm("form3.frm",
+                  "form3",
+                  ADDRESS);
+
+        catalog = new VFSFormDefinitionCatalog(ioService,
+                                               projectService,
+                                               serializer);
+    }
+
+    @Test
+    public void testLookups() {
+        assertEquals("form2",
+                     catalog.getFormById("form2",
+                                         rootPath).getId());
+        assertNull(catalog.getFormById("unknown",
+                                       rootPath));
+
+        assertEquals(3,
+                     catalog.getAllForms(rootPath).size());
+
+        assertIds(catalog.getFormsForType(PERSON,
+                                          rootPath),
+                  "form1",
+                  "form2");
+        assertIds(catalog.getFormsForType(ADDRESS,
+                                          rootPath),
+                  "form3");
+        assertTrue(catalog.getFormsForType("org.test.Unknown",
+                                           rootPath).isEmpty());
+    }
+
+    @Test
+    public void testFormsAreNotShared() {
+        FormDefinition form = catalog.getFormById("form1",
+                                                  rootPath);
+        form.setName("modified");
+
+        FormDefinition other = catalog.getFormById("form1",
+                                                   rootPath);
+
+        assertNotSame(form,
+                      other);
+        assertEquals("form1",
+                     other.getName());
+    }
+
+    @Test
+    public void testFormAdded() {
+        assertEquals(3,
+                     catalog.getAllForms(rootPath).size());
+
+        Path path = writeForm("form4.frm",
+                              "form4",
+                              ADDRESS);
+        ResourceAddedEvent event = mock(ResourceAddedEvent.class);
+        when(event.getPath()).thenReturn(path);
+        catalog.onResourceAdded(event);
+
+        assertEquals("form4",
+                     catalog.getFormById("form4",
+                                         rootPath).getId());
+        assertIds(catalog.getFormsForType(ADDRESS,
+                                          rootPath),
+                  "form3",
+                  "form4");
+    }
+
+    @Test
+    public void testFormUpdated() {
+        assertIds(catalog.getFormsForType(PERSON,
+                                          rootPath),
+                  "form1",
+                  "form2");
+
+        Path path = writeForm("form1.frm",
+                              "form1",
+                              ADDRESS);
+        ResourceUpdatedEvent event = mock(ResourceUpdatedEvent.class);
+        when(event.getPath()).thenReturn(path);
+        catalog.onResourceUpdated(event);
+
+        assertIds(catalog.getFormsForType(PERSON,
+                                          rootPath),
+                  "form2");
+        assertIds(catalog.getFormsForType(ADDRESS,
+                                          rootPath),
+                  "form1",
+                  "form3");
+        assertEquals(ADDRESS,
+                     ((PortableJavaModel) catalog.getFormById("form1",
+                                                              rootPath).getModel()).getType());
+    }
+
+    @Test
+    public void testFormDeleted() {
+        assertNotNull(catalog.getFormById("form1",
+                                          rootPath));
+
+        org.uberfire.java.nio.file.Path nioPath = nioRootPath.resolve("form1.frm");
+        ioService.delete(nioPath);
+        ResourceDeletedEvent event = mock(ResourceDeletedEvent.class);
+        when(event.getPath()).thenReturn(Paths.convert(nioPath));
+        catalog.onResourceDeleted(event);
+
+        assertNull(catalog.getFormById("form1",
+                                       rootPath));
+        assertIds(catalog.getFormsForType(PERSON,
+                                          rootPath),
+                  "form2");
+    }
+
+    @Test
+    public void testFormRenamed() {
+        assertNotNull(catalog.getFormById("form1",
+                                          rootPath));
+
+        org.uberfire.java.nio.file.Path source = nioRootPath.resolve("form1.frm");
+        org.uberfire.java.nio.file.Path destination = nioRootPath.resolve("renamed.frm");
+        ioService.move(source,
+                       destination);
+        ResourceRenamedEvent event = mock(ResourceRenamedEvent.class);
+        when(event.getPath()).thenReturn(Paths.convert(source));
+        when(event.getDestinationPath()).thenReturn(Paths.convert(destination));
+        catalog.onResourceRenamed(event);
+
+        // The form is read from its new path
+        reset(ioService);
+        assertEquals("form1",
+                     catalog.getFormById("form1",
+                                         rootPath).getId());
+        assertEquals(3,
+                     catalog.getAllForms(rootPath).size());
+        verify(ioService,
+               never()).readAllString(source);
+    }
+
+    @Test
+    public void testCachedFormsEviction() {
+        int formsCount = VFSFormDefinitionCatalog.MAX_CACHED_FORMS_PER_PROJECT + 5;
+        for (int i = 0; i < formsCount; i++) {
+            writeForm("lru" + i + ".frm",
+                      "lru" + i,
+                      PERSON);
+        }
+        // Access every form in order, so the first ones are the least recently used
+        for (int i = 0; i < formsCount; i++) {
+            assertNotNull(catalog.getFormById("lru" + i,
+                                              rootPath));
+        }
+
+        reset(ioService);
+
+        assertNotNull(catalog.getFormById("lru" + (formsCount - 1),
+                                          rootPath));
+        verify(ioService,
+               never()).readAllString(any(org.uberfire.java.nio.file.Path.class));
+
+        assertNotNull(catalog.getFormById("lru0",
+                                          rootPath));
+        verify(ioService,
+               times(1)).readAllString(nioRootPath.resolve("lru0.frm"));
+    }
+
+    @Test
+    public void testProjectDeleted() {
+        catalog.getAllForms(rootPath);
+        assertFalse(catalog.projectForms.isEmpty());
+
+        DeleteProjectEvent event = mock(DeleteProjectEvent.class);
+        when(event.getProject()).thenReturn(project);
+        catalog.onProjectDeleted(event);
+
+        assertTrue(catalog.projectForms.isEmpty());
+    }
+
+    @Test
+    public void testRepositoryRemoved() {
+        catalog.getAllForms(rootPath);
+
+        RepositoryRemovedEvent event = mock(RepositoryRemovedEvent.class);
+        Repository repository = mock(Repository.class);
+        when(event.getRepository()).thenReturn(repository);
+
+        // A repository whose root uri is a prefix of the project uri, but not one of its parent folders
+        String projectUri = rootPath.toURI().replaceAll("/$",
+                                                        "");
+        Path otherRoot = mock(Path.class);
+        when(otherRoot.toURI()).thenReturn(projectUri.substring(0,
+                                                                projectUri.length() - 3));
+        when(repository.getRoot()).thenReturn(otherRoot);
+        catalog.onRepositoryRemoved(event);
+        assertFalse(catalog.projectForms.isEmpty());
+
+        when(repository.getRoot()).thenReturn(Paths.convert(nioRootPath.getParent()));
+        catalog.onRepositoryRemoved(event);
+        assertTrue(catalog.projectForms.isEmpty());
+    }
+
+    private Path writeForm(String fileName,
+                           String id,
+                           String modelType) {
+        FormDefinition form = new FormDefinition(new PortableJavaModel(modelType));
+        form.setId(id);
+        form.setName(id);
+
+        org.uberfire.java.nio.file.Path path = nioRootPath.resolve(fileName);
+        ioService.write(path,
+                        serializer.serialize(form));
+        return Paths.convert(path);
+    }
+
+    private void assertIds(List<FormDefinition> forms,
+                           String... expectedIds) {
+        Set<String> ids = forms.stream().map(FormDefinition::getId).collect(Collectors.toSet());
+        assertEquals(expectedIds.length,
+                     ids.size());
+        for (String id : expectedIds) {
+            assertTrue(ids.contains(id));
+        }
+    }
+}
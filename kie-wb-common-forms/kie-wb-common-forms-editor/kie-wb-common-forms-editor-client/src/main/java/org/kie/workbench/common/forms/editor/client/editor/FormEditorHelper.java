@@ -137,7 +137,7 @@ public class FormEditorHelper {
                 }
             }
             if (result != null) {
-                content.getDefinition().getFields().add(result);
+                content.getDefinition().addField(result);
             }
         }
         return result;
@@ -145,12 +145,9 @@ public class FormEditorHelper {
 
     public FieldDefinition removeField(String fieldId,
                                        boolean addToAvailables) {
-        Iterator<FieldDefinition> it = content.getDefinition().getFields().iterator();
-
-        while (it.hasNext()) {
-            FieldDefinition field = it.next();
+        for (FieldDefinition field : content.getDefinition().getFields()) {
             if (field.getId().equals(fieldId)) {
-                it.remove();
+                content.getDefinition().removeField(field);
                 if (addToAvailables && content.getModelProperties().contains(field.getBinding())) {
                     availableFields.put(field.getId(),
                                         field);
@@ -220,7 +217,7 @@ public class FormEditorHelper {
 
                     resultField.copyFrom(availableField);
 
-                    content.getDefinition().getFields().add(resultField);
+                    content.getDefinition().addField(resultField);
 
                     it.remove();
 
@@ -240,7 +237,7 @@ public class FormEditorHelper {
             }
             resultField.setName(name);
         }
-        content.getDefinition().getFields().add(resultField);
+        content.getDefinition().addField(resultField);
 
         return resultField;
     }
@@ -257,7 +254,7 @@ public class FormEditorHelper {
         removeField(field.getId(),
                     false);
 
-        content.getDefinition().getFields().add(resultDefinition);
+        content.getDefinition().addField(resultDefinition);
 
         return resultDefinition;
     }
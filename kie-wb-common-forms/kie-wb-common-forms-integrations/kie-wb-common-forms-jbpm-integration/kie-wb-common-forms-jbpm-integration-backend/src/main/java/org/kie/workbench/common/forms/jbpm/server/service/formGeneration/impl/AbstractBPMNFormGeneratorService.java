@@ -147,7 +147,7 @@ public abstract class AbstractBPMNFormGeneratorService<SOURCE> implements BPMNFo
             List<FieldDefinition> fields = extractModelFields(formModel,
                                                               context);
 
-            form.getFields().addAll(fields);
+            form.addFields(fields);
 
             layoutTemplateGenerator.generateLayoutTemplate(form);
 
@@ -97,7 +97,7 @@ public class BPMNVFSFormDefinitionGeneratorService extends AbstractBPMNFormGener
                 }
             });
 
-            form.getFields().addAll(modelFields);
+            form.addFields(modelFields);
 
             layoutTemplateGenerator.updateLayoutTemplate(form,
                                                          modelFields);
@@ -108,7 +108,7 @@ public class BPMNVFSFormDefinitionGeneratorService extends AbstractBPMNFormGener
 
             form.setName(context.getSource().getFileName());
 
-            form.getFields().addAll(modelFields);
+            form.addFields(modelFields);
 
             layoutTemplateGenerator.generateLayoutTemplate(form);
         }
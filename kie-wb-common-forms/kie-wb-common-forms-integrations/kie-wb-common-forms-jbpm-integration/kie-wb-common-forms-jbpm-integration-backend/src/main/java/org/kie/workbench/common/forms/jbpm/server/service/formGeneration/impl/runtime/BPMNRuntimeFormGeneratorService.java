@@ -73,7 +73,7 @@ public class BPMNRuntimeFormGeneratorService extends AbstractBPMNFormGeneratorSe
                                                                     variable.getType())),
                                                             context);
             if (field != null) {
-                form.getFields().add(field);
+                form.addField(field);
             }
         });
 
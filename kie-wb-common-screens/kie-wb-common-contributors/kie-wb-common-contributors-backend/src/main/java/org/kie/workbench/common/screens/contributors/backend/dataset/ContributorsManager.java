@@ -17,11 +17,16 @@ package org.kie.workbench.common.screens.contributors.backend.dataset;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -36,6 +41,13 @@ import org.dashbuilder.dataset.def.DataColumnDef;
 import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
 import org.dashbuilder.dataset.events.DataSetStaleEvent;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
 import org.guvnor.structure.organizationalunit.NewOrganizationalUnitEvent;
 import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.organizationalunit.OrganizationalUnitService;
@@ -44,8 +56,14 @@ import org.guvnor.structure.organizationalunit.RepoAddedToOrganizationalUnitEven
 import org.guvnor.structure.organizationalunit.RepoRemovedFromOrganizationalUnitEvent;
 import org.guvnor.structure.repositories.Repository;
 import org.guvnor.structure.repositories.RepositoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
 import org.uberfire.commons.services.cdi.Startup;
 import org.uberfire.java.nio.base.version.VersionRecord;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.fs.jgit.JGitFileSystem;
 import org.uberfire.workbench.events.ResourceAddedEvent;
 import org.uberfire.workbench.events.ResourceBatchChangesEvent;
 import org.uberfire.workbench.events.ResourceCopiedEvent;
@@ -65,6 +83,10 @@ import static org.uberfire.commons.validation.PortablePreconditions.*;
 @ApplicationScoped
 public class ContributorsManager implements DataSetGenerator {
 
+    private static final Logger logger = LoggerFactory.getLogger(ContributorsManager.class);
+
+    private static final String DEFAULT_BRANCH = "master";
+
     @Inject
     protected DataSetDefRegistry dataSetDefRegistry;
 
@@ -77,6 +99,16 @@ public class ContributorsManager implements DataSetGenerator {
     @Inject
     protected Event<DataSetStaleEvent> dataSetStaleEvent;
 
+    /**
+     * Map holding the contributions made to every repository, by repository alias
+     */
+    protected Map<String, RepositoryContributions> contributionsMap = new ConcurrentHashMap<String, RepositoryContributions>();
+
+    /**
+     * Aliases of the repositories changed since their contributions were last read
+     */
+    protected Set<String> changedRepos = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
     /**
      * Map holding alias to author name mappings
      */
@@ -112,13 +144,14 @@ public class ContributorsManager implements DataSetGenerator {
     }
 
     @Override
-    public DataSet buildDataSet(Map<String, String> params) {
+    public synchronized DataSet buildDataSet(Map<String, String> params) {
 
         DataSetBuilder dsBuilder = DataSetFactory.newDataSetBuilder();
         for (DataColumnDef columnDef : dataSetdef.getColumns()) {
             dsBuilder.column(columnDef.getId(), columnDef.getColumnType());
         }
 
+        Set<String> repoAliases = new HashSet<String>();
         Collection<OrganizationalUnit> orgUnitList = organizationalUnitService.getOrganizationalUnits();
         for (OrganizationalUnit orgUnit : orgUnitList) {
             String org = orgUnit.getName();
@@ -129,43 +162,194 @@ public class ContributorsManager implements DataSetGenerator {
             } else {
                 for (Repository repo : repoList) {
                     String repoAlias = repo.getAlias();
-                    List<VersionRecord> recordList = repositoryService.getRepositoryHistoryAll(repoAlias);
+                    repoAliases.add(repoAlias);
+                    RepositoryContributions contributions = getContributions(repo);
 
-                    if (recordList.isEmpty()) {
+                    if (contributions.rows.isEmpty()) {
                         dsBuilder.row(org, repoAlias, null, "Empty repository", null);
                     } else {
-                        for (VersionRecord record : recordList) {
-                            String alias = record.author();
-                            String author = authorMappings.getProperty(alias);
-                            if (author == null) author = alias;
-                            String msg = record.comment();
-                            Date date = record.date();
-                            dsBuilder.row(org, repoAlias, author, msg, date);
+                        for (ContributionRow row : contributions.rows) {
+                            dsBuilder.row(org, repoAlias, row.author, row.msg, row.date);
                         }
                     }
                 }
             }
         }
+        // Forget about the repositories no longer belonging to any organizational unit
+        contributionsMap.keySet().retainAll(repoAliases);
 
         DataSet dataSet = dsBuilder.buildDataSet();
         dataSet.setUUID(GIT_CONTRIB);
         return dataSet;
     }
 
+    /**
+     * Get the contributions made to the given repository. Rows are only built the first time, afterwards
+     * just the commits made since the last commit seen are appended.
+     */
+    protected RepositoryContributions getContributions(Repository repo) {
+        String repoAlias = repo.getAlias();
+        RepositoryContributions contributions = contributionsMap.get(repoAlias);
+        boolean changed = changedRepos.remove(repoAlias);
+        if (contributions == null || changed) {
+            contributions = readContributions(repo, contributions);
+            contributionsMap.put(repoAlias, contributions);
+        }
+        return contributions;
+    }
+
+    /**
+     * Read the contributions of a repository. For GIT repositories only the commits between the branch head and
+     * the last commit seen are read, the whole history is read again if the last commit seen is no longer reachable
+     * from the head (i.e: history rewritten).
+     * @param previous The contributions read so far, or null if the repository has not been read yet.
+     */
+    protected RepositoryContributions readContributions(Repository repo, RepositoryContributions previous) {
+        String repoAlias = repo.getAlias();
+        Git git = getGit(repo);
+        if (git != null) {
+            try {
+                ObjectId head = git.getRepository().resolve(Constants.R_HEADS + getBranch(repo));
+                if (head == null) {
+                    return new RepositoryContributions(repoAlias, repo.getRoot().toURI());
+                }
+                if (previous != null && previous.lastCommitId != null) {
+                    if (head.getName().equals(previous.lastCommitId)) {
+                        return previous;
+                    }
+                    List<ContributionRow> newRows = readCommits(git, head, previous.lastCommitId);
+                    if (newRows != null) {
+                        previous.rows.addAll(newRows);
+                        previous.lastCommitId = head.getName();
+                        return previous;
+                    }
+                }
+                RepositoryContributions contributions = new RepositoryContributions(repoAlias, repo.getRoot().toURI());
+                contributions.rows.addAll(readCommits(git, head, null));
+                contributions.lastCommitId = head.getName();
+                return contributions;
+            } catch (IOException e) {
+                logger.warn("Unable to read the commits of repository '" + repoAlias + "', reading its whole history.", e);
+            }
+        }
+        // Not a GIT repository, the whole history is read
+        RepositoryContributions contributions = new RepositoryContributions(repoAlias, repo.getRoot().toURI());
+        for (VersionRecord record : repositoryService.getRepositoryHistoryAll(repoAlias)) {
+            contributions.rows.add(toRow(record));
+        }
+        return contributions;
+    }
+
+    /**
+     * Walk the commits from the given head.
+     * @param sinceCommitId The last commit seen, the walk stops there. If null, the whole history is walked.
+     * @return The rows for the commits walked, or null if the last commit seen is not reachable from the head.
+     */
+    protected List<ContributionRow> readCommits(Git git, ObjectId head, String sinceCommitId) throws IOException {
+        try (RevWalk revWalk = new RevWalk(git.getRepository())) {
+            RevCommit headCommit = revWalk.parseCommit(head);
+            if (sinceCommitId != null) {
+                RevCommit sinceCommit;
+                try {
+                    sinceCommit = revWalk.parseCommit(ObjectId.fromString(sinceCommitId));
+                } catch (MissingObjectException e) {
+                    return null;
+                }
+                if (!revWalk.isMergedInto(sinceCommit, headCommit)) {
+                    return null;
+                }
+                revWalk.reset();
+                revWalk.markUninteresting(sinceCommit);
+            }
+            revWalk.markStart(headCommit);
+
+            List<ContributionRow> rows = new ArrayList<ContributionRow>();
+            for (RevCommit commit : revWalk) {
+                rows.add(toRow(commit));
+            }
+            return rows;
+        }
+    }
+
+    protected Git getGit(Repository repo) {
+        if (repo.getRoot() == null) {
+            return null;
+        }
+        FileSystem fileSystem = Paths.convert(repo.getRoot()).getFileSystem();
+        if (fileSystem instanceof JGitFileSystem) {
+            return ((JGitFileSystem) fileSystem).gitRepo();
+        }
+        return null;
+    }
+
+    /**
+     * Get the branch of the repository root, i.e: "master" for "default://master@repo/"
+     */
+    protected String getBranch(Repository repo) {
+        String uri = repo.getRoot().toURI();
+        int schemeEnd = uri.indexOf("://");
+        int at = uri.indexOf('@');
+        if (schemeEnd < 0 || at < schemeEnd) {
+            return DEFAULT_BRANCH;
+        }
+        return uri.substring(schemeEnd + 3, at);
+    }
+
+    protected ContributionRow toRow(VersionRecord record) {
+        return newRow(record.id(), record.author(), record.comment(), record.date());
+    }
+
+    protected ContributionRow toRow(RevCommit commit) {
+        PersonIdent author = commit.getAuthorIdent();
+        return newRow(commit.getName(), author.getName(), commit.getFullMessage(), author.getWhen());
+    }
+
+    protected ContributionRow newRow(String commitId, String alias, String msg, Date date) {
+        String author = authorMappings.getProperty(alias);
+        if (author == null) author = alias;
+        return new ContributionRow(commitId, author, msg, date);
+    }
+
     protected void invalidateDataSet() {
         dataSetStaleEvent.fire(new DataSetStaleEvent(dataSetdef));
     }
 
+    protected void invalidateRepository(Repository repo) {
+        if (repo != null) {
+            contributionsMap.remove(repo.getAlias());
+        }
+        invalidateDataSet();
+    }
+
+    protected void resourceChanged(Path... paths) {
+        boolean changed = false;
+        for (Path path : paths) {
+            if (path != null) {
+                String uri = path.toURI();
+                for (RepositoryContributions contributions : contributionsMap.values()) {
+                    if (uri.startsWith(contributions.rootURI)) {
+                        changedRepos.add(contributions.repoAlias);
+                        changed = true;
+                    }
+                }
+            }
+        }
+        // Changes on repositories not yet read, or not belonging to any org. unit, do not affect the data set
+        if (changed) {
+            invalidateDataSet();
+        }
+    }
+
     // Keep synced the contributions data set with the changes made into the org>repos>commits hierarchy
 
     public void onRepoAddedToOrgUnit(@Observes final RepoAddedToOrganizationalUnitEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        invalidateRepository(event.getRepository());
     }
 
     public void onRepoRemovedFromOrgUnit(@Observes final RepoRemovedFromOrganizationalUnitEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        invalidateRepository(event.getRepository());
     }
 
     public void onOrganizationUnitAdded(@Observes final NewOrganizationalUnitEvent event) {
@@ -180,31 +364,64 @@ public class ContributorsManager implements DataSetGenerator {
 
     public void processResourceAdd(@Observes final ResourceAddedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        resourceChanged(event.getPath());
     }
 
     public void processResourceDelete(@Observes final ResourceDeletedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        resourceChanged(event.getPath());
     }
 
     public void processResourceUpdate(@Observes final ResourceUpdatedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        resourceChanged(event.getPath());
     }
 
     public void processResourceCopied(@Observes final ResourceCopiedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        resourceChanged(event.getPath(), event.getDestinationPath());
     }
 
     public void processResourceRenamed(@Observes final ResourceRenamedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        resourceChanged(event.getPath(), event.getDestinationPath());
     }
 
     public void processBatchChanges(@Observes final ResourceBatchChangesEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        Set<Path> paths = event.getBatch().keySet();
+        resourceChanged(paths.toArray(new Path[paths.size()]));
+    }
+
+    /**
+     * The contributions made to a repository along with the last commit seen
+     */
+    protected static class RepositoryContributions {
+
+        protected String repoAlias;
+        protected String rootURI;
+        protected String lastCommitId;
+        protected List<ContributionRow> rows = new ArrayList<ContributionRow>();
+
+        public RepositoryContributions(String repoAlias, String rootURI) {
+            this.repoAlias = repoAlias;
+            // Ends with "/" so that the root of "repo1" is not a prefix of the paths in "repo10"
+            this.rootURI = rootURI.endsWith("/") ? rootURI : rootURI + "/";
+        }
+    }
+
+    protected static class ContributionRow {
+
+        protected String commitId;
+        protected String author;
+        protected String msg;
+        protected Date date;
+
+        public ContributionRow(String commitId, String author, String msg, Date date) {
+            this.commitId = commitId;
+            this.author = author;
+            this.msg = msg;
+            this.date = date;
+        }
     }
 }
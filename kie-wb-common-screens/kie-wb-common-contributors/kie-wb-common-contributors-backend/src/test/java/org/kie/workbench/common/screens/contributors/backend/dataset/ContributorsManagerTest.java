@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.contributors.backend.dataset;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.enterprise.event.Event;
+
+import org.dashbuilder.dataset.events.DataSetStaleEvent;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.guvnor.structure.organizationalunit.NewOrganizationalUnitEvent;
+import org.guvnor.structure.organizationalunit.RepoRemovedFromOrganizationalUnitEvent;
+import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ContributorsManagerTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Mock
+    RepositoryService repositoryService;
+
+    @Mock
+    Event<DataSetStaleEvent> dataSetStaleEvent;
+
+    @Mock
+    Repository repo;
+
+    Git git;
+    int commitCount = 0;
+    List<String> walks = new ArrayList<String>();
+    ContributorsManager contributorsManager;
+
+    @Before
+    public void setUp() throws Exception {
+        git = Git.init().setDirectory(tempFolder.newFolder("repo1")).call();
+        when(repo.getAlias()).thenReturn("repo1");
+        Path root = mockPath("default://master@repo1");
+        when(repo.getRoot()).thenReturn(root);
+
+        contributorsManager = new ContributorsManager() {
+            @Override
+            protected Git getGit(Repository repository) {
+                return git;
+            }
+            @Override
+            protected List<ContributionRow> readCommits(Git git, ObjectId head, String sinceCommitId) throws IOException {
+                walks.add(sinceCommitId);
+                return super.readCommits(git, head, sinceCommitId);
+            }
+        };
+        contributorsManager.repositoryService = repositoryService;
+        contributorsManager.dataSetStaleEvent = dataSetStaleEvent;
+    }
+
+    @After
+    public void tearDown() {
+        git.close();
+    }
+
+    @Test
+    public void testNewCommitAppended() throws Exception {
+        commit("david", "Commit 1");
+        RevCommit second = commit("david", "Commit 2");
+
+        ContributorsManager.RepositoryContributions contributions = contributorsManager.getContributions(repo);
+        assertEquals(2, contributions.rows.size());
+        assertEquals(second.getName(), contributions.lastCommitId);
+        assertEquals(1, walks.size());
+        assertNull(walks.get(0));
+
+        RevCommit third = commit("maciej", "Commit 3");
+        contributorsManager.resourceChanged(mockPath("default://master@repo1/file.txt"));
+        verify(dataSetStaleEvent).fire(any(DataSetStaleEvent.class));
+
+        ContributorsManager.RepositoryContributions updated = contributorsManager.getContributions(repo);
+        assertSame(contributions, updated);
+        assertEquals(3, updated.rows.size());
+        assertEquals(third.getName(), updated.lastCommitId);
+        assertEquals("maciej", updated.rows.get(2).author);
+        assertEquals("Commit 3", updated.rows.get(2).msg);
+
+        // Only the commits after the last commit seen are walked
+        assertEquals(2, walks.size());
+        assertEquals(second.getName(), walks.get(1));
+        verify(repositoryService, never()).getRepositoryHistoryAll(anyString());
+    }
+
+    @Test
+    public void testNoChanges() throws Exception {
+        commit("david", "Commit 1");
+        ContributorsManager.RepositoryContributions contributions = contributorsManager.getContributions(repo);
+
+        contributorsManager.resourceChanged(mockPath("default://master@repo1/file.txt"));
+        assertSame(contributions, contributorsManager.getContributions(repo));
+        assertEquals(1, contributions.rows.size());
+        assertEquals(1, walks.size());
+    }
+
+    @Test
+    public void testHistoryRewritten() throws Exception {
+        commit("david", "Commit 1");
+        RevCommit second = commit("david", "Commit 2");
+        assertEquals(2, contributorsManager.getContributions(repo).rows.size());
+
+        git.reset().setMode(ResetCommand.ResetType.HARD).setRef("HEAD~1").call();
+        RevCommit third = commit("maciej", "Commit 3");
+        contributorsManager.resourceChanged(mockPath("default://master@repo1/file.txt"));
+
+        ContributorsManager.RepositoryContributions contributions = contributorsManager.getContributions(repo);
+        assertEquals(2, contributions.rows.size());
+        assertEquals(third.getName(), contributions.lastCommitId);
+        for (ContributorsManager.ContributionRow row : contributions.rows) {
+            assertNotEquals(second.getName(), row.commitId);
+        }
+        // The last commit seen is no longer reachable, so the whole history is walked again
+        assertEquals(3, walks.size());
+        assertEquals(second.getName(), walks.get(1));
+        assertNull(walks.get(2));
+    }
+
+    @Test
+    public void testRepoRemovedInvalidates() throws Exception {
+        commit("david", "Commit 1");
+        contributorsManager.getContributions(repo);
+        assertTrue(contributorsManager.contributionsMap.containsKey("repo1"));
+
+        RepoRemovedFromOrganizationalUnitEvent event = mock(RepoRemovedFromOrganizationalUnitEvent.class);
+        when(event.getRepository()).thenReturn(repo);
+        contributorsManager.onRepoRemovedFromOrgUnit(event);
+
+        assertFalse(contributorsManager.contributionsMap.containsKey("repo1"));
+        verify(dataSetStaleEvent).fire(any(DataSetStaleEvent.class));
+
+        // Read from scratch
+        contributorsManager.getContributions(repo);
+        assertEquals(2, walks.size());
+        assertNull(walks.get(1));
+    }
+
+    @Test
+    public void testOrgUnitAddedInvalidates() throws Exception {
+        contributorsManager.onOrganizationUnitAdded(mock(NewOrganizationalUnitEvent.class));
+        verify(dataSetStaleEvent).fire(any(DataSetStaleEvent.class));
+    }
+
+    @Test
+    public void testUnrelatedRepoChange() throws Exception {
+        commit("david", "Commit 1");
+        contributorsManager.getContributions(repo);
+
+        ResourceUpdatedEvent event = mock(ResourceUpdatedEvent.class);
+        Path path = mockPath("default://master@repo10/file.txt");
+        when(event.getPath()).thenReturn(path);
+        contributorsManager.processResourceUpdate(event);
+
+        assertTrue(contributorsManager.changedRepos.isEmpty());
+        verify(dataSetStaleEvent, never()).fire(any(DataSetStaleEvent.class));
+    }
+
+    protected RevCommit commit(String author, String message) throws Exception {
+        File file = new File(git.getRepository().getWorkTree(), "file.txt");
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write(message + " " + commitCount++);
+        }
+        git.add().addFilepattern("file.txt").call();
+        return git.commit().setAuthor(author, author + "@domain.com").setMessage(message).call();
+    }
+
+    protected Path mockPath(String uri) {
+        Path path = mock(Path.class);
+        when(path.toURI()).thenReturn(uri);
+        return path;
+    }
+}
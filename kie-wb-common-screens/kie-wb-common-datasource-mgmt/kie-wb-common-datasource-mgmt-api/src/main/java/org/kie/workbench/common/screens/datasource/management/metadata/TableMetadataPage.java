@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.metadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.errai.common.client.api.annotations.MapsTo;
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * A page of the database objects fulfilling a given filtering criteria.
+ */
+@Portable
+public class TableMetadataPage {
+
+    private List< TableMetadata > tables = new ArrayList<>( );
+
+    private int startRow;
+
+    private int totalRows;
+
+    public TableMetadataPage( @MapsTo( "tables" ) List< TableMetadata > tables,
+                              @MapsTo( "startRow" ) int startRow,
+                              @MapsTo( "totalRows" ) int totalRows ) {
+        this.tables = tables;
+        this.startRow = startRow;
+        this.totalRows = totalRows;
+    }
+
+    /**
+     * @return the database objects in this page.
+     */
+    public List< TableMetadata > getTables( ) {
+        return tables;
+    }
+
+    /**
+     * @return the position of the first element of this page in the full list of results.
+     */
+    public int getStartRow( ) {
+        return startRow;
+    }
+
+    /**
+     * @return the total number of database objects fulfilling the filtering criteria.
+     */
+    public int getTotalRows( ) {
+        return totalRows;
+    }
+
+    public boolean isLastPage( ) {
+        return startRow + tables.size( ) >= totalRows;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        if ( this == o ) return true;
+        if ( o == null || getClass( ) != o.getClass( ) ) return false;
+
+        TableMetadataPage that = ( TableMetadataPage ) o;
+
+        if ( startRow != that.startRow ) return false;
+        if ( totalRows != that.totalRows ) return false;
+        return tables != null ? tables.equals( that.tables ) : that.tables == null;
+    }
+
+    @Override
+    public int hashCode( ) {
+        int result = tables != null ? tables.hashCode( ) : 0;
+        result = ~~result;
+        result = 31 * result + startRow;
+        result = ~~result;
+        result = 31 * result + totalRows;
+        result = ~~result;
+        return result;
+    }
+
+    @Override
+    public String toString( ) {
+        return "TableMetadataPage{" +
+                "tables=" + tables +
+                ", startRow=" + startRow +
+                ", totalRows=" + totalRows +
+                '}';
+    }
+}
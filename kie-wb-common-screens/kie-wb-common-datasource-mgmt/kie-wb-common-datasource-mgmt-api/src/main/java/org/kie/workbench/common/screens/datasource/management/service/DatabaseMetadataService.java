@@ -21,6 +21,7 @@ import java.util.List;
 import org.jboss.errai.bus.server.annotations.Remote;
 import org.kie.workbench.common.screens.datasource.management.metadata.DatabaseMetadata;
 import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadata;
+import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadataPage;
 
 /**
  * Service for getting information about a database structure.
@@ -56,4 +57,28 @@ public interface DatabaseMetadataService {
                                       String schema,
                                       String tableNamePattern,
                                       DatabaseMetadata.TableType... types );
+
+    /**
+     * Gets a page of database objects metadata for a given database. The database objects are returned in the
+     * order provided by the database driver, i.e. by type, catalog, schema and name.
+     * @param dataSourceUuid A data source uuid.
+     * @param schema A schema name for filtering. A null value will query all the available schemas.
+     * @param tableNamePattern A table name pattern for filtering the database objects by name, e.g. %INVOICE_%.
+     * @param startRow The position of the first database object to return.
+     * @param pageSize The maximum number of database objects to return.
+     * @param types A list of database object types for filtering.
+     * @return A page with the database objects fulfilling the filtering criteria.
+     */
+    TableMetadataPage findTables( String dataSourceUuid,
+                                  String schema,
+                                  String tableNamePattern,
+                                  int startRow,
+                                  int pageSize,
+                                  DatabaseMetadata.TableType... types );
+
+    /**
+     * Discards the cached metadata for a given data source, next queries will read the metadata from the database.
+     * @param dataSourceUuid A data source uuid.
+     */
+    void refreshMetadata( String dataSourceUuid );
 }
\ No newline at end of file
@@ -72,6 +72,8 @@ public class DataSourceDefQueryServiceImpl
 
     private DataSourceRuntimeManager runtimeManager;
 
+    private DefFolderIndexCache folderIndexCache;
+
     public DataSourceDefQueryServiceImpl() {
     }
 
@@ -80,12 +82,14 @@ public class DataSourceDefQueryServiceImpl
             KieProjectService projectService,
             DataSourceServicesHelper serviceHelper,
             DataSourceProviderFactory providerFactory,
-            DataSourceRuntimeManager runtimeManager ) {
+            DataSourceRuntimeManager runtimeManager,
+            DefFolderIndexCache folderIndexCache ) {
         this.ioService = ioService;
         this.projectService = projectService;
         this.serviceHelper = serviceHelper;
         this.providerFactory = providerFactory;
         this.runtimeManager = runtimeManager;
+        this.folderIndexCache = folderIndexCache;
     }
 
     @Override
@@ -156,12 +160,12 @@ public class DataSourceDefQueryServiceImpl
         checkNotNull( "uuid", uuid );
         checkNotNull( "path", path );
 
-        for ( DriverDefInfo driverDefInfo : findProjectDrivers( path ) ) {
-            if ( uuid.equals( driverDefInfo.getUuid() ) ) {
-                return driverDefInfo;
-            }
+        Project project = projectService.resolveProject( path );
+        if ( project == null ) {
+            return null;
+        } else {
+            return resolveDriver( uuid, serviceHelper.getProjectDataSourcesContext( project ) );
         }
-        return null;
     }
 
     @Override
@@ -176,87 +180,97 @@ public class DataSourceDefQueryServiceImpl
     @Override
     public DriverDefInfo findGlobalDriver( String uuid ) {
         checkNotNull( "uuid", uuid );
-
-        for ( DriverDefInfo driverDefInfo : findGlobalDrivers() ) {
-            if ( uuid.equals( driverDefInfo.getUuid() ) ) {
-                return driverDefInfo;
-            }
-        }
-        return null;
+        return resolveDriver( uuid, serviceHelper.getGlobalDataSourcesContext() );
     }
 
     private Collection<DriverDefInfo> resolveDrivers( final Path path ) {
-
-        final org.uberfire.java.nio.file.Path nioPath = Paths.convert( path );
         final List<DriverDefInfo> result = new ArrayList<>( );
+        for ( DefFolderIndexCache.DefEntry entry : getFolderIndex( path ).getDrivers() ) {
+            result.add( createDriverInfo( entry ) );
+        }
+        return result;
+    }
 
-        try {
-            final DirectoryStream<org.uberfire.java.nio.file.Path> stream = ioService.newDirectoryStream( nioPath,
-                    entry -> Files.isRegularFile( entry ) &&
-                            !entry.getFileName().toString().startsWith( "." ) &&
-                            entry.getFileName().toString().endsWith( DRIVER_FILE_TYPE ) );
+    private DriverDefInfo resolveDriver( final String uuid, final Path path ) {
+        DefFolderIndexCache.DefEntry entry = getFolderIndex( path ).getDriver( uuid );
+        return entry != null ? createDriverInfo( entry ) : null;
+    }
 
-            stream.forEach( file -> {
-                result.add( createDriverInfo( file ) );
-            } );
-            stream.close();
+    private Collection<DataSourceDefInfo> resolveDataSources( final Path path ) {
+        final List<DataSourceDefInfo> result = new ArrayList<>( );
+        for ( DefFolderIndexCache.DefEntry entry : getFolderIndex( path ).getDataSources() ) {
+            result.add( createDataSourceDefInfo( entry ) );
+        }
+        return result;
+    }
 
-            return result;
-        } catch ( Exception e ) {
-            logger.error( "It was not possible read drivers info from: " + path, e );
-            throw ExceptionUtilities.handleException( e );
+    /**
+     * Gets the definitions contained in the given folder. The folder is only read the first time, or after a
+     * definition file in it has changed. An index read while the folder is being changed is returned but not cached.
+     */
+    private DefFolderIndexCache.DefFolderIndex getFolderIndex( final Path path ) {
+        DefFolderIndexCache.DefFolderIndex index = folderIndexCache.getIndex( path );
+        if ( index == null ) {
+            final long version = folderIndexCache.getVersion( path );
+            index = buildFolderIndex( path );
+            folderIndexCache.setIndex( path, index, version );
         }
+        return index;
     }
 
-    private Collection<DataSourceDefInfo> resolveDataSources( final Path path ) {
+    private DefFolderIndexCache.DefFolderIndex buildFolderIndex( final Path path ) {
 
         final org.uberfire.java.nio.file.Path nioPath = Paths.convert( path );
-        final List<DataSourceDefInfo> result = new ArrayList<>( );
+        final DefFolderIndexCache.DefFolderIndex index = new DefFolderIndexCache.DefFolderIndex();
 
         try {
             final DirectoryStream<org.uberfire.java.nio.file.Path> stream = ioService.newDirectoryStream( nioPath,
                     entry -> Files.isRegularFile( entry ) &&
                             !entry.getFileName().toString().startsWith( "." ) &&
-                            entry.getFileName().toString().endsWith( DS_FILE_TYPE ) );
+                            ( entry.getFileName().toString().endsWith( DS_FILE_TYPE ) ||
+                                    entry.getFileName().toString().endsWith( DRIVER_FILE_TYPE ) ) );
 
             stream.forEach( file -> {
-                result.add( createDataSourceDefInfo( file ) );
+                String content = ioService.readAllString( file );
+                if ( file.getFileName().toString().endsWith( DS_FILE_TYPE ) ) {
+                    DataSourceDef dataSourceDef = DataSourceDefSerializer.deserialize( content );
+                    index.addDataSource( dataSourceDef.getUuid(), dataSourceDef.getName(), Paths.convert( file ) );
+                } else {
+                    DriverDef driverDef = DriverDefSerializer.deserialize( content );
+                    index.addDriver( driverDef.getUuid(), driverDef.getName(), Paths.convert( file ) );
+                }
             } );
             stream.close();
 
-            return result;
+            return index;
         } catch ( Exception e ) {
-            logger.error( "It was not possible read data sources info from: " + path, e );
+            logger.error( "It was not possible read data sources and drivers info from: " + path, e );
             throw ExceptionUtilities.handleException( e );
         }
     }
 
-    private DataSourceDefInfo createDataSourceDefInfo( final org.uberfire.java.nio.file.Path path ) {
-        String content = ioService.readAllString( path );
-        DataSourceDef dataSourceDef = DataSourceDefSerializer.deserialize( content );
+    private DataSourceDefInfo createDataSourceDefInfo( final DefFolderIndexCache.DefEntry entry ) {
         DataSourceDeploymentInfo deploymentInfo = null;
         try {
-            deploymentInfo = runtimeManager.getDataSourceDeploymentInfo( dataSourceDef.getUuid() );
+            deploymentInfo = runtimeManager.getDataSourceDeploymentInfo( entry.getUuid() );
         } catch ( Exception e ) {
             logger.warn( "It was not possible to read deployment info when building DataSourceDefInfo for data source: "
-                    + dataSourceDef.getUuid(), e );
+                    + entry.getUuid(), e );
         }
-        return new DataSourceDefInfo( dataSourceDef.getUuid(),
-                dataSourceDef.getName(),
-                Paths.convert( path ),
+        return new DataSourceDefInfo( entry.getUuid(),
+                entry.getName(),
+                entry.getPath(),
                 deploymentInfo );
     }
 
-    private DriverDefInfo createDriverInfo( final org.uberfire.java.nio.file.Path path ) {
-        String content = ioService.readAllString( path );
-        DriverDef driverDef = DriverDefSerializer.deserialize( content );
+    private DriverDefInfo createDriverInfo( final DefFolderIndexCache.DefEntry entry ) {
         DriverDeploymentInfo deploymentInfo = null;
         try {
-            deploymentInfo = runtimeManager.getDriverDeploymentInfo( driverDef.getUuid() );
+            deploymentInfo = runtimeManager.getDriverDeploymentInfo( entry.getUuid() );
         } catch ( Exception e ) {
             logger.warn( "It was not possible to read deployment info when building DriverDefInfo for driver: "
-                    + driverDef.getUuid(), e );
+                    + entry.getUuid(), e );
         }
-        return new DriverDefInfo( driverDef.getUuid(), driverDef.getName(), Paths.convert( path ), deploymentInfo );
+        return new DriverDefInfo( entry.getUuid(), entry.getName(), entry.getPath(), deploymentInfo );
     }
 }
\ No newline at end of file
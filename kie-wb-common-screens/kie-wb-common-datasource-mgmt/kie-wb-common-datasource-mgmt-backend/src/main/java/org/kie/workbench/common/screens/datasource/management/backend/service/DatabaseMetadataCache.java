@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.guvnor.common.services.backend.cache.LRUCache;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceSettings;
+import org.kie.workbench.common.screens.datasource.management.metadata.DatabaseMetadata;
+import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceSettings.*;
+import static org.kie.workbench.common.screens.datasource.management.util.ServiceUtil.*;
+
+/**
+ * Short lived cache of the metadata read from the databases, keyed by data source uuid. All the metadata cached for
+ * a data source expires at once when the configured time to live has elapsed, or when it's explicitly invalidated.
+ */
+@ApplicationScoped
+public class DatabaseMetadataCache extends LRUCache<String, DatabaseMetadataCache.DataSourceMetadata> {
+
+    private static final Logger logger = LoggerFactory.getLogger( DatabaseMetadataCache.class );
+
+    public static final String METADATA_CACHE_TTL = DATASOURCE_MANAGEMENT_PREFIX + ".metadataCacheTTL";
+
+    /**
+     * Time to live in milliseconds, a non positive value disables the cache.
+     */
+    private long timeToLive = 60000;
+
+    public DatabaseMetadataCache() {
+    }
+
+    public DatabaseMetadataCache( final long timeToLive ) {
+        this.timeToLive = timeToLive;
+    }
+
+    @PostConstruct
+    public void init() {
+        String value = null;
+        try {
+            value = getManagedProperty( DataSourceSettings.getInstance().getProperties(),
+                    METADATA_CACHE_TTL,
+                    Long.toString( timeToLive ) );
+            timeToLive = Long.parseLong( value );
+        } catch ( NumberFormatException e ) {
+            logger.warn( "Wrong long value: " + value + " was set for property: " + METADATA_CACHE_TTL
+                    + " The by default value: " + timeToLive + " will be used instead." );
+        }
+    }
+
+    public DatabaseMetadata getMetadata( final String dataSourceUuid,
+                                         final boolean includeCatalogs,
+                                         final boolean includeSchemas ) {
+        final DataSourceMetadata entry = getValidEntry( dataSourceUuid );
+        return entry != null ? entry.metadata.get( metadataKey( includeCatalogs, includeSchemas ) ) : null;
+    }
+
+    public void setMetadata( final String dataSourceUuid,
+                             final boolean includeCatalogs,
+                             final boolean includeSchemas,
+                             final DatabaseMetadata metadata ) {
+        final DataSourceMetadata entry = getOrCreateEntry( dataSourceUuid );
+        if ( entry != null && metadata != null ) {
+            entry.metadata.put( metadataKey( includeCatalogs, includeSchemas ), metadata );
+        }
+    }
+
+    public List<TableMetadata> getTables( final String dataSourceUuid,
+                                          final String schema,
+                                          final String tableNamePattern,
+                                          final DatabaseMetadata.TableType... types ) {
+        final DataSourceMetadata entry = getValidEntry( dataSourceUuid );
+        return entry != null ? entry.tables.get( tablesKey( schema, tableNamePattern, types ) ) : null;
+    }
+
+    public void setTables( final String dataSourceUuid,
+                           final String schema,
+                           final String tableNamePattern,
+                           final DatabaseMetadata.TableType[] types,
+                           final List<TableMetadata> tables ) {
+        final DataSourceMetadata entry = getOrCreateEntry( dataSourceUuid );
+        if ( entry != null && tables != null ) {
+            entry.tables.put( tablesKey( schema, tableNamePattern, types ), tables );
+        }
+    }
+
+    /**
+     * Discards all the metadata cached for a given data source.
+     */
+    public void invalidate( final String dataSourceUuid ) {
+        invalidateCache( dataSourceUuid );
+    }
+
+    /**
+     * facilitates tests programming.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private DataSourceMetadata getValidEntry( final String dataSourceUuid ) {
+        final DataSourceMetadata entry = getEntry( dataSourceUuid );
+        if ( entry != null && entry.expiration <= currentTimeMillis() ) {
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized DataSourceMetadata getOrCreateEntry( final String dataSourceUuid ) {
+        if ( timeToLive <= 0 ) {
+            return null;
+        }
+        DataSourceMetadata entry = getValidEntry( dataSourceUuid );
+        if ( entry == null ) {
+            entry = new DataSourceMetadata( currentTimeMillis() + timeToLive );
+            setEntry( dataSourceUuid, entry );
+        }
+        return entry;
+    }
+
+    private String metadataKey( final boolean includeCatalogs,
+                                final boolean includeSchemas ) {
+        return includeCatalogs + "|" + includeSchemas;
+    }
+
+    private String tablesKey( final String schema,
+                              final String tableNamePattern,
+                              final DatabaseMetadata.TableType[] types ) {
+        final TreeSet<String> typeNames = new TreeSet<>();
+        if ( types != null ) {
+            for ( DatabaseMetadata.TableType type : types ) {
+                typeNames.add( String.valueOf( type ) );
+            }
+        }
+        return schema + "|" + tableNamePattern + "|" + typeNames;
+    }
+
+    @PreDestroy
+    private void onDestroy() {
+        invalidateCache();
+    }
+
+    public static class DataSourceMetadata {
+
+        private final long expiration;
+
+        private final Map<String, DatabaseMetadata> metadata = new ConcurrentHashMap<>();
+
+        private final Map<String, List<TableMetadata>> tables = new ConcurrentHashMap<>();
+
+        public DataSourceMetadata( final long expiration ) {
+            this.expiration = expiration;
+        }
+    }
+}
@@ -16,16 +16,21 @@
 
 package org.kie.workbench.common.screens.datasource.management.backend.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.guvnor.common.services.shared.exceptions.GenericPortableException;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceRuntimeManager;
+import org.kie.workbench.common.screens.datasource.management.events.DeleteDataSourceEvent;
+import org.kie.workbench.common.screens.datasource.management.events.UpdateDataSourceEvent;
 import org.kie.workbench.common.screens.datasource.management.metadata.DatabaseMetadata;
 import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadata;
+import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadataPage;
 import org.kie.workbench.common.screens.datasource.management.service.DatabaseMetadataService;
 import org.kie.workbench.common.screens.datasource.management.util.DatabaseMetadataUtil;
 import org.slf4j.Logger;
@@ -42,20 +47,30 @@ public class DatabaseMetadataServiceImpl
 
     private DataSourceRuntimeManager dataSourceRuntimeManager;
 
+    private DatabaseMetadataCache metadataCache;
+
     public DatabaseMetadataServiceImpl( ) {
     }
 
     @Inject
-    public DatabaseMetadataServiceImpl( DataSourceRuntimeManager dataSourceRuntimeManager ) {
+    public DatabaseMetadataServiceImpl( DataSourceRuntimeManager dataSourceRuntimeManager,
+                                        DatabaseMetadataCache metadataCache ) {
         this.dataSourceRuntimeManager = dataSourceRuntimeManager;
+        this.metadataCache = metadataCache;
     }
 
     @Override
     public DatabaseMetadata getMetadata( String dataSourceUuid, boolean includeCatalogs, boolean includeSchemas ) {
         checkNotNull( "dataSourceUuid", dataSourceUuid );
+        DatabaseMetadata metadata = metadataCache.getMetadata( dataSourceUuid, includeCatalogs, includeSchemas );
+        if ( metadata != null ) {
+            return metadata;
+        }
         try {
             DataSource dataSource = dataSourceRuntimeManager.lookupDataSource( dataSourceUuid );
-            return DatabaseMetadataUtil.getMetadata( dataSource.getConnection( ), includeCatalogs, includeSchemas );
+            metadata = DatabaseMetadataUtil.getMetadata( dataSource.getConnection( ), includeCatalogs, includeSchemas );
+            metadataCache.setMetadata( dataSourceUuid, includeCatalogs, includeSchemas, metadata );
+            return metadata;
         } catch ( Exception e ) {
             logger.error( "It was not possible to get database metadata for data source: " + dataSourceUuid, e );
             throw new GenericPortableException( "It was not possible to get database metadata for data source: "
@@ -77,13 +92,56 @@ public class DatabaseMetadataServiceImpl
                                              DatabaseMetadata.TableType... types ) {
         checkNotNull( "dataSourceUuid", dataSourceUuid );
         checkNotNull( "types", types );
+        List< TableMetadata > tables = metadataCache.getTables( dataSourceUuid, schema, tableNamePattern, types );
+        if ( tables != null ) {
+            return tables;
+        }
         try {
             DataSource dataSource = dataSourceRuntimeManager.lookupDataSource( dataSourceUuid );
-            return DatabaseMetadataUtil.findTables( dataSource.getConnection( ), schema, tableNamePattern, types );
+            tables = DatabaseMetadataUtil.findTables( dataSource.getConnection( ), schema, tableNamePattern, types );
+            metadataCache.setTables( dataSourceUuid, schema, tableNamePattern, types, tables );
+            return tables;
         } catch ( Exception e ) {
             logger.error( "It was not possible to get database metadata for data source: " + dataSourceUuid, e );
             throw new GenericPortableException( "It was not possible to get database metadata for data source: "
                     + dataSourceUuid + ": " + e.getMessage( ), e );
         }
     }
+
+    @Override
+    public TableMetadataPage findTables( String dataSourceUuid,
+                                         String schema,
+                                         String tableNamePattern,
+                                         int startRow,
+                                         int pageSize,
+                                         DatabaseMetadata.TableType... types ) {
+        checkCondition( "startRow >= 0", startRow >= 0 );
+        checkCondition( "pageSize > 0", pageSize > 0 );
+        // the JDBC api has no paging support, the full list is read once and the following pages are served from
+        // the cache.
+        List< TableMetadata > tables = findTables( dataSourceUuid, schema, tableNamePattern, types );
+        int fromIndex = Math.min( startRow, tables.size( ) );
+        int toIndex = ( int ) Math.min( ( long ) fromIndex + pageSize, tables.size( ) );
+        return new TableMetadataPage( new ArrayList<>( tables.subList( fromIndex, toIndex ) ),
+                startRow,
+                tables.size( ) );
+    }
+
+    @Override
+    public void refreshMetadata( String dataSourceUuid ) {
+        checkNotNull( "dataSourceUuid", dataSourceUuid );
+        metadataCache.invalidate( dataSourceUuid );
+    }
+
+    public void onDataSourceUpdated( @Observes UpdateDataSourceEvent event ) {
+        if ( event.getDataSourceDef( ) != null ) {
+            metadataCache.invalidate( event.getDataSourceDef( ).getUuid( ) );
+        }
+    }
+
+    public void onDataSourceDeleted( @Observes DeleteDataSourceEvent event ) {
+        if ( event.getDataSourceDef( ) != null ) {
+            metadataCache.invalidate( event.getDataSourceDef( ).getUuid( ) );
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.guvnor.common.services.backend.cache.LRUCache;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Cache of the data source and driver definitions contained in a folder, keyed by the folder uri. Entries are
+ * invalidated by the DefResourceChangeObserver when a definition file in the folder is added, updated, renamed
+ * or deleted.
+ * <p>
+ * Each invalidation increases the version of the folder, an index read from the folder is only stored if no
+ * invalidation happened since the read started, so that an index built from stale contents is never cached.
+ */
+@ApplicationScoped
+public class DefFolderIndexCache extends LRUCache<String, DefFolderIndexCache.DefFolderIndex> {
+
+    // folder uri -> number of invalidations of the folder
+    private final Map<String, Long> versions = new HashMap<>();
+
+    public synchronized DefFolderIndex getIndex( final Path folder ) {
+        return getEntry( folder.toURI() );
+    }
+
+    /**
+     * Gets the current version of the folder, to be taken before reading the folder contents.
+     */
+    public synchronized long getVersion( final Path folder ) {
+        final Long version = versions.get( folder.toURI() );
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Stores the index read from the folder, unless the folder was invalidated after the given version was taken.
+     * @return true if the index was stored, false otherwise.
+     */
+    public synchronized boolean setIndex( final Path folder, final DefFolderIndex index, final long version ) {
+        if ( getVersion( folder ) != version ) {
+            return false;
+        }
+        setEntry( folder.toURI(), index );
+        return true;
+    }
+
+    /**
+     * Invalidates the index of the folder containing the given definition file.
+     */
+    public synchronized void invalidateFolder( final Path file ) {
+        if ( file == null ) {
+            return;
+        }
+        final org.uberfire.java.nio.file.Path folder = Paths.convert( file ).getParent();
+        if ( folder != null ) {
+            final String folderUri = Paths.convert( folder ).toURI();
+            final Long version = versions.get( folderUri );
+            versions.put( folderUri, version != null ? version + 1 : 1L );
+            invalidateCache( folderUri );
+        }
+    }
+
+    @PreDestroy
+    private synchronized void onDestroy() {
+        invalidateCache();
+    }
+
+    /**
+     * The definitions found in a folder, keyed by uuid. Deployment information is not indexed since it depends on
+     * the runtime state rather than on the folder contents.
+     */
+    public static class DefFolderIndex {
+
+        private final Map<String, DefEntry> dataSources = new LinkedHashMap<>();
+
+        private final Map<String, DefEntry> drivers = new LinkedHashMap<>();
+
+        public void addDataSource( final String uuid, final String name, final Path path ) {
+            dataSources.put( uuid, new DefEntry( uuid, name, path ) );
+        }
+
+        public void addDriver( final String uuid, final String name, final Path path ) {
+            drivers.put( uuid, new DefEntry( uuid, name, path ) );
+        }
+
+        public Collection<DefEntry> getDataSources() {
+            return dataSources.values();
+        }
+
+        public Collection<DefEntry> getDrivers() {
+            return drivers.values();
+        }
+
+        public DefEntry getDriver( final String uuid ) {
+            return drivers.get( uuid );
+        }
+    }
+
+    public static class DefEntry {
+
+        private final String uuid;
+
+        private final String name;
+
+        private final Path path;
+
+        public DefEntry( final String uuid, final String name, final Path path ) {
+            this.uuid = uuid;
+            this.name = name;
+            this.path = path;
+        }
+
+        public String getUuid() {
+            return uuid;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+    }
+}
@@ -27,7 +27,8 @@ import org.uberfire.workbench.events.ResourceRenamedEvent;
 import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 /**
- * Observes vfs events on data source and drivers definition files and notifies the interested handler.
+ * Observes vfs events on data source and drivers definition files, keeps the definitions index up to date and
+ * notifies the interested handler.
  */
 @ApplicationScoped
 public class DefResourceChangeObserver {
@@ -36,12 +37,16 @@ public class DefResourceChangeObserver {
 
     private DataSourceServicesHelper serviceHelper;
 
+    private DefFolderIndexCache folderIndexCache;
+
     public DefResourceChangeObserver( ) {
     }
 
     @Inject
-    public DefResourceChangeObserver( DataSourceServicesHelper serviceHelper ) {
+    public DefResourceChangeObserver( DataSourceServicesHelper serviceHelper,
+            DefFolderIndexCache folderIndexCache ) {
         this.serviceHelper = serviceHelper;
+        this.folderIndexCache = folderIndexCache;
     }
 
     public void setDefChangeHandler( DefChangeHandler defChangeHandler ) {
@@ -49,18 +54,22 @@ public class DefResourceChangeObserver {
     }
 
     public void onResourceAdd( @Observes final ResourceAddedEvent resourceAddedEvent ) {
+        invalidateFolder( resourceAddedEvent.getPath( ) );
         if ( defChangeHandler != null && isProcessable( resourceAddedEvent.getPath( ) ) ) {
             defChangeHandler.processResourceAdd( resourceAddedEvent.getPath( ), resourceAddedEvent.getSessionInfo( ) );
         }
     }
 
     public void onResourceUpdate( @Observes final ResourceUpdatedEvent resourceUpdatedEvent ) {
+        invalidateFolder( resourceUpdatedEvent.getPath( ) );
         if ( defChangeHandler != null && isProcessable( resourceUpdatedEvent.getPath( ) ) ) {
             defChangeHandler.processResourceUpdate( resourceUpdatedEvent.getPath( ), resourceUpdatedEvent.getSessionInfo( ) );
         }
     }
 
     public void onResourceRename( @Observes final ResourceRenamedEvent resourceRenamedEvent ) {
+        invalidateFolder( resourceRenamedEvent.getPath( ) );
+        invalidateFolder( resourceRenamedEvent.getDestinationPath( ) );
         if ( defChangeHandler != null && isProcessable( resourceRenamedEvent.getDestinationPath( ) ) ) {
             defChangeHandler.processResourceRename( resourceRenamedEvent.getPath( ),
                     resourceRenamedEvent.getDestinationPath( ), resourceRenamedEvent.getSessionInfo( ) );
@@ -68,11 +77,18 @@ public class DefResourceChangeObserver {
     }
 
     public void onResourceDelete( @Observes final ResourceDeletedEvent resourceDeletedEvent ) {
+        invalidateFolder( resourceDeletedEvent.getPath( ) );
         if ( defChangeHandler != null && isProcessable( resourceDeletedEvent.getPath( ) ) ) {
             defChangeHandler.processResourceDelete( resourceDeletedEvent.getPath( ), resourceDeletedEvent.getSessionInfo( ) );
         }
     }
 
+    private void invalidateFolder( Path path ) {
+        if ( isProcessable( path ) ) {
+            folderIndexCache.invalidateFolder( path );
+        }
+    }
+
     private boolean isProcessable( Path path ) {
         return serviceHelper.isDataSourceFile( path ) || serviceHelper.isDriverFile( path );
     }
@@ -16,13 +16,18 @@
 
 package org.kie.workbench.common.screens.datasource.management.backend.service;
 
+import java.io.File;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceProviderFactory;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceRuntimeManager;
@@ -37,7 +42,10 @@ import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 import org.uberfire.io.impl.IOServiceDotFileImpl;
+import org.uberfire.java.nio.file.DirectoryStream;
 import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -47,7 +55,10 @@ public class DataSourceDefQueryServiceTest {
 
     private final SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
 
-    private final IOService ioService = new IOServiceDotFileImpl( );
+    private final IOService ioService = spy( new IOServiceDotFileImpl( ) );
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder( );
 
     @Mock
     private KieProjectService projectService;
@@ -63,6 +74,8 @@ public class DataSourceDefQueryServiceTest {
 
     private DataSourceDefQueryService queryService;
 
+    private DefFolderIndexCache folderIndexCache;
+
     private org.uberfire.java.nio.file.Path nioDataSourcesPath;
 
     private Path dataSourcesPath;
@@ -86,8 +99,9 @@ public class DataSourceDefQueryServiceTest {
         nioDataSourcesPath = fs.getPath( dataSourcesPathURL.toURI() );
         dataSourcesPath = Paths.convert( nioDataSourcesPath );
 
+        folderIndexCache = new DefFolderIndexCache( );
         queryService = new DataSourceDefQueryServiceImpl( ioService,
-                projectService, serviceHelper, providerFactory, runtimeManager );
+                projectService, serviceHelper, providerFactory, runtimeManager, folderIndexCache );
 
         setupExpectedResults();
     }
@@ -144,6 +158,83 @@ public class DataSourceDefQueryServiceTest {
         assertEquals( expectedDrivers.get( 1 ), driverDefInfo );
     }
 
+    @Test
+    public void testFindGlobalDriverByUuid() {
+        when ( serviceHelper.getGlobalDataSourcesContext() ).thenReturn( dataSourcesPath );
+        assertEquals( expectedDrivers.get( 0 ), queryService.findGlobalDriver( "driver1Id" ) );
+        assertNull( queryService.findGlobalDriver( "notExistingId" ) );
+    }
+
+    @Test
+    public void testUnchangedQueriesPerformNoFileReads() {
+        when ( serviceHelper.getGlobalDataSourcesContext() ).thenReturn( dataSourcesPath );
+
+        assertCollectionEquals( expectedDataSources, queryService.findGlobalDataSources( false ) );
+        // the four definition files are read once
+        verify( ioService, times( 4 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+
+        assertCollectionEquals( expectedDataSources, queryService.findGlobalDataSources( false ) );
+        assertCollectionEquals( expectedDrivers, queryService.findGlobalDrivers() );
+        assertEquals( expectedDrivers.get( 1 ), queryService.findGlobalDriver( "driver2Id" ) );
+        verify( ioService, times( 4 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+        verify( ioService, times( 1 ) ).newDirectoryStream( any( org.uberfire.java.nio.file.Path.class ),
+                any( DirectoryStream.Filter.class ) );
+    }
+
+    @Test
+    public void testEditedDefinitionIsReflectedOnNextQuery() throws Exception {
+        final org.uberfire.java.nio.file.Path nioFolder = createDefinitionsFolder();
+        final org.uberfire.java.nio.file.Path nioDriverPath = nioFolder.resolve( "Driver1.driver" );
+        when ( serviceHelper.getGlobalDataSourcesContext() ).thenReturn( Paths.convert( nioFolder ) );
+        when ( serviceHelper.isDriverFile( any( Path.class ) ) ).thenReturn( true );
+
+        assertEquals( "Driver1", queryService.findGlobalDriver( "driver1Id" ).getName() );
+
+        ioService.write( nioDriverPath,
+                ioService.readAllString( nioDriverPath ).replace( "\"Driver1\"", "\"Driver1Edited\"" ) );
+        new DefResourceChangeObserver( serviceHelper, folderIndexCache )
+                .onResourceUpdate( new ResourceUpdatedEvent( Paths.convert( nioDriverPath ), "", mock( SessionInfo.class ) ) );
+
+        assertEquals( "Driver1Edited", queryService.findGlobalDriver( "driver1Id" ).getName() );
+        assertEquals( 1, queryService.findGlobalDataSources( false ).size() );
+    }
+
+    @Test
+    public void testIndexReadWhileEditedIsNotCached() throws Exception {
+        final org.uberfire.java.nio.file.Path nioFolder = createDefinitionsFolder();
+        final org.uberfire.java.nio.file.Path nioDriverPath = nioFolder.resolve( "Driver1.driver" );
+        when ( serviceHelper.getGlobalDataSourcesContext() ).thenReturn( Paths.convert( nioFolder ) );
+        when ( serviceHelper.isDriverFile( any( Path.class ) ) ).thenReturn( true );
+
+        // the driver is edited right after its previous content was read by the query
+        final AtomicBoolean edited = new AtomicBoolean( false );
+        doAnswer( invocation -> {
+            final String content = ( String ) invocation.callRealMethod();
+            if ( edited.compareAndSet( false, true ) ) {
+                ioService.write( nioDriverPath, content.replace( "\"Driver1\"", "\"Driver1Edited\"" ) );
+                new DefResourceChangeObserver( serviceHelper, folderIndexCache )
+                        .onResourceUpdate( new ResourceUpdatedEvent( Paths.convert( nioDriverPath ), "", mock( SessionInfo.class ) ) );
+            }
+            return content;
+        } ).when( ioService ).readAllString( nioDriverPath );
+
+        assertEquals( "Driver1", queryService.findGlobalDriver( "driver1Id" ).getName() );
+        assertTrue( edited.get() );
+        assertNull( folderIndexCache.getIndex( Paths.convert( nioFolder ) ) );
+
+        assertEquals( "Driver1Edited", queryService.findGlobalDriver( "driver1Id" ).getName() );
+        assertNotNull( folderIndexCache.getIndex( Paths.convert( nioFolder ) ) );
+    }
+
+    private org.uberfire.java.nio.file.Path createDefinitionsFolder() throws Exception {
+        final File folder = temporaryFolder.newFolder( "DataSourceFiles" );
+        for ( String fileName : new String[]{ "DS1.datasource", "Driver1.driver" } ) {
+            Files.copy( new File( this.getClass().getResource( "/DataSourceFiles/" + fileName ).toURI() ).toPath(),
+                    new File( folder, fileName ).toPath() );
+        }
+        return fs.getPath( folder.toURI() );
+    }
+
     private void assertCollectionEquals( Collection<?> expectedValues, Collection<?> values ) {
         assertEquals( expectedValues.size(), values.size() );
         for ( Object value : values ) {
@@ -17,6 +17,7 @@
 package org.kie.workbench.common.screens.datasource.management.backend.service;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Before;
@@ -24,8 +25,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceRuntimeManager;
+import org.kie.workbench.common.screens.datasource.management.events.UpdateDataSourceEvent;
 import org.kie.workbench.common.screens.datasource.management.metadata.DatabaseMetadata;
 import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadata;
+import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadataPage;
+import org.kie.workbench.common.screens.datasource.management.model.DataSourceDef;
 import org.kie.workbench.common.screens.datasource.management.service.DatabaseMetadataService;
 import org.kie.workbench.common.screens.datasource.management.util.DatabaseMetadataUtil;
 import org.mockito.Mock;
@@ -46,6 +50,10 @@ public class DatabaseMetadataServiceTest {
 
     private static final String PATTERN = "PATTERN";
 
+    private static final long TIME_TO_LIVE = 1000;
+
+    private static final int TABLES_COUNT = 25;
+
     @Mock
     private DataSourceRuntimeManager runtimeManager;
 
@@ -65,9 +73,24 @@ public class DatabaseMetadataServiceTest {
 
     private DatabaseMetadata.TableType[] types = { DatabaseMetadata.TableType.ALL };
 
+    private long currentTime = 0;
+
+    private List< TableMetadata > allTables;
+
     @Before
     public void setup( ) throws Exception {
-        metadataService = new DatabaseMetadataServiceImpl( runtimeManager );
+        DatabaseMetadataCache metadataCache = new DatabaseMetadataCache( TIME_TO_LIVE ) {
+            @Override
+            protected long currentTimeMillis( ) {
+                return currentTime;
+            }
+        };
+        metadataService = new DatabaseMetadataServiceImpl( runtimeManager, metadataCache );
+
+        allTables = new ArrayList<>( );
+        for ( int i = 0; i < TABLES_COUNT; i++ ) {
+            allTables.add( new TableMetadata( null, SCHEMA, "TABLE_" + i, "TABLE" ) );
+        }
 
         when( runtimeManager.lookupDataSource( DATASOURCE_UUID ) ).thenReturn( dataSource );
         when( dataSource.getConnection( ) ).thenReturn( conn );
@@ -109,4 +132,103 @@ public class DatabaseMetadataServiceTest {
         // the result should be the same as the returned by the DatabaseMetadataUtil class.
         assertEquals( tables, result );
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the pages returned by the paged findTables method are properly calculated.
+     */
+    @Test
+    public void testFindTablesPaged( ) throws Exception {
+        PowerMockito.mockStatic( DatabaseMetadataUtil.class );
+        PowerMockito.when( DatabaseMetadataUtil.findTables( conn, SCHEMA, PATTERN, types ) ).thenReturn( allTables );
+
+        TableMetadataPage page = metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, 0, 10, types );
+        assertEquals( allTables.subList( 0, 10 ), page.getTables( ) );
+        assertEquals( 0, page.getStartRow( ) );
+        assertEquals( TABLES_COUNT, page.getTotalRows( ) );
+        assertFalse( page.isLastPage( ) );
+
+        // the last page is partially filled.
+        page = metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, 20, 10, types );
+        assertEquals( allTables.subList( 20, TABLES_COUNT ), page.getTables( ) );
+        assertTrue( page.isLastPage( ) );
+
+        // the page ends exactly at the last table.
+        page = metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, 15, 10, types );
+        assertEquals( allTables.subList( 15, TABLES_COUNT ), page.getTables( ) );
+        assertTrue( page.isLastPage( ) );
+
+        // pages beyond the last table are empty.
+        page = metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, 30, 10, types );
+        assertTrue( page.getTables( ).isEmpty( ) );
+        assertEquals( TABLES_COUNT, page.getTotalRows( ) );
+        assertTrue( page.isLastPage( ) );
+
+        // the database was queried only once, the following pages were served from the cache.
+        verify( dataSource, times( 1 ) ).getConnection( );
+    }
+
+    @Test( expected = IllegalStateException.class )
+    public void testFindTablesPagedWithWrongPageSize( ) throws Exception {
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, 0, 0, types );
+    }
+
+    /**
+     * Tests that the cached metadata is discarded when the time to live has elapsed.
+     */
+    @Test
+    public void testCacheExpiration( ) throws Exception {
+        PowerMockito.mockStatic( DatabaseMetadataUtil.class );
+        PowerMockito.when( DatabaseMetadataUtil.findTables( conn, SCHEMA, PATTERN, types ) ).thenReturn( allTables );
+
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, types );
+        currentTime = TIME_TO_LIVE - 1;
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, types );
+        verify( dataSource, times( 1 ) ).getConnection( );
+
+        currentTime = TIME_TO_LIVE;
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, types );
+        verify( dataSource, times( 2 ) ).getConnection( );
+    }
+
+    /**
+     * Tests that the cached metadata is discarded when a refresh is requested.
+     */
+    @Test
+    public void testRefreshMetadata( ) throws Exception {
+        PowerMockito.mockStatic( DatabaseMetadataUtil.class );
+        PowerMockito.when( DatabaseMetadataUtil.getMetadata( conn, false, true ) ).thenReturn( metadata );
+        PowerMockito.when( DatabaseMetadataUtil.findTables( conn, SCHEMA, PATTERN, types ) ).thenReturn( allTables );
+
+        assertEquals( metadata, metadataService.getMetadata( DATASOURCE_UUID, false, true ) );
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, types );
+        assertEquals( metadata, metadataService.getMetadata( DATASOURCE_UUID, false, true ) );
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, types );
+        verify( dataSource, times( 2 ) ).getConnection( );
+
+        metadataService.refreshMetadata( DATASOURCE_UUID );
+        assertEquals( metadata, metadataService.getMetadata( DATASOURCE_UUID, false, true ) );
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, types );
+        verify( dataSource, times( 4 ) ).getConnection( );
+    }
+
+    /**
+     * Tests that the cached metadata is discarded when the data source is modified.
+     */
+    @Test
+    public void testDataSourceUpdated( ) throws Exception {
+        PowerMockito.mockStatic( DatabaseMetadataUtil.class );
+        PowerMockito.when( DatabaseMetadataUtil.findTables( conn, SCHEMA, PATTERN, types ) ).thenReturn( allTables );
+
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, types );
+        // a different filtering criteria is not served from the cache.
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, "%", types );
+        verify( dataSource, times( 2 ) ).getConnection( );
+
+        DataSourceDef dataSourceDef = new DataSourceDef( );
+        dataSourceDef.setUuid( DATASOURCE_UUID );
+        ( ( DatabaseMetadataServiceImpl ) metadataService ).onDataSourceUpdated(
+                new UpdateDataSourceEvent( dataSourceDef, "sessionId", "identity", dataSourceDef ) );
+        metadataService.findTables( DATASOURCE_UUID, SCHEMA, PATTERN, types );
+        verify( dataSource, times( 3 ) ).getConnection( );
+    }
+}
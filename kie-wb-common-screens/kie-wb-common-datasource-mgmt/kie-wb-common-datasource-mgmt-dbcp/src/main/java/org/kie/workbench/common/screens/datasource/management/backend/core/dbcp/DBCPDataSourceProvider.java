@@ -20,10 +20,10 @@ import java.net.URI;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -32,7 +32,6 @@ import org.apache.commons.dbcp2.ConnectionFactory;
 import org.apache.commons.dbcp2.PoolableConnection;
 import org.apache.commons.dbcp2.PoolableConnectionFactory;
 import org.apache.commons.dbcp2.PoolingDataSource;
-import org.apache.commons.pool2.ObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceProvider;
@@ -60,11 +59,18 @@ public class DBCPDataSourceProvider
 
     private MavenArtifactResolver artifactResolver;
 
-    private Map< String, DBCPDataSource > deploymentRegistry = new HashMap<>();
+    private Map< String, DBCPDataSource > deploymentRegistry = new ConcurrentHashMap<>();
 
-    private Map< String, DataSourceDeploymentInfo > deploymentInfos = new HashMap<>();
+    private Map< String, DataSourceDeploymentInfo > deploymentInfos = new ConcurrentHashMap<>();
 
-    private Map< String, DataSourceDef > deployedDataSources = new HashMap<>();
+    private Map< String, DataSourceDef > deployedDataSources = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the updates that involve more than one of the registries.
+     */
+    private final Object registryLock = new Object();
+
+    private Properties config = new Properties();
 
     public DBCPDataSourceProvider() {
     }
@@ -111,12 +117,18 @@ public class DBCPDataSourceProvider
         //Connection Factory that the pool will use for creating connections.
         ConnectionFactory connectionFactory = new DBCPConnectionFactory(urlConnectionFactory);
 
+        DBCPPoolConfig poolConfig = DBCPPoolConfig.load(config,
+                                                        dataSourceDef.getUuid());
+
         //Poolable connection factory
         PoolableConnectionFactory poolableConnectionFactory = new PoolableConnectionFactory(connectionFactory,
                                                                                             null);
+        poolableConnectionFactory.setValidationQuery(poolConfig.getValidationQuery());
+        poolableConnectionFactory.setValidationQueryTimeout(poolConfig.getValidationQueryTimeout());
 
         //The pool to be used by the ConnectionFactory
-        ObjectPool< PoolableConnection > connectionPool = new GenericObjectPool<>(poolableConnectionFactory);
+        GenericObjectPool< PoolableConnection > connectionPool = new GenericObjectPool<>(poolableConnectionFactory,
+                                                                                         poolConfig.toPoolConfig());
 
         //Set the factory's pool property to the owning pool
         poolableConnectionFactory.setPool(connectionPool);
@@ -129,12 +141,18 @@ public class DBCPDataSourceProvider
                                                                                dataSourceDef.getUuid(),
                                                                                false);
 
-        deploymentRegistry.put(deploymentInfo.getDeploymentId(),
-                               new DBCPDataSource(dataSource));
-        deploymentInfos.put(deploymentInfo.getDeploymentId(),
-                            deploymentInfo);
-        deployedDataSources.put(deploymentInfo.getDeploymentId(),
-                                dataSourceDef);
+        DBCPDataSource replacedDataSource;
+        synchronized (registryLock) {
+            replacedDataSource = deploymentRegistry.put(deploymentInfo.getDeploymentId(),
+                                                        new DBCPDataSource(dataSource,
+                                                                           connectionPool));
+            deploymentInfos.put(deploymentInfo.getDeploymentId(),
+                                deploymentInfo);
+            deployedDataSources.put(deploymentInfo.getDeploymentId(),
+                                    dataSourceDef);
+        }
+        //a re-deployed data source must not leak the connections of the previous pool.
+        closeDataSource(replacedDataSource);
 
         return deploymentInfo;
     }
@@ -148,24 +166,17 @@ public class DBCPDataSourceProvider
 
     @Override
     public void undeploy(DataSourceDeploymentInfo deploymentInfo) throws Exception {
-        DataSourceDeploymentInfo currentDeploymentInfo = deploymentInfos.get(deploymentInfo.getDeploymentId());
-        if (currentDeploymentInfo == null) {
-            throw new Exception("DataSource: " + deploymentInfo.getUuid() + " is not deployed");
-        }
-
-        DBCPDataSource dataSource = deploymentRegistry.remove(
-                currentDeploymentInfo.getDeploymentId());
-        if (dataSource != null) {
-            try {
-                dataSource.close();
-            } catch (Exception e) {
-                logger.warn("An error was produced during datasource close",
-                            e);
+        DBCPDataSource dataSource;
+        synchronized (registryLock) {
+            DataSourceDeploymentInfo currentDeploymentInfo = deploymentInfos.get(deploymentInfo.getDeploymentId());
+            if (currentDeploymentInfo == null) {
+                throw new Exception("DataSource: " + deploymentInfo.getUuid() + " is not deployed");
             }
+            dataSource = deploymentRegistry.remove(currentDeploymentInfo.getDeploymentId());
+            deployedDataSources.remove(currentDeploymentInfo.getDeploymentId());
+            deploymentInfos.remove(currentDeploymentInfo.getDeploymentId());
         }
-        deploymentRegistry.remove(currentDeploymentInfo.getDeploymentId());
-        deployedDataSources.remove(currentDeploymentInfo.getDeploymentId());
-        deploymentInfos.remove(currentDeploymentInfo.getDeploymentId());
+        closeDataSource(dataSource);
     }
 
     @Override
@@ -189,6 +200,18 @@ public class DBCPDataSourceProvider
 
     @Override
     public void loadConfig(Properties properties) {
+        this.config = properties != null ? properties : new Properties();
+    }
+
+    /**
+     * Gets the current usage of the connection pool for a deployed data source.
+     * @param deploymentId the data source deployment identifier.
+     * @return the pool statistics, or null if no data source is deployed with the given identifier.
+     */
+    public DBCPPoolStats getPoolStats(String deploymentId) {
+        DBCPDataSource dataSource = deploymentRegistry.get(deploymentId);
+        return dataSource != null ? new DBCPPoolStats(deploymentId,
+                                                      dataSource.getPool()) : null;
     }
 
     @Override
@@ -199,16 +222,14 @@ public class DBCPDataSourceProvider
                 //first access to the data source
                 dataSource.setStatus(DataSourceStatus.REFERENCED);
             }
-            DataSourceDeploymentInfo _deploymentInfo = deploymentInfos.get(deploymentInfo.getDeploymentId());
-            if (_deploymentInfo != null) {
-                DataSourceDeploymentInfo updatedDeploymentInfo = new DataSourceDeploymentInfo(
-                        deploymentInfo.getDeploymentId(),
-                        true,
-                        deploymentInfo.getUuid(),
-                        true);
-                deploymentInfos.put(deploymentInfo.getDeploymentId(),
-                                    updatedDeploymentInfo);
-            }
+            DataSourceDeploymentInfo updatedDeploymentInfo = new DataSourceDeploymentInfo(
+                    deploymentInfo.getDeploymentId(),
+                    true,
+                    deploymentInfo.getUuid(),
+                    true);
+            //only update the info if the data source wasn't undeployed in the meantime.
+            deploymentInfos.computeIfPresent(deploymentInfo.getDeploymentId(),
+                                             (id, currentInfo) -> updatedDeploymentInfo);
             return dataSource;
         } else {
             throw new Exception("Data source for: " + deploymentInfo + " is not deployed in current system.");
@@ -220,6 +241,17 @@ public class DBCPDataSourceProvider
         //no additional checks are required for this provider.
     }
 
+    private void closeDataSource(DBCPDataSource dataSource) {
+        if (dataSource != null) {
+            try {
+                dataSource.close();
+            } catch (Exception e) {
+                logger.warn("An error was produced during datasource close",
+                            e);
+            }
+        }
+    }
+
     /**
      * facilitates tests programming.
      */
@@ -250,8 +282,16 @@ public class DBCPDataSourceProvider
 
     private class DBCPDataSource extends AbstractDataSource {
 
-        public DBCPDataSource(PoolingDataSource dataSource) {
+        private GenericObjectPool< PoolableConnection > pool;
+
+        public DBCPDataSource(PoolingDataSource dataSource,
+                              GenericObjectPool< PoolableConnection > pool) {
             this.dataSource = dataSource;
+            this.pool = pool;
+        }
+
+        public GenericObjectPool< PoolableConnection > getPool() {
+            return pool;
         }
 
         @Override
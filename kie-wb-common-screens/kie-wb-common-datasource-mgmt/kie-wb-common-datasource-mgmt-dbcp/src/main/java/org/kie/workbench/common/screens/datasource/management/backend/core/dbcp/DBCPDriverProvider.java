@@ -18,10 +18,10 @@ package org.kie.workbench.common.screens.datasource.management.backend.core.dbcp
 
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -43,11 +43,11 @@ public class DBCPDriverProvider
 
     private MavenArtifactResolver artifactResolver;
 
-    private Map< String, URI > deployedUris = new HashMap<>();
+    private Map< String, URI > deployedUris = new ConcurrentHashMap<>();
 
-    private Map< String, DriverDeploymentInfo > deploymentInfos = new HashMap<>();
+    private Map< String, DriverDeploymentInfo > deploymentInfos = new ConcurrentHashMap<>();
 
-    private Map< String, DriverDef > deployedDrivers = new HashMap<>();
+    private Map< String, DriverDef > deployedDrivers = new ConcurrentHashMap<>();
 
     public DBCPDriverProvider() {
     }
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.core.dbcp;
+
+import java.util.Properties;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceSettings.*;
+import static org.kie.workbench.common.screens.datasource.management.util.ServiceUtil.*;
+
+/**
+ * Connection pool settings for the data sources deployed by the DBCPDataSourceProvider.
+ * <p>
+ * Settings are read from the data source management properties, e.g.
+ * <code>datasource.management.dbcp.pool.maxTotal=20</code>, and can be overridden for a given data source by
+ * including the data source uuid, e.g. <code>datasource.management.dbcp.pool.[uuid].maxTotal=50</code>.
+ */
+public class DBCPPoolConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DBCPPoolConfig.class);
+
+    public static final String POOL_PREFIX = DATASOURCE_MANAGEMENT_PREFIX + ".dbcp.pool";
+
+    public static final String MAX_TOTAL = "maxTotal";
+
+    public static final String MAX_IDLE = "maxIdle";
+
+    public static final String MIN_IDLE = "minIdle";
+
+    public static final String MAX_WAIT_MILLIS = "maxWaitMillis";
+
+    public static final String TEST_ON_BORROW = "testOnBorrow";
+
+    public static final String TEST_WHILE_IDLE = "testWhileIdle";
+
+    public static final String VALIDATION_QUERY = "validationQuery";
+
+    public static final String VALIDATION_QUERY_TIMEOUT = "validationQueryTimeout";
+
+    public static final String TIME_BETWEEN_EVICTION_RUNS_MILLIS = "timeBetweenEvictionRunsMillis";
+
+    public static final String MIN_EVICTABLE_IDLE_TIME_MILLIS = "minEvictableIdleTimeMillis";
+
+    private int maxTotal = 20;
+
+    private int maxIdle = 8;
+
+    private int minIdle = 0;
+
+    private long maxWaitMillis = 30000;
+
+    private boolean testOnBorrow = true;
+
+    private boolean testWhileIdle = true;
+
+    /**
+     * When not set, connections are validated with Connection.isValid()
+     */
+    private String validationQuery = null;
+
+    /**
+     * In seconds, a non positive value means no timeout.
+     */
+    private int validationQueryTimeout = 5;
+
+    private long timeBetweenEvictionRunsMillis = 60000;
+
+    private long minEvictableIdleTimeMillis = 300000;
+
+    public DBCPPoolConfig() {
+    }
+
+    /**
+     * Loads the pool settings for a given data source.
+     * @param properties the data source management properties.
+     * @param dataSourceUuid the data source identifier, used for reading the data source specific settings.
+     * @return the pool settings, the by default values are used for the settings that are not configured.
+     */
+    public static DBCPPoolConfig load(final Properties properties,
+                                      final String dataSourceUuid) {
+        final DBCPPoolConfig config = new DBCPPoolConfig();
+        if (properties == null) {
+            return config;
+        }
+        config.maxTotal = getInt(properties,
+                                 dataSourceUuid,
+                                 MAX_TOTAL,
+                                 config.maxTotal);
+        config.maxIdle = getInt(properties,
+                                dataSourceUuid,
+                                MAX_IDLE,
+                                config.maxIdle);
+        config.minIdle = getInt(properties,
+                                dataSourceUuid,
+                                MIN_IDLE,
+                                config.minIdle);
+        config.maxWaitMillis = getLong(properties,
+                                       dataSourceUuid,
+                                       MAX_WAIT_MILLIS,
+                                       config.maxWaitMillis);
+        config.testOnBorrow = Boolean.parseBoolean(getProperty(properties,
+                                                               dataSourceUuid,
+                                                               TEST_ON_BORROW,
+                                                               Boolean.toString(config.testOnBorrow)));
+        config.testWhileIdle = Boolean.parseBoolean(getProperty(properties,
+                                                                dataSourceUuid,
+                                                                TEST_WHILE_IDLE,
+                                                                Boolean.toString(config.testWhileIdle)));
+        final String validationQuery = getProperty(properties,
+                                                   dataSourceUuid,
+                                                   VALIDATION_QUERY,
+                                                   config.validationQuery);
+        config.validationQuery = isEmpty(validationQuery) ? null : validationQuery;
+        config.validationQueryTimeout = getInt(properties,
+                                               dataSourceUuid,
+                                               VALIDATION_QUERY_TIMEOUT,
+                                               config.validationQueryTimeout);
+        config.timeBetweenEvictionRunsMillis = getLong(properties,
+                                                       dataSourceUuid,
+                                                       TIME_BETWEEN_EVICTION_RUNS_MILLIS,
+                                                       config.timeBetweenEvictionRunsMillis);
+        config.minEvictableIdleTimeMillis = getLong(properties,
+                                                    dataSourceUuid,
+                                                    MIN_EVICTABLE_IDLE_TIME_MILLIS,
+                                                    config.minEvictableIdleTimeMillis);
+        return config;
+    }
+
+    /**
+     * @return the commons-pool configuration for these settings.
+     */
+    public GenericObjectPoolConfig toPoolConfig() {
+        final GenericObjectPoolConfig poolConfig = new GenericObjectPoolConfig();
+        poolConfig.setMaxTotal(maxTotal);
+        poolConfig.setMaxIdle(maxIdle);
+        poolConfig.setMinIdle(minIdle);
+        poolConfig.setMaxWaitMillis(maxWaitMillis);
+        poolConfig.setTestOnBorrow(testOnBorrow);
+        poolConfig.setTestWhileIdle(testWhileIdle);
+        poolConfig.setTimeBetweenEvictionRunsMillis(timeBetweenEvictionRunsMillis);
+        poolConfig.setMinEvictableIdleTimeMillis(minEvictableIdleTimeMillis);
+        return poolConfig;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public void setMaxIdle(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public boolean isTestOnBorrow() {
+        return testOnBorrow;
+    }
+
+    public void setTestOnBorrow(boolean testOnBorrow) {
+        this.testOnBorrow = testOnBorrow;
+    }
+
+    public boolean isTestWhileIdle() {
+        return testWhileIdle;
+    }
+
+    public void setTestWhileIdle(boolean testWhileIdle) {
+        this.testWhileIdle = testWhileIdle;
+    }
+
+    public String getValidationQuery() {
+        return validationQuery;
+    }
+
+    public void setValidationQuery(String validationQuery) {
+        this.validationQuery = validationQuery;
+    }
+
+    public int getValidationQueryTimeout() {
+        return validationQueryTimeout;
+    }
+
+    public void setValidationQueryTimeout(int validationQueryTimeout) {
+        this.validationQueryTimeout = validationQueryTimeout;
+    }
+
+    public long getTimeBetweenEvictionRunsMillis() {
+        return timeBetweenEvictionRunsMillis;
+    }
+
+    public void setTimeBetweenEvictionRunsMillis(long timeBetweenEvictionRunsMillis) {
+        this.timeBetweenEvictionRunsMillis = timeBetweenEvictionRunsMillis;
+    }
+
+    public long getMinEvictableIdleTimeMillis() {
+        return minEvictableIdleTimeMillis;
+    }
+
+    public void setMinEvictableIdleTimeMillis(long minEvictableIdleTimeMillis) {
+        this.minEvictableIdleTimeMillis = minEvictableIdleTimeMillis;
+    }
+
+    private static String getProperty(final Properties properties,
+                                      final String dataSourceUuid,
+                                      final String name,
+                                      final String defaultValue) {
+        String value = null;
+        if (dataSourceUuid != null) {
+            value = getManagedProperty(properties,
+                                       POOL_PREFIX + "." + dataSourceUuid + "." + name);
+        }
+        if (isEmpty(value)) {
+            value = getManagedProperty(properties,
+                                       POOL_PREFIX + "." + name);
+        }
+        return isEmpty(value) ? defaultValue : value;
+    }
+
+    private static int getInt(final Properties properties,
+                              final String dataSourceUuid,
+                              final String name,
+                              final int defaultValue) {
+        final String value = getProperty(properties,
+                                         dataSourceUuid,
+                                         name,
+                                         Integer.toString(defaultValue));
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Wrong integer value: " + value + " was set for pool property: " + name
+                                + " The by default value: " + defaultValue + " will be used instead.");
+            return defaultValue;
+        }
+    }
+
+    private static long getLong(final Properties properties,
+                                final String dataSourceUuid,
+                                final String name,
+                                final long defaultValue) {
+        final String value = getProperty(properties,
+                                         dataSourceUuid,
+                                         name,
+                                         Long.toString(defaultValue));
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Wrong long value: " + value + " was set for pool property: " + name
+                                + " The by default value: " + defaultValue + " will be used instead.");
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.core.dbcp;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+/**
+ * Snapshot of the connection pool usage for a data source deployed by the DBCPDataSourceProvider.
+ */
+public class DBCPPoolStats {
+
+    private final String deploymentId;
+
+    private final int numActive;
+
+    private final int numIdle;
+
+    private final int numWaiters;
+
+    private final int maxTotal;
+
+    private final long meanBorrowWaitTimeMillis;
+
+    private final long maxBorrowWaitTimeMillis;
+
+    private final long borrowedCount;
+
+    public DBCPPoolStats(final String deploymentId,
+                         final GenericObjectPool<?> pool) {
+        this.deploymentId = deploymentId;
+        this.numActive = pool.getNumActive();
+        this.numIdle = pool.getNumIdle();
+        this.numWaiters = pool.getNumWaiters();
+        this.maxTotal = pool.getMaxTotal();
+        this.meanBorrowWaitTimeMillis = pool.getMeanBorrowWaitTimeMillis();
+        this.maxBorrowWaitTimeMillis = pool.getMaxBorrowWaitTimeMillis();
+        this.borrowedCount = pool.getBorrowedCount();
+    }
+
+    public String getDeploymentId() {
+        return deploymentId;
+    }
+
+    /**
+     * @return the number of connections currently in use.
+     */
+    public int getNumActive() {
+        return numActive;
+    }
+
+    /**
+     * @return the number of connections currently idle in the pool.
+     */
+    public int getNumIdle() {
+        return numIdle;
+    }
+
+    /**
+     * @return the number of threads currently blocked waiting for a connection.
+     */
+    public int getNumWaiters() {
+        return numWaiters;
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * @return the mean time threads have waited to borrow a connection, for the recently borrowed connections.
+     */
+    public long getMeanBorrowWaitTimeMillis() {
+        return meanBorrowWaitTimeMillis;
+    }
+
+    /**
+     * @return the maximum time a thread has waited to borrow a connection.
+     */
+    public long getMaxBorrowWaitTimeMillis() {
+        return maxBorrowWaitTimeMillis;
+    }
+
+    /**
+     * @return the total number of connections borrowed from the pool.
+     */
+    public long getBorrowedCount() {
+        return borrowedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "DBCPPoolStats{" +
+                "deploymentId='" + deploymentId + '\'' +
+                ", numActive=" + numActive +
+                ", numIdle=" + numIdle +
+                ", numWaiters=" + numWaiters +
+                ", maxTotal=" + maxTotal +
+                ", meanBorrowWaitTimeMillis=" + meanBorrowWaitTimeMillis +
+                ", maxBorrowWaitTimeMillis=" + maxBorrowWaitTimeMillis +
+                ", borrowedCount=" + borrowedCount +
+                '}';
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.core.dbcp;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceManagementTestConstants;
+import org.kie.workbench.common.screens.datasource.management.model.DataSourceDef;
+import org.kie.workbench.common.screens.datasource.management.model.DataSourceDeploymentInfo;
+import org.kie.workbench.common.screens.datasource.management.model.DriverDef;
+import org.kie.workbench.common.screens.datasource.management.util.MavenArtifactResolver;
+import org.kie.workbench.common.screens.datasource.management.util.URLConnectionFactory;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the connection pools created by the DBCPDataSourceProvider. The pooled connections are provided by a
+ * connection factory that emulates a database that always accepts new connections.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DBCPDataSourceProviderPoolTest
+        implements DataSourceManagementTestConstants {
+
+    private static final int THREADS = 8;
+
+    private static final int DATA_SOURCES = 40;
+
+    @Mock
+    private DBCPDriverProvider dbcpDriverProvider;
+
+    @Mock
+    private MavenArtifactResolver artifactResolver;
+
+    @Mock
+    private URLConnectionFactory urlConnectionFactory;
+
+    private DBCPDataSourceProvider dataSourceProvider;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() throws Exception {
+        DriverDef driverDef = new DriverDef();
+        driverDef.setUuid(DRIVER1_UUID);
+        driverDef.setName(DRIVER1_NAME);
+        driverDef.setDriverClass(DRIVER1_CLASS);
+        driverDef.setArtifactId(ARTIFACT_ID);
+        driverDef.setGroupId(GROUP_ID);
+        driverDef.setVersion(VERSION);
+
+        when(dbcpDriverProvider.getDeployments()).thenReturn(Collections.singletonList(driverDef));
+        when(artifactResolver.resolve(GROUP_ID,
+                                      ARTIFACT_ID,
+                                      VERSION)).thenReturn(new URI("file:///maven_dir/driver1_file.jar"));
+        when(urlConnectionFactory.createConnection()).thenAnswer(invocation -> newConnection());
+
+        dataSourceProvider = new DBCPDataSourceProvider(dbcpDriverProvider,
+                                                        artifactResolver) {
+            @Override
+            protected URLConnectionFactory buildConnectionFactory(URI uri,
+                                                                  String driverClass,
+                                                                  String connectionURL,
+                                                                  Properties connectionProperties) throws Exception {
+                return urlConnectionFactory;
+            }
+        };
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        for (DataSourceDeploymentInfo deploymentInfo : dataSourceProvider.getDeploymentsInfo()) {
+            dataSourceProvider.undeploy(deploymentInfo);
+        }
+    }
+
+    @Test
+    public void testPoolConfigFromProperties() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(DBCPPoolConfig.POOL_PREFIX + "." + DBCPPoolConfig.MAX_TOTAL,
+                               "5");
+        properties.setProperty(DBCPPoolConfig.POOL_PREFIX + "." + DS1_UUID + "." + DBCPPoolConfig.MAX_TOTAL,
+                               "3");
+        properties.setProperty(DBCPPoolConfig.POOL_PREFIX + "." + DBCPPoolConfig.MAX_IDLE,
+                               "not a number");
+        dataSourceProvider.loadConfig(properties);
+
+        DBCPPoolConfig poolConfig = DBCPPoolConfig.load(properties,
+                                                        DS1_UUID);
+        assertEquals(3,
+                     poolConfig.getMaxTotal());
+        // wrong values are replaced by the defaults.
+        assertEquals(new DBCPPoolConfig().getMaxIdle(),
+                     poolConfig.getMaxIdle());
+
+        dataSourceProvider.deploy(newDataSourceDef(DS1_UUID));
+        dataSourceProvider.deploy(newDataSourceDef("ds2"));
+        assertEquals(3,
+                     dataSourceProvider.getPoolStats(DS1_UUID).getMaxTotal());
+        assertEquals(5,
+                     dataSourceProvider.getPoolStats("ds2").getMaxTotal());
+        assertNull(dataSourceProvider.getPoolStats("not-deployed"));
+    }
+
+    @Test
+    public void testPoolSaturation() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(DBCPPoolConfig.POOL_PREFIX + "." + DBCPPoolConfig.MAX_TOTAL,
+                               "2");
+        properties.setProperty(DBCPPoolConfig.POOL_PREFIX + "." + DBCPPoolConfig.MAX_WAIT_MILLIS,
+                               "100");
+        dataSourceProvider.loadConfig(properties);
+        DataSourceDeploymentInfo deploymentInfo = dataSourceProvider.deploy(newDataSourceDef(DS1_UUID));
+        DataSource dataSource = dataSourceProvider.lookupDataSource(deploymentInfo);
+
+        Connection connection1 = dataSource.getConnection();
+        Connection connection2 = dataSource.getConnection();
+        DBCPPoolStats stats = dataSourceProvider.getPoolStats(DS1_UUID);
+        assertEquals(2,
+                     stats.getNumActive());
+        assertEquals(0,
+                     stats.getNumIdle());
+
+        try {
+            dataSource.getConnection();
+            fail("The pool is exhausted, no more connections can be borrowed");
+        } catch (SQLException e) {
+            // expected, the max wait time has elapsed.
+        }
+
+        connection1.close();
+        stats = dataSourceProvider.getPoolStats(DS1_UUID);
+        assertEquals(1,
+                     stats.getNumActive());
+        assertEquals(1,
+                     stats.getNumIdle());
+        assertEquals(0,
+                     stats.getNumWaiters());
+
+        // the idle connection is reused.
+        Connection connection3 = dataSource.getConnection();
+        assertEquals(2,
+                     dataSourceProvider.getPoolStats(DS1_UUID).getNumActive());
+        verify(urlConnectionFactory,
+               times(2)).createConnection();
+
+        connection2.close();
+        connection3.close();
+        assertEquals(0,
+                     dataSourceProvider.getPoolStats(DS1_UUID).getNumActive());
+    }
+
+    @Test
+    public void testConcurrentDeployUndeploy() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List< Future< Void > > results = new ArrayList<>();
+        for (int i = 0; i < DATA_SOURCES; i++) {
+            final DataSourceDef dataSourceDef = newDataSourceDef("ds" + i);
+            results.add(executor.submit(() -> {
+                start.await();
+                DataSourceDeploymentInfo deploymentInfo = dataSourceProvider.deploy(dataSourceDef);
+                DataSource dataSource = dataSourceProvider.lookupDataSource(deploymentInfo);
+                dataSource.getConnection().close();
+                assertEquals(1,
+                             dataSourceProvider.getPoolStats(deploymentInfo.getDeploymentId()).getNumIdle());
+                dataSourceProvider.undeploy(deploymentInfo);
+                return null;
+            }));
+        }
+        start.countDown();
+        waitFor(results);
+
+        assertTrue(dataSourceProvider.getDeploymentsInfo().isEmpty());
+        assertTrue(dataSourceProvider.getDeployments().isEmpty());
+        verify(urlConnectionFactory,
+               times(DATA_SOURCES)).createConnection();
+    }
+
+    @Test
+    public void testConcurrentRedeploy() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List< Future< Void > > results = new ArrayList<>();
+        final DataSourceDef dataSourceDef = newDataSourceDef(DS1_UUID);
+        for (int i = 0; i < DATA_SOURCES; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                dataSourceProvider.deploy(dataSourceDef);
+                return null;
+            }));
+        }
+        start.countDown();
+        waitFor(results);
+
+        // the last deployment wins, all the registries are consistent.
+        assertEquals(1,
+                     dataSourceProvider.getDeploymentsInfo().size());
+        assertEquals(1,
+                     dataSourceProvider.getDeployments().size());
+        DataSourceDeploymentInfo deploymentInfo = dataSourceProvider.getDeploymentInfo(DS1_UUID);
+        assertNotNull(deploymentInfo);
+        DataSource dataSource = dataSourceProvider.lookupDataSource(deploymentInfo);
+        dataSource.getConnection().close();
+        assertEquals(1,
+                     dataSourceProvider.getPoolStats(DS1_UUID).getNumIdle());
+    }
+
+    private void waitFor(List< Future< Void > > results) throws Exception {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30,
+                                             TimeUnit.SECONDS));
+        for (Future< Void > result : results) {
+            // propagates any failure produced in the worker threads.
+            result.get();
+        }
+    }
+
+    private DataSourceDef newDataSourceDef(String uuid) {
+        DataSourceDef dataSourceDef = new DataSourceDef();
+        dataSourceDef.setUuid(uuid);
+        dataSourceDef.setName(uuid);
+        dataSourceDef.setDriverUuid(DRIVER1_UUID);
+        dataSourceDef.setConnectionURL(DS1_CONNECTION_URL);
+        dataSourceDef.setUser(DS1_USER);
+        dataSourceDef.setPassword(DS1_PASSWORD);
+        return dataSourceDef;
+    }
+
+    /**
+     * Creates a connection that is always valid. No stubbing is used, since the connections are created by the
+     * pool threads.
+     */
+    private static Connection newConnection() {
+        Answer< Object > answer = invocation -> {
+            if ("isValid".equals(invocation.getMethod().getName())) {
+                return true;
+            }
+            return RETURNS_DEFAULTS.answer(invocation);
+        };
+        return mock(Connection.class,
+                    answer);
+    }
+}
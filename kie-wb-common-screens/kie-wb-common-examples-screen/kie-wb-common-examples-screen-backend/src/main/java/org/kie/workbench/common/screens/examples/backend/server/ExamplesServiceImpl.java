@@ -21,6 +21,7 @@ import java.io.FileOutputStream;
 import java.net.URL;
 import java.nio.file.FileSystems;
 import java.nio.file.SimpleFileVisitor;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -28,6 +29,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -39,6 +44,9 @@ import javax.inject.Named;
 
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.transport.RefSpec;
 import org.guvnor.common.services.backend.config.SafeSessionInfo;
 import org.guvnor.common.services.project.context.ProjectContextChangeEvent;
 import org.guvnor.common.services.project.events.NewProjectEvent;
@@ -67,6 +75,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.async.SimpleAsyncExecutorService;
 import org.uberfire.commons.validation.PortablePreconditions;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.IOException;
@@ -76,6 +85,7 @@ import org.uberfire.java.nio.file.FileVisitor;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.java.nio.file.StandardCopyOption;
 import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.java.nio.fs.jgit.JGitFileSystem;
 import org.uberfire.java.nio.fs.jgit.util.JGitUtil;
 import org.uberfire.rpc.SessionInfo;
 
@@ -91,7 +101,24 @@ public class ExamplesServiceImpl implements ExamplesService {
     private static final String PROJECT_DESCRIPTON = "project.description";
 
     private static final String KIE_WB_PLAYGROUND_ZIP = "org/kie/kie-wb-playground/kie-wb-playground.zip";
-    private final Set<Repository> clonedRepositories = new HashSet<Repository>();
+
+    private static final String ORIGIN = "origin";
+
+    private static final String MASTER_BRANCH = "master";
+
+    private final Set<Repository> clonedRepositories = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Locks used to clone or fetch each example repository, by the alias of its clone. The alias is derived from the
+     * origin URL, so requests for other repositories don't wait for a clone or fetch in progress.
+     */
+    private final Map<String, Object> repositoryLocks = new ConcurrentHashMap<>();
+
+    /**
+     * ExampleProjects listed for each origin URL, along with the commit id they were read from.
+     */
+    private final Map<String, ExampleProjects> projectsCache = new ConcurrentHashMap<>();
+
     private IOService ioService;
     private ConfigurationFactory configurationFactory;
     private RepositoryFactory repositoryFactory;
@@ -102,6 +129,7 @@ public class ExamplesServiceImpl implements ExamplesService {
     private SafeSessionInfo sessionInfo;
     private MetadataService metadataService;
     private ExampleRepository playgroundRepository;
+    private Executor executor;
 
     public ExamplesServiceImpl() {
         //Zero-parameter Constructor for CDI proxies
@@ -238,32 +266,100 @@ public class ExamplesServiceImpl implements ExamplesService {
             return Collections.emptySet();
         }
 
-        // Avoid cloning playground repository multiple times
+        // Avoid cloning the same repository multiple times
         Repository gitRepository = resolveGitRepository(repository);
 
         if (gitRepository == null) {
             return Collections.emptySet();
         }
 
+        // Reading the description and tags of every project is expensive, reuse them until new commits are fetched
+        final String commitId = getCommitId(gitRepository);
+        final ExampleProjects cachedProjects = projectsCache.get(repositoryURL);
+        if (commitId != null && cachedProjects != null && commitId.equals(cachedProjects.getCommitId())) {
+            return new HashSet<>(cachedProjects.getProjects());
+        }
+
         final Set<Project> projects = projectService.getProjects(gitRepository,
-                                                                 "master");
-        return convert(projects);
+                                                                 MASTER_BRANCH);
+        final Set<ExampleProject> exampleProjects = convert(projects);
+        if (commitId != null) {
+            projectsCache.put(repositoryURL,
+                              new ExampleProjects(commitId,
+                                                  exampleProjects));
+        }
+        return exampleProjects;
     }
 
     Repository resolveGitRepository(final ExampleRepository exampleRepository) {
-        if (exampleRepository.equals(playgroundRepository)) {
-            return clonedRepositories.stream().filter(r -> exampleRepository.getUrl().equals(r.getEnvironment().get("origin"))).findFirst().orElseGet(() -> cloneRepository(exampleRepository.getUrl()));
-        } else {
-            return cloneRepository(exampleRepository.getUrl());
+        final Object lock = repositoryLocks.computeIfAbsent(getExampleAlias(exampleRepository.getUrl()),
+                                                            alias -> new Object());
+        synchronized (lock) {
+            final Repository clonedRepository = clonedRepositories.stream()
+                    .filter(r -> exampleRepository.getUrl().equals(r.getEnvironment().get(ORIGIN)))
+                    .findFirst()
+                    .orElse(null);
+            if (clonedRepository == null) {
+                return cloneRepository(exampleRepository.getUrl());
+            }
+            // The playground repository never changes, other repositories are updated with the new commits only
+            if (!exampleRepository.equals(playgroundRepository)) {
+                fetchRepository(clonedRepository,
+                                exampleRepository.getUrl());
+            }
+            return clonedRepository;
+        }
+    }
+
+    void fetchRepository(final Repository repository,
+                         final String repositoryURL) {
+        final Git git = getGit(repository);
+        if (git == null) {
+            return;
+        }
+        try {
+            git.fetch()
+                    .setRemote(repositoryURL)
+                    .setRefSpecs(new RefSpec("+refs/heads/*:refs/heads/*"))
+                    .call();
+        } catch (final Exception e) {
+            logger.warn("Unable to fetch repository '" + repositoryURL + "', previously fetched content will be used.",
+                        e);
+        }
+    }
+
+    String getCommitId(final Repository repository) {
+        final Git git = getGit(repository);
+        if (git == null) {
+            return null;
+        }
+        try {
+            final ObjectId head = git.getRepository().resolve(Constants.R_HEADS + MASTER_BRANCH);
+            return head != null ? head.getName() : null;
+        } catch (final Exception e) {
+            logger.warn("Unable to read the last commit of repository '" + repository.getAlias() + "'.",
+                        e);
+            return null;
         }
     }
 
+    Git getGit(final Repository repository) {
+        if (repository.getRoot() == null) {
+            return null;
+        }
+        final org.uberfire.java.nio.file.FileSystem fileSystem = Paths.convert(repository.getRoot()).getFileSystem();
+        if (fileSystem instanceof JGitFileSystem) {
+            return ((JGitFileSystem) fileSystem).gitRepo();
+        }
+        return null;
+    }
+
     private Repository cloneRepository(final String repositoryURL) {
         Repository repository = null;
         try {
             final String alias = getExampleAlias(repositoryURL);
             final Map<String, Object> env = new HashMap<String, Object>() {{
-                put("origin",
+                put(ORIGIN,
                     repositoryURL);
                 put(SCHEME,
                     "git");
@@ -280,6 +376,9 @@ public class ExamplesServiceImpl implements ExamplesService {
             }
 
             repository = repositoryFactory.newRepository(repositoryConfig);
+            // A clone with the same alias was replaced by this one
+            final Repository newRepository = repository;
+            clonedRepositories.removeIf(r -> newRepository.getAlias() != null && newRepository.getAlias().equals(r.getAlias()));
             clonedRepositories.add(repository);
             return repository;
         } catch (final Exception e) {
@@ -304,13 +403,48 @@ public class ExamplesServiceImpl implements ExamplesService {
         return FileSystems.getDefault().getSeparator();
     }
 
-    private Set<ExampleProject> convert(final Set<Project> projects) {
-        return projects.stream()
-                .map(p -> new ExampleProject(p.getRootPath(),
-                                             p.getProjectName(),
-                                             readDescription(p),
-                                             getTags(p)))
-                .collect(Collectors.toSet());
+    Set<ExampleProject> convert(final Set<Project> projects) {
+        if (projects.size() <= 1) {
+            return projects.stream()
+                    .map(this::toExampleProject)
+                    .collect(Collectors.toSet());
+        }
+        // Reading the description and tags requires several VFS accesses per project, do it concurrently
+        final Executor executor = getExecutor();
+        final List<CompletableFuture<ExampleProject>> exampleProjects = projects.stream()
+                .map(p -> CompletableFuture.supplyAsync(() -> toExampleProject(p),
+                                                        executor))
+                .collect(Collectors.toList());
+        try {
+            return exampleProjects.stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toSet());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Executor used to read the projects concurrently. Unless set, the default SimpleAsyncExecutorService is used,
+     * as for the other background work of the workbench: when running in an application server it is the container
+     * managed asynchronous EJB, so the reads run on container threads where the application scoped services are
+     * available.
+     */
+    Executor getExecutor() {
+        if (executor == null) {
+            executor = SimpleAsyncExecutorService.getDefaultInstance()::execute;
+        }
+        return executor;
+    }
+
+    private ExampleProject toExampleProject(final Project project) {
+        return new ExampleProject(project.getRootPath(),
+                                  project.getProjectName(),
+                                  readDescription(project),
+                                  getTags(project));
     }
 
     private String readDescription(final Project project) {
@@ -332,7 +466,8 @@ public class ExamplesServiceImpl implements ExamplesService {
     }
 
     private List<String> getTags(final Project project) {
-        List<String> tags = metadataService.getTags(project.getPomXMLPath());
+        // Copied since the lists are sorted concurrently for different projects
+        List<String> tags = new ArrayList<>(metadataService.getTags(project.getPomXMLPath()));
         tags.sort((t1, t2) -> t1.compareTo(t2));
         return tags;
     }
@@ -439,6 +574,7 @@ public class ExamplesServiceImpl implements ExamplesService {
 
     @Override
     public void dispose() {
+        projectsCache.clear();
         for (Repository repository : clonedRepositories) {
             try {
                 ioService.delete(Paths.convert(repository.getRoot()).getFileSystem().getPath(null));
@@ -493,6 +629,26 @@ public class ExamplesServiceImpl implements ExamplesService {
         }
     }
 
+    static class ExampleProjects {
+
+        private final String commitId;
+        private final Set<ExampleProject> projects;
+
+        ExampleProjects(final String commitId,
+                        final Set<ExampleProject> projects) {
+            this.commitId = commitId;
+            this.projects = projects;
+        }
+
+        String getCommitId() {
+            return commitId;
+        }
+
+        Set<ExampleProject> getProjects() {
+            return projects;
+        }
+    }
+
     // Test getters and setters
     Set<Repository> getClonedRepositories() {
         return clonedRepositories;
@@ -501,4 +657,8 @@ public class ExamplesServiceImpl implements ExamplesService {
     void setPlaygroundRepository(final ExampleRepository playgroundRepository) {
         this.playgroundRepository = playgroundRepository;
     }
+
+    void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
 }
@@ -16,6 +16,10 @@
 
 package org.kie.workbench.common.screens.examples.backend.server;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,8 +28,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import javax.enterprise.event.Event;
 
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.transport.RefSpec;
 import org.guvnor.common.services.project.context.ProjectContextChangeEvent;
 import org.guvnor.common.services.project.events.NewProjectEvent;
 import org.guvnor.common.services.project.model.POM;
@@ -44,7 +58,9 @@ import org.guvnor.structure.server.config.ConfigurationFactory;
 import org.guvnor.structure.server.repositories.RepositoryFactory;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.screens.examples.model.ExampleOrganizationalUnit;
 import org.kie.workbench.common.screens.examples.model.ExampleProject;
@@ -105,6 +121,9 @@ public class ExamplesServiceImplTest {
     @Mock
     private User user;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private ExamplesServiceImpl service;
 
     @Before
@@ -590,4 +609,303 @@ public class ExamplesServiceImplTest {
         verify(repositoryFactory,
                never()).newRepository(any(ConfigGroup.class));
     }
+
+    @Test
+    public void resolveGitRepositoryLocksPerOrigin() throws Exception {
+        final String originA = "file:///home/user/folder/a.git";
+        final String originB = "file:///home/user/folder/b.git";
+        final Repository repositoryA = addClonedRepository(originA);
+        final Repository repositoryB = addClonedRepository(originB);
+
+        final CountDownLatch fetchStarted = new CountDownLatch(1);
+        final CountDownLatch fetchReleased = new CountDownLatch(1);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocationOnMock) throws Throwable {
+                fetchStarted.countDown();
+                fetchReleased.await();
+                return null;
+            }
+        }).when(service).fetchRepository(repositoryA,
+                                         originA);
+        doNothing().when(service).fetchRepository(repositoryB,
+                                                  originB);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final Future<Repository> resolvedA = executor.submit(() -> service.resolveGitRepository(new ExampleRepository(originA)));
+            assertTrue(fetchStarted.await(10,
+                                          TimeUnit.SECONDS));
+
+            // Other origins don't wait for the fetch in progress
+            final Future<Repository> resolvedB = executor.submit(() -> service.resolveGitRepository(new ExampleRepository(originB)));
+            assertEquals(repositoryB,
+                         resolvedB.get(10,
+                                       TimeUnit.SECONDS));
+
+            // The same origin does
+            final Future<Repository> resolvedAgainA = executor.submit(() -> service.resolveGitRepository(new ExampleRepository(originA)));
+            try {
+                resolvedAgainA.get(200,
+                                   TimeUnit.MILLISECONDS);
+                fail("The repository must not be resolved while it's being fetched");
+            } catch (TimeoutException expected) {
+                //Expected
+            }
+
+            fetchReleased.countDown();
+            assertEquals(repositoryA,
+                         resolvedA.get(10,
+                                       TimeUnit.SECONDS));
+            assertEquals(repositoryA,
+                         resolvedAgainA.get(10,
+                                            TimeUnit.SECONDS));
+        } finally {
+            fetchReleased.countDown();
+            executor.shutdownNow();
+        }
+
+        verify(service,
+               times(2)).fetchRepository(repositoryA,
+                                         originA);
+        verify(repositoryFactory,
+               never()).newRepository(any(ConfigGroup.class));
+    }
+
+    @Test
+    public void testConvertProjectsConcurrently() throws Exception {
+        final int projectsCount = 20;
+        final File originDirectory = temporaryFolder.newFolder("origin.git");
+        final String originUrl = "file://" + originDirectory.getAbsolutePath();
+        Git.init().setBare(true).setDirectory(originDirectory).call().close();
+
+        // Emulates the projects added by the examples author, half of them with a custom description
+        final Git author = Git.cloneRepository()
+                .setURI(originUrl)
+                .setDirectory(temporaryFolder.newFolder("author"))
+                .call();
+        for (int i = 0; i < projectsCount; i++) {
+            final File projectDirectory = new File(author.getRepository().getWorkTree(),
+                                                   "project" + i);
+            projectDirectory.mkdirs();
+            writeFile(new File(projectDirectory,
+                               "tags"),
+                      "project" + i + "-tag2\nproject" + i + "-tag1");
+            if (i % 2 == 0) {
+                writeFile(new File(projectDirectory,
+                                   "project.description"),
+                          "project" + i + " description");
+            }
+        }
+        author.add().addFilepattern(".").call();
+        author.commit().setMessage("Add projects").call();
+        author.push()
+                .setRemote("origin")
+                .setRefSpecs(new RefSpec("refs/heads/master:refs/heads/master"))
+                .call();
+
+        // Emulates the clone kept by the workbench, the projects are read from its files
+        final Git clone = Git.cloneRepository()
+                .setURI(originUrl)
+                .setDirectory(temporaryFolder.newFolder("clone"))
+                .call();
+        final File workTree = clone.getRepository().getWorkTree();
+
+        final Set<Project> projects = new HashSet<>();
+        final Map<String, Path> projectRoots = new HashMap<>();
+        final Map<Path, File> projectTags = new HashMap<>();
+        for (int i = 0; i < projectsCount; i++) {
+            final String name = "project" + i;
+            final Path projectRoot = mock(Path.class);
+            final Path pomPath = mock(Path.class);
+            final KieProject project = mock(KieProject.class);
+            when(projectRoot.toURI()).thenReturn("default:///" + name);
+            when(project.getRootPath()).thenReturn(projectRoot);
+            when(project.getPomXMLPath()).thenReturn(pomPath);
+            when(project.getProjectName()).thenReturn(name);
+            projects.add(project);
+            projectRoots.put(name,
+                             projectRoot);
+            projectTags.put(pomPath,
+                            new File(new File(workTree,
+                                              name),
+                                     "tags"));
+        }
+        when(ioService.exists(any(org.uberfire.java.nio.file.Path.class))).thenAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(final InvocationOnMock invocationOnMock) throws Throwable {
+                return toWorkTreeFile(workTree,
+                                      (org.uberfire.java.nio.file.Path) invocationOnMock.getArguments()[0]).exists();
+            }
+        });
+        when(ioService.readAllString(any(org.uberfire.java.nio.file.Path.class))).thenAnswer(new Answer<String>() {
+            @Override
+            public String answer(final InvocationOnMock invocationOnMock) throws Throwable {
+                return readFile(toWorkTreeFile(workTree,
+                                               (org.uberfire.java.nio.file.Path) invocationOnMock.getArguments()[0]));
+            }
+        });
+        when(metadataService.getTags(any(Path.class))).thenAnswer(new Answer<List<String>>() {
+            @Override
+            public List<String> answer(final InvocationOnMock invocationOnMock) throws Throwable {
+                return Arrays.asList(readFile(projectTags.get(invocationOnMock.getArguments()[0])).split("\n"));
+            }
+        });
+
+        final Repository repository = mock(Repository.class);
+        final Map<String, Object> repositoryEnvironment = new HashMap<>();
+        repositoryEnvironment.put("origin",
+                                  originUrl);
+        when(repository.getEnvironment()).thenReturn(repositoryEnvironment);
+        when(repositoryFactory.newRepository(any(ConfigGroup.class))).thenReturn(repository);
+        doReturn(clone).when(service).getGit(repository);
+        when(projectService.getProjects(eq(repository),
+                                        any(String.class))).thenReturn(projects);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final Set<String> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        try {
+            service.setExecutor(command -> executor.execute(() -> {
+                threads.add(Thread.currentThread().getName());
+                command.run();
+            }));
+            final Set<ExampleProject> concurrent = service.getProjects(new ExampleRepository(originUrl));
+
+            service.setExecutor(Runnable::run);
+            final Set<ExampleProject> sequential = service.convert(projects);
+
+            assertFalse(threads.isEmpty());
+            assertFalse(threads.contains(Thread.currentThread().getName()));
+            assertEquals(projectsCount,
+                         concurrent.size());
+            assertEquals(sequential,
+                         concurrent);
+            assertTrue(concurrent.contains(new ExampleProject(projectRoots.get("project0"),
+                                                              "project0",
+                                                              "project0 description",
+                                                              Arrays.asList("project0-tag1",
+                                                                            "project0-tag2"))));
+            assertTrue(concurrent.contains(new ExampleProject(projectRoots.get("project1"),
+                                                              "project1",
+                                                              "Example 'project1' project",
+                                                              Arrays.asList("project1-tag1",
+                                                                            "project1-tag2"))));
+        } finally {
+            executor.shutdownNow();
+            author.close();
+            clone.close();
+        }
+    }
+
+    @Test
+    public void testGetProjects_ReusesClone() throws Exception {
+        final File originDirectory = temporaryFolder.newFolder("origin.git");
+        final String originUrl = "file://" + originDirectory.getAbsolutePath();
+        Git.init().setBare(true).setDirectory(originDirectory).call().close();
+
+        // Emulates the changes made by the examples author
+        final Git author = Git.cloneRepository()
+                .setURI(originUrl)
+                .setDirectory(temporaryFolder.newFolder("author"))
+                .call();
+        commitAndPush(author,
+                      "first");
+
+        // Emulates the clone kept by the workbench
+        final Git clone = Git.cloneRepository()
+                .setURI(originUrl)
+                .setBare(true)
+                .setDirectory(temporaryFolder.newFolder("clone.git"))
+                .call();
+
+        final Repository repository = mock(Repository.class);
+        final Map<String, Object> repositoryEnvironment = new HashMap<>();
+        repositoryEnvironment.put("origin",
+                                  originUrl);
+        when(repository.getEnvironment()).thenReturn(repositoryEnvironment);
+        when(repositoryFactory.newRepository(any(ConfigGroup.class))).thenReturn(repository);
+        doReturn(clone).when(service).getGit(repository);
+
+        final Path projectRoot = mock(Path.class);
+        final KieProject project = mock(KieProject.class);
+        when(project.getRootPath()).thenReturn(projectRoot);
+        when(project.getProjectName()).thenReturn("project1");
+        when(projectRoot.toURI()).thenReturn("default:///project1");
+        when(metadataService.getTags(any(Path.class))).thenReturn(new ArrayList<>());
+        when(projectService.getProjects(eq(repository),
+                                        any(String.class))).thenReturn(Collections.singleton(project));
+
+        final ExampleRepository exampleRepository = new ExampleRepository(originUrl);
+        assertEquals(1,
+                     service.getProjects(exampleRepository).size());
+        assertEquals(1,
+                     service.getProjects(exampleRepository).size());
+
+        // The repository is cloned once and the projects are listed once for the same commit
+        verify(repositoryFactory,
+               times(1)).newRepository(any(ConfigGroup.class));
+        verify(service,
+               times(1)).fetchRepository(repository,
+                                         originUrl);
+        verify(projectService,
+               times(1)).getProjects(eq(repository),
+                                     any(String.class));
+
+        // New commits are fetched and the projects are listed again
+        commitAndPush(author,
+                      "second");
+        assertEquals(1,
+                     service.getProjects(exampleRepository).size());
+
+        verify(repositoryFactory,
+               times(1)).newRepository(any(ConfigGroup.class));
+        verify(projectService,
+               times(2)).getProjects(eq(repository),
+                                     any(String.class));
+        assertEquals(author.getRepository().resolve(Constants.HEAD),
+                     clone.getRepository().resolve(Constants.R_HEADS + "master"));
+
+        author.close();
+        clone.close();
+    }
+
+    private Repository addClonedRepository(final String originUrl) {
+        final Repository repository = mock(Repository.class);
+        final Map<String, Object> repositoryEnvironment = new HashMap<>();
+        repositoryEnvironment.put("origin",
+                                  originUrl);
+        when(repository.getEnvironment()).thenReturn(repositoryEnvironment);
+        service.getClonedRepositories().add(repository);
+        return repository;
+    }
+
+    private File toWorkTreeFile(final File workTree,
+                                final org.uberfire.java.nio.file.Path path) {
+        return new File(new File(workTree,
+                                 path.getParent().getFileName().toString()),
+                        path.getFileName().toString());
+    }
+
+    private void writeFile(final File file,
+                           final String content) throws IOException {
+        Files.write(file.toPath(),
+                    content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String readFile(final File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()),
+                          StandardCharsets.UTF_8);
+    }
+
+    private void commitAndPush(final Git git,
+                               final String fileName) throws Exception {
+        new File(git.getRepository().getWorkTree(),
+                 fileName).createNewFile();
+        git.add().addFilepattern(fileName).call();
+        git.commit().setMessage("Add " + fileName).call();
+        git.push()
+                .setRemote("origin")
+                .setRefSpecs(new RefSpec("refs/heads/master:refs/heads/master"))
+                .call();
+    }
 }
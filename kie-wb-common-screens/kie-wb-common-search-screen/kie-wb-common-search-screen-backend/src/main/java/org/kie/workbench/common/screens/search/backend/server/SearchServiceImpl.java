@@ -47,11 +47,14 @@ import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.commons.validation.PortablePreconditions;
 import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.ext.metadata.model.KProperty;
 import org.uberfire.ext.metadata.search.DateRange;
 import org.uberfire.ext.metadata.search.IOSearchService;
 import org.uberfire.io.IOService;
 import org.uberfire.io.attribute.DublinCoreView;
 import org.uberfire.java.nio.base.version.VersionAttributeView;
+import org.uberfire.java.nio.base.version.VersionAttributes;
+import org.uberfire.java.nio.base.version.VersionRecord;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.paging.PageResponse;
 import org.uberfire.security.authz.AuthorizationManager;
@@ -61,6 +64,9 @@ import org.uberfire.workbench.type.ResourceTypeDefinition;
 @ApplicationScoped
 public class SearchServiceImpl implements SearchService {
 
+    //Index term holding the root of the Project owning a Resource, see DefaultIndexBuilder
+    static final String PROJECT_ROOT_PROPERTY = "projectRoot";
+
     private IOSearchService ioSearchService;
 
     private IOService ioService;
@@ -190,10 +196,14 @@ public class SearchServiceImpl implements SearchService {
             final VersionAttributeView versionAttributeView = ioService.getFileAttributeView( path,
                                                                                               VersionAttributeView.class );
 
-            final String creator = extractCreator( versionAttributeView );
-            final Date createdDate = extractCreatedDate( versionAttributeView );
-            final String lastContributor = extractLastContributor( versionAttributeView );
-            final Date lastModifiedDate = extractLastModifiedDate( versionAttributeView );
+            //Attributes are read once per row, since reading them involves walking the Resource history
+            final VersionAttributes versionAttributes = versionAttributeView.readAttributes();
+            final List<VersionRecord> records = versionAttributes.history().records();
+
+            final String creator = extractCreator( records );
+            final Date createdDate = extractCreatedDate( versionAttributes );
+            final String lastContributor = extractLastContributor( records );
+            final Date lastModifiedDate = extractLastModifiedDate( versionAttributes );
             final String description = extractDescription( dcoreView );
 
             final SearchPageRow row = new SearchPageRow( Paths.convert( path ),
@@ -215,32 +225,32 @@ public class SearchServiceImpl implements SearchService {
         return response;
     }
 
-    private String extractCreator( final VersionAttributeView versionAttributeView ) {
-        if ( versionAttributeView.readAttributes().history().records().size() > 0 ) {
-            return versionAttributeView.readAttributes().history().records().get( 0 ).author();
+    private String extractCreator( final List<VersionRecord> records ) {
+        if ( records.size() > 0 ) {
+            return records.get( 0 ).author();
         }
         return "";
     }
 
-    private Date extractCreatedDate( final VersionAttributeView versionAttributeView ) {
-        return new Date( versionAttributeView.readAttributes().creationTime().toMillis() );
+    private Date extractCreatedDate( final VersionAttributes versionAttributes ) {
+        return new Date( versionAttributes.creationTime().toMillis() );
     }
 
-    private String extractLastContributor( final VersionAttributeView versionAttributeView ) {
-        if ( versionAttributeView.readAttributes().history().records().size() > 0 ) {
-            final int lastIndex = versionAttributeView.readAttributes().history().records().size() - 1;
-            return versionAttributeView.readAttributes().history().records().get( lastIndex ).author();
+    private String extractLastContributor( final List<VersionRecord> records ) {
+        if ( records.size() > 0 ) {
+            return records.get( records.size() - 1 ).author();
         }
         return "";
     }
 
-    private Date extractLastModifiedDate( final VersionAttributeView versionAttributeView ) {
-        return new Date( versionAttributeView.readAttributes().lastModifiedTime().toMillis() );
+    private Date extractLastModifiedDate( final VersionAttributes versionAttributes ) {
+        return new Date( versionAttributes.lastModifiedTime().toMillis() );
     }
 
     private String extractDescription( final DublinCoreView dcoreView ) {
-        if ( dcoreView.readAttributes().descriptions().size() > 0 ) {
-            return dcoreView.readAttributes().descriptions().get( 0 );
+        final List<String> descriptions = dcoreView.readAttributes().descriptions();
+        if ( descriptions.size() > 0 ) {
+            return descriptions.get( 0 );
         }
         return "";
     }
@@ -302,6 +312,12 @@ public class SearchServiceImpl implements SearchService {
         private final int startRow;
         private final int pageSize;
 
+        //Authorization decisions taken for this request, keyed by Project root URI
+        private final Map<String, Boolean> authorizedProjects = new HashMap<String, Boolean>();
+
+        //Authorization decisions for hits not indexed with their Project, keyed by the URI of their folder
+        private final Map<String, Boolean> authorizedFolders = new HashMap<String, Boolean>();
+
         PagedCountingFilter( final int startRow,
                              final int pageSize ) {
             this.startRow = startRow;
@@ -310,18 +326,7 @@ public class SearchServiceImpl implements SearchService {
 
         @Override
         public boolean accept( final KObject kObject ) {
-            final Path path = ioService.get( URI.create( kObject.getKey() ) );
-            final org.uberfire.backend.vfs.Path vfsPath = Paths.convert( path );
-            final KieProject project = projectService.resolveProject( vfsPath );
-
-            //All Users are granted access to Resources outside the Project structure
-            boolean authorized = true;
-            if ( project != null ) {
-                authorized = authorizationManager.authorize( project,
-                                                             identity );
-            }
-
-            if ( authorized ) {
+            if ( isAuthorized( kObject ) ) {
                 hitsTotalCount++;
                 hitsStartIndex++;
                 if ( hitsStartIndex >= startRow && hitsPageCount < pageSize ) {
@@ -336,6 +341,69 @@ public class SearchServiceImpl implements SearchService {
             return hitsTotalCount;
         }
 
+        private boolean isAuthorized( final KObject kObject ) {
+            //Resources indexed within a Project have the Project root
+            final String projectRoot = getProjectRoot( kObject );
+            if ( projectRoot != null ) {
+                Boolean authorized = authorizedProjects.get( projectRoot );
+                if ( authorized == null ) {
+                    authorized = isAuthorized( resolveProject( projectRoot ) );
+                    authorizedProjects.put( projectRoot,
+                                            authorized );
+                }
+                return authorized;
+            }
+
+            //Otherwise resolve the Project, once for all the Resources in the same folder
+            final String key = kObject.getKey();
+            final String folder = key.substring( 0,
+                                                 key.lastIndexOf( '/' ) + 1 );
+            Boolean authorized = authorizedFolders.get( folder );
+            if ( authorized == null ) {
+                authorized = isAuthorized( resolveProject( key ) );
+                authorizedFolders.put( folder,
+                                       authorized );
+            }
+            return authorized;
+        }
+
+        private boolean isAuthorized( final KieProject project ) {
+            //All Users are granted access to Resources outside the Project structure
+            if ( project == null ) {
+                return true;
+            }
+            final String projectRoot = project.getRootPath() == null ? null : project.getRootPath().toURI();
+            Boolean authorized = projectRoot == null ? null : authorizedProjects.get( projectRoot );
+            if ( authorized == null ) {
+                authorized = authorizationManager.authorize( project,
+                                                             identity );
+                if ( projectRoot != null ) {
+                    authorizedProjects.put( projectRoot,
+                                            authorized );
+                }
+            }
+            return authorized;
+        }
+
+        private KieProject resolveProject( final String uri ) {
+            final Path path = ioService.get( URI.create( uri ) );
+            final org.uberfire.backend.vfs.Path vfsPath = Paths.convert( path );
+            return projectService.resolveProject( vfsPath );
+        }
+
+        private String getProjectRoot( final KObject kObject ) {
+            final Iterable<KProperty<?>> properties = kObject.getProperties();
+            if ( properties == null ) {
+                return null;
+            }
+            for ( KProperty<?> property : properties ) {
+                if ( PROJECT_ROOT_PROPERTY.equals( property.getName() ) && property.getValue() != null ) {
+                    return property.getValue().toString();
+                }
+            }
+            return null;
+        }
+
     }
 
 }
@@ -42,10 +42,12 @@ import org.mockito.stubbing.Answer;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.PathFactory;
 import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.ext.metadata.model.KProperty;
 import org.uberfire.ext.metadata.search.IOSearchService;
 import org.uberfire.io.IOService;
 import org.uberfire.io.attribute.DublinCoreView;
 import org.uberfire.java.nio.base.version.VersionAttributeView;
+import org.uberfire.java.nio.base.version.VersionRecord;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.paging.PageResponse;
 import org.uberfire.security.authz.AuthorizationManager;
@@ -822,4 +824,129 @@ public class SearchServiceImplTest {
         }
     }
 
+    @Test
+    public void testFilterResolvesProjectOncePerFolder() {
+        when( projectService.resolveProject( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( project1 );
+        when( authorizationManager.authorize( project1,
+                                              identity ) ).thenReturn( true );
+
+        final SearchServiceImpl.PagedCountingFilter filter = searchService.new PagedCountingFilter( 0,
+                                                                                                     2 );
+        int accepted = 0;
+        for ( int i = 0; i < 10; i++ ) {
+            if ( filter.accept( makeKObject( "default://project1/src/file" + i,
+                                             null ) ) ) {
+                accepted++;
+            }
+        }
+
+        assertEquals( 2,
+                      accepted );
+        assertEquals( 10,
+                      filter.getHitsTotalCount() );
+        verify( projectService,
+                times( 1 ) ).resolveProject( any( org.uberfire.backend.vfs.Path.class ) );
+        verify( authorizationManager,
+                times( 1 ) ).authorize( project1,
+                                        identity );
+    }
+
+    @Test
+    public void testFilterAuthorizesOncePerIndexedProject() {
+        final KieProject project2 = mock( KieProject.class );
+        when( projectService.resolveProject( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( project1,
+                                                                                                       project2 );
+        when( authorizationManager.authorize( project1,
+                                              identity ) ).thenReturn( true );
+        when( authorizationManager.authorize( project2,
+                                              identity ) ).thenReturn( false );
+
+        final SearchServiceImpl.PagedCountingFilter filter = searchService.new PagedCountingFilter( 0,
+                                                                                                     5 );
+        for ( int i = 0; i < 10; i++ ) {
+            filter.accept( makeKObject( "default://project1/src/folder" + i + "/file",
+                                        "default://project1" ) );
+            filter.accept( makeKObject( "default://project2/src/folder" + i + "/file",
+                                        "default://project2" ) );
+        }
+
+        assertEquals( 10,
+                      filter.getHitsTotalCount() );
+        verify( projectService,
+                times( 2 ) ).resolveProject( any( org.uberfire.backend.vfs.Path.class ) );
+        verify( authorizationManager,
+                times( 1 ) ).authorize( project1,
+                                        identity );
+        verify( authorizationManager,
+                times( 1 ) ).authorize( project2,
+                                        identity );
+    }
+
+    @Test
+    public void testFullTextSearchReadsVersionAttributesOncePerRow() {
+        when( authorizationManager.authorize( any( Repository.class ),
+                                              eq( identity ) ) ).thenReturn( true );
+        when( authorizationManager.authorize( any( OrganizationalUnit.class ),
+                                              eq( identity ) ) ).thenReturn( true );
+        when( authorizationManager.authorize( project1,
+                                              identity ) ).thenReturn( true );
+        when( projectService.resolveProject( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( project1 );
+
+        final org.uberfire.backend.vfs.Path vfsPath = PathFactory.newPath( "file1", "default://project1/file1" );
+        final Path nioPath = Paths.convert( vfsPath );
+        when( ioSearchService.fullTextSearchHits( eq( "smurf" ),
+                                                  Matchers.<Path>anyVararg() ) ).thenReturn( 1 );
+        when( ioSearchService.fullTextSearch( eq( "smurf" ),
+                                              any( SearchServiceImpl.PagedCountingFilter.class ),
+                                              Matchers.<Path>anyVararg() ) ).thenReturn( Collections.singletonList( nioPath ) );
+
+        //A Resource with a long history
+        final List<VersionRecord> records = new ArrayList<VersionRecord>();
+        for ( int i = 0; i < 1000; i++ ) {
+            final VersionRecord record = mock( VersionRecord.class );
+            when( record.author() ).thenReturn( "author" + i );
+            records.add( record );
+        }
+
+        final DublinCoreView dublinCoreView = mock( DublinCoreView.class );
+        final VersionAttributeView versionAttributeView = mock( VersionAttributeView.class );
+        when( dublinCoreView.readAttributes() ).thenReturn( new DublinCoreAttributesMock() );
+        when( versionAttributeView.readAttributes() ).thenReturn( new VersionAttributesMock( records ) );
+        when( ioService.getFileAttributeView( any( Path.class ),
+                                              eq( DublinCoreView.class ) ) ).thenReturn( dublinCoreView );
+        when( ioService.getFileAttributeView( any( Path.class ),
+                                              eq( VersionAttributeView.class ) ) ).thenReturn( versionAttributeView );
+
+        final PageResponse<SearchPageRow> results = searchService.fullTextSearch( new SearchTermPageRequest( "smurf",
+                                                                                                             0,
+                                                                                                             5 ) );
+        assertEquals( 1,
+                      results.getPageRowList().size() );
+        assertEquals( "author0",
+                      results.getPageRowList().get( 0 ).getCreator() );
+        assertEquals( "author999",
+                      results.getPageRowList().get( 0 ).getLastContributor() );
+
+        verify( versionAttributeView,
+                times( 1 ) ).readAttributes();
+        verify( dublinCoreView,
+                times( 1 ) ).readAttributes();
+    }
+
+    @SuppressWarnings("unchecked")
+    private KObject makeKObject( final String key,
+                                 final String projectRoot ) {
+        final KObject kObject = mock( KObject.class );
+        when( kObject.getKey() ).thenReturn( key );
+        final List<KProperty<?>> properties = new ArrayList<KProperty<?>>();
+        if ( projectRoot != null ) {
+            final KProperty property = mock( KProperty.class );
+            when( property.getName() ).thenReturn( SearchServiceImpl.PROJECT_ROOT_PROPERTY );
+            when( property.getValue() ).thenReturn( projectRoot );
+            properties.add( property );
+        }
+        when( kObject.getProperties() ).thenReturn( properties );
+        return kObject;
+    }
+
 }
@@ -19,9 +19,14 @@ package org.kie.workbench.common.screens.server.management.backend.storage;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -33,20 +38,34 @@ import org.kie.workbench.common.screens.server.management.backend.storage.migrat
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.io.IOService;
+import org.uberfire.java.nio.IOException;
+import org.uberfire.java.nio.file.DirectoryStream;
 import org.uberfire.java.nio.file.FileSystem;
 import org.uberfire.java.nio.file.NotDirectoryException;
 import org.uberfire.java.nio.file.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamed;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 @ApplicationScoped
 public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
 
     private static final Logger logger = LoggerFactory.getLogger(ServerTemplateVFSStorage.class);
 
+    private static final String TEMPLATE_FILE_SUFFIX = "-template.xml";
+
     private IOService ioService;
     private FileSystem fileSystem;
 
     private final XStream xs = new XStream();
 
+    private final Map<String, RegisteredServerTemplate> registry = new ConcurrentHashMap<String, RegisteredServerTemplate>();
+    private volatile boolean registryLoaded = false;
+
     //enable proxy
     public ServerTemplateVFSStorage() {
     }
@@ -60,19 +79,23 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
     @PostConstruct
     public void init() {
         ServerTemplateMigration.migrate(buildPath(null), ioService, xs, this);
+        ensureRegistryLoaded();
     }
 
     @Override
-    public ServerTemplate store( final ServerTemplate serverTemplate ) {
+    public synchronized ServerTemplate store( final ServerTemplate serverTemplate ) {
         logger.debug("About to store server template {}", serverTemplate);
+        ensureRegistryLoaded();
         final Path path = buildPath( serverTemplate.getId() );
-        if (!ioService.exists(path)) {
+        if (!registry.containsKey(serverTemplate.getId()) && !ioService.exists(path)) {
+            final String content = xs.toXML(serverTemplate);
             try {
                 ioService.startBatch(path.getFileSystem());
-                ioService.write(path, xs.toXML(serverTemplate));
+                ioService.write(path, content);
             } finally {
                 ioService.endBatch();
             }
+            register(serverTemplate, content);
             logger.debug("Server template {} stored successfully");
             return serverTemplate;
         } else {
@@ -83,92 +106,68 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
     @Override
     public List<ServerTemplateKey> loadKeys() {
         logger.debug("About to load all available server templates (as keys only)...");
+        ensureRegistryLoaded();
         final List<ServerTemplateKey> result = new ArrayList<ServerTemplateKey>();
-        final Path dir = buildPath( null );
-
-        try {
-            ioService.startBatch( dir.getFileSystem() );
-            for ( final Path registeredServer : ioService.newDirectoryStream( dir ) ) {
-                try {
-                    ServerTemplate serverTemplate = readServerTemplate(registeredServer);
-                    logger.debug("Found server template {}, taking its short key version...");
-                    result.add( new ServerTemplateKey(serverTemplate.getId(), serverTemplate.getName()) );
-                } catch ( final Exception ignore ) {
-                    ioService.delete( registeredServer );
-                }
-            }
-            logger.debug("All found server template keys {}", result);
-            return result;
-        } catch ( final NotDirectoryException ignore ) {
-            logger.debug("No directory found {}, returning empty result", dir);
-            return result;
-        } finally {
-            ioService.endBatch();
+        for ( final RegisteredServerTemplate registeredServerTemplate : registry.values() ) {
+            final ServerTemplateKey key = registeredServerTemplate.getKey();
+            result.add( new ServerTemplateKey( key.getId(), key.getName() ) );
         }
+        logger.debug("All found server template keys {}", result);
+        return result;
     }
 
     @Override
     public List<ServerTemplate> load() {
         logger.debug("About to load all available server templates...");
+        ensureRegistryLoaded();
         final List<ServerTemplate> result = new ArrayList<ServerTemplate>();
-        final Path dir = buildPath( null );
-
-        try {
-            ioService.startBatch( dir.getFileSystem() );
-            for ( final Path registeredServer : ioService.newDirectoryStream( dir ) ) {
-                try {
-                    ServerTemplate serverTemplate = readServerTemplate(registeredServer);
-                    logger.debug("Found server template {}", serverTemplate);
-                    result.add( serverTemplate );
-                } catch ( final Exception ignore ) {
-                    ioService.delete( registeredServer );
-                }
-            }
-            logger.debug("All found server templates {}", result);
-            return result;
-        } catch ( final NotDirectoryException ignore ) {
-            logger.debug("No directory found {}, returning empty result", dir);
-            return result;
-        } finally {
-            ioService.endBatch();
+        for ( final RegisteredServerTemplate registeredServerTemplate : registry.values() ) {
+            result.add( fromXML( registeredServerTemplate.getContent() ) );
         }
+        logger.debug("All found server templates {}", result);
+        return result;
     }
 
     @Override
     public ServerTemplate load( final String identifier ) {
         logger.debug("About to load server template for {}", identifier);
-        final Path path = buildPath( identifier );
+        ensureRegistryLoaded();
+        final RegisteredServerTemplate registeredServerTemplate = identifier == null ? null : registry.get( identifier );
 
-        ServerTemplate serverTemplate = readServerTemplate(path);
+        ServerTemplate serverTemplate = registeredServerTemplate == null ? null : fromXML( registeredServerTemplate.getContent() );
         logger.debug("Server template loaded {}", serverTemplate);
         return serverTemplate;
     }
 
     @Override
     public boolean exists( final String identifier ) {
-
-        boolean serverTemplateExists = ioService.exists( buildPath( identifier));
+        ensureRegistryLoaded();
+        boolean serverTemplateExists = identifier != null && registry.containsKey( identifier );
         logger.debug("Server with id {} exists = {}", identifier, serverTemplateExists);
         return serverTemplateExists;
     }
 
     @Override
-    public ServerTemplate update( final ServerTemplate serverTemplate ) {
+    public synchronized ServerTemplate update( final ServerTemplate serverTemplate ) {
         logger.debug("About to update server template {}", serverTemplate);
+        ensureRegistryLoaded();
         final Path path = buildPath( serverTemplate.getId() );
+        final String content = xs.toXML(serverTemplate);
         try {
             ioService.startBatch(path.getFileSystem());
-            ioService.write(path, xs.toXML(serverTemplate));
+            ioService.write(path, content);
         } finally {
             ioService.endBatch();
         }
+        register(serverTemplate, content);
         logger.debug("Server template {} updated successfully", serverTemplate);
         return serverTemplate;
     }
 
     @Override
-    public ServerTemplate delete( final String identifier ) {
+    public synchronized ServerTemplate delete( final String identifier ) {
         logger.debug("About to remove server template with id {}", identifier);
+        ensureRegistryLoaded();
         final Path path = buildPath( identifier );
 
         ServerTemplate serverTemplate = null;
@@ -179,10 +178,139 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
         } finally {
             ioService.endBatch();
         }
+        registry.remove( identifier );
         logger.debug("Server template with id {}, removed successfully", identifier);
         return serverTemplate;
     }
 
+    /*
+     * VFS events, server templates changed outside of this storage (i.e. by other nodes of a cluster or pushed to git)
+     */
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        refresh( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        refresh( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        refresh( event.getPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        refresh( event.getPath() );
+        refresh( event.getDestinationPath() );
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> entry : event.getBatch().entrySet() ) {
+            refresh( entry.getKey() );
+            for ( final ResourceChange change : entry.getValue() ) {
+                if ( change instanceof ResourceRenamed ) {
+                    refresh( ( (ResourceRenamed) change ).getDestinationPath() );
+                }
+            }
+        }
+    }
+
+    /*
+     * registry methods
+     */
+
+    /**
+     * Server templates are read from VFS once; from then on the registry is kept up to date by the write operations
+     * of this storage and by the VFS events of the server templates directory, so reads never touch VFS.
+     * Templates are kept serialized so each read hands out its own copy.
+     */
+    protected void ensureRegistryLoaded() {
+        if ( registryLoaded ) {
+            return;
+        }
+        synchronized ( this ) {
+            if ( registryLoaded ) {
+                return;
+            }
+            logger.debug("About to populate server templates registry...");
+            final Path dir = buildPath( null );
+            try {
+                ioService.startBatch( dir.getFileSystem() );
+                for ( final Path registeredServer : ioService.newDirectoryStream( dir, new DirectoryStream.Filter<Path>() {
+                    @Override
+                    public boolean accept( final Path entry ) throws IOException {
+                        return entry.toString().endsWith( TEMPLATE_FILE_SUFFIX );
+                    }
+                } ) ) {
+                    try {
+                        final String content = ioService.readAllString( registeredServer );
+                        final ServerTemplate serverTemplate = fromXML( content );
+                        logger.debug("Found server template {}", serverTemplate);
+                        register( serverTemplate, content );
+                    } catch ( final Exception ignore ) {
+                        ioService.delete( registeredServer );
+                    }
+                }
+            } catch ( final NotDirectoryException ignore ) {
+                logger.debug("No directory found {}, server templates registry is empty", dir);
+            } finally {
+                ioService.endBatch();
+            }
+            registryLoaded = true;
+        }
+    }
+
+    /**
+     * Reads again the server template file of the given path, if any, dropping it from the registry when the file
+     * no longer exists or can't be read.
+     */
+    protected void refresh( final org.uberfire.backend.vfs.Path path ) {
+        if ( !registryLoaded || path == null ) {
+            return;
+        }
+        final String fileName = path.getFileName();
+        if ( fileName == null || !fileName.endsWith( TEMPLATE_FILE_SUFFIX ) ) {
+            return;
+        }
+        final Path templatePath = buildPath( null ).resolve( fileName );
+        if ( !templatePath.toUri().toString().equals( path.toURI() ) ) {
+            return;
+        }
+        synchronized ( this ) {
+            logger.debug("Server template file {} changed, about to refresh the registry", path);
+            unregister( fileName );
+            if ( !ioService.exists( templatePath ) ) {
+                return;
+            }
+            try {
+                final String content = ioService.readAllString( templatePath );
+                register( fromXML( content ), content );
+            } catch ( final Exception ex ) {
+                logger.error("Error reading server template from path {}", templatePath, ex);
+            }
+        }
+    }
+
+    private void unregister( final String fileName ) {
+        final Iterator<String> identifiers = registry.keySet().iterator();
+        while ( identifiers.hasNext() ) {
+            if ( fileName.equals( toHex( identifiers.next() ) + TEMPLATE_FILE_SUFFIX ) ) {
+                identifiers.remove();
+            }
+        }
+    }
+
+    private void register( final ServerTemplate serverTemplate,
+                           final String content ) {
+        registry.put( serverTemplate.getId(),
+                      new RegisteredServerTemplate( new ServerTemplateKey( serverTemplate.getId(), serverTemplate.getName() ),
+                                                    content ) );
+    }
+
+    private ServerTemplate fromXML( final String content ) {
+        return (ServerTemplate) xs.fromXML( content );
+    }
+
     /*
      * helper methods
      */
@@ -201,7 +329,7 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
 
     protected Path buildPath( final String identifier ) {
         if ( identifier != null ) {
-            return fileSystem.getPath( "servers", "remote", toHex( identifier ) + "-template.xml" );
+            return fileSystem.getPath( "servers", "remote", toHex( identifier ) + TEMPLATE_FILE_SUFFIX );
         } else {
             return fileSystem.getPath( "servers", "remote" );
         }
@@ -222,4 +350,24 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
             return false;
         }
     }
+
+    private static class RegisteredServerTemplate {
+
+        private final ServerTemplateKey key;
+        private final String content;
+
+        RegisteredServerTemplate( final ServerTemplateKey key,
+                                  final String content ) {
+            this.key = key;
+            this.content = content;
+        }
+
+        ServerTemplateKey getKey() {
+            return key;
+        }
+
+        String getContent() {
+            return content;
+        }
+    }
 }
@@ -17,12 +17,21 @@
 package org.kie.workbench.common.screens.server.management.backend.storage;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import com.thoughtworks.xstream.XStream;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -41,9 +50,16 @@ import org.kie.server.controller.api.model.spec.ProcessConfig;
 import org.kie.server.controller.api.model.spec.RuleConfig;
 import org.kie.server.controller.api.model.spec.ServerTemplate;
 import org.kie.server.controller.api.model.spec.ServerTemplateKey;
+import org.uberfire.java.nio.file.Path;
 import org.uberfire.mocks.FileSystemTestingUtils;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 public class ServerTemplateVFSStorageTest {
 
@@ -310,6 +326,186 @@ public class ServerTemplateVFSStorageTest {
         assertEquals(newContainerSpec.getConfigs().size(), spec.getConfigs().size());
     }
 
+    @Test
+    public void testConcurrentUpdatesAndLoads() throws Exception {
+        final int templates = 4;
+        final int updates = 10;
+        final ExecutorService executor = Executors.newFixedThreadPool(templates * 2);
+        final List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int i = 0; i < templates; i++) {
+            final ServerTemplate template = new ServerTemplate();
+            template.setId("template" + i);
+            template.setName("template " + i);
+            templateStorage.store(template);
+        }
+        try {
+            for (int i = 0; i < templates; i++) {
+                final String templateId = "template" + i;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int j = 0; j < updates; j++) {
+                            final ServerTemplate fromStorage = templateStorage.load(templateId);
+                            final ContainerSpec spec = new ContainerSpec();
+                            spec.setId("container" + j);
+                            spec.setServerTemplateKey(new ServerTemplateKey(templateId, fromStorage.getName()));
+                            spec.setReleasedId(new ReleaseId("org.kie", "kie-server-kjar", "1." + j));
+                            spec.setStatus(KieContainerStatus.STARTED);
+                            fromStorage.addContainerSpec(spec);
+                            templateStorage.update(fromStorage);
+                        }
+                        return null;
+                    }
+                }));
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int j = 0; j < updates; j++) {
+                            assertEquals(templates, templateStorage.loadKeys().size());
+                            assertEquals(templates, templateStorage.load().size());
+                            assertNotNull(templateStorage.load(templateId));
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // both the registry and the underlying VFS must hold every update
+        final ServerTemplateVFSStorage reloadedStorage = new ServerTemplateVFSStorage(fileSystemTestingUtils.getIoService(), fileSystemTestingUtils.getFileSystem());
+        for (ServerTemplateVFSStorage storage : Arrays.asList(templateStorage, reloadedStorage)) {
+            assertEquals(templates, storage.loadKeys().size());
+            for (int i = 0; i < templates; i++) {
+                final ServerTemplate fromStorage = storage.load("template" + i);
+                assertNotNull(fromStorage);
+                assertEquals(updates, fromStorage.getContainersSpec().size());
+            }
+        }
+    }
+
+    @Test
+    public void testLoadReturnsIndependentCopies() {
+        templateStorage.store(serverTemplate);
+
+        final ServerTemplate fromStorage = templateStorage.load(serverTemplate.getId());
+        fromStorage.addServerInstance(ModelFactory.newServerInstanceKey(serverTemplate.getId(), "http://localhost:8080/server"));
+
+        // not updated, so the stored template must not change
+        assertEquals(0, templateStorage.load(serverTemplate.getId()).getServerInstanceKeys().size());
+    }
+
+    @Test
+    public void testServerTemplateAddedOutsideStorage() {
+        assertEquals(0, templateStorage.loadKeys().size());
+
+        final Path path = writeOutsideStorage(serverTemplate);
+
+        // not notified yet
+        assertFalse(templateStorage.exists(serverTemplate.getId()));
+
+        final ResourceAddedEvent event = mock(ResourceAddedEvent.class);
+        when(event.getPath()).thenReturn(toVFSPath(path));
+        templateStorage.onResourceAdded(event);
+
+        assertTrue(templateStorage.exists(serverTemplate.getId()));
+        assertEquals(serverTemplate.getName(), templateStorage.load(serverTemplate.getId()).getName());
+        assertEquals(1, templateStorage.loadKeys().size());
+    }
+
+    @Test
+    public void testServerTemplateUpdatedOutsideStorage() {
+        templateStorage.store(serverTemplate);
+
+        serverTemplate.setName("updated test server");
+        final Path path = writeOutsideStorage(serverTemplate);
+
+        final ResourceUpdatedEvent event = mock(ResourceUpdatedEvent.class);
+        when(event.getPath()).thenReturn(toVFSPath(path));
+        templateStorage.onResourceUpdated(event);
+
+        assertEquals("updated test server", templateStorage.load(serverTemplate.getId()).getName());
+        assertEquals("updated test server", templateStorage.loadKeys().get(0).getName());
+    }
+
+    @Test
+    public void testServerTemplateDeletedOutsideStorage() {
+        templateStorage.store(serverTemplate);
+
+        final Path path = templateStorage.buildPath(serverTemplate.getId());
+        fileSystemTestingUtils.getIoService().delete(path);
+
+        final ResourceDeletedEvent event = mock(ResourceDeletedEvent.class);
+        when(event.getPath()).thenReturn(toVFSPath(path));
+        templateStorage.onResourceDeleted(event);
+
+        assertFalse(templateStorage.exists(serverTemplate.getId()));
+        assertNull(templateStorage.load(serverTemplate.getId()));
+        assertEquals(0, templateStorage.loadKeys().size());
+    }
+
+    @Test
+    public void testServerTemplatesChangedOutsideStorageInBatch() {
+        final ServerTemplate deleted = new ServerTemplate(UUID.randomUUID().toString(), "deleted test server");
+        final ServerTemplate added = new ServerTemplate(UUID.randomUUID().toString(), "added test server");
+        templateStorage.store(serverTemplate);
+        templateStorage.store(deleted);
+
+        serverTemplate.setName("updated test server");
+        final Path updatedPath = writeOutsideStorage(serverTemplate);
+        final Path deletedPath = templateStorage.buildPath(deleted.getId());
+        fileSystemTestingUtils.getIoService().delete(deletedPath);
+        final Path addedPath = writeOutsideStorage(added);
+
+        final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> batch = new HashMap<org.uberfire.backend.vfs.Path, Collection<ResourceChange>>();
+        batch.put(toVFSPath(updatedPath), Arrays.asList(mock(ResourceChange.class)));
+        batch.put(toVFSPath(deletedPath), Arrays.asList(mock(ResourceChange.class)));
+        batch.put(toVFSPath(addedPath), Arrays.asList(mock(ResourceChange.class)));
+        final ResourceBatchChangesEvent event = mock(ResourceBatchChangesEvent.class);
+        when(event.getBatch()).thenReturn(batch);
+        templateStorage.onBatchResourceChanges(event);
+
+        assertEquals("updated test server", templateStorage.load(serverTemplate.getId()).getName());
+        assertFalse(templateStorage.exists(deleted.getId()));
+        assertEquals("added test server", templateStorage.load(added.getId()).getName());
+        assertEquals(2, templateStorage.loadKeys().size());
+    }
+
+    @Test
+    public void testChangesOutsideServerTemplatesDirectoryAreIgnored() {
+        templateStorage.store(serverTemplate);
+
+        final Path path = templateStorage.buildPath(serverTemplate.getId());
+        fileSystemTestingUtils.getIoService().delete(path);
+
+        // same file name, but not in the server templates directory
+        final org.uberfire.backend.vfs.Path otherPath = mock(org.uberfire.backend.vfs.Path.class);
+        when(otherPath.getFileName()).thenReturn(path.getFileName().toString());
+        when(otherPath.toURI()).thenReturn(path.getFileSystem().getPath("other", path.getFileName().toString()).toUri().toString());
+        final ResourceDeletedEvent event = mock(ResourceDeletedEvent.class);
+        when(event.getPath()).thenReturn(otherPath);
+        templateStorage.onResourceDeleted(event);
+
+        assertTrue(templateStorage.exists(serverTemplate.getId()));
+    }
+
+    private Path writeOutsideStorage(final ServerTemplate serverTemplate) {
+        final Path path = templateStorage.buildPath(serverTemplate.getId());
+        fileSystemTestingUtils.getIoService().write(path, new XStream().toXML(serverTemplate));
+        return path;
+    }
+
+    private org.uberfire.backend.vfs.Path toVFSPath(final Path path) {
+        final org.uberfire.backend.vfs.Path vfsPath = mock(org.uberfire.backend.vfs.Path.class);
+        when(vfsPath.getFileName()).thenReturn(path.getFileName().toString());
+        when(vfsPath.toURI()).thenReturn(path.toUri().toString());
+        return vfsPath;
+    }
+
     /*
      * helper method to setup template container and container spec
      */
@@ -15,6 +15,8 @@
  */
 package org.kie.workbench.common.services.datamodel.service;
 
+import java.util.Set;
+
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.jboss.errai.bus.server.annotations.Remote;
 import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
@@ -30,4 +32,12 @@ public interface IncrementalDataModelService {
                                                          final Imports imports,
                                                          final String factType );
 
+    /**
+     * Batched version of {@link #getUpdates(Path, Imports, String)}, returns a single payload with the content of all
+     * the given fact types.
+     */
+    PackageDataModelOracleIncrementalPayload getBatchedUpdates( final Path resourcePath,
+                                                                final Imports imports,
+                                                                final Set<String> factTypes );
+
 }
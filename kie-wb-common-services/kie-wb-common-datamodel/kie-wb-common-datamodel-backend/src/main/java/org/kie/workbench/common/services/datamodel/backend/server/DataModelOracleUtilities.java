@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.drools.workbench.models.datamodel.oracle.Annotation;
 import org.drools.workbench.models.datamodel.oracle.DataType;
@@ -41,6 +42,9 @@ import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleI
  */
 public class DataModelOracleUtilities {
 
+    //Field Parameter Types of each (cached) PackageDataModelOracle indexed by type. Entries are released with the DMO.
+    private static final Map<PackageDataModelOracle, Map<String, Map<String, String>>> FIELD_PARAMETERS_TYPES_BY_TYPE = Collections.synchronizedMap( new WeakHashMap<PackageDataModelOracle, Map<String, Map<String, String>>>() );
+
     /**
      * Convenience method to get an array of all fully qualified class names available in a project
      * @param oracle The DMO representing a project
@@ -222,7 +226,7 @@ public class DataModelOracleUtilities {
                                                     oracle.getProjectModelFields(),
                                                     oracle.getPackageGlobals() ) );
         dataModel.setFieldParametersType( filterFieldParametersTypes( usedFullyQualifiedClassNames,
-                                                                      oracle.getProjectFieldParametersType() ) );
+                                                                      oracle ) );
         dataModel.setEventTypes( filterEventTypes( usedFullyQualifiedClassNames,
                                                    oracle.getProjectEventTypes() ) );
         dataModel.setTypeSources( filterTypeSources( usedFullyQualifiedClassNames,
@@ -250,10 +254,18 @@ public class DataModelOracleUtilities {
                                           final String usedFullyQualifiedClassName ) {
         final Set<String> usedFullyQualifiedClassNames = new HashSet<String>();
         usedFullyQualifiedClassNames.add( usedFullyQualifiedClassName );
+        populateDataModel( oracle,
+                           dataModel,
+                           usedFullyQualifiedClassNames );
+    }
+
+    public static void populateDataModel( final PackageDataModelOracle oracle,
+                                          final PackageDataModelOracleIncrementalPayload dataModel,
+                                          final Set<String> usedFullyQualifiedClassNames ) {
         dataModel.setModelFields( filterModelFields( usedFullyQualifiedClassNames,
                                                      oracle.getProjectModelFields() ) );
         dataModel.setFieldParametersType( filterFieldParametersTypes( usedFullyQualifiedClassNames,
-                                                                      oracle.getProjectFieldParametersType() ) );
+                                                                      oracle ) );
         dataModel.setEventTypes( filterEventTypes( usedFullyQualifiedClassNames,
                                                    oracle.getProjectEventTypes() ) );
         dataModel.setTypeSources( filterTypeSources( usedFullyQualifiedClassNames,
@@ -314,143 +326,125 @@ public class DataModelOracleUtilities {
     //Filter Model Fields by the types used
     private static Map<String, ModelField[]> filterModelFields( final Set<String> usedFullyQualifiedClassNames,
                                                                 final Map<String, ModelField[]> projectModelFields ) {
-        final Map<String, ModelField[]> scopedModelFields = new HashMap<String, ModelField[]>();
-        for ( Map.Entry<String, ModelField[]> e : projectModelFields.entrySet() ) {
-            final String mfQualifiedType = e.getKey();
-            final ModelField[] mfModelFields = e.getValue();
-            if ( isTypeUsed( mfQualifiedType,
-                             usedFullyQualifiedClassNames ) ) {
-                scopedModelFields.put( mfQualifiedType,
-                                       mfModelFields );
-            }
-        }
-        return scopedModelFields;
+        return filterByType( usedFullyQualifiedClassNames,
+                             projectModelFields );
     }
 
     //Filter Collection Types by the types used
     private static Map<String, Boolean> filterCollectionTypes( final Set<String> usedFullyQualifiedClassNames,
                                                                final Map<String, Boolean> projectCollectionTypes ) {
-        final Map<String, Boolean> scopedCollectionTypes = new HashMap<String, Boolean>();
-        for ( Map.Entry<String, Boolean> e : projectCollectionTypes.entrySet() ) {
-            final String collectionQualifiedType = e.getKey();
-            if ( isTypeUsed( collectionQualifiedType,
-                             usedFullyQualifiedClassNames ) ) {
-                scopedCollectionTypes.put( collectionQualifiedType,
-                                           e.getValue() );
-
-            }
-        }
-        return scopedCollectionTypes;
+        return filterByType( usedFullyQualifiedClassNames,
+                             projectCollectionTypes );
     }
 
     //Filter Event Types by the types used
     private static Map<String, Boolean> filterEventTypes( final Set<String> usedFullyQualifiedClassNames,
                                                           final Map<String, Boolean> projectEventTypes ) {
-        final Map<String, Boolean> scopedEventTypes = new HashMap<String, Boolean>();
-        for ( Map.Entry<String, Boolean> e : projectEventTypes.entrySet() ) {
-            final String eventQualifiedType = e.getKey();
-            if ( isTypeUsed( eventQualifiedType,
-                             usedFullyQualifiedClassNames ) ) {
-                scopedEventTypes.put( eventQualifiedType,
-                                      e.getValue() );
-            }
-        }
-        return scopedEventTypes;
+        return filterByType( usedFullyQualifiedClassNames,
+                             projectEventTypes );
     }
 
     //Filter TypeSource by the types used
     private static Map<String, TypeSource> filterTypeSources( final Set<String> usedFullyQualifiedClassNames,
                                                               final Map<String, TypeSource> projectTypeSources ) {
-        final Map<String, TypeSource> scopedTypeSources = new HashMap<String, TypeSource>();
-        for ( Map.Entry<String, TypeSource> e : projectTypeSources.entrySet() ) {
-            final String typeQualifiedType = e.getKey();
-            if ( isTypeUsed( typeQualifiedType,
-                             usedFullyQualifiedClassNames ) ) {
-                scopedTypeSources.put( typeQualifiedType,
-                                       e.getValue() );
-            }
-        }
-        return scopedTypeSources;
+        return filterByType( usedFullyQualifiedClassNames,
+                             projectTypeSources );
     }
 
     //Filter Super Types by the types used
     private static Map<String, List<String>> filterSuperTypes( final Set<String> usedFullyQualifiedClassNames,
                                                                final Map<String, List<String>> projectSuperTypes ) {
-        final Map<String, List<String>> scopedSuperTypes = new HashMap<String, List<String>>();
-        for ( Map.Entry<String, List<String>> e : projectSuperTypes.entrySet() ) {
-            final String typeQualifiedType = e.getKey();
-            final List<String> superTypeQualifiedTypes = e.getValue();
-            if ( isTypeUsed( typeQualifiedType,
-                             usedFullyQualifiedClassNames ) ) {
-                scopedSuperTypes.put( typeQualifiedType,
-                                      superTypeQualifiedTypes );
-            }
-        }
-        return scopedSuperTypes;
+        return filterByType( usedFullyQualifiedClassNames,
+                             projectSuperTypes );
     }
 
     //Filter Type Annotations by the types used
     private static Map<String, Set<Annotation>> filterTypeAnnotations( final Set<String> usedFullyQualifiedClassNames,
                                                                        final Map<String, Set<Annotation>> projectTypeAnnotations ) {
-        final Map<String, Set<Annotation>> scopedTypeAnnotations = new HashMap<String, Set<Annotation>>();
-        for ( Map.Entry<String, Set<Annotation>> e : projectTypeAnnotations.entrySet() ) {
-            final String typeAnnotationQualifiedType = e.getKey();
-            if ( isTypeUsed( typeAnnotationQualifiedType,
-                             usedFullyQualifiedClassNames ) ) {
-                scopedTypeAnnotations.put( typeAnnotationQualifiedType,
-                                           e.getValue() );
-            }
-        }
-        return scopedTypeAnnotations;
+        return filterByType( usedFullyQualifiedClassNames,
+                             projectTypeAnnotations );
     }
 
     //Filter Type Fields Annotations by the types used
     private static Map<String, Map<String, Set<Annotation>>> filterTypeFieldsAnnotations( final Set<String> usedFullyQualifiedClassNames,
                                                                                           final Map<String, Map<String, Set<Annotation>>> projectTypeFieldsAnnotations ) {
-        final Map<String, Map<String, Set<Annotation>>> scopedTypeFieldsAnnotations = new HashMap<String, Map<String, Set<Annotation>>>();
-        for ( Map.Entry<String, Map<String, Set<Annotation>>> e : projectTypeFieldsAnnotations.entrySet() ) {
-            final String typeAnnotationQualifiedType = e.getKey();
-            if ( isTypeUsed( typeAnnotationQualifiedType,
-                             usedFullyQualifiedClassNames ) ) {
-                scopedTypeFieldsAnnotations.put( typeAnnotationQualifiedType,
-                                                 e.getValue() );
-            }
-        }
-        return scopedTypeFieldsAnnotations;
+        return filterByType( usedFullyQualifiedClassNames,
+                             projectTypeFieldsAnnotations );
     }
 
     //Filter Method Information (used by ActionCallXXX and ExpressionBuilder) by the types used
     private static Map<String, List<MethodInfo>> filterMethodInformation( final Set<String> usedFullyQualifiedClassNames,
                                                                           final Map<String, List<MethodInfo>> projectMethodInformation ) {
-        final Map<String, List<MethodInfo>> scopedMethodInformation = new HashMap<String, List<MethodInfo>>();
-        for ( Map.Entry<String, List<MethodInfo>> e : projectMethodInformation.entrySet() ) {
-            final String miQualifiedType = e.getKey();
-            if ( isTypeUsed( miQualifiedType,
-                             usedFullyQualifiedClassNames ) ) {
-                scopedMethodInformation.put( miQualifiedType,
-                                             e.getValue() );
-            }
-        }
-        return scopedMethodInformation;
+        return filterByType( usedFullyQualifiedClassNames,
+                             projectMethodInformation );
     }
 
     //Filter Field Parameter Types by the types used
     private static Map<String, String> filterFieldParametersTypes( final Set<String> usedFullyQualifiedClassNames,
-                                                                   final Map<String, String> projectFieldParametersTypes ) {
+                                                                   final PackageDataModelOracle oracle ) {
+        final Map<String, Map<String, String>> fieldParametersTypesByType = getFieldParametersTypesByType( oracle );
         final Map<String, String> scopedFieldParametersType = new HashMap<String, String>();
-        for ( Map.Entry<String, String> e : projectFieldParametersTypes.entrySet() ) {
-            final String fieldName = e.getKey();
-            final String fieldType = e.getValue();
-            final String fFieldName_QualifiedType = getQualifiedTypeFromEncodedFieldName( fieldName );
-            if ( isTypeUsed( fFieldName_QualifiedType,
-                             usedFullyQualifiedClassNames ) ) {
-                scopedFieldParametersType.put( fieldName,
-                                               fieldType );
+        for ( String usedFullyQualifiedClassName : usedFullyQualifiedClassNames ) {
+            final Map<String, String> fieldParametersTypes = fieldParametersTypesByType.get( usedFullyQualifiedClassName );
+            if ( fieldParametersTypes != null ) {
+                scopedFieldParametersType.putAll( fieldParametersTypes );
             }
         }
         return scopedFieldParametersType;
     }
 
+    //Project maps are keyed by the fully qualified class name, so the entries of the types used can be looked up
+    //directly instead of filtering the whole (Project wide) map
+    private static <T> Map<String, T> filterByType( final Set<String> usedFullyQualifiedClassNames,
+                                                    final Map<String, T> projectEntries ) {
+        final Map<String, T> scopedEntries = new HashMap<String, T>();
+        if ( usedFullyQualifiedClassNames.size() > projectEntries.size() ) {
+            for ( Map.Entry<String, T> e : projectEntries.entrySet() ) {
+                if ( isTypeUsed( e.getKey(),
+                                 usedFullyQualifiedClassNames ) ) {
+                    scopedEntries.put( e.getKey(),
+                                       e.getValue() );
+                }
+            }
+        } else {
+            for ( String usedFullyQualifiedClassName : usedFullyQualifiedClassNames ) {
+                if ( projectEntries.containsKey( usedFullyQualifiedClassName ) ) {
+                    scopedEntries.put( usedFullyQualifiedClassName,
+                                       projectEntries.get( usedFullyQualifiedClassName ) );
+                }
+            }
+        }
+        return scopedEntries;
+    }
+
+    //Field Parameter Types are keyed by the encoded field name (type#field), so they are indexed by type the first
+    //time they are requested for a PackageDataModelOracle. DMOs are immutable once built and they are cached.
+    private static Map<String, Map<String, String>> getFieldParametersTypesByType( final PackageDataModelOracle oracle ) {
+        Map<String, Map<String, String>> fieldParametersTypesByType = FIELD_PARAMETERS_TYPES_BY_TYPE.get( oracle );
+        if ( fieldParametersTypesByType == null ) {
+            fieldParametersTypesByType = indexFieldParametersTypes( oracle.getProjectFieldParametersType() );
+            FIELD_PARAMETERS_TYPES_BY_TYPE.put( oracle,
+                                                fieldParametersTypesByType );
+        }
+        return fieldParametersTypesByType;
+    }
+
+    private static Map<String, Map<String, String>> indexFieldParametersTypes( final Map<String, String> projectFieldParametersTypes ) {
+        final Map<String, Map<String, String>> fieldParametersTypesByType = new HashMap<String, Map<String, String>>();
+        for ( Map.Entry<String, String> e : projectFieldParametersTypes.entrySet() ) {
+            final String fFieldName_QualifiedType = getQualifiedTypeFromEncodedFieldName( e.getKey() );
+            Map<String, String> fieldParametersTypes = fieldParametersTypesByType.get( fFieldName_QualifiedType );
+            if ( fieldParametersTypes == null ) {
+                fieldParametersTypes = new HashMap<String, String>();
+                fieldParametersTypesByType.put( fFieldName_QualifiedType,
+                                                fieldParametersTypes );
+            }
+            fieldParametersTypes.put( e.getKey(),
+                                      e.getValue() );
+        }
+        return fieldParametersTypesByType;
+    }
+
     private static String getQualifiedTypeFromEncodedFieldName( final String encodedFieldName ) {
         String typeName = encodedFieldName;
         int hashIndex = typeName.lastIndexOf( "#" );
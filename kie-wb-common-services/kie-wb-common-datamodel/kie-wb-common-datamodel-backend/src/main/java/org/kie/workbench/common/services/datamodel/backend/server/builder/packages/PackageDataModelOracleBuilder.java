@@ -29,6 +29,7 @@ import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracle
 import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.drools.workbench.models.datamodel.rule.DSLSentence;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.DataEnumExpressionCache;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.util.DataEnumLoader;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.util.GlobalsParser;
 import org.slf4j.Logger;
@@ -90,10 +91,20 @@ public final class PackageDataModelOracleBuilder {
         return this;
     }
 
+    public PackageDataModelOracleBuilder addEnum( final String enumDefinition,
+                                                  final DataEnumExpressionCache expressionCache ) {
+        addEnumData( new DataEnumLoader( enumDefinition,
+                                         expressionCache ) );
+        return this;
+    }
+
     private void parseEnumDefinition( final String enumDefinition,
                                       final ClassLoader classLoader ) {
-        final DataEnumLoader enumLoader = new DataEnumLoader( enumDefinition,
-                                                              classLoader );
+        addEnumData( new DataEnumLoader( enumDefinition,
+                                         classLoader ) );
+    }
+
+    private void addEnumData( final DataEnumLoader enumLoader ) {
         if ( !enumLoader.hasErrors() ) {
             factFieldEnums.putAll( enumLoader.getData() );
         }
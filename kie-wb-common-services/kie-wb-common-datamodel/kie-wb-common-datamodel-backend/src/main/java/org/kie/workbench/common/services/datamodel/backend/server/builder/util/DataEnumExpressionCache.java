@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.util;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.mvel2.MVEL;
+import org.mvel2.ParserConfiguration;
+import org.mvel2.ParserContext;
+
+/**
+ * Cache of the compiled MVEL expressions of enumeration definitions, keyed by the content of the expression. All the
+ * expressions are compiled with the same ClassLoader, so the cache must be discarded when the ClassLoader changes.
+ */
+public class DataEnumExpressionCache {
+
+    public static final int MAX_ENTRIES = 1000;
+
+    private final ClassLoader classLoader;
+
+    private final Map<String, Serializable> expressions = new LinkedHashMap<String, Serializable>( 16,
+                                                                                                   0.75f,
+                                                                                                   true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, Serializable> eldest ) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public DataEnumExpressionCache( final ClassLoader classLoader ) {
+        this.classLoader = classLoader;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Returns the compiled expression for the given MVEL source, compiling it only the first time it is requested.
+     * Expressions that fail to compile are not cached.
+     */
+    public synchronized Serializable getCompiledExpression( final String mvelSource ) {
+        Serializable compiled = expressions.get( mvelSource );
+        if ( compiled == null ) {
+            compiled = compile( mvelSource );
+            expressions.put( mvelSource,
+                             compiled );
+        }
+        return compiled;
+    }
+
+    public synchronized int size() {
+        return expressions.size();
+    }
+
+    protected Serializable compile( final String mvelSource ) {
+        return compile( mvelSource,
+                        classLoader );
+    }
+
+    static Serializable compile( final String mvelSource,
+                                 final ClassLoader classLoader ) {
+        final ParserConfiguration pconf = new ParserConfiguration();
+        final ParserContext pctx = new ParserContext( pconf );
+        pconf.setClassLoader( classLoader );
+
+        return MVEL.compileExpression( mvelSource,
+                                       pctx );
+    }
+}
@@ -27,9 +27,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.drools.core.util.MVELSafeHelper;
-import org.mvel2.MVEL;
-import org.mvel2.ParserConfiguration;
-import org.mvel2.ParserContext;
 
 /**
  * Use MVEL to load up map/list of valid items for fields - used by the Guided rule editor.
@@ -54,11 +51,25 @@ public class DataEnumLoader {
                            final ClassLoader classLoader ) {
         this.errors = new ArrayList<String>();
         this.data = loadEnum( mvelSource,
-                              classLoader );
+                              classLoader,
+                              null );
+    }
+
+    /**
+     * This is the source of the asset, which is an MVEL map (minus the outer "[") of course. The compiled expression
+     * is taken from (or added to) the given cache, and it is compiled with the cache's ClassLoader.
+     */
+    public DataEnumLoader( final String mvelSource,
+                           final DataEnumExpressionCache expressionCache ) {
+        this.errors = new ArrayList<String>();
+        this.data = loadEnum( mvelSource,
+                              expressionCache.getClassLoader(),
+                              expressionCache );
     }
 
     private Map<String, String[]> loadEnum( String mvelSource,
-                                            ClassLoader classLoader ) {
+                                            final ClassLoader classLoader,
+                                            final DataEnumExpressionCache expressionCache ) {
 
         if ( mvelSource == null || ( mvelSource.trim().equals( "" ) ) ) {
             return Collections.emptyMap();
@@ -72,12 +83,13 @@ public class DataEnumLoader {
 
         try {
 
-            final ParserConfiguration pconf = new ParserConfiguration();
-            final ParserContext pctx = new ParserContext( pconf );
-            pconf.setClassLoader( classLoader );
-
-            final Serializable compiled = MVEL.compileExpression( mvelSource,
-                                                                  pctx );
+            final Serializable compiled;
+            if ( expressionCache != null ) {
+                compiled = expressionCache.getCompiledExpression( mvelSource );
+            } else {
+                compiled = DataEnumExpressionCache.compile( mvelSource,
+                                                            classLoader );
+            }
 
             mvelData = MVELSafeHelper.getEvaluator().executeExpression( compiled,
                                                                         new HashMap<String, Object>() );
@@ -15,14 +15,18 @@
 
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.guvnor.common.services.backend.cache.LRUCache;
@@ -34,11 +38,14 @@ import org.guvnor.common.services.project.model.Package;
 import org.guvnor.common.services.shared.message.Level;
 import org.kie.api.builder.KieModule;
 import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.backend.builder.core.LRUProjectDependenciesClassLoaderCache;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.backend.file.DSLFileFilter;
 import org.kie.workbench.common.services.backend.file.EnumerationsFileFilter;
 import org.kie.workbench.common.services.backend.file.GlobalsFileFilter;
+import org.kie.workbench.common.services.backend.project.MapClassLoader;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.packages.PackageDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.DataEnumExpressionCache;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.uberfire.backend.server.util.Paths;
@@ -70,6 +77,17 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
     private BuildInfoService buildInfoService;
 
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+
+    //Compiled enumeration expressions of each Project (keyed by Project root URI), held while the Project has cached
+    //Packages so that the Project ClassLoader is released once its last Package is evicted or invalidated
+    private Map<String, DataEnumExpressionCache> enumExpressionCaches = new HashMap<String, DataEnumExpressionCache>();
+
+    //Cached Packages of each Project (keyed by Project root URI) and vice versa, kept in sync with the LRU entries
+    private Map<String, Set<Package>> projectPackages = new HashMap<String, Set<Package>>();
+
+    private Map<Package, String> packageProjects = new HashMap<Package, String>();
+
     public LRUDataModelOracleCache() {
         //CDI proxy
     }
@@ -79,12 +97,14 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
                                    final FileDiscoveryService fileDiscoveryService,
                                    final @Named("ProjectDataModelOracleCache") LRUProjectDataModelOracleCache cacheProjects,
                                    final KieProjectService projectService,
-                                   final BuildInfoService buildInfoService) {
+                                   final BuildInfoService buildInfoService,
+                                   final @Named("LRUProjectDependenciesClassLoaderCache") LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache) {
         this.ioService = ioService;
         this.fileDiscoveryService = fileDiscoveryService;
         this.cacheProjects = cacheProjects;
         this.projectService = projectService;
         this.buildInfoService = buildInfoService;
+        this.dependenciesClassLoaderCache = dependenciesClassLoaderCache;
     }
 
     public synchronized void invalidatePackageCache(@Observes final InvalidateDMOPackageCacheEvent event) {
@@ -96,6 +116,7 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
         //If resource was not within a Package there's nothing to invalidate
         if (pkg != null) {
             invalidateCache(pkg);
+            unindexPackage(pkg);
         }
     }
 
@@ -111,23 +132,14 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
         }
 
         final String projectUri = project.getRootPath().toURI();
-        final List<Package> cacheEntriesToInvalidate = new ArrayList<Package>();
-        for (final Package pkg : getKeys()) {
-            final Path packageMainSrcPath = pkg.getPackageMainSrcPath();
-            final Path packageTestSrcPath = pkg.getPackageTestSrcPath();
-            final Path packageMainResourcesPath = pkg.getPackageMainResourcesPath();
-            final Path packageTestResourcesPath = pkg.getPackageTestResourcesPath();
-            if (packageMainSrcPath != null && packageMainSrcPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageTestSrcPath != null && packageTestSrcPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageMainResourcesPath != null && packageMainResourcesPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageTestResourcesPath != null && packageTestResourcesPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            }
+        enumExpressionCaches.remove(projectUri);
+
+        final Set<Package> cacheEntriesToInvalidate = projectPackages.remove(projectUri);
+        if (cacheEntriesToInvalidate == null) {
+            return;
         }
         for (final Package pkg : cacheEntriesToInvalidate) {
+            packageProjects.remove(pkg);
             invalidateCache(pkg);
         }
     }
@@ -137,16 +149,86 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
                                                                             final Package pkg) {
         PackageDataModelOracle oracle = getEntry(pkg);
         if (oracle == null) {
-            oracle = makePackageDataModelOracle(project,
-                                                pkg);
+            try {
+                oracle = makePackageDataModelOracle(project,
+                                                    pkg);
+            } catch (RuntimeException e) {
+                releaseEnumExpressionCache(project.getRootPath().toURI());
+                throw e;
+            }
+            //The least recently used entry is the one evicted (if any) when the new entry is added
+            final Package eldest = getEldestPackage();
             setEntry(pkg,
                      oracle);
+            indexPackage(project,
+                         pkg);
+            if (eldest != null && !getKeys().contains(eldest)) {
+                unindexPackage(eldest);
+            }
         }
         return oracle;
     }
 
-    private PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
-                                                              final Package pkg) {
+    private Package getEldestPackage() {
+        final Iterator<Package> keys = getKeys().iterator();
+        return keys.hasNext() ? keys.next() : null;
+    }
+
+    private void indexPackage(final KieProject project,
+                              final Package pkg) {
+        final String projectUri = project.getRootPath().toURI();
+        final String previousProjectUri = packageProjects.put(pkg,
+                                                              projectUri);
+        if (previousProjectUri != null && !previousProjectUri.equals(projectUri)) {
+            removeFromProjectPackages(previousProjectUri,
+                                      pkg);
+        }
+        Set<Package> packages = projectPackages.get(projectUri);
+        if (packages == null) {
+            packages = new HashSet<Package>();
+            projectPackages.put(projectUri,
+                                packages);
+        }
+        packages.add(pkg);
+    }
+
+    private void unindexPackage(final Package pkg) {
+        final String projectUri = packageProjects.remove(pkg);
+        if (projectUri != null) {
+            removeFromProjectPackages(projectUri,
+                                      pkg);
+        }
+    }
+
+    private void removeFromProjectPackages(final String projectUri,
+                                           final Package pkg) {
+        final Set<Package> packages = projectPackages.get(projectUri);
+        if (packages != null) {
+            packages.remove(pkg);
+            if (packages.isEmpty()) {
+                projectPackages.remove(projectUri);
+            }
+        }
+        releaseEnumExpressionCache(projectUri);
+    }
+
+    //The enumeration expressions are only kept while the Project has cached Packages
+    private void releaseEnumExpressionCache(final String projectUri) {
+        if (!projectPackages.containsKey(projectUri)) {
+            enumExpressionCaches.remove(projectUri);
+        }
+    }
+
+    int getIndexedPackagesCount() {
+        return packageProjects.size();
+    }
+
+    int getEnumExpressionCachesCount() {
+        return enumExpressionCaches.size();
+    }
+
+    protected PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
+                                                                final Package pkg) {
         final String packageName = pkg.getPackageName();
         final PackageDataModelOracleBuilder dmoBuilder = PackageDataModelOracleBuilder.newPackageOracleBuilder(packageName);
         final ProjectDataModelOracle projectOracle = cacheProjects.assertProjectDataModelOracle(project);
@@ -178,16 +260,39 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
     private void loadEnumsForPackage(final PackageDataModelOracleBuilder dmoBuilder,
                                      final KieProject project,
                                      final Package pkg) {
-        final KieModule module = buildInfoService.getBuildInfo( project ).getKieModuleIgnoringErrors();
-        final ClassLoader classLoader = KieModuleMetaData.Factory.newKieModuleMetaData(module).getClassLoader();
         final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert(pkg.getPackageMainResourcesPath());
         final Collection<org.uberfire.java.nio.file.Path> enumFiles = fileDiscoveryService.discoverFiles(nioPackagePath,
                                                                                                          FILTER_ENUMERATIONS);
+        if (enumFiles.isEmpty()) {
+            return;
+        }
+        final DataEnumExpressionCache expressionCache = assertEnumExpressionCache(project);
         for (final org.uberfire.java.nio.file.Path path : enumFiles) {
             final String enumDefinition = ioService.readAllString(path);
             dmoBuilder.addEnum(enumDefinition,
-                               classLoader);
+                               expressionCache);
+        }
+    }
+
+    DataEnumExpressionCache assertEnumExpressionCache(final KieProject project) {
+        final String projectUri = project.getRootPath().toURI();
+        DataEnumExpressionCache expressionCache = enumExpressionCaches.get(projectUri);
+        if (expressionCache == null) {
+            expressionCache = new DataEnumExpressionCache(buildProjectClassLoader(project));
+            enumExpressionCaches.put(projectUri,
+                                     expressionCache);
+        }
+        return expressionCache;
+    }
+
+    //The Project ClassLoader is built on top of the cached Project dependencies ClassLoader
+    private ClassLoader buildProjectClassLoader(final KieProject project) {
+        final KieModule module = buildInfoService.getBuildInfo(project).getKieModuleIgnoringErrors();
+        if (module instanceof InternalKieModule) {
+            return new MapClassLoader(((InternalKieModule) module).getClassesMap(true),
+                                      dependenciesClassLoaderCache.assertDependenciesClassLoader(project));
         }
+        return KieModuleMetaData.Factory.newKieModuleMetaData(module).getClassLoader();
     }
 
     private void loadDslsForPackage(final PackageDataModelOracleBuilder dmoBuilder,
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.workbench.models.datamodel.oracle.Annotation;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.MethodInfo;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class DataModelOracleUtilitiesTest {
+
+    private static final int TYPES = 50;
+
+    private Map<String, ModelField[]> modelFields = new HashMap<String, ModelField[]>();
+    private Map<String, String> fieldParametersTypes = new HashMap<String, String>();
+    private Map<String, Boolean> eventTypes = new HashMap<String, Boolean>();
+    private Map<String, TypeSource> typeSources = new HashMap<String, TypeSource>();
+    private Map<String, List<String>> superTypes = new HashMap<String, List<String>>();
+    private Map<String, Set<Annotation>> typeAnnotations = new HashMap<String, Set<Annotation>>();
+    private Map<String, Map<String, Set<Annotation>>> typeFieldsAnnotations = new HashMap<String, Map<String, Set<Annotation>>>();
+    private Map<String, List<MethodInfo>> methodInformation = new HashMap<String, List<MethodInfo>>();
+    private Map<String, Boolean> collectionTypes = new HashMap<String, Boolean>();
+
+    private PackageDataModelOracle oracle;
+
+    @Before
+    public void setUp() {
+        for ( int i = 0; i < TYPES; i++ ) {
+            final String type = "org.test.Type" + i;
+            modelFields.put( type,
+                             new ModelField[]{ new ModelField( "items",
+                                                               "java.util.List",
+                                                               ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                                               ModelField.FIELD_ORIGIN.DECLARED,
+                                                               FieldAccessorsAndMutators.BOTH,
+                                                               "Collection" ) } );
+            fieldParametersTypes.put( type + "#items",
+                                      "java.lang.String" );
+            fieldParametersTypes.put( type + "#others",
+                                      "java.lang.Integer" );
+            eventTypes.put( type,
+                            i % 2 == 0 );
+            typeSources.put( type,
+                             TypeSource.JAVA_PROJECT );
+            superTypes.put( type,
+                            Arrays.asList( "java.lang.Object" ) );
+            typeAnnotations.put( type,
+                                 Collections.<Annotation>emptySet() );
+            typeFieldsAnnotations.put( type,
+                                       Collections.<String, Set<Annotation>>emptyMap() );
+            methodInformation.put( type,
+                                   new ArrayList<MethodInfo>() );
+            collectionTypes.put( type + "#items",
+                                 true );
+        }
+        //Entries with no counterpart on the other maps
+        collectionTypes.put( "java.util.List",
+                             true );
+        fieldParametersTypes.put( "org.test.Unknown#items",
+                                  "java.lang.String" );
+
+        oracle = mock( PackageDataModelOracle.class );
+        when( oracle.getProjectModelFields() ).thenReturn( modelFields );
+        when( oracle.getProjectFieldParametersType() ).thenReturn( fieldParametersTypes );
+        when( oracle.getProjectEventTypes() ).thenReturn( eventTypes );
+        when( oracle.getProjectTypeSources() ).thenReturn( typeSources );
+        when( oracle.getProjectSuperTypes() ).thenReturn( superTypes );
+        when( oracle.getProjectTypeAnnotations() ).thenReturn( typeAnnotations );
+        when( oracle.getProjectTypeFieldsAnnotations() ).thenReturn( typeFieldsAnnotations );
+        when( oracle.getProjectMethodInformation() ).thenReturn( methodInformation );
+        when( oracle.getProjectCollectionTypes() ).thenReturn( collectionTypes );
+    }
+
+    @Test
+    public void testIncrementalPayloadForSingleType() {
+        assertPayload( new HashSet<String>( Arrays.asList( "org.test.Type7" ) ) );
+    }
+
+    @Test
+    public void testIncrementalPayloadForSeveralTypes() {
+        assertPayload( new HashSet<String>( Arrays.asList( "org.test.Type1",
+                                                           "org.test.Type2",
+                                                           "java.util.List",
+                                                           "org.test.Unknown" ) ) );
+    }
+
+    @Test
+    public void testIncrementalPayloadForMoreTypesThanEntries() {
+        final Set<String> types = new HashSet<String>();
+        for ( int i = 0; i < TYPES * 3; i++ ) {
+            types.add( "org.test.Type" + i );
+        }
+        assertPayload( types );
+    }
+
+    @Test
+    public void testIncrementalPayloadForUnknownType() {
+        assertPayload( new HashSet<String>( Arrays.asList( "org.test.DoesNotExist" ) ) );
+    }
+
+    private void assertPayload( final Set<String> types ) {
+        final PackageDataModelOracleIncrementalPayload payload = new PackageDataModelOracleIncrementalPayload();
+        DataModelOracleUtilities.populateDataModel( oracle,
+                                                    payload,
+                                                    types );
+
+        assertEquals( filter( types,
+                              modelFields,
+                              false ),
+                      payload.getModelFields() );
+        assertEquals( filter( types,
+                              fieldParametersTypes,
+                              true ),
+                      payload.getFieldParametersType() );
+        assertEquals( filter( types,
+                              eventTypes,
+                              false ),
+                      payload.getEventTypes() );
+        assertEquals( filter( types,
+                              typeSources,
+                              false ),
+                      payload.getTypeSources() );
+        assertEquals( filter( types,
+                              superTypes,
+                              false ),
+                      payload.getSuperTypes() );
+        assertEquals( filter( types,
+                              typeAnnotations,
+                              false ),
+                      payload.getTypeAnnotations() );
+        assertEquals( filter( types,
+                              typeFieldsAnnotations,
+                              false ),
+                      payload.getTypeFieldsAnnotations() );
+        assertEquals( filter( types,
+                              methodInformation,
+                              false ),
+                      payload.getMethodInformation() );
+        assertEquals( filter( types,
+                              collectionTypes,
+                              false ),
+                      payload.getCollectionTypes() );
+    }
+
+    //Reference implementation: filter the whole map
+    private <T> Map<String, T> filter( final Set<String> types,
+                                       final Map<String, T> entries,
+                                       final boolean encodedFieldNames ) {
+        final Map<String, T> result = new HashMap<String, T>();
+        for ( Map.Entry<String, T> e : entries.entrySet() ) {
+            String type = e.getKey();
+            if ( encodedFieldNames && type.lastIndexOf( "#" ) != -1 ) {
+                type = type.substring( 0,
+                                       type.lastIndexOf( "#" ) );
+            }
+            if ( types.contains( type ) ) {
+                result.put( e.getKey(),
+                            e.getValue() );
+            }
+        }
+        return result;
+    }
+}
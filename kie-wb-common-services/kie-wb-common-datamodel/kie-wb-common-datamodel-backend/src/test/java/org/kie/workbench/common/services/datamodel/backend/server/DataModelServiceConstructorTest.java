@@ -407,7 +407,8 @@ public class DataModelServiceConstructorTest {
                                                                             fileDiscoveryService,
                                                                             cacheProjects,
                                                                             projectService,
-                                                                            buildInfoService );
+                                                                            buildInfoService,
+                                                                            dependenciesClassLoaderCache );
         DataModelService dataModelService = new DataModelServiceImpl(cachePackages,
                                                                      cacheProjects,
                                                                      projectService);
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.workbench.models.datamodel.imports.Import;
+import org.drools.workbench.models.datamodel.imports.Imports;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUDataModelOracleCache;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IncrementalDataModelServiceImplTest {
+
+    private static final String PACKAGE_NAME = "org.test";
+    private static final String OTHER_PACKAGE_NAME = "org.other";
+
+    @Mock
+    private LRUDataModelOracleCache cachePackages;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private Path resourcePath;
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private Package pkg;
+
+    @Mock
+    private PackageDataModelOracle oracle;
+
+    private Map<String, ModelField[]> modelFields = new HashMap<String, ModelField[]>();
+    private Map<String, Boolean> eventTypes = new HashMap<String, Boolean>();
+
+    private Imports imports = new Imports();
+
+    private IncrementalDataModelServiceImpl service;
+
+    @Before
+    public void setUp() {
+        addType( PACKAGE_NAME + ".Applicant" );
+        addType( PACKAGE_NAME + ".Mortgage" );
+        addType( PACKAGE_NAME + ".Bank" );
+        addType( OTHER_PACKAGE_NAME + ".Address" );
+        addType( OTHER_PACKAGE_NAME + ".Bank" );
+
+        when( oracle.getProjectModelFields() ).thenReturn( modelFields );
+        when( oracle.getProjectEventTypes() ).thenReturn( eventTypes );
+        when( pkg.getPackageName() ).thenReturn( PACKAGE_NAME );
+        when( projectService.resolveProject( resourcePath ) ).thenReturn( project );
+        when( projectService.resolvePackage( resourcePath ) ).thenReturn( pkg );
+        when( cachePackages.assertPackageDataModelOracle( project,
+                                                          pkg ) ).thenReturn( oracle );
+
+        service = new IncrementalDataModelServiceImpl( cachePackages,
+                                                       projectService );
+    }
+
+    @Test
+    public void testBatchedUpdatesForSeveralFactTypes() {
+        imports.addImport( new Import( OTHER_PACKAGE_NAME + ".Address" ) );
+
+        final PackageDataModelOracleIncrementalPayload payload = service.getBatchedUpdates( resourcePath,
+                                                                                            imports,
+                                                                                            types( PACKAGE_NAME + ".Applicant",
+                                                                                                   "Mortgage",
+                                                                                                   "Address" ) );
+
+        //Fully qualified, resolved through the package name and resolved through the imports
+        assertEquals( types( PACKAGE_NAME + ".Applicant",
+                             PACKAGE_NAME + ".Mortgage",
+                             OTHER_PACKAGE_NAME + ".Address" ),
+                      payload.getModelFields().keySet() );
+        assertEquals( payload.getModelFields().keySet(),
+                      payload.getEventTypes().keySet() );
+        //The oracle is only looked up once for all the fact types
+        verify( cachePackages,
+                times( 1 ) ).assertPackageDataModelOracle( project,
+                                                           pkg );
+    }
+
+    @Test
+    public void testBatchedUpdatesMatchSingleUpdates() {
+        imports.addImport( new Import( OTHER_PACKAGE_NAME + ".Address" ) );
+
+        final PackageDataModelOracleIncrementalPayload batched = service.getBatchedUpdates( resourcePath,
+                                                                                            imports,
+                                                                                            types( "Applicant",
+                                                                                                   "Address" ) );
+        final PackageDataModelOracleIncrementalPayload applicant = service.getUpdates( resourcePath,
+                                                                                       imports,
+                                                                                       "Applicant" );
+        final PackageDataModelOracleIncrementalPayload address = service.getUpdates( resourcePath,
+                                                                                     imports,
+                                                                                     "Address" );
+
+        final Map<String, ModelField[]> expected = new HashMap<String, ModelField[]>();
+        expected.putAll( applicant.getModelFields() );
+        expected.putAll( address.getModelFields() );
+        assertEquals( expected,
+                      batched.getModelFields() );
+        final Map<String, Boolean> expectedEventTypes = new HashMap<String, Boolean>();
+        expectedEventTypes.putAll( applicant.getEventTypes() );
+        expectedEventTypes.putAll( address.getEventTypes() );
+        assertEquals( expectedEventTypes,
+                      batched.getEventTypes() );
+    }
+
+    @Test
+    public void testBatchedUpdatesForUnknownFactType() {
+        final PackageDataModelOracleIncrementalPayload payload = service.getBatchedUpdates( resourcePath,
+                                                                                            imports,
+                                                                                            types( "Unknown" ) );
+
+        assertTrue( payload.getModelFields().isEmpty() );
+        assertTrue( payload.getEventTypes().isEmpty() );
+    }
+
+    @Test
+    public void testBatchedUpdatesIgnoreUnknownFactTypes() {
+        final PackageDataModelOracleIncrementalPayload payload = service.getBatchedUpdates( resourcePath,
+                                                                                            imports,
+                                                                                            types( "Unknown",
+                                                                                                   "Mortgage",
+                                                                                                   "org.unknown.Applicant" ) );
+
+        assertEquals( types( PACKAGE_NAME + ".Mortgage" ),
+                      payload.getModelFields().keySet() );
+    }
+
+    @Test
+    public void testBatchedUpdatesResolveImportsBeforePackageName() {
+        imports.addImport( new Import( OTHER_PACKAGE_NAME + ".Bank" ) );
+
+        final PackageDataModelOracleIncrementalPayload payload = service.getBatchedUpdates( resourcePath,
+                                                                                            imports,
+                                                                                            types( "Bank" ) );
+
+        assertEquals( types( OTHER_PACKAGE_NAME + ".Bank" ),
+                      payload.getModelFields().keySet() );
+    }
+
+    @Test
+    public void testBatchedUpdatesWithoutImportsResolvePackageName() {
+        final PackageDataModelOracleIncrementalPayload payload = service.getBatchedUpdates( resourcePath,
+                                                                                            imports,
+                                                                                            types( "Bank",
+                                                                                                   "Address" ) );
+
+        //Address is not imported, nor in the resource's package
+        assertEquals( types( PACKAGE_NAME + ".Bank" ),
+                      payload.getModelFields().keySet() );
+    }
+
+    @Test
+    public void testBatchedUpdatesOutsideProject() {
+        when( projectService.resolveProject( resourcePath ) ).thenReturn( null );
+
+        final PackageDataModelOracleIncrementalPayload payload = service.getBatchedUpdates( resourcePath,
+                                                                                            imports,
+                                                                                            types( "Applicant" ) );
+
+        assertTrue( payload.getModelFields().isEmpty() );
+        verify( cachePackages,
+                never() ).assertPackageDataModelOracle( any( KieProject.class ),
+                                                        any( Package.class ) );
+    }
+
+    @Test
+    public void testBatchedUpdatesForNoFactTypes() {
+        final PackageDataModelOracleIncrementalPayload payload = service.getBatchedUpdates( resourcePath,
+                                                                                            imports,
+                                                                                            Collections.<String>emptySet() );
+
+        assertTrue( payload.getModelFields().isEmpty() );
+    }
+
+    private void addType( final String type ) {
+        modelFields.put( type,
+                         new ModelField[]{ new ModelField( "name",
+                                                           "java.lang.String",
+                                                           ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                                           ModelField.FIELD_ORIGIN.DECLARED,
+                                                           FieldAccessorsAndMutators.BOTH,
+                                                           "String" ) } );
+        eventTypes.put( type,
+                        false );
+    }
+
+    private static Set<String> types( final String... types ) {
+        return new HashSet<String>( Arrays.asList( types ) );
+    }
+}
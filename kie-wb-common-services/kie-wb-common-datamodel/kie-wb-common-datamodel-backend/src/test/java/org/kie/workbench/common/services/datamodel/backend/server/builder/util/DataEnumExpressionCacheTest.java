@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.util;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DataEnumExpressionCacheTest {
+
+    private static final String ENUM_DEFINITION = "'Fact.field1' : ['a', 'b', 'c']\n'Fact.field2' : '[1, 2, 3]'";
+
+    private static final String OTHER_ENUM_DEFINITION = "'Fact.field3' : ['x', 'y']";
+
+    private int compilations;
+
+    private DataEnumExpressionCache cache;
+
+    @Before
+    public void setUp() {
+        compilations = 0;
+        cache = new DataEnumExpressionCache( Thread.currentThread().getContextClassLoader() ) {
+            @Override
+            protected Serializable compile( final String mvelSource ) {
+                compilations++;
+                return super.compile( mvelSource );
+            }
+        };
+    }
+
+    @Test
+    public void testCachedExpressionProducesSameEnums() {
+        final Map<String, String[]> expected = new DataEnumLoader( ENUM_DEFINITION ).getData();
+
+        final DataEnumLoader first = new DataEnumLoader( ENUM_DEFINITION,
+                                                         cache );
+        final DataEnumLoader second = new DataEnumLoader( ENUM_DEFINITION,
+                                                          cache );
+
+        assertFalse( first.hasErrors() );
+        assertFalse( second.hasErrors() );
+        assertEnumsEqual( expected,
+                          first.getData() );
+        assertEnumsEqual( expected,
+                          second.getData() );
+    }
+
+    @Test
+    public void testExpressionCompiledOncePerContent() {
+        new DataEnumLoader( ENUM_DEFINITION,
+                            cache );
+        new DataEnumLoader( ENUM_DEFINITION,
+                            cache );
+        assertEquals( 1,
+                      compilations );
+
+        new DataEnumLoader( OTHER_ENUM_DEFINITION,
+                            cache );
+        new DataEnumLoader( OTHER_ENUM_DEFINITION,
+                            cache );
+        assertEquals( 2,
+                      compilations );
+        assertEquals( 2,
+                      cache.size() );
+    }
+
+    @Test
+    public void testInvalidExpressionIsNotCached() {
+        final DataEnumLoader loader = new DataEnumLoader( "='Fact.field' : ['a', 'b'",
+                                                          cache );
+
+        assertTrue( loader.hasErrors() );
+        assertEquals( 0,
+                      cache.size() );
+    }
+
+    private void assertEnumsEqual( final Map<String, String[]> expected,
+                                   final Map<String, String[]> actual ) {
+        assertEquals( expected.keySet(),
+                      actual.keySet() );
+        for ( Map.Entry<String, String[]> entry : expected.entrySet() ) {
+            assertArrayEquals( entry.getValue(),
+                               actual.get( entry.getKey() ) );
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.guvnor.common.services.backend.file.FileDiscoveryService;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOPackageCacheEvent;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.core.LRUProjectDependenciesClassLoaderCache;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUDataModelOracleCacheTest {
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private FileDiscoveryService fileDiscoveryService;
+
+    @Mock
+    private LRUProjectDataModelOracleCache cacheProjects;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    @Mock
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+
+    private LRUDataModelOracleCache cache;
+
+    //Packages with enumerations, which compile their expressions with the Project ClassLoader
+    private Set<Package> packagesWithEnums = new HashSet<Package>();
+
+    @Before
+    public void setUp() {
+        final InternalKieModule kieModule = mock(InternalKieModule.class);
+        when(kieModule.getClassesMap(true)).thenReturn(Collections.<String, byte[]>emptyMap());
+        final BuildInfo buildInfo = mock(BuildInfo.class);
+        when(buildInfo.getKieModuleIgnoringErrors()).thenReturn(kieModule);
+        when(buildInfoService.getBuildInfo(any(KieProject.class))).thenReturn(buildInfo);
+        when(dependenciesClassLoaderCache.assertDependenciesClassLoader(any(KieProject.class))).thenReturn(getClass().getClassLoader());
+
+        cache = new LRUDataModelOracleCache(ioService,
+                                            fileDiscoveryService,
+                                            cacheProjects,
+                                            projectService,
+                                            buildInfoService,
+                                            dependenciesClassLoaderCache) {
+            @Override
+            protected PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
+                                                                        final Package pkg) {
+                if (packagesWithEnums.contains(pkg)) {
+                    assertEnumExpressionCache(project);
+                }
+                return mock(PackageDataModelOracle.class);
+            }
+        };
+    }
+
+    @Test
+    public void testInvalidateProjectPackagesOnlyInvalidatesProjectPackages() {
+        final KieProject project1 = makeProject("default://project1");
+        final KieProject project2 = makeProject("default://project2");
+        final Package pkg1 = makePackage("org.p1");
+        final Package pkg2 = makePackage("org.p2");
+
+        cache.assertPackageDataModelOracle(project1,
+                                           pkg1);
+        cache.assertPackageDataModelOracle(project2,
+                                           pkg2);
+
+        final Path resourcePath = mock(Path.class);
+        when(projectService.resolveProject(resourcePath)).thenReturn(project1);
+
+        cache.invalidateProjectPackagesCache(new InvalidateDMOProjectCacheEvent(mock(SessionInfo.class),
+                                                                                project1,
+                                                                                resourcePath));
+
+        assertNull(cache.getEntry(pkg1));
+        assertNotNull(cache.getEntry(pkg2));
+        assertEquals(1,
+                     cache.getIndexedPackagesCount());
+    }
+
+    @Test
+    public void testInvalidatePackageKeepsIndexConsistent() {
+        final KieProject project = makeProject("default://project1");
+        final Package pkg = makePackage("org.p1");
+
+        cache.assertPackageDataModelOracle(project,
+                                           pkg);
+
+        final Path resourcePath = mock(Path.class);
+        when(projectService.resolvePackage(resourcePath)).thenReturn(pkg);
+
+        cache.invalidatePackageCache(new InvalidateDMOPackageCacheEvent(resourcePath));
+
+        assertNull(cache.getEntry(pkg));
+        assertEquals(0,
+                     cache.getIndexedPackagesCount());
+    }
+
+    @Test
+    public void testEvictionKeepsIndexConsistent() {
+        final KieProject project = makeProject("default://project1");
+        final List<Package> packages = new ArrayList<Package>();
+
+        for (int i = 0; i < 100; i++) {
+            final Package pkg = makePackage("org.p" + i);
+            packages.add(pkg);
+            cache.assertPackageDataModelOracle(project,
+                                               pkg);
+            assertEquals(cache.getKeys().size(),
+                         cache.getIndexedPackagesCount());
+        }
+
+        final Path resourcePath = mock(Path.class);
+        when(projectService.resolveProject(resourcePath)).thenReturn(project);
+
+        cache.invalidateProjectPackagesCache(new InvalidateDMOProjectCacheEvent(mock(SessionInfo.class),
+                                                                                project,
+                                                                                resourcePath));
+
+        assertTrue(cache.getKeys().isEmpty());
+        assertEquals(0,
+                     cache.getIndexedPackagesCount());
+    }
+
+    @Test
+    public void testEnumExpressionCacheReleasedWithLastInvalidatedPackage() {
+        final KieProject project = makeProject("default://project1");
+        final Package pkg1 = makePackage("org.p1");
+        final Package pkg2 = makePackage("org.p2");
+        packagesWithEnums.add(pkg1);
+        packagesWithEnums.add(pkg2);
+
+        cache.assertPackageDataModelOracle(project,
+                                           pkg1);
+        cache.assertPackageDataModelOracle(project,
+                                           pkg2);
+        assertEquals(1,
+                     cache.getEnumExpressionCachesCount());
+
+        final Path resourcePath1 = mock(Path.class);
+        when(projectService.resolvePackage(resourcePath1)).thenReturn(pkg1);
+        cache.invalidatePackageCache(new InvalidateDMOPackageCacheEvent(resourcePath1));
+        assertEquals(1,
+                     cache.getEnumExpressionCachesCount());
+
+        final Path resourcePath2 = mock(Path.class);
+        when(projectService.resolvePackage(resourcePath2)).thenReturn(pkg2);
+        cache.invalidatePackageCache(new InvalidateDMOPackageCacheEvent(resourcePath2));
+        assertEquals(0,
+                     cache.getEnumExpressionCachesCount());
+    }
+
+    @Test
+    public void testEnumExpressionCacheReleasedWithProject() {
+        final KieProject project = makeProject("default://project1");
+        final Package pkg = makePackage("org.p1");
+        packagesWithEnums.add(pkg);
+
+        cache.assertPackageDataModelOracle(project,
+                                           pkg);
+        assertEquals(1,
+                     cache.getEnumExpressionCachesCount());
+
+        final Path resourcePath = mock(Path.class);
+        when(projectService.resolveProject(resourcePath)).thenReturn(project);
+        cache.invalidateProjectPackagesCache(new InvalidateDMOProjectCacheEvent(mock(SessionInfo.class),
+                                                                                project,
+                                                                                resourcePath));
+        assertEquals(0,
+                     cache.getEnumExpressionCachesCount());
+    }
+
+    @Test
+    public void testEnumExpressionCacheReleasedOnEviction() {
+        final KieProject project1 = makeProject("default://project1");
+        final KieProject project2 = makeProject("default://project2");
+        final Package pkg = makePackage("org.p1");
+        packagesWithEnums.add(pkg);
+
+        cache.assertPackageDataModelOracle(project1,
+                                           pkg);
+        assertEquals(1,
+                     cache.getEnumExpressionCachesCount());
+
+        //Evict the only Package of project1
+        for (int i = 0; i < 100; i++) {
+            cache.assertPackageDataModelOracle(project2,
+                                               makePackage("org.q" + i));
+        }
+
+        assertNull(cache.getEntry(pkg));
+        assertEquals(0,
+                     cache.getEnumExpressionCachesCount());
+    }
+
+    @Test
+    public void testEnumExpressionCacheReleasedWhenOracleFails() {
+        final KieProject project = makeProject("default://project1");
+        final Package pkg = makePackage("org.p1");
+        packagesWithEnums.add(pkg);
+        cache = new LRUDataModelOracleCache(ioService,
+                                            fileDiscoveryService,
+                                            cacheProjects,
+                                            projectService,
+                                            buildInfoService,
+                                            dependenciesClassLoaderCache) {
+            @Override
+            protected PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
+                                                                        final Package pkg) {
+                assertEnumExpressionCache(project);
+                throw new IllegalStateException("Invalid enumeration");
+            }
+        };
+
+        try {
+            cache.assertPackageDataModelOracle(project,
+                                               pkg);
+            fail("The oracle should not have been built");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+
+        assertEquals(0,
+                     cache.getEnumExpressionCachesCount());
+        assertEquals(0,
+                     cache.getIndexedPackagesCount());
+    }
+
+    private KieProject makeProject(final String uri) {
+        final Path rootPath = mock(Path.class);
+        when(rootPath.toURI()).thenReturn(uri);
+        final KieProject project = mock(KieProject.class);
+        when(project.getRootPath()).thenReturn(rootPath);
+        return project;
+    }
+
+    private Package makePackage(final String packageName) {
+        return new Package(mock(Path.class),
+                           mock(Path.class),
+                           mock(Path.class),
+                           mock(Path.class),
+                           mock(Path.class),
+                           packageName,
+                           packageName,
+                           packageName);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.drools.compiler.lang.descr.ImportDescr;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.validation.PortablePreconditions;
+
+/**
+ * {@link DrlTypeResolver} that loads the referenced types from the project {@link ClassLoader} on demand.
+ * </p>
+ * Unlike the {@link ProjectDataModelOracleIndex}, it does not require the {@link org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle}
+ * of the project to be built, which inspects every class of the project: only the types referenced by the indexed
+ * files are inspected, and the results are cached for the lifetime of the resolver.
+ * </p>
+ * Use {@link #get(ClassLoader)} to share the resolver, and its caches, between all the files of a project.
+ */
+public class ClassLoaderTypeResolver implements DrlTypeResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassLoaderTypeResolver.class);
+
+    private static final String JAVA_LANG_PACKAGE = "java.lang";
+
+    private static final IdentityWeakCache<ClassLoader, ClassLoaderTypeResolver> resolvers = new IdentityWeakCache<>();
+
+    // held weakly so that the cached resolver does not keep the project class loader alive
+    private final WeakReference<ClassLoader> classLoader;
+
+    // fully qualified class name -> whether the class can be loaded
+    private final Map<String, Boolean> knownTypes = new ConcurrentHashMap<>();
+
+    // fully qualified class name -> (field name -> field class name), built on demand
+    private final Map<String, Map<String, String>> typeFields = new ConcurrentHashMap<>();
+
+    public ClassLoaderTypeResolver(final ClassLoader classLoader) {
+        this.classLoader = new WeakReference<>(PortablePreconditions.checkNotNull("classLoader",
+                                                                                  classLoader));
+    }
+
+    /**
+     * @param classLoader The project {@link ClassLoader}.
+     * @return The resolver for the given {@link ClassLoader}, shared while the {@link ClassLoader} is in use.
+     */
+    public static ClassLoaderTypeResolver get(final ClassLoader classLoader) {
+        return resolvers.get(PortablePreconditions.checkNotNull("classLoader",
+                                                                classLoader),
+                             ClassLoaderTypeResolver::new);
+    }
+
+    @Override
+    public String getFullyQualifiedClassName(final PackageDescr packageDescr,
+                                             final String simpleName) {
+        for (String packageName : getCandidatePackages(packageDescr)) {
+            final String fullyQualifiedClassName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+            if (knownTypes.computeIfAbsent(fullyQualifiedClassName,
+                                           name -> loadClass(name) != null)) {
+                return fullyQualifiedClassName;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String getFieldClassName(final String fullyQualifiedClassName,
+                                    final String fieldName) {
+        if (fullyQualifiedClassName == null) {
+            return null;
+        }
+        return typeFields.computeIfAbsent(fullyQualifiedClassName,
+                                          this::buildFields).get(fieldName);
+    }
+
+    /**
+     * Types are looked up in the same order as the rule compiler does for types that are not explicitly imported:
+     * the package of the DRL file, the wildcard imports and java.lang.
+     */
+    private List<String> getCandidatePackages(final PackageDescr packageDescr) {
+        final List<String> packageNames = new ArrayList<>();
+        packageNames.add(packageDescr.getName() != null ? packageDescr.getName() : "");
+        for (ImportDescr importDescr : packageDescr.getImports()) {
+            final String target = importDescr.getTarget();
+            if (target.endsWith(".*")) {
+                packageNames.add(target.substring(0,
+                                                  target.length() - 2));
+            }
+        }
+        packageNames.add(JAVA_LANG_PACKAGE);
+        return packageNames;
+    }
+
+    private Map<String, String> buildFields(final String fullyQualifiedClassName) {
+        final Class<?> clazz = loadClass(fullyQualifiedClassName);
+        if (clazz == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, String> fields = new HashMap<>();
+        fields.put("this",
+                   clazz.getName());
+        for (Field field : clazz.getFields()) {
+            fields.put(field.getName(),
+                       field.getType().getName());
+        }
+        try {
+            for (PropertyDescriptor property : Introspector.getBeanInfo(clazz,
+                                                                        Object.class).getPropertyDescriptors()) {
+                if (property.getReadMethod() != null && property.getPropertyType() != null) {
+                    fields.put(property.getName(),
+                               property.getPropertyType().getName());
+                }
+            }
+        } catch (IntrospectionException e) {
+            logger.warn("Unable to inspect the properties of class '" + fullyQualifiedClassName + "'.",
+                        e);
+        }
+        return fields;
+    }
+
+    private Class<?> loadClass(final String fullyQualifiedClassName) {
+        final ClassLoader loader = classLoader.get();
+        if (loader == null) {
+            return null;
+        }
+        try {
+            return Class.forName(fullyQualifiedClassName,
+                                 false,
+                                 loader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+}
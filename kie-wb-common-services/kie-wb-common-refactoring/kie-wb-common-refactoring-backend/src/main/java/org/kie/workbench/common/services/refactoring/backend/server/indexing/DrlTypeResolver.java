@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import org.drools.compiler.lang.descr.PackageDescr;
+
+/**
+ * Resolves the types and fields referenced by a DRL file, so that the {@link PackageDescrIndexVisitor} can index them.
+ * </p>
+ * Explicit imports are resolved by the {@link PackageDescrIndexVisitor} itself, implementations are only asked
+ * about the type names that are not explicitly imported.
+ */
+public interface DrlTypeResolver {
+
+    /**
+     * @param packageDescr The parsed DRL file that references the type.
+     * @param simpleName An unqualified type name, e.g. "Person".
+     * @return The fully qualified class name of the type, or null if it can not be resolved.
+     */
+    String getFullyQualifiedClassName(final PackageDescr packageDescr,
+                                      final String simpleName);
+
+    /**
+     * @param fullyQualifiedClassName The fully qualified class name of the field owner.
+     * @param fieldName The field name.
+     * @return The fully qualified class name of the field type, or null if the type has no such field.
+     */
+    String getFieldClassName(final String fullyQualifiedClassName,
+                             final String fieldName);
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Thread safe cache that holds its keys weakly and compares them by identity, so that an entry is dropped once its
+ * key is no longer used, and keys with value based equals() and hashCode() (or expensive ones) are never mixed up.
+ * </p>
+ * Values must not hold a strong reference to their key, otherwise the entry is never dropped.
+ */
+class IdentityWeakCache<K, V> {
+
+    private final Map<KeyReference<K>, V> entries = new HashMap<>();
+
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    /**
+     * @param key The cache key.
+     * @param factory Builds the value when there is no entry for the key.
+     * @return The value cached for the given key instance.
+     */
+    synchronized V get(final K key,
+                       final Function<K, V> factory) {
+        expungeStaleEntries();
+        V value = entries.get(new KeyReference<>(key,
+                                                 null));
+        if (value == null) {
+            value = factory.apply(key);
+            entries.put(new KeyReference<>(key,
+                                           queue),
+                        value);
+        }
+        return value;
+    }
+
+    synchronized int size() {
+        expungeStaleEntries();
+        return entries.size();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends K> reference;
+        while ((reference = queue.poll()) != null) {
+            entries.remove(reference);
+        }
+    }
+
+    private static class KeyReference<K> extends WeakReference<K> {
+
+        private final int hashCode;
+
+        KeyReference(final K key,
+                     final ReferenceQueue<K> queue) {
+            super(key,
+                  queue);
+            this.hashCode = System.identityHashCode(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof KeyReference)) {
+                return false;
+            }
+            final Object key = get();
+            return key != null && key == ((KeyReference<?>) o).get();
+        }
+    }
+}
@@ -19,7 +19,6 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.drools.compiler.compiler.DrlExprParser;
@@ -79,8 +78,6 @@ import org.drools.compiler.lang.descr.UnitDescr;
 import org.drools.compiler.lang.descr.VariableRestrictionDescr;
 import org.drools.compiler.lang.descr.WindowDeclarationDescr;
 import org.drools.compiler.lang.descr.WindowReferenceDescr;
-import org.drools.workbench.models.datamodel.oracle.ModelField;
-import org.drools.workbench.models.datamodel.oracle.ModelField.FIELD_CLASS_TYPE;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.kie.internal.builder.conf.LanguageLevelOption;
 import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceReferenceCollector;
@@ -97,9 +94,10 @@ public class PackageDescrIndexVisitor extends ResourceReferenceCollector {
 
     private static final Logger logger = LoggerFactory.getLogger(PackageDescrIndexVisitor.class);
 
-    private final ProjectDataModelOracle dmo;
+    private final DrlTypeResolver typeResolver;
     private final DefaultIndexBuilder builder;
     private final PackageDescr packageDescr;
+    private Map<String, String> importedTypes;
     private final PackageDescrIndexVisitorContext context = new PackageDescrIndexVisitorContext();
 
     private static class PackageDescrIndexVisitorContext {
@@ -137,8 +135,17 @@ public class PackageDescrIndexVisitor extends ResourceReferenceCollector {
     public PackageDescrIndexVisitor(final ProjectDataModelOracle dmo,
                                     final DefaultIndexBuilder builder,
                                     final PackageDescr packageDescr) {
-        this.dmo = PortablePreconditions.checkNotNull("dmo",
-                                                      dmo);
+        this(ProjectDataModelOracleIndex.get(PortablePreconditions.checkNotNull("dmo",
+                                                                                dmo)),
+             builder,
+             packageDescr);
+    }
+
+    public PackageDescrIndexVisitor(final DrlTypeResolver typeResolver,
+                                    final DefaultIndexBuilder builder,
+                                    final PackageDescr packageDescr) {
+        this.typeResolver = PortablePreconditions.checkNotNull("typeResolver",
+                                                               typeResolver);
         this.builder = PortablePreconditions.checkNotNull("builder",
                                                           builder);
         this.packageDescr = PortablePreconditions.checkNotNull("packageDescr",
@@ -714,21 +721,18 @@ public class PackageDescrIndexVisitor extends ResourceReferenceCollector {
 
     private String addField(final String fieldName,
                             final String fullyQualifiedClassName) {
-        final ModelField[] mfs = dmo.getProjectModelFields().get(fullyQualifiedClassName);
-        if (mfs != null) {
-            for (ModelField mf : mfs) {
-                if (mf.getName().equals(fieldName)) {
-                    // add the type of the field owner and the field reference
-                    ResourceReference resRef = addResourceReference(fullyQualifiedClassName,
-                                                                    ResourceType.JAVA);
-                    resRef.addPartReference(fieldName,
-                                            PartType.FIELD);
-                    // add the type of the field
-                    addResourceReference(mf.getClassName(),
-                                         ResourceType.JAVA);
-                    return mf.getClassName();
-                }
-            }
+        final String fieldClassName = typeResolver.getFieldClassName(fullyQualifiedClassName,
+                                                                     fieldName);
+        if (fieldClassName != null) {
+            // add the type of the field owner and the field reference
+            ResourceReference resRef = addResourceReference(fullyQualifiedClassName,
+                                                            ResourceType.JAVA);
+            resRef.addPartReference(fieldName,
+                                    PartType.FIELD);
+            // add the type of the field
+            addResourceReference(fieldClassName,
+                                 ResourceType.JAVA);
+            return fieldClassName;
         }
         return null;
     }
@@ -737,27 +741,33 @@ public class PackageDescrIndexVisitor extends ResourceReferenceCollector {
         if (typeName.contains(".")) {
             return typeName;
         }
-        for (ImportDescr importDescr : packageDescr.getImports()) {
-            if (importDescr.getTarget().endsWith(typeName)) {
-                return importDescr.getTarget();
-            }
+        final String importedType = getImportedTypes().get(typeName);
+        if (importedType != null) {
+            return importedType;
         }
 
         // We are guessing, like a blindman playing blackjack... there has to be a better way..
-        for (Entry<String, ModelField[]> entry : dmo.getProjectModelFields().entrySet()) {
-            ModelField[] mfs = entry.getValue();
-            String key = entry.getKey();
-            for (ModelField mf : mfs) {
-                if (mf.getClassType().equals(FIELD_CLASS_TYPE.REGULAR_CLASS)) {
-                    if (mf.getClassName().endsWith("." + typeName)) {
-                        return mf.getClassName();
-                    } else if (mf.getType().endsWith("." + typeName)) {
-                        return mf.getType();
-                    }
+        final String modelType = typeResolver.getFullyQualifiedClassName(packageDescr,
+                                                                         typeName);
+        if (modelType != null) {
+            return modelType;
+        }
+        return packageDescr.getName() + "." + typeName;
+    }
+
+    private Map<String, String> getImportedTypes() {
+        if (importedTypes == null) {
+            importedTypes = new HashMap<String, String>();
+            for (ImportDescr importDescr : packageDescr.getImports()) {
+                final String target = importDescr.getTarget();
+                final String simpleName = target.substring(target.lastIndexOf('.') + 1);
+                if (!importedTypes.containsKey(simpleName)) {
+                    importedTypes.put(simpleName,
+                                      target);
                 }
             }
         }
-        return packageDescr.getName() + "." + typeName;
+        return importedTypes;
     }
 
     private String getPackagePrefix() {
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import org.kie.workbench.common.services.shared.project.KieProject;
+
+/**
+ * Provides the {@link ClassLoader} of a project, used by the DRL indexers to resolve the referenced types on demand
+ * through the {@link ClassLoaderTypeResolver}.
+ * </p>
+ * The project class loaders are built by kie-wb-common-services-backend, which depends on this module.
+ */
+public interface ProjectClassLoaderProvider {
+
+    /**
+     * The same instance should be returned while the project does not change, so that the types resolved by the
+     * {@link ClassLoaderTypeResolver} are shared between all the files of the project.
+     *
+     * @param project The project of the file being indexed
+     * @return The project {@link ClassLoader}, or null if it is not available
+     */
+    ClassLoader getProjectClassLoader(final KieProject project);
+}
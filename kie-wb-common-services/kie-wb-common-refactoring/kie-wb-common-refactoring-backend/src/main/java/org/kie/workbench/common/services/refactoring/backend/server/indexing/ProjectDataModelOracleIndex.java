@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ModelField.FIELD_CLASS_TYPE;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+
+/**
+ * {@link DrlTypeResolver} backed by lookup tables over the model fields of a {@link ProjectDataModelOracle}, so that
+ * unqualified type names and field references are resolved without scanning all the model fields of the project.
+ * </p>
+ * The tables are built once per {@link ProjectDataModelOracle} instance and shared by all the files indexed with it.
+ */
+public class ProjectDataModelOracleIndex implements DrlTypeResolver {
+
+    // keyed by oracle instance, two oracles with the same content may still be built from different class loaders
+    private static final IdentityWeakCache<ProjectDataModelOracle, ProjectDataModelOracleIndex> indexes =
+            new IdentityWeakCache<>();
+
+    private final Map<String, ModelField[]> modelFields;
+
+    // simple name -> fully qualified class name, the first type found in the model fields wins
+    private final Map<String, String> typeNames = new HashMap<>();
+
+    // fully qualified class name -> (field name -> model field), built on demand
+    private final Map<String, Map<String, ModelField>> typeFields = new ConcurrentHashMap<>();
+
+    ProjectDataModelOracleIndex(final Map<String, ModelField[]> modelFields) {
+        this.modelFields = modelFields;
+        for (ModelField[] mfs : modelFields.values()) {
+            for (ModelField mf : mfs) {
+                if (FIELD_CLASS_TYPE.REGULAR_CLASS.equals(mf.getClassType())) {
+                    addTypeName(mf.getClassName());
+                    addTypeName(mf.getType());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param dmo The {@link ProjectDataModelOracle} of the project being indexed.
+     * @return The index for the given {@link ProjectDataModelOracle}, built on first use.
+     */
+    public static ProjectDataModelOracleIndex get(final ProjectDataModelOracle dmo) {
+        return indexes.get(dmo,
+                           oracle -> new ProjectDataModelOracleIndex(oracle.getProjectModelFields()));
+    }
+
+    @Override
+    public String getFullyQualifiedClassName(final PackageDescr packageDescr,
+                                             final String simpleName) {
+        // the first fact type found in the model fields with the given simple name
+        return typeNames.get(simpleName);
+    }
+
+    @Override
+    public String getFieldClassName(final String fullyQualifiedClassName,
+                                    final String fieldName) {
+        final ModelField mf = getField(fullyQualifiedClassName,
+                                       fieldName);
+        return mf != null ? mf.getClassName() : null;
+    }
+
+    /**
+     * @param fullyQualifiedClassName The fully qualified class name of the field owner.
+     * @param fieldName The field name.
+     * @return The first {@link ModelField} of the type with the given name, or null if there is none.
+     */
+    ModelField getField(final String fullyQualifiedClassName,
+                        final String fieldName) {
+        if (fullyQualifiedClassName == null) {
+            return null;
+        }
+        return typeFields.computeIfAbsent(fullyQualifiedClassName,
+                                          this::buildFields).get(fieldName);
+    }
+
+    private Map<String, ModelField> buildFields(final String fullyQualifiedClassName) {
+        final ModelField[] mfs = modelFields.get(fullyQualifiedClassName);
+        if (mfs == null) {
+            return Collections.emptyMap();
+        }
+        final Map<String, ModelField> fields = new HashMap<>(mfs.length);
+        for (ModelField mf : mfs) {
+            fields.putIfAbsent(mf.getName(),
+                               mf);
+        }
+        return fields;
+    }
+
+    private void addTypeName(final String fullyQualifiedClassName) {
+        if (fullyQualifiedClassName == null) {
+            return;
+        }
+        final int lastDot = fullyQualifiedClassName.lastIndexOf('.');
+        if (lastDot >= 0) {
+            typeNames.putIfAbsent(fullyQualifiedClassName.substring(lastDot + 1),
+                                  fullyQualifiedClassName);
+        }
+    }
+}
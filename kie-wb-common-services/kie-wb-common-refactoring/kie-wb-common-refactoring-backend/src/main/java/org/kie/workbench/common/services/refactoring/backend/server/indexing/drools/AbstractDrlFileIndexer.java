@@ -16,6 +16,8 @@
 package org.kie.workbench.common.services.refactoring.backend.server.indexing.drools;
 
 import java.util.List;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
 
 import org.drools.compiler.compiler.DrlParser;
 import org.drools.compiler.compiler.DroolsError;
@@ -23,9 +25,14 @@ import org.drools.compiler.lang.descr.PackageDescr;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.kie.api.io.ResourceType;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.AbstractFileIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.ClassLoaderTypeResolver;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.DrlTypeResolver;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.ErrorMessageUtilities;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.PackageDescrIndexVisitor;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.ProjectClassLoaderProvider;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.ProjectDataModelOracleIndex;
+import org.kie.workbench.common.services.shared.project.KieProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
@@ -39,6 +46,9 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
 
     private static final Logger logger = LoggerFactory.getLogger( AbstractDrlFileIndexer.class );
 
+    @Inject
+    protected Instance<ProjectClassLoaderProvider> classLoaderProvider;
+
     /**
      * All Drools-related {@link Indexer} implemenations end up extracting the DRL from the related Rule representation
      * (see {@link ResourceType}).
@@ -65,7 +75,7 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
                     return null;
             }
 
-            final ProjectDataModelOracle dmo = getProjectDataModelOracle( path );
+            final DrlTypeResolver typeResolver = getTypeResolver( path );
 
             // responsible for basic index info: project name, branch, etc
             final DefaultIndexBuilder builder = getIndexBuilder(path);
@@ -75,7 +85,7 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
             builder.setPackageName(packageDescr.getName());
 
             // Retrieves info from the parsed syntac tree (PackageDescr)
-            final PackageDescrIndexVisitor visitor = new PackageDescrIndexVisitor( dmo, builder, packageDescr );
+            final PackageDescrIndexVisitor visitor = new PackageDescrIndexVisitor( typeResolver, builder, packageDescr );
             visitor.visit();
             addReferencedResourcesToIndexBuilder(builder, visitor);
 
@@ -92,6 +102,51 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
         return projectService.resolvePackage( Paths.convert( path ) ).getPackageName();
     }
 
+    /**
+     * Delegate resolution of the types referenced by the DRL to method to assist testing.
+     * </p>
+     * When a project {@link ClassLoader} is available only the referenced types are loaded, on demand. Otherwise the
+     * types are resolved through the {@link ProjectDataModelOracle}, which has to be built for the whole project.
+     *
+     * @param path The {@link Path} of the file being indexed
+     * @return The {@link DrlTypeResolver} for the project of the file
+     */
+    protected DrlTypeResolver getTypeResolver( final Path path ) {
+        final ClassLoader classLoader = getProjectClassLoader( path );
+        if ( classLoader != null ) {
+            return ClassLoaderTypeResolver.get( classLoader );
+        }
+        return ProjectDataModelOracleIndex.get( getProjectDataModelOracle( path ) );
+    }
+
+    /**
+     * Delegate resolution of the project {@link ClassLoader} to method to assist testing
+     * </p>
+     * The {@link ClassLoader} is provided by the {@link ProjectClassLoaderProvider}, when one is deployed. Otherwise
+     * the types are resolved through the {@link ProjectDataModelOracle} and every indexed file requires the oracle of
+     * its project to be built.
+     *
+     * @param path The {@link Path} of the file being indexed
+     * @return The project {@link ClassLoader}, or null to resolve the types through the {@link ProjectDataModelOracle}
+     */
+    protected ClassLoader getProjectClassLoader( final Path path ) {
+        if ( classLoaderProvider == null || classLoaderProvider.isUnsatisfied() || classLoaderProvider.isAmbiguous() ) {
+            return null;
+        }
+        final KieProject project = projectService.resolveProject( Paths.convert( path ) );
+        if ( project == null ) {
+            return null;
+        }
+        try {
+            return classLoaderProvider.get().getProjectClassLoader( project );
+        } catch ( Exception e ) {
+            logger.warn( "Unable to build the class loader of project " + project.getProjectName() + ", types of " +
+                                 path.toUri().toString() + " will be resolved through the project data model.",
+                         e );
+            return null;
+        }
+    }
+
     /**
      * Delegate resolution of DMO to method to assist testing
      *
@@ -0,0 +1,352 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.compiler.compiler.DrlParser;
+import org.drools.compiler.lang.descr.BaseDescr;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ModelField.FIELD_CLASS_TYPE;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.guvnor.common.services.project.model.Package;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.test.objects.Address;
+import org.kie.test.objects.Cheese;
+import org.kie.test.objects.Person;
+import org.kie.test.objects.Pet;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Applicant;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Bank;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Mortgage;
+import org.kie.workbench.common.services.refactoring.model.index.ResourceReference;
+import org.kie.workbench.common.services.refactoring.model.index.SharedPart;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.util.ClasspathHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.data.Pair;
+
+/**
+ * This test makes sure that the {@link ClassLoaderTypeResolver} resolves the types referenced by DRL files to the
+ * same index terms as the {@link ProjectDataModelOracleIndex}.
+ */
+public class ClassLoaderTypeResolverTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassLoaderTypeResolverTest.class);
+
+    private static final int DRL_FILES = 50;
+
+    private static final int COLD_START_DRL_FILES = 500;
+
+    private static final Class<?>[] MODEL_CLASSES = {
+            Person.class,
+            Cheese.class,
+            Address.class,
+            Pet.class,
+            Applicant.class,
+            Mortgage.class,
+            Bank.class
+    };
+
+    private ClassLoaderTypeResolver typeResolver;
+
+    private PackageDescr packageDescr;
+
+    @Before
+    public void setup() throws Exception {
+        typeResolver = new ClassLoaderTypeResolver(getClass().getClassLoader());
+        packageDescr = parse("package org.kie.workbench.common.services.refactoring.backend.server.drl.classes;\n" +
+                                     "import org.kie.test.objects.*;\n");
+    }
+
+    @Test
+    public void resolveTypesTest() {
+        // same package as the DRL file
+        assertEquals(Applicant.class.getName(),
+                     typeResolver.getFullyQualifiedClassName(packageDescr,
+                                                             "Applicant"));
+        // wildcard import
+        assertEquals(Person.class.getName(),
+                     typeResolver.getFullyQualifiedClassName(packageDescr,
+                                                             "Person"));
+        // java.lang
+        assertEquals(String.class.getName(),
+                     typeResolver.getFullyQualifiedClassName(packageDescr,
+                                                             "String"));
+        assertNull(typeResolver.getFullyQualifiedClassName(packageDescr,
+                                                           "Unknown"));
+    }
+
+    @Test
+    public void resolveFieldsTest() {
+        assertEquals(Cheese.class.getName(),
+                     typeResolver.getFieldClassName(Person.class.getName(),
+                                                    "cheese"));
+        assertEquals("int",
+                     typeResolver.getFieldClassName(Person.class.getName(),
+                                                    "age"));
+        assertEquals("boolean",
+                     typeResolver.getFieldClassName(Person.class.getName(),
+                                                    "alive"));
+        assertEquals(Person.class.getName(),
+                     typeResolver.getFieldClassName(Person.class.getName(),
+                                                    "this"));
+        assertNull(typeResolver.getFieldClassName(Person.class.getName(),
+                                                  "unknown"));
+        assertNull(typeResolver.getFieldClassName("org.kie.Unknown",
+                                                  "age"));
+        assertNull(typeResolver.getFieldClassName(null,
+                                                  "age"));
+    }
+
+    @Test
+    public void resolverPerClassLoaderTest() {
+        final ClassLoader classLoader = getClass().getClassLoader();
+        assertSame(ClassLoaderTypeResolver.get(classLoader),
+                   ClassLoaderTypeResolver.get(classLoader));
+        assertNotSame(ClassLoaderTypeResolver.get(classLoader),
+                      ClassLoaderTypeResolver.get(new URLClassLoader(new URL[0],
+                                                                     classLoader)));
+    }
+
+    /**
+     * Indexes the same DRL files resolving the types through the {@link ProjectDataModelOracle}, and lazily through
+     * the project {@link ClassLoader}. The index terms must be the same.
+     */
+    @Test
+    public void sameIndexTermsTest() throws Exception {
+        final List<PackageDescr> packageDescrs = new ArrayList<>();
+        for (int i = 0; i < DRL_FILES; i++) {
+            packageDescrs.add(parse(generateDrl(i)));
+        }
+
+        final ProjectDataModelOracle dmo = buildProjectDataModelOracle();
+        final List<Set<Pair<String, String>>> expected = new ArrayList<>();
+        for (PackageDescr descr : packageDescrs) {
+            expected.add(index(descr,
+                               ProjectDataModelOracleIndex.get(dmo)));
+        }
+
+        final DrlTypeResolver classLoaderResolver = new ClassLoaderTypeResolver(getClass().getClassLoader());
+        final List<Set<Pair<String, String>>> actual = new ArrayList<>();
+        for (PackageDescr descr : packageDescrs) {
+            actual.add(index(descr,
+                             classLoaderResolver));
+        }
+
+        for (int i = 0; i < DRL_FILES; i++) {
+            assertFalse(actual.get(i).isEmpty());
+            assertEquals(generateDrl(i),
+                         expected.get(i),
+                         actual.get(i));
+        }
+    }
+
+    /**
+     * Compares the cold start of indexing the DRL files of a project. Resolving the types through the
+     * {@link ProjectDataModelOracle} requires every class of the project to be inspected before the first file is
+     * indexed, while the {@link ClassLoaderTypeResolver} only inspects the types referenced by the files.
+     */
+    @Test
+    public void coldStartTest() throws Exception {
+        final List<PackageDescr> packageDescrs = new ArrayList<>();
+        for (int i = 0; i < COLD_START_DRL_FILES; i++) {
+            packageDescrs.add(parse(generateDrl(i)));
+        }
+
+        // the descr classes stand in for the rest of the classes of a real project, not referenced by the files
+        final Set<Class<?>> projectClasses = new HashSet<>(Arrays.asList(MODEL_CLASSES));
+        projectClasses.addAll(new Reflections(ClasspathHelper.forPackage(BaseDescr.class.getPackage().getName(),
+                                                                         BaseDescr.class.getClassLoader()),
+                                              new SubTypesScanner()).getSubTypesOf(BaseDescr.class));
+
+        // warm up the visitor, so that only the resolution of the types differs between the two runs
+        final DrlTypeResolver warmUpResolver = new ClassLoaderTypeResolver(getClass().getClassLoader());
+        for (PackageDescr descr : packageDescrs) {
+            index(descr,
+                  warmUpResolver);
+        }
+
+        Introspector.flushCaches();
+        long start = System.nanoTime();
+        final DrlTypeResolver classLoaderResolver = new ClassLoaderTypeResolver(getClass().getClassLoader());
+        final List<Set<Pair<String, String>>> actual = new ArrayList<>();
+        for (PackageDescr descr : packageDescrs) {
+            actual.add(index(descr,
+                             classLoaderResolver));
+        }
+        final long classLoaderTime = System.nanoTime() - start;
+
+        Introspector.flushCaches();
+        start = System.nanoTime();
+        final DrlTypeResolver dmoResolver = ProjectDataModelOracleIndex.get(introspectProjectDataModelOracle(projectClasses));
+        final List<Set<Pair<String, String>>> expected = new ArrayList<>();
+        for (PackageDescr descr : packageDescrs) {
+            expected.add(index(descr,
+                               dmoResolver));
+        }
+        final long dmoTime = System.nanoTime() - start;
+
+        for (int i = 0; i < COLD_START_DRL_FILES; i++) {
+            assertEquals(generateDrl(i),
+                         expected.get(i),
+                         actual.get(i));
+        }
+
+        logger.info("Indexed " + COLD_START_DRL_FILES + " DRL files of a project with " + projectClasses.size() +
+                            " classes in " + (classLoaderTime / 1000000) + " ms through the class loader and in " +
+                            (dmoTime / 1000000) + " ms through the project data model oracle.");
+        assertTrue("class loader: " + classLoaderTime + " ns, project data model oracle: " + dmoTime + " ns",
+                   classLoaderTime < dmoTime);
+    }
+
+    private static String generateDrl(final int i) {
+        return "package org.kie.indexing.p" + (i % 10) + ";\n" +
+                "import org.kie.test.objects.*;\n" +
+                "import " + Person.class.getName() + ";\n" +
+                "import " + Mortgage.class.getName() + ";\n" +
+                "rule \"rule" + i + "\"\n" +
+                "when\n" +
+                "  $p : Person( age > " + i + ", cheese.price == 10, address.street == \"main\" )\n" +
+                "  Cheese( type == $p.likes )\n" +
+                "  Mortgage( amount > " + i + ", applicant.age > 20 )\n" +
+                "then\n" +
+                "end\n";
+    }
+
+    private static PackageDescr parse(final String drl) throws Exception {
+        final DrlParser drlParser = new DrlParser();
+        final PackageDescr packageDescr = drlParser.parse(true,
+                                                          drl);
+        assertFalse(drlParser.getErrors().toString(),
+                    drlParser.hasErrors());
+        return packageDescr;
+    }
+
+    private static Set<Pair<String, String>> index(final PackageDescr packageDescr,
+                                                   final DrlTypeResolver typeResolver) {
+        final Package pkg = mock(Package.class);
+        when(pkg.getPackageName()).thenReturn(packageDescr.getName());
+        final DefaultIndexBuilder builder = new DefaultIndexBuilder("file.drl",
+                                                                    mock(Project.class),
+                                                                    pkg);
+        final PackageDescrIndexVisitor visitor = new PackageDescrIndexVisitor(typeResolver,
+                                                                              builder,
+                                                                              packageDescr);
+        visitor.visit();
+        for (ResourceReference resRef : visitor.getResourceReferences()) {
+            builder.addGenerator(resRef);
+        }
+        for (SharedPart sharedPart : visitor.getSharedReferences()) {
+            builder.addGenerator(sharedPart);
+        }
+        return builder.build();
+    }
+
+    private static ProjectDataModelOracle buildProjectDataModelOracle() {
+        final Map<String, ModelField[]> modelFields = new HashMap<>();
+        for (Class<?> clazz : MODEL_CLASSES) {
+            final List<ModelField> fields = new ArrayList<>();
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                fields.add(new ModelField(field.getName(),
+                                          field.getType().getName(),
+                                          FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                          ModelField.FIELD_ORIGIN.DECLARED,
+                                          FieldAccessorsAndMutators.BOTH,
+                                          field.getType().getName()));
+            }
+            modelFields.put(clazz.getName(),
+                            fields.toArray(new ModelField[fields.size()]));
+        }
+        final ProjectDataModelOracle dmo = new ProjectDataModelOracleImpl();
+        dmo.addProjectModelFields(modelFields);
+        return dmo;
+    }
+
+    /**
+     * Builds the {@link ProjectDataModelOracle} inspecting the properties of every class of the project, as the
+     * oracle builder does.
+     */
+    private static ProjectDataModelOracle introspectProjectDataModelOracle(final Collection<Class<?>> classes) throws IntrospectionException {
+        final Map<String, ModelField[]> modelFields = new HashMap<>();
+        for (Class<?> clazz : classes) {
+            final List<ModelField> fields = new ArrayList<>();
+            fields.add(new ModelField("this",
+                                      clazz.getName(),
+                                      FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                      ModelField.FIELD_ORIGIN.SELF,
+                                      FieldAccessorsAndMutators.ACCESSOR,
+                                      clazz.getName()));
+            for (Field field : clazz.getFields()) {
+                fields.add(new ModelField(field.getName(),
+                                          field.getType().getName(),
+                                          FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                          ModelField.FIELD_ORIGIN.DECLARED,
+                                          FieldAccessorsAndMutators.BOTH,
+                                          field.getType().getName()));
+            }
+            for (PropertyDescriptor property : Introspector.getBeanInfo(clazz,
+                                                                        Object.class).getPropertyDescriptors()) {
+                if (property.getReadMethod() == null || property.getPropertyType() == null) {
+                    continue;
+                }
+                fields.add(new ModelField(property.getName(),
+                                          property.getPropertyType().getName(),
+                                          FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                          ModelField.FIELD_ORIGIN.DECLARED,
+                                          FieldAccessorsAndMutators.ACCESSOR,
+                                          property.getPropertyType().getName()));
+            }
+            modelFields.put(clazz.getName(),
+                            fields.toArray(new ModelField[fields.size()]));
+        }
+        final ProjectDataModelOracle dmo = new ProjectDataModelOracleImpl();
+        dmo.addProjectModelFields(modelFields);
+        return dmo;
+    }
+}
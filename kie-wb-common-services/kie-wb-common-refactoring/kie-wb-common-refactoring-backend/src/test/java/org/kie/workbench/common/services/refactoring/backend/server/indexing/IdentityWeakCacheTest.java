@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class IdentityWeakCacheTest {
+
+    @Test
+    public void keysComparedByIdentityTest() {
+        final IdentityWeakCache<String, Object> cache = new IdentityWeakCache<>();
+        final String key1 = new String("key");
+        final String key2 = new String("key");
+
+        final Object value1 = cache.get(key1,
+                                        key -> new Object());
+        assertSame(value1,
+                   cache.get(key1,
+                             key -> new Object()));
+        // equal keys are different entries
+        assertNotSame(value1,
+                      cache.get(key2,
+                                key -> new Object()));
+        assertEquals(2,
+                     cache.size());
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Scanner;
+import java.util.Set;
+
+import org.drools.compiler.compiler.DrlParser;
+import org.drools.compiler.lang.descr.PackageDescr;
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ModelField.FIELD_CLASS_TYPE;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.guvnor.common.services.project.model.Package;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.test.objects.Address;
+import org.kie.test.objects.Cheese;
+import org.kie.test.objects.Person;
+import org.kie.test.objects.Pet;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Applicant;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Bank;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Mortgage;
+import org.kie.workbench.common.services.refactoring.model.index.ResourceReference;
+import org.kie.workbench.common.services.refactoring.model.index.SharedPart;
+import org.uberfire.commons.data.Pair;
+
+/**
+ * This test makes sure that resolving types and fields through the {@link ProjectDataModelOracleIndex} produces the
+ * same index terms as scanning all the model fields of the {@link ProjectDataModelOracle}.
+ */
+public class PackageDescrIndexVisitorTypeIndexTest {
+
+    private static final String[] DRL_CORPUS = {
+            "/org/kie/workbench/common/services/refactoring/backend/server/drl/bz1269366.drl",
+            "/org/kie/workbench/common/services/refactoring/backend/server/drl/drl1.drl",
+            "/org/kie/workbench/common/services/refactoring/backend/server/drl/drl2.drl",
+            "/org/kie/workbench/common/services/refactoring/backend/server/drl/drl3.drl",
+            "/org/kie/workbench/common/services/refactoring/backend/server/drl/drl4.drl",
+            "/org/kie/workbench/common/services/refactoring/backend/server/drl/drl5.drl",
+            "/org/kie/workbench/common/services/refactoring/backend/server/drl/drl6.drl",
+            "/org/kie/workbench/common/services/refactoring/backend/server/impact/drl1.drl",
+            "/org/kie/workbench/common/services/refactoring/backend/server/impact/drl2.drl",
+            "/org/kie/workbench/common/services/refactoring/backend/server/impact/drl3.drl"
+    };
+
+    // unqualified types that are only resolved through the types of the data model fields
+    private static final String UNQUALIFIED_TYPES_DRL =
+            "package org.kie.indexing;\n" +
+            "import org.kie.test.objects.*;\n" +
+            "import org.kie.test.objects.Person;\n" +
+            "rule \"unqualifiedTypes\"\n" +
+            "when\n" +
+            "  $p : Person( name == \"mark\", cheese.price == 10, address.street == \"main\" )\n" +
+            "  Cheese( type == $p.likes )\n" +
+            "  Mortgage( applicant.age > 20 )\n" +
+            "  Unknown( value == 1 )\n" +
+            "then\n" +
+            "end\n";
+
+    private ProjectDataModelOracle dmo;
+
+    @Before
+    public void setup() {
+        dmo = new ProjectDataModelOracleImpl();
+        dmo.addProjectModelFields(toModelFields(Person.class,
+                                                Cheese.class,
+                                                Address.class,
+                                                Pet.class,
+                                                Applicant.class,
+                                                Mortgage.class,
+                                                Bank.class));
+    }
+
+    @Test
+    public void sameIndexTermsTest() throws Exception {
+        final List<String> drls = new ArrayList<>();
+        for (String resource : DRL_CORPUS) {
+            drls.add(loadText(resource));
+        }
+        drls.add(UNQUALIFIED_TYPES_DRL);
+
+        for (String drl : drls) {
+            final Set<Pair<String, String>> expected = index(drl,
+                                                             new LinearScanIndex(dmo.getProjectModelFields()));
+            final Set<Pair<String, String>> actual = index(drl,
+                                                           ProjectDataModelOracleIndex.get(dmo));
+            assertEquals(drl,
+                         expected,
+                         actual);
+        }
+    }
+
+    @Test
+    public void indexLookupsTest() {
+        final ProjectDataModelOracleIndex index = ProjectDataModelOracleIndex.get(dmo);
+        assertSame(index,
+                   ProjectDataModelOracleIndex.get(dmo));
+
+        assertEquals(Cheese.class.getName(),
+                     index.getFullyQualifiedClassName(null,
+                                                      "Cheese"));
+        assertEquals(Address.class.getName(),
+                     index.getFullyQualifiedClassName(null,
+                                                      "Address"));
+        assertNull(index.getFullyQualifiedClassName(null,
+                                                  "Unknown"));
+
+        final ModelField age = index.getField(Applicant.class.getName(),
+                                              "age");
+        assertNotNull(age);
+        assertEquals("int",
+                     age.getClassName());
+        assertEquals("int",
+                     index.getFieldClassName(Applicant.class.getName(),
+                                             "age"));
+        assertNull(index.getField(Applicant.class.getName(),
+                                  "unknown"));
+        assertNull(index.getField("org.kie.Unknown",
+                                  "age"));
+        assertNull(index.getField(null,
+                                  "age"));
+    }
+
+    @Test
+    public void indexPerOracleInstanceTest() {
+        final ProjectDataModelOracle sameContentDmo = new ProjectDataModelOracleImpl();
+        sameContentDmo.addProjectModelFields(dmo.getProjectModelFields());
+
+        assertNotSame(ProjectDataModelOracleIndex.get(dmo),
+                      ProjectDataModelOracleIndex.get(sameContentDmo));
+    }
+
+    @Test
+    public void unqualifiedTypesTest() throws Exception {
+        final Set<Pair<String, String>> terms = index(UNQUALIFIED_TYPES_DRL,
+                                                      ProjectDataModelOracleIndex.get(dmo));
+        assertFalse(terms.isEmpty());
+        assertTrue(containsValue(terms,
+                                 Person.class.getName()));
+        assertTrue(containsValue(terms,
+                                 Cheese.class.getName()));
+        assertTrue(containsValue(terms,
+                                 Mortgage.class.getName()));
+        assertTrue(containsValue(terms,
+                                 Applicant.class.getName()));
+        assertTrue(containsValue(terms,
+                                 "org.kie.indexing.Unknown"));
+    }
+
+    private Set<Pair<String, String>> index(final String drl,
+                                            final ProjectDataModelOracleIndex dmoIndex) throws Exception {
+        final DrlParser drlParser = new DrlParser();
+        final PackageDescr packageDescr = drlParser.parse(true,
+                                                          drl);
+        assertFalse(drlParser.getErrors().toString(),
+                    drlParser.hasErrors());
+
+        final Package pkg = mock(Package.class);
+        when(pkg.getPackageName()).thenReturn(packageDescr.getName());
+        final DefaultIndexBuilder builder = new DefaultIndexBuilder("file.drl",
+                                                                    mock(Project.class),
+                                                                    pkg);
+        final PackageDescrIndexVisitor visitor = new PackageDescrIndexVisitor(dmoIndex,
+                                                                              builder,
+                                                                              packageDescr);
+        visitor.visit();
+        for (ResourceReference resRef : visitor.getResourceReferences()) {
+            builder.addGenerator(resRef);
+        }
+        for (SharedPart sharedPart : visitor.getSharedReferences()) {
+            builder.addGenerator(sharedPart);
+        }
+        return builder.build();
+    }
+
+    private static boolean containsValue(final Set<Pair<String, String>> terms,
+                                         final String value) {
+        for (Pair<String, String> term : terms) {
+            if (value.equals(term.getK2())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, ModelField[]> toModelFields(final Class<?>... classes) {
+        final Map<String, ModelField[]> modelFields = new HashMap<>();
+        for (Class<?> clazz : classes) {
+            final List<ModelField> fields = new ArrayList<>();
+            for (Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                fields.add(new ModelField(field.getName(),
+                                          field.getType().getName(),
+                                          FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                          ModelField.FIELD_ORIGIN.DECLARED,
+                                          FieldAccessorsAndMutators.BOTH,
+                                          field.getType().getName()));
+            }
+            modelFields.put(clazz.getName(),
+                            fields.toArray(new ModelField[fields.size()]));
+        }
+        return modelFields;
+    }
+
+    private String loadText(final String resource) {
+        final InputStream is = getClass().getResourceAsStream(resource);
+        assertNotNull(resource,
+                      is);
+        try (Scanner scanner = new Scanner(is,
+                                           "UTF-8").useDelimiter("\\A")) {
+            return scanner.next();
+        }
+    }
+
+    /**
+     * Resolves types and fields by scanning all the model fields, as the {@link PackageDescrIndexVisitor} used to do.
+     */
+    private static class LinearScanIndex extends ProjectDataModelOracleIndex {
+
+        private final Map<String, ModelField[]> modelFields;
+
+        LinearScanIndex(final Map<String, ModelField[]> modelFields) {
+            super(modelFields);
+            this.modelFields = modelFields;
+        }
+
+        @Override
+        public String getFullyQualifiedClassName(final PackageDescr packageDescr,
+                                                 final String simpleName) {
+            for (Entry<String, ModelField[]> entry : modelFields.entrySet()) {
+                for (ModelField mf : entry.getValue()) {
+                    if (mf.getClassType().equals(FIELD_CLASS_TYPE.REGULAR_CLASS)) {
+                        if (mf.getClassName().endsWith("." + simpleName)) {
+                            return mf.getClassName();
+                        } else if (mf.getType().endsWith("." + simpleName)) {
+                            return mf.getType();
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        ModelField getField(final String fullyQualifiedClassName,
+                            final String fieldName) {
+            final ModelField[] mfs = modelFields.get(fullyQualifiedClassName);
+            if (mfs != null) {
+                for (ModelField mf : mfs) {
+                    if (mf.getName().equals(fieldName)) {
+                        return mf;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
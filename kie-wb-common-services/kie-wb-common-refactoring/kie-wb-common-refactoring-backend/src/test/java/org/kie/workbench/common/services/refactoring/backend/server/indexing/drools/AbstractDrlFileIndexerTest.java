@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing.drools;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import javax.enterprise.inject.Instance;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.ClassLoaderTypeResolver;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.ProjectClassLoaderProvider;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.ProjectDataModelOracleIndex;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+/**
+ * This test makes sure that the DRL indexers resolve the types lazily through the project {@link ClassLoader} when a
+ * {@link ProjectClassLoaderProvider} is deployed, and through the project data model oracle otherwise.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AbstractDrlFileIndexerTest {
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private Instance<ProjectClassLoaderProvider> classLoaderProviderInstance;
+
+    @Mock
+    private ProjectClassLoaderProvider classLoaderProvider;
+
+    @Mock
+    private KieProject project;
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    private Path path;
+
+    private AbstractDrlFileIndexer indexer;
+
+    @Before
+    public void setup() {
+        path = new SimpleFileSystemProvider().getPath(new File(System.getProperty("java.io.tmpdir"),
+                                                               "file.drl").toURI());
+
+        when(projectService.resolveProject(any(org.uberfire.backend.vfs.Path.class))).thenReturn(project);
+        when(classLoaderProviderInstance.isUnsatisfied()).thenReturn(false);
+        when(classLoaderProviderInstance.isAmbiguous()).thenReturn(false);
+        when(classLoaderProviderInstance.get()).thenReturn(classLoaderProvider);
+        when(classLoaderProvider.getProjectClassLoader(project)).thenReturn(classLoader);
+
+        final TestDrlFileIndexer testIndexer = new TestDrlFileIndexer();
+        testIndexer.setProjectService(projectService);
+        indexer = spy(testIndexer);
+        indexer.classLoaderProvider = classLoaderProviderInstance;
+    }
+
+    @Test
+    public void resolveTypesThroughProjectClassLoaderTest() {
+        assertSame(ClassLoaderTypeResolver.get(classLoader),
+                   indexer.getTypeResolver(path));
+        verify(indexer,
+               never()).getProjectDataModelOracle(path);
+    }
+
+    @Test
+    public void resolveTypesWithoutClassLoaderProviderTest() {
+        indexer.classLoaderProvider = null;
+
+        assertTrue(indexer.getTypeResolver(path) instanceof ProjectDataModelOracleIndex);
+        verify(indexer).getProjectDataModelOracle(path);
+    }
+
+    @Test
+    public void resolveTypesWithUnsatisfiedClassLoaderProviderTest() {
+        when(classLoaderProviderInstance.isUnsatisfied()).thenReturn(true);
+
+        assertTrue(indexer.getTypeResolver(path) instanceof ProjectDataModelOracleIndex);
+        verify(indexer).getProjectDataModelOracle(path);
+        verify(classLoaderProviderInstance,
+               never()).get();
+    }
+
+    @Test
+    public void resolveTypesOutsideProjectTest() {
+        when(projectService.resolveProject(any(org.uberfire.backend.vfs.Path.class))).thenReturn(null);
+
+        assertTrue(indexer.getTypeResolver(path) instanceof ProjectDataModelOracleIndex);
+        verify(indexer).getProjectDataModelOracle(path);
+    }
+
+    @Test
+    public void resolveTypesWhenProjectClassLoaderFailsTest() {
+        when(classLoaderProvider.getProjectClassLoader(project)).thenThrow(new RuntimeException("build failed"));
+
+        assertTrue(indexer.getTypeResolver(path) instanceof ProjectDataModelOracleIndex);
+        verify(indexer).getProjectDataModelOracle(path);
+    }
+}
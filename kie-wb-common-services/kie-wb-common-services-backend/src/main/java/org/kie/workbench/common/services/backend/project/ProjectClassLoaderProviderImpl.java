@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.guvnor.common.services.backend.cache.LRUCache;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.ProjectClassLoaderProvider;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.uberfire.commons.validation.PortablePreconditions;
+
+/**
+ * Provides the project {@link ClassLoader} to the DRL indexers. The {@link ProjectClassLoaderHelper} builds a new
+ * {@link ClassLoader} on every call, so the {@link ClassLoader} is cached until the project changes; this way all the
+ * files of a project are indexed with the same {@link ClassLoader}, and the types they reference are loaded once.
+ */
+@ApplicationScoped
+public class ProjectClassLoaderProviderImpl extends LRUCache<Project, ClassLoader> implements ProjectClassLoaderProvider {
+
+    private ProjectClassLoaderHelper projectClassLoaderHelper;
+
+    public ProjectClassLoaderProviderImpl() {
+        //CDI proxy
+    }
+
+    @Inject
+    public ProjectClassLoaderProviderImpl(final ProjectClassLoaderHelper projectClassLoaderHelper) {
+        this.projectClassLoaderHelper = projectClassLoaderHelper;
+    }
+
+    @Override
+    public synchronized ClassLoader getProjectClassLoader(final KieProject project) {
+        ClassLoader classLoader = getEntry(project);
+        if (classLoader == null) {
+            classLoader = projectClassLoaderHelper.getProjectClassLoader(project);
+            setEntry(project,
+                     classLoader);
+        }
+        return classLoader;
+    }
+
+    public synchronized void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
+        PortablePreconditions.checkNotNull("event",
+                                           event);
+        final Project project = event.getProject();
+
+        //If resource was not within a Project there's nothing to invalidate
+        if (project != null) {
+            invalidateCache(project);
+        }
+    }
+}
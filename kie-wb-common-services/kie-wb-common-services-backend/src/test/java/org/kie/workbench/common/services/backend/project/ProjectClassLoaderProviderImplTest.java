@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectClassLoaderProviderImplTest {
+
+    @Mock
+    private ProjectClassLoaderHelper projectClassLoaderHelper;
+
+    @Mock
+    private KieProject project1;
+
+    @Mock
+    private KieProject project2;
+
+    private ProjectClassLoaderProviderImpl provider;
+
+    @Before
+    public void setUp() {
+        //The helper builds a new ClassLoader on every call
+        when(projectClassLoaderHelper.getProjectClassLoader(any(KieProject.class))).thenAnswer(new Answer<ClassLoader>() {
+            @Override
+            public ClassLoader answer(final InvocationOnMock invocation) {
+                return new URLClassLoader(new URL[0],
+                                          getClass().getClassLoader());
+            }
+        });
+
+        provider = new ProjectClassLoaderProviderImpl(projectClassLoaderHelper);
+    }
+
+    @Test
+    public void testClassLoaderIsSharedBetweenFilesOfAProject() {
+        final ClassLoader classLoader = provider.getProjectClassLoader(project1);
+
+        assertSame(classLoader,
+                   provider.getProjectClassLoader(project1));
+        assertNotSame(classLoader,
+                      provider.getProjectClassLoader(project2));
+        verify(projectClassLoaderHelper,
+               times(1)).getProjectClassLoader(project1);
+    }
+
+    @Test
+    public void testInvalidateProjectOnlyInvalidatesProjectClassLoader() {
+        final ClassLoader classLoader1 = provider.getProjectClassLoader(project1);
+        final ClassLoader classLoader2 = provider.getProjectClassLoader(project2);
+
+        provider.invalidateProjectCache(new InvalidateDMOProjectCacheEvent(mock(SessionInfo.class),
+                                                                           project1,
+                                                                           mock(Path.class)));
+
+        assertNotSame(classLoader1,
+                      provider.getProjectClassLoader(project1));
+        assertSame(classLoader2,
+                   provider.getProjectClassLoader(project2));
+    }
+
+    @Test
+    public void testInvalidateResourceOutsideProject() {
+        final ClassLoader classLoader = provider.getProjectClassLoader(project1);
+
+        provider.invalidateProjectCache(new InvalidateDMOProjectCacheEvent(mock(SessionInfo.class),
+                                                                           null,
+                                                                           mock(Path.class)));
+
+        assertSame(classLoader,
+                   provider.getProjectClassLoader(project1));
+    }
+}
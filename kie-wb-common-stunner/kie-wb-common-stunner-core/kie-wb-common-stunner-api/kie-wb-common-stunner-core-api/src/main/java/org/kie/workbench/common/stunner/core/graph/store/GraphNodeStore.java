@@ -16,8 +16,19 @@
 
 package org.kie.workbench.common.stunner.core.graph.store;
 
+import java.util.Map;
+
 import org.kie.workbench.common.stunner.core.graph.Node;
 
 public interface GraphNodeStore<T extends Node> extends GraphStore<T> {
 
+    /**
+     * Returns the number of stored nodes for each label.
+     * Labels not used by any of the nodes are not present.
+     * <p>
+     * The counts are updated when nodes are added or removed, so the labels of a stored node
+     * must not be changed in place: remove the node, update its labels and add it again,
+     * as done by the <code>MorphNodeCommand</code>.
+     */
+    Map<String, Integer> getLabelsCount();
 }
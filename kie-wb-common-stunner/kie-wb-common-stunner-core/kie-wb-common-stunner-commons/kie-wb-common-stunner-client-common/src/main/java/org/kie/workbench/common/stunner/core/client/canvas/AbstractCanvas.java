@@ -17,8 +17,10 @@
 package org.kie.workbench.common.stunner.core.client.canvas;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.enterprise.event.Event;
@@ -118,7 +120,8 @@ public abstract class AbstractCanvas<V extends AbstractCanvas.View>
     protected Event<CanvasDrawnEvent> canvasDrawnEvent;
     protected Event<CanvasFocusedEvent> canvasFocusedEvent;
 
-    protected final List<Shape> shapes = new ArrayList<Shape>();
+    // Shapes keyed by uuid, in the order they were added to the canvas.
+    protected final Map<String, Shape> shapes = new LinkedHashMap<>();
     protected final List<CanvasShapeListener> listeners = new LinkedList<>();
     private final CanvasLoadingObserver loadingObserver = new CanvasLoadingObserver();
     private final String uuid;
@@ -171,18 +174,11 @@ public abstract class AbstractCanvas<V extends AbstractCanvas.View>
 
     @Override
     public List<Shape> getShapes() {
-        return shapes;
+        return new ArrayList<>(shapes.values());
     }
 
     public Shape getShape(final String uuid) {
-        if (null != shapes) {
-            for (final Shape shape : shapes) {
-                if (shape.getUUID().equals(uuid)) {
-                    return shape;
-                }
-            }
-        }
-        return null;
+        return null != uuid ? shapes.get(uuid) : null;
     }
 
     @SuppressWarnings("unchecked")
@@ -230,9 +226,11 @@ public abstract class AbstractCanvas<V extends AbstractCanvas.View>
 
     @Override
     public Canvas addShape(final Shape shape) {
-        if (!shapes.contains(shape)) {
+        if (null == shape.getUUID() || !shapes.containsKey(shape.getUUID())) {
+            // Ensures the shape has an uuid before being indexed.
             addTransientShape(shape);
-            shapes.add(shape);
+            shapes.put(shape.getUUID(),
+                       shape);
             fireCanvasShapeAdded(shape);
             canvasShapeAddedEvent.fire(new CanvasShapeAddedEvent(this,
                                                                  shape));
@@ -277,7 +275,7 @@ public abstract class AbstractCanvas<V extends AbstractCanvas.View>
     public Canvas deleteShape(final Shape shape) {
         deleteTransientShape(shape);
         fireCanvasShapeRemoved(shape);
-        shapes.remove(shape);
+        shapes.remove(shape.getUUID());
         canvasShapeRemovedEvent.fire(new CanvasShapeRemovedEvent(this,
                                                                  shape));
         return this;
@@ -302,7 +300,7 @@ public abstract class AbstractCanvas<V extends AbstractCanvas.View>
 
     private AbstractCanvas clear(final boolean fireEvents) {
         if (!shapes.isEmpty()) {
-            new LinkedList<>(shapes).stream().forEach(this::deleteShape);
+            new LinkedList<>(shapes.values()).stream().forEach(this::deleteShape);
             shapes.clear();
         }
         fireCanvasClear();
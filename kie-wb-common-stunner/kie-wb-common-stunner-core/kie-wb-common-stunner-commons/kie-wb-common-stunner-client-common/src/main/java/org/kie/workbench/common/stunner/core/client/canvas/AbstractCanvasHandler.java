@@ -52,6 +52,8 @@ public abstract class AbstractCanvasHandler<D extends Diagram, C extends Abstrac
 
     private final String uuid;
     private final List<CanvasElementListener> listeners = new LinkedList<>();
+    private int drawBatchDepth = 0;
+    private boolean drawPending = false;
 
     public AbstractCanvasHandler() {
         this.uuid = UUID.uuid();
@@ -368,6 +370,50 @@ public abstract class AbstractCanvasHandler<D extends Diagram, C extends Abstrac
         }
     }
 
+    /**
+     * Opens a draw batch. While a batch is open, the canvas draws requested by using
+     * <code>requestDraw()</code> are deferred and the canvas is drawn just once, when the
+     * outermost batch is closed. Batches can be nested.
+     */
+    public void startDrawBatch() {
+        drawBatchDepth++;
+    }
+
+    /**
+     * Closes a draw batch. If it's the outermost one, any deferred draw is flushed.
+     */
+    public void endDrawBatch() {
+        if (drawBatchDepth > 0) {
+            drawBatchDepth--;
+        }
+        if (drawBatchDepth == 0) {
+            flushDraw();
+        }
+    }
+
+    /**
+     * Draws the canvas, or marks it as dirty if a draw batch is open.
+     */
+    public void requestDraw() {
+        drawPending = true;
+        if (drawBatchDepth == 0) {
+            flushDraw();
+        }
+    }
+
+    /**
+     * Draws the canvas right now if there is any deferred draw, even if a draw batch is open.
+     * Useful for callers that need the canvas to be rendered synchronously.
+     */
+    public void flushDraw() {
+        if (drawPending) {
+            drawPending = false;
+            if (null != getCanvas()) {
+                getCanvas().draw();
+            }
+        }
+    }
+
     public void clearCanvas() {
         if (null != getCanvas()) {
             notifyCanvasClear();
@@ -395,6 +441,8 @@ public abstract class AbstractCanvasHandler<D extends Diagram, C extends Abstrac
      */
     @Override
     public void destroy() {
+        drawPending = false;
+        drawBatchDepth = 0;
         if (null != getCanvas()) {
             getCanvas().destroy();
         }
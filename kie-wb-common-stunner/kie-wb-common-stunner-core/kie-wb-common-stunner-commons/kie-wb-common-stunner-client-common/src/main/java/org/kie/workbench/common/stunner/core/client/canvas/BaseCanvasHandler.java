@@ -111,7 +111,29 @@ public abstract class BaseCanvasHandler<D extends Diagram, C extends AbstractCan
         }
         this.diagram = diagram;
         // Initialize the graph handler that provides processing and querying operations over the graph.
-        buildGraphIndex(() -> loadRuleSet(() -> draw(loadCallback)));
+        buildGraphIndex(() -> loadRuleSet(() -> drawDiagram(loadCallback)));
+    }
+
+    // The layer is drawn just once, after all the diagram's shapes have been registered.
+    // The batch is closed once, either when the diagram has been drawn or if drawing it fails.
+    private void drawDiagram(final ParameterizedCommand<CommandResult<?>> loadCallback) {
+        final boolean[] batchOpen = {true};
+        final Command endBatch = () -> {
+            if (batchOpen[0]) {
+                batchOpen[0] = false;
+                endDrawBatch();
+            }
+        };
+        startDrawBatch();
+        try {
+            draw(result -> {
+                endBatch.execute();
+                loadCallback.execute(result);
+            });
+        } catch (RuntimeException e) {
+            endBatch.execute();
+            throw e;
+        }
     }
 
     @Override
@@ -154,7 +176,7 @@ public abstract class BaseCanvasHandler<D extends Diagram, C extends AbstractCan
                          final boolean fireEvents) {
         // Add the shapes on canvas and fire events.
         addShape(shape);
-        getCanvas().draw();
+        requestDraw();
         if (fireEvents) {
             // Fire listeners.
             notifyCanvasElementAdded(candidate);
@@ -176,7 +198,7 @@ public abstract class BaseCanvasHandler<D extends Diagram, C extends AbstractCan
                                  shape);
         }
         removeShape(shape);
-        getCanvas().draw();
+        requestDraw();
         if (fireEvents) {
             afterElementDeleted(element,
                                 shape);
@@ -232,7 +254,7 @@ public abstract class BaseCanvasHandler<D extends Diagram, C extends AbstractCan
                    graphShape);
         beforeElementUpdated(candidate,
                              graphShape);
-        getCanvas().draw();
+        requestDraw();
         afterDraw(candidate,
                   graphShape);
         notifyCanvasElementUpdated(candidate);
@@ -73,6 +73,31 @@ public class CanvasCommandManagerImpl<H extends AbstractCanvasHandler>
         return commandManager;
     }
 
+    @Override
+    public CommandResult<CanvasViolation> execute(final H context,
+                                                  final Command<H, CanvasViolation> command) {
+        // Draws the canvas just once, when the command (and any of its nested commands) has finished.
+        context.startDrawBatch();
+        try {
+            return super.execute(context,
+                                 command);
+        } finally {
+            context.endDrawBatch();
+        }
+    }
+
+    @Override
+    public CommandResult<CanvasViolation> undo(final H context,
+                                               final Command<H, CanvasViolation> command) {
+        context.startDrawBatch();
+        try {
+            return super.undo(context,
+                              command);
+        } finally {
+            context.endDrawBatch();
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected void postAllow(final H context,
@@ -145,7 +170,7 @@ public class CanvasCommandManagerImpl<H extends AbstractCanvasHandler>
     }
 
     private void draw(final H context) {
-        context.getCanvas().draw();
+        context.requestDraw();
     }
 }
 
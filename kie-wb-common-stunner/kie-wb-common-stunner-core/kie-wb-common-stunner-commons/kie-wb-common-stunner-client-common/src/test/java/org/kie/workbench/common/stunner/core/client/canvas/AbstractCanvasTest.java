@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.stunner.core.client.canvas;
 
+import java.util.List;
 import java.util.Optional;
 import javax.enterprise.event.Event;
 
@@ -172,6 +173,63 @@ public class AbstractCanvasTest {
                      tested.getShapes().size());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAddShapeTwice() {
+        tested.addShape(parentShape);
+        tested.addShape(parentShape);
+        verify(canvasView,
+               times(1)).addShape(eq(parentShapeView));
+        assertEquals(1,
+                     tested.getShapes().size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetShape() {
+        tested.addShape(parentShape);
+        tested.addShape(childShape);
+        assertEquals(parentShape,
+                     tested.getShape(PARENT_UUID));
+        assertEquals(childShape,
+                     tested.getShape(CHILD_UUID));
+        assertNull(tested.getShape("unknown"));
+        assertNull(tested.getShape(null));
+        tested.deleteShape(parentShape);
+        assertNull(tested.getShape(PARENT_UUID));
+        assertEquals(childShape,
+                     tested.getShape(CHILD_UUID));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetShapeDoesNotScanShapes() {
+        final int count = 10000;
+        final Shape[] shapes = new Shape[count];
+        for (int i = 0; i < count; i++) {
+            final Shape shape = mock(Shape.class);
+            when(shape.getUUID()).thenReturn("uuid" + i);
+            when(shape.getShapeView()).thenReturn(mock(ShapeView.class));
+            tested.addShape(shape);
+            shapes[i] = shape;
+        }
+        // Any lookup scanning the shapes would interact with the first one.
+        reset(shapes[0]);
+        for (int i = count - 1; i > 0; i--) {
+            assertEquals(shapes[i],
+                         tested.getShape("uuid" + i));
+        }
+        verifyZeroInteractions(shapes[0]);
+        // Insertion order is kept.
+        final List<Shape> result = tested.getShapes();
+        assertEquals(count,
+                     result.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(shapes[i],
+                         result.get(i));
+        }
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testGrid() {
@@ -186,7 +244,8 @@ public class AbstractCanvasTest {
     @Test
     @SuppressWarnings("unchecked")
     public void testDeleteShape() {
-        tested.shapes.add(parentShape);
+        tested.shapes.put(PARENT_UUID,
+                          parentShape);
         tested.deleteShape(parentShape);
         verify(canvasView,
                times(1)).removeShape(eq(parentShapeView));
@@ -204,8 +263,10 @@ public class AbstractCanvasTest {
     @Test
     @SuppressWarnings("unchecked")
     public void testClear() {
-        tested.shapes.add(parentShape);
-        tested.shapes.add(childShape);
+        tested.shapes.put(PARENT_UUID,
+                          parentShape);
+        tested.shapes.put(CHILD_UUID,
+                          childShape);
         tested.clear();
         verify(canvasView,
                times(1)).removeShape(eq(parentShapeView));
@@ -219,8 +280,10 @@ public class AbstractCanvasTest {
     @Test
     @SuppressWarnings("unchecked")
     public void testDestroy() {
-        tested.shapes.add(parentShape);
-        tested.shapes.add(childShape);
+        tested.shapes.put(PARENT_UUID,
+                          parentShape);
+        tested.shapes.put(CHILD_UUID,
+                          childShape);
         tested.destroy();
         verify(canvasView,
                times(1)).removeShape(eq(parentShapeView));
@@ -24,13 +24,17 @@ import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.client.ShapeSet;
 import org.kie.workbench.common.stunner.core.client.api.ShapeManager;
+import org.kie.workbench.common.stunner.core.client.canvas.command.AbstractCanvasCommand;
+import org.kie.workbench.common.stunner.core.client.command.CanvasCommandManagerImpl;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandResultBuilder;
+import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.client.shape.ElementShape;
 import org.kie.workbench.common.stunner.core.client.shape.MutationContext;
 import org.kie.workbench.common.stunner.core.client.shape.Shape;
 import org.kie.workbench.common.stunner.core.client.shape.factory.ShapeFactory;
 import org.kie.workbench.common.stunner.core.client.shape.view.ShapeView;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.impl.CompositeCommandImpl;
 import org.kie.workbench.common.stunner.core.definition.adapter.AdapterManager;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionSetRuleAdapter;
@@ -48,6 +52,7 @@ import org.kie.workbench.common.stunner.core.registry.definition.TypeDefinitionS
 import org.kie.workbench.common.stunner.core.rule.EmptyRuleSet;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.mvp.Command;
@@ -66,6 +71,7 @@ public class BaseCanvasHandlerTest {
     private static final String CANDIDATE_ID = "c1";
     private static final String SHAPE_FACTORY_ID = "factory1";
     private static final RuleSet RULE_SET = new EmptyRuleSet();
+    private static final int NODES_COUNT = 500;
 
     @Mock
     DefinitionManager definitionManager;
@@ -182,6 +188,185 @@ public class BaseCanvasHandlerTest {
                times(1)).draw();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDrawDiagramDrawsLayerOnce() {
+        drawLayerOnCanvasDraw();
+        doAnswer(invocation -> {
+            for (int i = 0; i < NODES_COUNT; i++) {
+                registerAndMutate(tested);
+            }
+            // Nothing drawn until the diagram has been loaded.
+            verify(layer,
+                   never()).draw();
+            ((ParameterizedCommand<CommandResult<?>>) invocation.getArguments()[0]).execute(CanvasCommandResultBuilder.SUCCESS);
+            return null;
+        }).when(tested).draw(any(ParameterizedCommand.class));
+        final ParameterizedCommand<CommandResult<?>> callback = mock(ParameterizedCommand.class);
+        tested.draw(diagram,
+                    callback);
+        final InOrder inOrder = inOrder(layer,
+                                        callback);
+        inOrder.verify(layer,
+                       times(1)).draw();
+        inOrder.verify(callback,
+                       times(1)).execute(eq(CanvasCommandResultBuilder.SUCCESS));
+        verify(canvas,
+               times(NODES_COUNT)).addShape(eq(shape));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDrawDiagramFailureEndsDrawBatch() {
+        drawLayerOnCanvasDraw();
+        doAnswer(invocation -> {
+            registerAndMutate(tested);
+            throw new IllegalStateException("Draw failed");
+        }).when(tested).draw(any(ParameterizedCommand.class));
+        final ParameterizedCommand<CommandResult<?>> callback = mock(ParameterizedCommand.class);
+        try {
+            tested.draw(diagram,
+                        callback);
+            fail("The draw failure should be propagated");
+        } catch (IllegalStateException e) {
+            assertEquals("Draw failed",
+                         e.getMessage());
+        }
+        verify(callback,
+               never()).execute(any(CommandResult.class));
+        // The pending draw is flushed when the batch is closed.
+        verify(layer,
+               times(1)).draw();
+        // No batch is left open, so later draws are not deferred.
+        tested.register(shape,
+                        (Element<View<?>>) candidate,
+                        false);
+        verify(layer,
+               times(2)).draw();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDrawDiagramCallbackFailureEndsDrawBatchOnce() {
+        drawLayerOnCanvasDraw();
+        doAnswer(invocation -> {
+            registerAndMutate(tested);
+            ((ParameterizedCommand<CommandResult<?>>) invocation.getArguments()[0]).execute(CanvasCommandResultBuilder.SUCCESS);
+            return null;
+        }).when(tested).draw(any(ParameterizedCommand.class));
+        final ParameterizedCommand<CommandResult<?>> callback = mock(ParameterizedCommand.class);
+        doThrow(new IllegalStateException("Callback failed")).when(callback).execute(any(CommandResult.class));
+        tested.startDrawBatch();
+        try {
+            tested.draw(diagram,
+                        callback);
+            fail("The callback failure should be propagated");
+        } catch (IllegalStateException e) {
+            assertEquals("Callback failed",
+                         e.getMessage());
+        }
+        // The outer batch is still open.
+        verify(layer,
+               never()).draw();
+        tested.endDrawBatch();
+        verify(layer,
+               times(1)).draw();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCompositeCommandDrawsLayerOnce() {
+        drawLayerOnCanvasDraw();
+        final CompositeCommandImpl.CompositeCommandBuilder<AbstractCanvasHandler, CanvasViolation> builder =
+                new CompositeCommandImpl.CompositeCommandBuilder<>();
+        for (int i = 0; i < NODES_COUNT; i++) {
+            builder.addCommand(new AbstractCanvasCommand() {
+                @Override
+                public CommandResult<CanvasViolation> execute(final AbstractCanvasHandler context) {
+                    registerAndMutate(context);
+                    return buildResult();
+                }
+
+                @Override
+                public CommandResult<CanvasViolation> undo(final AbstractCanvasHandler context) {
+                    context.deregister(shape,
+                                       candidate,
+                                       false);
+                    return buildResult();
+                }
+            });
+        }
+        final CanvasCommandManagerImpl<AbstractCanvasHandler> commandManager = new CanvasCommandManagerImpl<>(null,
+                                                                                                            null,
+                                                                                                            null);
+        final CommandResult<CanvasViolation> result = commandManager.execute(tested,
+                                                                             builder.build());
+        assertEquals(CommandResult.Type.INFO,
+                     result.getType());
+        verify(canvas,
+               times(NODES_COUNT)).addShape(eq(shape));
+        verify(layer,
+               times(1)).draw();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFlushDrawWhileBatching() {
+        drawLayerOnCanvasDraw();
+        tested.startDrawBatch();
+        tested.register(shape,
+                        (Element<View<?>>) candidate,
+                        false);
+        verify(layer,
+               never()).draw();
+        tested.flushDraw();
+        verify(layer,
+               times(1)).draw();
+        // Nothing else to draw when the batch finishes.
+        tested.endDrawBatch();
+        verify(layer,
+               times(1)).draw();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNestedDrawBatches() {
+        drawLayerOnCanvasDraw();
+        tested.startDrawBatch();
+        tested.startDrawBatch();
+        tested.register(shape,
+                        (Element<View<?>>) candidate,
+                        false);
+        tested.endDrawBatch();
+        verify(layer,
+               never()).draw();
+        tested.deregister(shape,
+                          candidate,
+                          false);
+        tested.endDrawBatch();
+        verify(layer,
+               times(1)).draw();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registerAndMutate(final AbstractCanvasHandler handler) {
+        handler.register(shape,
+                         (Element<View<?>>) candidate,
+                         false);
+        handler.applyElementMutation(shape,
+                                     candidate,
+                                     true,
+                                     true,
+                                     MutationContext.STATIC);
+    }
+
+    private void drawLayerOnCanvasDraw() {
+        when(canvas.draw()).thenAnswer(invocation -> {
+            layer.draw();
+            return canvas;
+        });
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testAddShape() {
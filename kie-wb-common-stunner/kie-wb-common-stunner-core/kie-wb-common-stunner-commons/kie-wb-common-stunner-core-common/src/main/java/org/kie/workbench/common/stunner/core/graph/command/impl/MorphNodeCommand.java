@@ -24,6 +24,7 @@ import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.definition.adapter.MorphAdapter;
 import org.kie.workbench.common.stunner.core.definition.morph.MorphDefinition;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
@@ -78,12 +79,18 @@ public final class MorphNodeCommand extends AbstractGraphCommand {
 
             // Morph the node definition to the new one.
             candidate.getContent().setDefinition(newDef);
-            // Update candidate roles.
+            // Update candidate roles. The candidate is removed and added again into the graph while updating,
+            // so the graph's node store keeps its labels count in sync.
+            final Graph<?, Node> graph = getGraph(context);
+            final boolean isInGraph = null != graph && null != graph.removeNode(candidate.getUUID());
             final Set<String> newLabels = definitionManager.adapters().forDefinition().getLabels(newDef);
             candidate.getLabels().clear();
             if (null != newLabels) {
                 candidate.getLabels().addAll(newLabels);
             }
+            if (isInGraph) {
+                graph.addNode(candidate);
+            }
         }
         return results;
     }
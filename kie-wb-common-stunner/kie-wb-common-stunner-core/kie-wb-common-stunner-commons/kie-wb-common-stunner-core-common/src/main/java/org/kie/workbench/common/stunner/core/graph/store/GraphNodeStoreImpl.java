@@ -16,9 +16,11 @@
 
 package org.kie.workbench.common.stunner.core.graph.store;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.graph.Node;
@@ -28,15 +30,30 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
 
     protected Map<String, Node> nodes = new HashMap<String, Node>();
 
+    // Maintained as nodes are added or removed. It's not marshalled, so it's built on demand.
+    private transient Map<String, Integer> labelsCount;
+
     @Override
     public Node add(final Node node) {
-        return nodes.put(node.getUUID(),
-                         node);
+        final Node old = nodes.put(node.getUUID(),
+                                   node);
+        if (null != labelsCount) {
+            countLabels(old,
+                        -1);
+            countLabels(node,
+                        1);
+        }
+        return old;
     }
 
     @Override
     public Node remove(final String uuid) {
-        return nodes.remove(uuid);
+        final Node old = nodes.remove(uuid);
+        if (null != labelsCount) {
+            countLabels(old,
+                        -1);
+        }
+        return old;
     }
 
     @Override
@@ -52,10 +69,39 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
     @Override
     public void clear() {
         nodes.clear();
+        labelsCount = null;
+    }
+
+    @Override
+    public Map<String, Integer> getLabelsCount() {
+        if (null == labelsCount) {
+            labelsCount = new HashMap<String, Integer>();
+            nodes.values().forEach(node -> countLabels(node,
+                                                       1));
+        }
+        return Collections.unmodifiableMap(labelsCount);
     }
 
     @Override
     public Iterator<Node> iterator() {
         return nodes.values().iterator();
     }
+
+    @SuppressWarnings("unchecked")
+    private void countLabels(final Node node,
+                             final int delta) {
+        final Set<String> labels = null != node ? node.getLabels() : null;
+        if (null != labels) {
+            labels.forEach(label -> {
+                final int count = labelsCount.getOrDefault(label,
+                                                           0) + delta;
+                if (count > 0) {
+                    labelsCount.put(label,
+                                    count);
+                } else {
+                    labelsCount.remove(label);
+                }
+            });
+        }
+    }
 }
@@ -33,6 +33,7 @@ import org.kie.workbench.common.stunner.core.graph.content.definition.Definition
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStore;
 
 public class GraphUtils {
 
@@ -111,7 +112,18 @@ public class GraphUtils {
     public static Map<String, Integer> getLabelsCount(final Graph<?, ? extends Node> target,
                                                       final Set<String> filter) {
         final Map<String, Integer> labels = new LinkedHashMap<>();
-        target.nodes().forEach(node -> {
+        final Iterable<? extends Node> nodes = target.nodes();
+        if (nodes instanceof GraphNodeStore) {
+            // The store keeps the counts up to date, no need to iterate over all nodes.
+            ((GraphNodeStore<?>) nodes).getLabelsCount().forEach((role, count) -> {
+                if (null == filter || filter.contains(role)) {
+                    labels.put(role,
+                               count);
+                }
+            });
+            return labels;
+        }
+        nodes.forEach(node -> {
             final Set<String> nodeRoles = node.getLabels();
             if (null != nodeRoles) {
                 nodeRoles
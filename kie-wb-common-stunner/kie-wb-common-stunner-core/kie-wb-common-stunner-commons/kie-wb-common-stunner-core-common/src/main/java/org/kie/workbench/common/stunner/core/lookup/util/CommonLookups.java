@@ -17,12 +17,14 @@
 package org.kie.workbench.common.stunner.core.lookup.util;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.enterprise.context.ApplicationScoped;
@@ -61,8 +63,9 @@ import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull
  * An utils class that provides common used look-ups and other logic for querying the domain model and the rules model,
  * that is used along the application.
  * <p>
- * // TODO: Some kind of cache to avoid frequently used lookups? Consider performance and memory, this class
- * is shared on both server and client sides.
+ * The lookups that only depend on the Definition Set ( the labels for each definition and the targets allowed
+ * by the connection rules ) are computed once and kept for further calls, so only the rules that depend
+ * on the graph's state are evaluated each time.
  */
 @ApplicationScoped
 public class CommonLookups {
@@ -74,6 +77,8 @@ public class CommonLookups {
     private final RuleManager ruleManager;
     private final RuleLookupManager ruleLookupManager;
     private final FactoryManager factoryManager;
+    private final Map<String, Set<String>> definitionLabels = new HashMap<>();
+    private final Map<String, ConnectionTargets> connectionTargets = new HashMap<>();
 
     protected CommonLookups() {
         this(null,
@@ -227,19 +232,19 @@ public class CommonLookups {
                 "Outgoing edge cardinality rules evaluation " +
                         "result = [" + oeCardinalityAllowed + "]");
             if (oeCardinalityAllowed) {
-                // Obtain allowed target roles that pass connection rules.
-                final Set<String> allowedConnectionRoles = getConnectionRulesAllowedTargets(defSetId,
-                                                                                            definition,
-                                                                                            edgeId,
-                                                                                            page,
-                                                                                            pageSize);
+                // Obtain allowed target roles that pass connection rules, and its definitions.
+                final ConnectionTargets targets = getConnectionTargets(defSetId,
+                                                                       definition,
+                                                                       edgeId,
+                                                                       page,
+                                                                       pageSize);
+                final Set<String> allowedConnectionRoles = targets.roles;
                 log(Level.FINEST,
                     "Allowed target roles that pass connection rules " +
                             "ARE [" + allowedConnectionRoles + "]");
                 if (null != allowedConnectionRoles) {
                     // Obtain a first set of candidate Defintiion identifiers.
-                    final Set<String> allowedDefinitions = getDefinitions(defSetId,
-                                                                          allowedConnectionRoles);
+                    final Set<String> allowedDefinitions = targets.definitions;
                     log(Level.FINEST,
                         "Allowed target definitions that pass connection rules " +
                                 "ARE [" + allowedConnectionRoles + "]");
@@ -252,13 +257,8 @@ public class CommonLookups {
                         allowedDefinitions
                                 .stream()
                                 .forEach(defId -> {
-                                    final Object targetDefinition = createDefinition(defId);
-                                    if (null != targetDefinition) {
-                                        final Set<String> targetDefinitionRoles =
-                                                getDefinitionManager()
-                                                        .adapters()
-                                                        .forDefinition()
-                                                        .getLabels(targetDefinition);
+                                    final Set<String> targetDefinitionRoles = getDefinitionLabelsById(defId);
+                                    if (null != targetDefinitionRoles) {
                                         // Check cardinality for each of the roles for this potential target node.
                                         final boolean hasCardinalityViolations = targetDefinitionRoles
                                                 .stream()
@@ -291,7 +291,10 @@ public class CommonLookups {
                                                         "result = [" + ieCardinalityAllowed + "]");
                                             if (ieCardinalityAllowed) {
                                                 // This potential node can be used as target one, as it passes all rule checks.
-                                                result.add(targetDefinition);
+                                                final Object targetDefinition = createDefinition(defId);
+                                                if (null != targetDefinition) {
+                                                    result.add(targetDefinition);
+                                                }
                                             }
                                         }
                                     }
@@ -304,6 +307,47 @@ public class CommonLookups {
         return null;
     }
 
+    /**
+     * Returns the roles allowed as targets by the connection rules for the given source definition and
+     * the given edge (connector) identifier, and the Definition Set's definitions for those roles.
+     * Both only depend on the Definition Set, so they're looked up once for each source definition labels.
+     */
+    private synchronized <T> ConnectionTargets getConnectionTargets(final String defSetId,
+                                                                    final T sourceDefinition,
+                                                                    final String edgeId,
+                                                                    final int page,
+                                                                    final int pageSize) {
+        final Set<String> sourceLabels = getDefinitionLabels(sourceDefinition);
+        final String key = defSetId + "|" + edgeId + "|" + (null != sourceLabels ? new TreeSet<>(sourceLabels) : null) + "|" + page + "|" + pageSize;
+        ConnectionTargets targets = connectionTargets.get(key);
+        if (null == targets) {
+            final Set<String> roles = getConnectionRulesAllowedTargets(defSetId,
+                                                                       sourceDefinition,
+                                                                       edgeId,
+                                                                       page,
+                                                                       pageSize);
+            final Set<String> definitions = null != roles ? getDefinitions(defSetId,
+                                                                           roles) : null;
+            targets = new ConnectionTargets(roles,
+                                            definitions);
+            connectionTargets.put(key,
+                                  targets);
+        }
+        return targets;
+    }
+
+    /**
+     * Returns the labels for the given definition identifier, or <code>null</code> if no definition can be created for it.
+     */
+    private synchronized Set<String> getDefinitionLabelsById(final String defId) {
+        if (!definitionLabels.containsKey(defId)) {
+            final Object definition = createDefinition(defId);
+            definitionLabels.put(defId,
+                                 null != definition ? getDefinitionLabels(definition) : null);
+        }
+        return definitionLabels.get(defId);
+    }
+
     /**
      * Returns all the Definition Set's definition identifiers that contains the given labels.
      * <p>
@@ -443,6 +487,18 @@ public class CommonLookups {
         return factoryManager.newDefinition(defId);
     }
 
+    private static class ConnectionTargets {
+
+        private final Set<String> roles;
+        private final Set<String> definitions;
+
+        private ConnectionTargets(final Set<String> roles,
+                                  final Set<String> definitions) {
+            this.roles = roles;
+            this.definitions = definitions;
+        }
+    }
+
     private DefinitionManager getDefinitionManager() {
         return definitionUtils.getDefinitionManager();
     }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.store;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GraphNodeStoreImplTest {
+
+    private GraphNodeStoreImpl tested;
+
+    @Before
+    public void setup() throws Exception {
+        this.tested = new GraphNodeStoreImpl();
+    }
+
+    @Test
+    public void testLabelsCount() {
+        tested.add(newNode("n1",
+                           "task",
+                           "all"));
+        tested.add(newNode("n2",
+                           "task",
+                           "all"));
+        tested.add(newNode("n3",
+                           "start",
+                           "all"));
+        final Map<String, Integer> count = tested.getLabelsCount();
+        assertEquals(3,
+                     count.size());
+        assertEquals(2,
+                     count.get("task").intValue());
+        assertEquals(1,
+                     count.get("start").intValue());
+        assertEquals(3,
+                     count.get("all").intValue());
+    }
+
+    @Test
+    public void testLabelsCountUpdatedOnAdd() {
+        tested.add(newNode("n1",
+                           "task"));
+        assertEquals(1,
+                     tested.getLabelsCount().get("task").intValue());
+        tested.add(newNode("n2",
+                           "task"));
+        tested.add(newNode("n3",
+                           "start"));
+        final Map<String, Integer> count = tested.getLabelsCount();
+        assertEquals(2,
+                     count.get("task").intValue());
+        assertEquals(1,
+                     count.get("start").intValue());
+    }
+
+    @Test
+    public void testLabelsCountUpdatedOnReplace() {
+        tested.add(newNode("n1",
+                           "task"));
+        assertEquals(1,
+                     tested.getLabelsCount().get("task").intValue());
+        tested.add(newNode("n1",
+                           "start"));
+        final Map<String, Integer> count = tested.getLabelsCount();
+        assertFalse(count.containsKey("task"));
+        assertEquals(1,
+                     count.get("start").intValue());
+    }
+
+    @Test
+    public void testLabelsCountUpdatedOnRemove() {
+        tested.add(newNode("n1",
+                           "task"));
+        tested.add(newNode("n2",
+                           "task"));
+        assertEquals(2,
+                     tested.getLabelsCount().get("task").intValue());
+        tested.remove("n1");
+        assertEquals(1,
+                     tested.getLabelsCount().get("task").intValue());
+        tested.remove("n2");
+        assertTrue(tested.getLabelsCount().isEmpty());
+        assertNull(tested.remove("n2"));
+        assertTrue(tested.getLabelsCount().isEmpty());
+    }
+
+    @Test
+    public void testLabelsCountUpdatedOnClear() {
+        tested.add(newNode("n1",
+                           "task"));
+        assertEquals(1,
+                     tested.getLabelsCount().get("task").intValue());
+        tested.clear();
+        assertTrue(tested.getLabelsCount().isEmpty());
+        tested.add(newNode("n2",
+                           "start"));
+        assertEquals(1,
+                     tested.getLabelsCount().get("start").intValue());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testLabelsCountIsNotModifiable() {
+        tested.add(newNode("n1",
+                           "task"));
+        tested.getLabelsCount().put("task",
+                                    5);
+    }
+
+    private Node newNode(final String uuid,
+                         final String... labels) {
+        final Node node = mock(Node.class);
+        when(node.getUUID()).thenReturn(uuid);
+        when(node.getLabels()).thenReturn(new HashSet<>(Arrays.asList(labels)));
+        return node;
+    }
+}
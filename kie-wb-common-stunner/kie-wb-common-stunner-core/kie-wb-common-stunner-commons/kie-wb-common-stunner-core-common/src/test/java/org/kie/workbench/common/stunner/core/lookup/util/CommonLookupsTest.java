@@ -0,0 +1,222 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.lookup.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.lookup.LookupResponseImpl;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupManager;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupRequest;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionRepresentation;
+import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupManager;
+import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupRequest;
+import org.kie.workbench.common.stunner.core.rule.Rule;
+import org.kie.workbench.common.stunner.core.rule.RuleEvaluationContext;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.context.CardinalityContext;
+import org.kie.workbench.common.stunner.core.rule.impl.CanConnect;
+import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
+import org.kie.workbench.common.stunner.core.rule.violations.RuleViolationImpl;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CommonLookupsTest {
+
+    private static final String DEF_SET_ID = TestingGraphMockHandler.DEF_SET_ID;
+    private static final String EDGE_ID = "edge1";
+    private static final String SOURCE_ROLE = "sourceRole";
+    private static final String TARGET_ROLE = "targetRole";
+    private static final String SINGLE_ROLE = "singleRole";
+    private static final String TARGET1_ID = "target1";
+    private static final String TARGET2_ID = "target2";
+
+    @Mock
+    DefinitionLookupManager definitionLookupManager;
+    @Mock
+    RuleLookupManager ruleLookupManager;
+
+    private TestingGraphMockHandler graphHandler;
+    private Node sourceNode;
+    private Object target1;
+    private Object target2;
+    private CommonLookups tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        this.graphHandler = new TestingGraphMockHandler();
+        final Object defSet = mock(Object.class);
+        when(graphHandler.definitionSetRegistry.getDefinitionSetById(eq(DEF_SET_ID))).thenReturn(defSet);
+        when(graphHandler.adapterRegistry.getDefinitionSetRuleAdapter(any(Class.class))).thenReturn(graphHandler.ruleAdapter);
+        when(graphHandler.ruleAdapter.getRuleSet(eq(defSet))).thenReturn(graphHandler.ruleSet);
+        this.sourceNode = graphHandler.newNode("source",
+                                               "sourceDef",
+                                               Optional.of(Collections.singleton(SOURCE_ROLE)));
+        this.target1 = graphHandler.newDef(TARGET1_ID,
+                                           Optional.of(Collections.singleton(TARGET_ROLE)));
+        this.target2 = graphHandler.newDef(TARGET2_ID,
+                                           Optional.of(new HashSet<>(Arrays.asList(TARGET_ROLE,
+                                                                                   SINGLE_ROLE))));
+        when(graphHandler.factoryManager.newDefinition(eq(TARGET1_ID))).thenReturn(target1);
+        when(graphHandler.factoryManager.newDefinition(eq(TARGET2_ID))).thenReturn(target2);
+        final CanConnect connectionRule = new CanConnect("r1",
+                                                         EDGE_ID,
+                                                         Arrays.asList(new CanConnect.PermittedConnection(SOURCE_ROLE,
+                                                                                                          TARGET_ROLE),
+                                                                       new CanConnect.PermittedConnection(SOURCE_ROLE,
+                                                                                                          SINGLE_ROLE)));
+        when(ruleLookupManager.lookup(any(RuleLookupRequest.class)))
+                .thenReturn(new LookupResponseImpl<>(Collections.<Rule>singletonList(connectionRule),
+                                                     1,
+                                                     false,
+                                                     "",
+                                                     0,
+                                                     10));
+        final List<DefinitionRepresentation> targets = Arrays.asList(newRepresentation(TARGET1_ID),
+                                                                     newRepresentation(TARGET2_ID));
+        when(definitionLookupManager.lookup(any(DefinitionLookupRequest.class)))
+                .thenReturn(new LookupResponseImpl<>(targets,
+                                                     2,
+                                                     false,
+                                                     "",
+                                                     0,
+                                                     100));
+        // Only a single node with the SINGLE_ROLE role is allowed in the graph.
+        when(graphHandler.ruleManager.evaluate(any(RuleSet.class),
+                                               any(RuleEvaluationContext.class))).thenAnswer(invocation -> {
+            final DefaultRuleViolations violations = new DefaultRuleViolations();
+            final Object context = invocation.getArguments()[1];
+            if (context instanceof CardinalityContext
+                    && ((CardinalityContext) context).getRoles().contains(SINGLE_ROLE)
+                    && ((CardinalityContext) context).getCandidateCount() > 0) {
+                violations.addViolation(new RuleViolationImpl("Max occurrences reached"));
+            }
+            return violations;
+        });
+        this.tested = new CommonLookups(graphHandler.definitionUtils,
+                                        graphHandler.ruleManager,
+                                        definitionLookupManager,
+                                        ruleLookupManager,
+                                        graphHandler.factoryManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetAllowedTargetDefinitions() {
+        final Set<Object> result = tested.getAllowedTargetDefinitions(DEF_SET_ID,
+                                                                      graphHandler.graph,
+                                                                      sourceNode,
+                                                                      EDGE_ID,
+                                                                      0,
+                                                                      10);
+        assertEquals(new HashSet<>(Arrays.asList(target1,
+                                                 target2)),
+                     result);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetAllowedTargetDefinitionsWithCardinality() {
+        graphHandler.newNode("single",
+                             TARGET2_ID,
+                             Optional.of(Collections.singleton(SINGLE_ROLE)));
+        final Set<Object> result = tested.getAllowedTargetDefinitions(DEF_SET_ID,
+                                                                      graphHandler.graph,
+                                                                      sourceNode,
+                                                                      EDGE_ID,
+                                                                      0,
+                                                                      10);
+        assertEquals(Collections.singleton(target1),
+                     result);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStaticLookupsAreReused() {
+        tested.getAllowedTargetDefinitions(DEF_SET_ID,
+                                           graphHandler.graph,
+                                           sourceNode,
+                                           EDGE_ID,
+                                           0,
+                                           10);
+        // The graph's state changes, so the cardinality rules must be evaluated again.
+        graphHandler.newNode("single",
+                             TARGET2_ID,
+                             Optional.of(Collections.singleton(SINGLE_ROLE)));
+        final Set<Object> result = tested.getAllowedTargetDefinitions(DEF_SET_ID,
+                                                                      graphHandler.graph,
+                                                                      sourceNode,
+                                                                      EDGE_ID,
+                                                                      0,
+                                                                      10);
+        assertEquals(Collections.singleton(target1),
+                     result);
+        verify(ruleLookupManager,
+               times(1)).lookup(any(RuleLookupRequest.class));
+        verify(definitionLookupManager,
+               times(1)).lookup(any(DefinitionLookupRequest.class));
+        // Once for obtaining its labels, and once for each call in which it's an allowed target.
+        verify(graphHandler.factoryManager,
+               times(3)).newDefinition(eq(TARGET1_ID));
+        verify(graphHandler.factoryManager,
+               times(2)).newDefinition(eq(TARGET2_ID));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNoAllowedTargetDefinitions() {
+        when(ruleLookupManager.lookup(any(RuleLookupRequest.class)))
+                .thenReturn(new LookupResponseImpl<>(Collections.<Rule>emptyList(),
+                                                     0,
+                                                     false,
+                                                     "",
+                                                     0,
+                                                     10));
+        assertNull(tested.getAllowedTargetDefinitions(DEF_SET_ID,
+                                                      graphHandler.graph,
+                                                      sourceNode,
+                                                      EDGE_ID,
+                                                      0,
+                                                      10));
+        verify(definitionLookupManager,
+               never()).lookup(any(DefinitionLookupRequest.class));
+        verify(graphHandler.factoryManager,
+               never()).newDefinition(anyString());
+    }
+
+    private DefinitionRepresentation newRepresentation(final String id) {
+        final DefinitionRepresentation representation = mock(DefinitionRepresentation.class);
+        when(representation.getDefinitionId()).thenReturn(id);
+        return representation;
+    }
+}
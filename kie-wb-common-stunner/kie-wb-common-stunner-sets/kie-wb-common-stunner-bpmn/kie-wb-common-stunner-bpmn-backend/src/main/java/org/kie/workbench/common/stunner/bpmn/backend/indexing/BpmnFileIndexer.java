@@ -16,15 +16,12 @@
 package org.kie.workbench.common.stunner.bpmn.backend.indexing;
 
 import java.io.StringReader;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.apache.commons.lang3.StringUtils;
-import org.drools.compiler.builder.impl.KnowledgeBuilderConfigurationImpl;
-import org.drools.core.io.impl.ByteArrayResource;
 import org.drools.core.io.impl.ReaderResource;
 import org.drools.core.xml.SemanticModules;
 import org.guvnor.common.services.project.model.Package;
@@ -38,10 +35,6 @@ import org.jbpm.process.core.validation.ProcessValidator;
 import org.jbpm.process.core.validation.ProcessValidatorRegistry;
 import org.kie.api.definition.process.Process;
 import org.kie.api.io.Resource;
-import org.kie.api.io.ResourceType;
-import org.kie.internal.builder.KnowledgeBuilder;
-import org.kie.internal.builder.KnowledgeBuilderError;
-import org.kie.internal.builder.KnowledgeBuilderFactory;
 import org.kie.workbench.common.services.backend.project.ProjectClassLoaderHelper;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.AbstractFileIndexer;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
@@ -93,56 +86,26 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         String bpmnStr = ioService.readAllString(path);
         ClassLoader projectClassLoader = getProjectClassLoader(project);
 
-        try {
-            List<BpmnProcessDataEventListener> processDataList = buildProcessDefinition(bpmnStr,
-                                                                                        projectClassLoader);
-            if (processDataList != null) {
-                for (BpmnProcessDataEventListener processData : processDataList) {
-                    addReferencedResourcesToIndexBuilder(builder,
-                                                         processData);
-                    builder.setPackageName(processData.getProcess().getPackageName());
-                }
-            }
-        } catch (Exception e) {
-            // log and ignore
-            logger.info("Indexing hampered because BPMN2 compilation failed [" + path.toString() + "]: " + e.getMessage());
-        }
-
         /**
-         * IMPORTANT: sometimes the build of the BPMN2 might fail for minor reasons, including things like
-         * a bad script in a script task
-         *
-         * When this happens, we (re)parse the process definition, but do not completely "build" it
-         * (as in, what org.jbpm.compiler.ProcessBuilderImpl.buildProcess(Process, Resource) does).
-         *
-         *
-         * It *would* be more efficient to basically copy/paste the
-         * jbpm-flow-builder org.jbpm.compiler.ProcessBuilderImpl.addProcessFromXml(Resource) logic here,
-         * so that we do something like:
-         *
-         * 1. Use the XmlProcessReader to create a process
-         * 2. *try* to build the rest of the process (and fail safely if not)
-         * 3. do XmlProcessReader.getProcessBuildData().onBuildComplete(process)
-         *    to complete collecting the information
-         *
-         * But... that's a high maintenance cost for this piece of software
+         * The process definitions are only parsed ( not completely "built", as in what
+         * org.jbpm.compiler.ProcessBuilderImpl.buildProcess(Process, Resource) does ), so indexing
+         * does not fail for minor reasons, including things like a bad script in a script task.
          *
-         * So until we can refactor the ProcessBuilderImpl logic (using functional logic for conditional handling?)
-         * to be used here, let's keep it simple (as in, parsing the BPMN2 a second time when the build fails..)
+         * All the indexing information ( referenced types, globals, signals, rule-flow groups, etc ) is
+         * collected by the BpmnProcessDataEventListener while parsing, so each process is parsed just once.
          */
-
-        // parse process definitions
         XmlProcessReader processReader = new XmlProcessReader(modules,
                                                               projectClassLoader);
         List<Process> processes = Collections.emptyList();
         try {
-            processes = processReader.read(new StringReader(bpmnStr));
+            processes = parseProcesses(processReader,
+                                       bpmnStr);
         } catch (Exception e) {
             logger.info("Unable to index because BPMN2 parsing failed [" + path.toString() + "]: " + e.getMessage());
         }
 
         // complete process definition processing
-        if (processes != null) {
+        if (processes != null && !processes.isEmpty()) {
             for (Process process : processes) {
                 Resource resource = new ReaderResource(new StringReader(bpmnStr));
                 ProcessValidationError[] errors;
@@ -156,8 +119,14 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
                 processReader.getProcessBuildData().onBuildComplete(process);
 
                 BpmnProcessDataEventListener helper = (BpmnProcessDataEventListener) process.getMetaData().get(BpmnProcessDataEventListener.NAME);
-                addReferencedResourcesToIndexBuilder(builder,
-                                                     helper);
+                if (helper != null) {
+                    addReferencedResourcesToIndexBuilder(builder,
+                                                         helper);
+                }
+                // A process with validation errors does not build, so keep the resolved package as its package name
+                if (errors.length == 0 && process.getPackageName() != null) {
+                    builder.setPackageName(process.getPackageName());
+                }
             }
         } else {
             logger.warn("No process was found in file: " + path.toUri());
@@ -171,46 +140,13 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         return classLoaderHelper.getProjectClassLoader(project);
     }
 
-    private List<BpmnProcessDataEventListener> buildProcessDefinition(String bpmn2Content,
-                                                                      ClassLoader projectClassLoader) throws IllegalArgumentException {
+    // Protected method for testing
+    protected List<Process> parseProcesses(final XmlProcessReader processReader,
+                                           final String bpmn2Content) throws Exception {
         if (StringUtils.isEmpty(bpmn2Content)) {
-            return Collections.<BpmnProcessDataEventListener>emptyList();
-        }
-
-        // Set class loader
-        KnowledgeBuilder kbuilder = null;
-        if (projectClassLoader != null) {
-            KnowledgeBuilderConfigurationImpl pconf = new KnowledgeBuilderConfigurationImpl(projectClassLoader);
-            kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder(pconf);
-        } else {
-            kbuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
-        }
-
-        // Build
-        kbuilder.add(new ByteArrayResource(bpmn2Content.getBytes()),
-                     ResourceType.BPMN2);
-        if (kbuilder.hasErrors()) {
-            for (KnowledgeBuilderError error : kbuilder.getErrors()) {
-                logger.error("Error: {}",
-                             error.getMessage());
-            }
-            logger.debug("Process Cannot be Parsed! \n {} \n",
-                         bpmn2Content);
-            return Collections.<BpmnProcessDataEventListener>emptyList();
+            return Collections.emptyList();
         }
-
-        // Retrieve ProcessInfoHolder
-        List<BpmnProcessDataEventListener> processDataList = new ArrayList<>();
-        kbuilder.getKnowledgePackages().forEach(
-                pkg ->
-                        pkg.getProcesses().forEach(
-                                p -> {
-                                    BpmnProcessDataEventListener processData
-                                            = (BpmnProcessDataEventListener) p.getMetaData().get(BpmnProcessDataEventListener.NAME);
-                                    processDataList.add(processData);
-                                })
-        );
-        return processDataList;
+        return processReader.read(new StringReader(bpmn2Content));
     }
 
     protected DefaultIndexBuilder getIndexBuilder(Path path,
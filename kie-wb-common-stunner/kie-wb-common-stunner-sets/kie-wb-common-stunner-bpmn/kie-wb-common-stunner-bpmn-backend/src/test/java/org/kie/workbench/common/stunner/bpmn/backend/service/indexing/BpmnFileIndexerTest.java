@@ -18,6 +18,8 @@ package org.kie.workbench.common.stunner.bpmn.backend.service.indexing;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +31,7 @@ import org.guvnor.common.services.project.model.Package;
 import org.junit.Test;
 import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
 import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.NamedQuery;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.DefaultResponseBuilder;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
@@ -45,6 +48,7 @@ import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.stunner.bpmn.backend.query.FindBpmnProcessIdsQuery;
 import org.kie.workbench.common.stunner.bpmn.resource.BPMNDefinitionSetResourceType;
+import org.uberfire.commons.data.Pair;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.paging.PageResponse;
 
@@ -237,6 +241,45 @@ public class BpmnFileIndexerTest extends BaseIndexingTest<BPMNDefinitionSetResou
         }
     }
 
+    @Test
+    public void testSingleParsePerFile() throws Exception {
+        final Map<String, List<String>> expectedValues = new HashMap<String, List<String>>() {{
+            put("hiring.bpmn",
+                Arrays.asList("hiring"));
+            put("signal.bpmn",
+                Arrays.asList("org.jbpm.signal",
+                              "MySignal",
+                              "name"));
+            put("brokenSignal.bpmn",
+                Arrays.asList("org.jbpm.broken",
+                              "BrokenSignal",
+                              "name"));
+        }};
+        for (String bpmnFile : BPMN_FILES) {
+            final Path path = basePath.resolve("single-parse/" + bpmnFile);
+            ioService().write(path,
+                              loadText(bpmnFile));
+
+            final TestBpmnFileIndexer indexer = new TestBpmnFileIndexer();
+            indexer.setIOService(ioService());
+            indexer.setProjectService(getProjectService());
+            final DefaultIndexBuilder builder = indexer.fillIndexBuilder(path);
+
+            assertEquals("Unexpected number of parses for " + bpmnFile,
+                         1,
+                         indexer.getParseCount());
+            final Set<String> values = new HashSet<>();
+            for (Pair<String, String> term : builder.build()) {
+                values.add(term.getK2());
+            }
+            for (String expectedValue : expectedValues.getOrDefault(bpmnFile,
+                                                                    Collections.emptyList())) {
+                assertTrue("Index term <" + expectedValue + "> not found for " + bpmnFile,
+                           values.contains(expectedValue));
+            }
+        }
+    }
+
     private PageResponse<RefactoringPageRow> queryBPMN2Resources() throws IllegalArgumentException {
         final RefactoringPageRequest request = new RefactoringPageRequest(FindResourcesQuery.NAME,
                                                                           new HashSet<ValueIndexTerm>() {{
@@ -15,18 +15,26 @@
  */
 package org.kie.workbench.common.stunner.bpmn.backend.service.indexing;
 
+import java.util.List;
+
+import org.jbpm.compiler.xml.XmlProcessReader;
+import org.kie.api.definition.process.Process;
 import org.kie.workbench.common.services.backend.project.ProjectClassLoaderHelper;
 import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.stunner.bpmn.backend.indexing.BpmnFileIndexer;
 import org.kie.workbench.common.stunner.bpmn.resource.BPMNDefinitionSetResourceType;
 import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
 public class TestBpmnFileIndexer extends BpmnFileIndexer implements TestIndexer<BPMNDefinitionSetResourceType> {
 
+    private int parseCount = 0;
+
     public TestBpmnFileIndexer() {
         this.classLoaderHelper = mock(ProjectClassLoaderHelper.class);
         when(this.classLoaderHelper.getProjectClassLoader(any())).thenReturn(this.getClass().getClassLoader());
@@ -46,4 +54,21 @@ public class TestBpmnFileIndexer extends BpmnFileIndexer implements TestIndexer<
     public void setResourceTypeDefinition(BPMNDefinitionSetResourceType type) {
         this.bpmnTypeDefinition = type;
     }
+
+    @Override
+    public DefaultIndexBuilder fillIndexBuilder(final Path path) throws Exception {
+        return super.fillIndexBuilder(path);
+    }
+
+    @Override
+    protected List<Process> parseProcesses(final XmlProcessReader processReader,
+                                           final String bpmn2Content) throws Exception {
+        parseCount++;
+        return super.parseProcesses(processReader,
+                                    bpmn2Content);
+    }
+
+    public int getParseCount() {
+        return parseCount;
+    }
 }
@@ -0,0 +1,481 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.cm.backend.lookup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.backend.definition.factory.TestScopeModelFactory;
+import org.kie.workbench.common.stunner.bpmn.BPMNDefinitionSet;
+import org.kie.workbench.common.stunner.bpmn.definition.SequenceFlow;
+import org.kie.workbench.common.stunner.bpmn.definition.StartNoneEvent;
+import org.kie.workbench.common.stunner.cm.CaseManagementDefinitionSet;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation.RuntimeDefinitionAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation.RuntimeDefinitionSetAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation.RuntimePropertyAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation.RuntimePropertySetAdapter;
+import org.kie.workbench.common.stunner.core.definition.adapter.AdapterManager;
+import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionSetRuleAdapter;
+import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
+import org.kie.workbench.common.stunner.core.definition.annotation.DefinitionSet;
+import org.kie.workbench.common.stunner.core.factory.graph.NodeFactory;
+import org.kie.workbench.common.stunner.core.factory.impl.EdgeFactoryImpl;
+import org.kie.workbench.common.stunner.core.factory.impl.NodeFactoryImpl;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupManager;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupManagerImpl;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupRequestImpl;
+import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionRepresentation;
+import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupManager;
+import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupManagerImpl;
+import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupRequestImpl;
+import org.kie.workbench.common.stunner.core.lookup.util.CommonLookups;
+import org.kie.workbench.common.stunner.core.registry.RegistryFactory;
+import org.kie.workbench.common.stunner.core.registry.definition.AdapterRegistry;
+import org.kie.workbench.common.stunner.core.registry.definition.TypeDefinitionRegistry;
+import org.kie.workbench.common.stunner.core.registry.definition.TypeDefinitionSetRegistry;
+import org.kie.workbench.common.stunner.core.registry.factory.FactoryRegistry;
+import org.kie.workbench.common.stunner.core.registry.rule.RuleHandlerRegistry;
+import org.kie.workbench.common.stunner.core.rule.Rule;
+import org.kie.workbench.common.stunner.core.rule.RuleEvaluationHandler;
+import org.kie.workbench.common.stunner.core.rule.RuleManager;
+import org.kie.workbench.common.stunner.core.rule.RuleManagerImpl;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.RuleSetImpl;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.rule.RuleViolations;
+import org.kie.workbench.common.stunner.core.rule.context.CardinalityContext;
+import org.kie.workbench.common.stunner.core.rule.context.EdgeCardinalityContext;
+import org.kie.workbench.common.stunner.core.rule.context.impl.RuleContextBuilder;
+import org.kie.workbench.common.stunner.core.rule.handler.impl.CardinalityEvaluationHandler;
+import org.kie.workbench.common.stunner.core.rule.handler.impl.EdgeCardinalityEvaluationHandler;
+import org.kie.workbench.common.stunner.core.rule.impl.CanConnect;
+import org.kie.workbench.common.stunner.core.rule.impl.EdgeOccurrences;
+import org.kie.workbench.common.stunner.core.rule.impl.Occurrences;
+import org.kie.workbench.common.stunner.core.util.DefinitionUtils;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Makes sure that the {@link CommonLookups} target definitions, which rely on the lookups cached for each
+ * Definition Set and on the labels count kept by the {@link GraphNodeStoreImpl}, are the same as the ones
+ * computed by looking up everything on each call, for the BPMN and the Case Management Definition Sets.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CommonLookupsDefinitionSetsTest {
+
+    private static final String EDGE_ID = BindableAdapterUtils.getDefinitionId(SequenceFlow.class);
+    private static final String MORPH_TARGET_ID = BindableAdapterUtils.getDefinitionId(StartNoneEvent.class);
+    private static final int PAGE_SIZE = 100;
+
+    @Mock
+    DefinitionManager definitionManager;
+    @Mock
+    AdapterManager adapterManager;
+    @Mock
+    AdapterRegistry adapterRegistry;
+    @Mock
+    TypeDefinitionSetRegistry definitionSetRegistry;
+    @Mock
+    DefinitionSetRuleAdapter ruleAdapter;
+    @Mock
+    FactoryManager factoryManager;
+    @Mock
+    FactoryRegistry factoryRegistry;
+    @Mock
+    RegistryFactory registryFactory;
+    @Mock
+    TypeDefinitionRegistry definitionRegistry;
+    @Mock
+    RuleHandlerRegistry ruleHandlerRegistry;
+
+    private RuntimeDefinitionAdapter<Object> definitionAdapter;
+    private RuntimeDefinitionSetAdapter<Object> definitionSetAdapter;
+    private NodeFactoryImpl nodeFactory;
+    private EdgeFactoryImpl edgeFactory;
+    private RuleManager ruleManager;
+    private RuleLookupManager ruleLookupManager;
+    private DefinitionLookupManager definitionLookupManager;
+    private CommonLookups tested;
+    private String defSetId;
+    private List<String> nodeDefinitionIds;
+    private int nodeCount;
+    private int allowedResults;
+    private int notAllowedResults;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        when(definitionManager.adapters()).thenReturn(adapterManager);
+        when(definitionManager.definitionSets()).thenReturn(definitionSetRegistry);
+        when(adapterManager.registry()).thenReturn(adapterRegistry);
+        final DefinitionUtils definitionUtils = new DefinitionUtils(definitionManager,
+                                                                    factoryManager);
+        definitionAdapter = new RuntimeDefinitionAdapter<>(definitionUtils);
+        definitionSetAdapter = new RuntimeDefinitionSetAdapter<>(definitionAdapter);
+        final RuntimePropertySetAdapter propertySetAdapter = new RuntimePropertySetAdapter();
+        final RuntimePropertyAdapter propertyAdapter = new RuntimePropertyAdapter();
+        when(adapterManager.forDefinitionSet()).thenReturn(definitionSetAdapter);
+        when(adapterManager.forDefinition()).thenReturn(definitionAdapter);
+        when(adapterManager.forPropertySet()).thenReturn(propertySetAdapter);
+        when(adapterManager.forProperty()).thenReturn(propertyAdapter);
+        when(adapterManager.forRules()).thenReturn(ruleAdapter);
+        when(adapterRegistry.getDefinitionSetAdapter(any(Class.class))).thenReturn(definitionSetAdapter);
+        when(adapterRegistry.getDefinitionAdapter(any(Class.class))).thenReturn(definitionAdapter);
+        when(adapterRegistry.getPropertySetAdapter(any(Class.class))).thenReturn(propertySetAdapter);
+        when(adapterRegistry.getPropertyAdapter(any(Class.class))).thenReturn(propertyAdapter);
+        when(adapterRegistry.getDefinitionSetRuleAdapter(any(Class.class))).thenReturn(ruleAdapter);
+        when(factoryManager.registry()).thenReturn(factoryRegistry);
+        when(registryFactory.newDefinitionRegistry()).thenReturn(definitionRegistry);
+        when(registryFactory.newRuleHandlerRegistry()).thenReturn(ruleHandlerRegistry);
+        // Only the cardinality rules depend on the graph's state.
+        final RuleEvaluationHandler cardinalityHandler = new CardinalityEvaluationHandler();
+        final RuleEvaluationHandler edgeCardinalityHandler = new EdgeCardinalityEvaluationHandler();
+        when(ruleHandlerRegistry.getHandlersByContext(any(Class.class))).thenAnswer(invocation -> {
+            final Object contextType = invocation.getArguments()[0];
+            if (CardinalityContext.class.equals(contextType)) {
+                return Collections.singletonList(cardinalityHandler);
+            } else if (EdgeCardinalityContext.class.equals(contextType)) {
+                return Collections.singletonList(edgeCardinalityHandler);
+            }
+            return Collections.emptyList();
+        });
+        nodeFactory = new NodeFactoryImpl(definitionUtils);
+        edgeFactory = new EdgeFactoryImpl(definitionManager);
+        ruleManager = new RuleManagerImpl(registryFactory);
+        ruleLookupManager = new RuleLookupManagerImpl(definitionManager);
+        definitionLookupManager = new DefinitionLookupManagerImpl(definitionManager,
+                                                                  factoryManager,
+                                                                  registryFactory);
+        tested = new CommonLookups(definitionUtils,
+                                   ruleManager,
+                                   definitionLookupManager,
+                                   ruleLookupManager,
+                                   factoryManager);
+    }
+
+    @Test
+    public void testBPMNAllowedTargetDefinitions() {
+        useDefinitionSet(new BPMNDefinitionSet.BPMNDefinitionSetBuilder().build());
+        assertSameResultsWhileEditing();
+    }
+
+    @Test
+    public void testCaseManagementAllowedTargetDefinitions() {
+        useDefinitionSet(new CaseManagementDefinitionSet.CaseManagementDefinitionSetBuilder().build());
+        assertSameResultsWhileEditing();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertSameResultsWhileEditing() {
+        final Graph graph = new GraphImpl<>("graph",
+                                            new GraphNodeStoreImpl());
+        final List<Node> nodes = new ArrayList<>();
+        nodeDefinitionIds.forEach(id -> nodes.add(addNode(graph,
+                                                          id)));
+        assertSameResults(graph);
+        // A second node for each definition.
+        nodeDefinitionIds.forEach(id -> addNode(graph,
+                                                id));
+        assertSameResults(graph);
+        // Each node is connected to the next one.
+        for (int i = 0; i < nodes.size() - 1; i++) {
+            connect(nodes.get(i),
+                    nodes.get(i + 1));
+        }
+        assertSameResults(graph);
+        for (int i = 0; i < nodes.size(); i += 2) {
+            graph.removeNode(nodes.get(i).getUUID());
+        }
+        assertSameResults(graph);
+        morph(graph,
+              nodes.get(1),
+              MORPH_TARGET_ID);
+        assertSameResults(graph);
+        // The rules allow some targets, and forbid others.
+        assertTrue(allowedResults > 0);
+        assertTrue(notAllowedResults > 0);
+    }
+
+    /**
+     * Compares the labels count and the allowed target definitions for each of the graph nodes as source.
+     */
+    @SuppressWarnings("unchecked")
+    private void assertSameResults(final Graph graph) {
+        assertEquals(getLegacyLabelsCount(graph,
+                                          null),
+                     GraphUtils.getLabelsCount(graph,
+                                               null));
+        final List<Node> sourceNodes = new ArrayList<>();
+        graph.nodes().forEach(node -> sourceNodes.add((Node) node));
+        for (final Node sourceNode : sourceNodes) {
+            final List<String> expected = getLegacyAllowedTargetIds(graph,
+                                                                    sourceNode);
+            final List<String> actual = toIds(tested.getAllowedTargetDefinitions(defSetId,
+                                                                                 graph,
+                                                                                 sourceNode,
+                                                                                 EDGE_ID,
+                                                                                 0,
+                                                                                 PAGE_SIZE));
+            assertEquals(sourceNode.getLabels().toString(),
+                         expected,
+                         actual);
+            if (null != actual && !actual.isEmpty()) {
+                allowedResults++;
+            } else {
+                notAllowedResults++;
+            }
+        }
+    }
+
+    /**
+     * The allowed target definitions as computed before caching the Definition Set lookups: the connection rules
+     * and the definitions for the allowed roles are looked up, and every candidate definition is created, on each call.
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> getLegacyAllowedTargetIds(final Graph graph,
+                                                   final Node<? extends Definition<Object>, ? extends Edge> sourceNode) {
+        final Object definition = sourceNode.getContent().getDefinition();
+        final RuleSet ruleSet = ruleAdapter.getRuleSet(definitionSetRegistry.getDefinitionSetById(defSetId));
+        final int outConnectorsCount = GraphUtils.countEdges(definitionManager,
+                                                             EDGE_ID,
+                                                             sourceNode.getOutEdges());
+        if (!pass(ruleManager.evaluate(ruleSet,
+                                       RuleContextBuilder.DomainContexts.edgeCardinality(sourceNode.getLabels(),
+                                                                                         EDGE_ID,
+                                                                                         outConnectorsCount,
+                                                                                         EdgeCardinalityContext.Direction.OUTGOING,
+                                                                                         Optional.of(CardinalityContext.Operation.ADD))))) {
+            return null;
+        }
+        final List<Rule> rules = ruleLookupManager.lookup(new RuleLookupRequestImpl.Builder()
+                                                                  .definitionSetId(defSetId)
+                                                                  .type(RuleLookupRequestImpl.Builder.RuleType.CONNECTION)
+                                                                  .from(definitionAdapter.getLabels(definition))
+                                                                  .id(EDGE_ID)
+                                                                  .page(0)
+                                                                  .pageSize(PAGE_SIZE)
+                                                                  .build()).getResults();
+        if (null == rules || rules.isEmpty()) {
+            return null;
+        }
+        final Set<String> allowedRoles = new LinkedHashSet<>();
+        for (final Rule rule : rules) {
+            final List<CanConnect.PermittedConnection> connections = ((CanConnect) rule).getPermittedConnections();
+            if (null != connections) {
+                connections.forEach(connection -> allowedRoles.add(connection.getEndRole()));
+            }
+        }
+        final Set<String> allowedDefinitions = new LinkedHashSet<>();
+        if (!allowedRoles.isEmpty()) {
+            final List<DefinitionRepresentation> representations =
+                    definitionLookupManager.lookup(new DefinitionLookupRequestImpl.Builder()
+                                                           .definitionSetId(defSetId)
+                                                           .labels(allowedRoles)
+                                                           .page(0)
+                                                           .pageSize(100)
+                                                           .build()).getResults();
+            if (null != representations) {
+                representations.forEach(representation -> allowedDefinitions.add(representation.getDefinitionId()));
+            }
+        }
+        final Map<String, Integer> labelsCount = getLegacyLabelsCount(graph,
+                                                                      allowedRoles);
+        final int inConnectorsCount = GraphUtils.countEdges(definitionManager,
+                                                            EDGE_ID,
+                                                            sourceNode.getInEdges());
+        final List<String> result = new ArrayList<>();
+        for (final String defId : allowedDefinitions) {
+            final Object target = factoryManager.newDefinition(defId);
+            if (null != target) {
+                final boolean hasCardinalityViolations = definitionAdapter.getLabels(target)
+                        .stream()
+                        .anyMatch(role -> !pass(ruleManager.evaluate(ruleSet,
+                                                                     RuleContextBuilder.DomainContexts.cardinality(Collections.singleton(role),
+                                                                                                                   labelsCount.getOrDefault(role,
+                                                                                                                                            0),
+                                                                                                                   Optional.of(CardinalityContext.Operation.ADD)))));
+                if (!hasCardinalityViolations
+                        && pass(ruleManager.evaluate(ruleSet,
+                                                     RuleContextBuilder.DomainContexts.edgeCardinality(Collections.singleton(defId),
+                                                                                                       EDGE_ID,
+                                                                                                       inConnectorsCount,
+                                                                                                       EdgeCardinalityContext.Direction.INCOMING,
+                                                                                                       Optional.of(CardinalityContext.Operation.ADD))))) {
+                    result.add(definitionAdapter.getId(target));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The labels count as computed before it was kept by the node store, by iterating over all the graph nodes.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Integer> getLegacyLabelsCount(final Graph graph,
+                                                             final Set<String> filter) {
+        final Map<String, Integer> labels = new LinkedHashMap<>();
+        graph.nodes().forEach(node -> {
+            final Set<String> nodeRoles = ((Node) node).getLabels();
+            if (null != nodeRoles) {
+                nodeRoles
+                        .stream()
+                        .filter(role -> null == filter || filter.contains(role))
+                        .forEach(role -> labels.put(role,
+                                                    labels.getOrDefault(role,
+                                                                        0) + 1));
+            }
+        });
+        return labels;
+    }
+
+    private void useDefinitionSet(final Object definitionSet) {
+        defSetId = BindableAdapterUtils.getDefinitionSetId(definitionSet.getClass());
+        when(definitionSetRegistry.getDefinitionSetById(eq(defSetId))).thenReturn(definitionSet);
+        when(ruleAdapter.getRuleSet(eq(definitionSet))).thenReturn(buildRuleSet(definitionSet.getClass()));
+        final TestScopeModelFactory modelFactory = new TestScopeModelFactory(definitionSet);
+        doAnswer(invocation -> modelFactory.build((String) invocation.getArguments()[0]))
+                .when(factoryManager).newDefinition(anyString());
+        nodeDefinitionIds = new ArrayList<>();
+        for (final Class<?> type : getDefinitionTypes(definitionSet.getClass())) {
+            if (NodeFactory.class.equals(RuntimeDefinitionAdapter.getGraphFactory(type))) {
+                nodeDefinitionIds.add(BindableAdapterUtils.getDefinitionId(type));
+            }
+        }
+        assertTrue(nodeDefinitionIds.contains(MORPH_TARGET_ID));
+        assertEquals(definitionSetAdapter.getDefinitions(definitionSet).size(),
+                     nodeDefinitionIds.size() + 1);
+    }
+
+    /**
+     * Builds the same rules as the ones generated at compile time from the rule annotations present on the
+     * Definition Set and on its definitions.
+     */
+    private static RuleSet buildRuleSet(final Class<?> definitionSetType) {
+        final List<Rule> rules = new ArrayList<>();
+        final String definitionSetId = BindableAdapterUtils.getDefinitionSetId(definitionSetType);
+        int count = 0;
+        for (final org.kie.workbench.common.stunner.core.rule.annotation.Occurrences occurrences :
+                definitionSetType.getAnnotationsByType(org.kie.workbench.common.stunner.core.rule.annotation.Occurrences.class)) {
+            rules.add(new Occurrences(definitionSetId + count++,
+                                      occurrences.role(),
+                                      (int) occurrences.min(),
+                                      (int) occurrences.max()));
+        }
+        for (final Class<?> type : getDefinitionTypes(definitionSetType)) {
+            final String id = BindableAdapterUtils.getDefinitionId(type);
+            final List<CanConnect.PermittedConnection> connections = new ArrayList<>();
+            for (final org.kie.workbench.common.stunner.core.rule.annotation.CanConnect canConnect :
+                    type.getAnnotationsByType(org.kie.workbench.common.stunner.core.rule.annotation.CanConnect.class)) {
+                connections.add(new CanConnect.PermittedConnection(canConnect.startRole(),
+                                                                   canConnect.endRole()));
+            }
+            if (!connections.isEmpty()) {
+                rules.add(new CanConnect(id,
+                                         id,
+                                         connections));
+            }
+            for (final org.kie.workbench.common.stunner.core.rule.annotation.EdgeOccurrences occurrences :
+                    type.getAnnotationsByType(org.kie.workbench.common.stunner.core.rule.annotation.EdgeOccurrences.class)) {
+                rules.add(new EdgeOccurrences(id + count++,
+                                              id,
+                                              occurrences.role(),
+                                              org.kie.workbench.common.stunner.core.rule.annotation.EdgeOccurrences.EdgeType.INCOMING.equals(occurrences.type()) ?
+                                                      EdgeCardinalityContext.Direction.INCOMING : EdgeCardinalityContext.Direction.OUTGOING,
+                                              occurrences.min(),
+                                              occurrences.max()));
+            }
+        }
+        return new RuleSetImpl(definitionSetId,
+                               rules);
+    }
+
+    private static Class<?>[] getDefinitionTypes(final Class<?> definitionSetType) {
+        return definitionSetType.getAnnotation(DefinitionSet.class).definitions();
+    }
+
+    private Node addNode(final Graph graph,
+                         final String definitionId) {
+        final Node node = nodeFactory.build("node" + nodeCount++,
+                                            factoryManager.newDefinition(definitionId));
+        graph.addNode(node);
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void connect(final Node source,
+                         final Node target) {
+        final Edge edge = edgeFactory.build(source.getUUID() + "_" + target.getUUID(),
+                                            factoryManager.newDefinition(EDGE_ID));
+        edge.setSourceNode(source);
+        edge.setTargetNode(target);
+        source.getOutEdges().add(edge);
+        target.getInEdges().add(edge);
+    }
+
+    /**
+     * Updates the node's definition and labels the same way as the <code>MorphNodeCommand</code> does.
+     */
+    @SuppressWarnings("unchecked")
+    private void morph(final Graph graph,
+                       final Node<Definition<Object>, Edge> node,
+                       final String definitionId) {
+        final Object definition = factoryManager.newDefinition(definitionId);
+        node.getContent().setDefinition(definition);
+        assertNotNull(graph.removeNode(node.getUUID()));
+        node.getLabels().clear();
+        node.getLabels().addAll(definitionAdapter.getLabels(definition));
+        graph.addNode(node);
+    }
+
+    private List<String> toIds(final Set<Object> definitions) {
+        if (null == definitions) {
+            return null;
+        }
+        final List<String> ids = new ArrayList<>();
+        definitions.forEach(definition -> ids.add(definitionAdapter.getId(definition)));
+        return ids;
+    }
+
+    private static boolean pass(final RuleViolations violations) {
+        return null == violations || !violations.violations(RuleViolation.Type.ERROR).iterator().hasNext();
+    }
+}
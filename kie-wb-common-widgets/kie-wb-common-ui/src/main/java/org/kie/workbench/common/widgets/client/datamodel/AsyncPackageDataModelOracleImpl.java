@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -30,6 +31,7 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.validation.ConstraintViolation;
 
+import com.google.gwt.core.client.Scheduler;
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.drools.workbench.models.datamodel.oracle.Annotation;
 import org.drools.workbench.models.datamodel.oracle.DataType;
@@ -59,6 +61,7 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
     private Caller<IncrementalDataModelService> service;
     private Instance<DynamicValidator> validatorInstance;
+    private Scheduler scheduler;
     private DynamicValidator validator;
 
     //Path that this DMO is coupled to
@@ -118,6 +121,9 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
     // Filtered (current package and imports) Fact Types and their corresponding fields
     private Map<String, ModelField[]> filteredModelFields = new TreeMap<String, ModelField[]>( SortHelper.ALPHABETICAL_ORDER_COMPARATOR );
 
+    //Reverse index of filteredModelFields: the class name of each Fact Type's "this" field -> Fact Type name
+    private Map<String, String> filteredFactNamesByType = new HashMap<String, String>();
+
     // Filtered (current package and imports) map of the field that contains the parametrized type of a collection
     // for example given "List<String> name", key = "name" value = "String"
     private Map<String, String> filteredFieldParametersType = new HashMap<String, String>();
@@ -159,11 +165,24 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
     // Keep the link between fact name and the full qualified class name inside the package
     private FactNameToFQCNHandleRegistry factNameToFQCNHandleRegistry = new FactNameToFQCNHandleRegistry();
 
+    // Fact Types whose incremental content has been requested but not loaded yet, and the callbacks waiting for them.
+    // Requests made in the same event loop are loaded from the server in a single call.
+    private Map<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>> pendingFactTypes = new LinkedHashMap<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>>();
+
     @Inject
     public AsyncPackageDataModelOracleImpl( final Caller<IncrementalDataModelService> service,
                                             final Instance<DynamicValidator> validatorInstance ) {
+        this( service,
+              validatorInstance,
+              Scheduler.get() );
+    }
+
+    public AsyncPackageDataModelOracleImpl( final Caller<IncrementalDataModelService> service,
+                                            final Instance<DynamicValidator> validatorInstance,
+                                            final Scheduler scheduler ) {
         this.service = service;
         this.validatorInstance = validatorInstance;
+        this.scheduler = scheduler;
     }
 
     public Map<String, ModelField[]> getFilteredFactTypes() {
@@ -181,6 +200,78 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
         return this.resourcePath;
     }
 
+    // ####################################
+    // Incremental content
+    // ####################################
+
+    /**
+     * Queues the load of the incremental content for a Fact Type. All the Fact Types queued in the same event loop
+     * are loaded with a single server call. The callback is invoked once the content has been added to the oracle.
+     * @param factType
+     * @param callback
+     */
+    protected void loadIncrementalContent( final String factType,
+                                           final RemoteCallback<PackageDataModelOracleIncrementalPayload> callback ) {
+        final boolean scheduleLoad = pendingFactTypes.isEmpty();
+
+        List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks = pendingFactTypes.get( factType );
+        if ( callbacks == null ) {
+            callbacks = new ArrayList<RemoteCallback<PackageDataModelOracleIncrementalPayload>>();
+            pendingFactTypes.put( factType,
+                                  callbacks );
+        }
+        callbacks.add( callback );
+
+        if ( scheduleLoad ) {
+            scheduleIncrementalContentLoad( new Scheduler.ScheduledCommand() {
+                @Override
+                public void execute() {
+                    loadPendingFactTypes();
+                }
+            } );
+        }
+    }
+
+    /**
+     * Schedules the load of the pending Fact Types at the end of the current event loop.
+     * @param command
+     */
+    protected void scheduleIncrementalContentLoad( final Scheduler.ScheduledCommand command ) {
+        scheduler.scheduleFinally( command );
+    }
+
+    private void loadPendingFactTypes() {
+        if ( pendingFactTypes.isEmpty() ) {
+            return;
+        }
+
+        final Map<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>> factTypes = pendingFactTypes;
+        pendingFactTypes = new LinkedHashMap<String, List<RemoteCallback<PackageDataModelOracleIncrementalPayload>>>();
+
+        final RemoteCallback<PackageDataModelOracleIncrementalPayload> callback = new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            @Override
+            public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
+                                                                              dataModel );
+                for ( List<RemoteCallback<PackageDataModelOracleIncrementalPayload>> callbacks : factTypes.values() ) {
+                    for ( RemoteCallback<PackageDataModelOracleIncrementalPayload> factTypeCallback : callbacks ) {
+                        factTypeCallback.callback( dataModel );
+                    }
+                }
+            }
+        };
+
+        if ( factTypes.size() == 1 ) {
+            service.call( callback ).getUpdates( resourcePath,
+                                                 imports,
+                                                 factTypes.keySet().iterator().next() );
+        } else {
+            service.call( callback ).getBatchedUpdates( resourcePath,
+                                                        imports,
+                                                        new HashSet<String>( factTypes.keySet() ) );
+        }
+    }
+
     // ####################################
     // Packages
     // ####################################
@@ -278,12 +369,9 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
         if ( filteredModelFields.containsKey( type ) ) {
             return type;
         }
-        for ( Map.Entry<String, ModelField[]> entry : filteredModelFields.entrySet() ) {
-            for ( ModelField mf : entry.getValue() ) {
-                if ( DataType.TYPE_THIS.equals( mf.getName() ) && type.equals( mf.getClassName() ) ) {
-                    return entry.getKey();
-                }
-            }
+        final String factName = filteredFactNamesByType.get( type );
+        if ( factName != null ) {
+            return factName;
         }
 
         final String fgcnByFactName = getFQCNByFactName( type );
@@ -324,23 +412,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( isFactTypeAnEvent == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Boolean isFactTypeAnEvent = filteredEventTypes.get( factType );
-                    if ( isFactTypeAnEvent == null ) {
-                        isFactTypeAnEvent = false;
-                        filteredEventTypes.put( factType,
-                                                isFactTypeAnEvent );
-                    }
-                    callback.callback( isFactTypeAnEvent );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            loadIncrementalContent( factType,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            Boolean isFactTypeAnEvent = filteredEventTypes.get( factType );
+                                            if ( isFactTypeAnEvent == null ) {
+                                                isFactTypeAnEvent = false;
+                                                filteredEventTypes.put( factType,
+                                                                        isFactTypeAnEvent );
+                                            }
+                                            callback.callback( isFactTypeAnEvent );
+                                        }
+                                    } );
 
         } else {
             callback.callback( isFactTypeAnEvent );
@@ -359,18 +444,15 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeSource == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            loadIncrementalContent( factType,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final TypeSource typeSource = filteredTypeSources.get( factType );
-                    callback.callback( typeSource );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            final TypeSource typeSource = filteredTypeSources.get( factType );
+                                            callback.callback( typeSource );
+                                        }
+                                    } );
 
         } else {
             callback.callback( typeSource );
@@ -407,17 +489,14 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( superTypes == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            loadIncrementalContent( factType,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    callback.callback( filteredSuperTypes.get( factType ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            callback.callback( filteredSuperTypes.get( factType ) );
+                                        }
+                                    } );
 
         } else {
             callback.callback( superTypes );
@@ -436,23 +515,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeAnnotations == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Set<Annotation> typeAnnotations = filteredTypeAnnotations.get( factType );
-                    if ( typeAnnotations == null ) {
-                        typeAnnotations = Collections.EMPTY_SET;
-                        filteredTypeAnnotations.put( factType,
-                                                     typeAnnotations );
-                    }
-                    callback.callback( typeAnnotations );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            loadIncrementalContent( factType,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            Set<Annotation> typeAnnotations = filteredTypeAnnotations.get( factType );
+                                            if ( typeAnnotations == null ) {
+                                                typeAnnotations = Collections.EMPTY_SET;
+                                                filteredTypeAnnotations.put( factType,
+                                                                             typeAnnotations );
+                                            }
+                                            callback.callback( typeAnnotations );
+                                        }
+                                    } );
 
         } else {
             callback.callback( typeAnnotations );
@@ -471,23 +547,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( typeFieldsAnnotations == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    Map<String, Set<Annotation>> typeFieldsAnnotations = filteredTypeFieldsAnnotations.get( factType );
-                    if ( typeFieldsAnnotations == null ) {
-                        typeFieldsAnnotations = Collections.EMPTY_MAP;
-                        filteredTypeFieldsAnnotations.put( factType,
-                                                           typeFieldsAnnotations );
-                    }
-                    callback.callback( typeFieldsAnnotations );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+            loadIncrementalContent( factType,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            Map<String, Set<Annotation>> typeFieldsAnnotations = filteredTypeFieldsAnnotations.get( factType );
+                                            if ( typeFieldsAnnotations == null ) {
+                                                typeFieldsAnnotations = Collections.EMPTY_MAP;
+                                                filteredTypeFieldsAnnotations.put( factType,
+                                                                                   typeFieldsAnnotations );
+                                            }
+                                            callback.callback( typeFieldsAnnotations );
+                                        }
+                                    } );
 
         } else {
             callback.callback( typeFieldsAnnotations );
@@ -561,24 +634,20 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( fields == null || fields.length == 0 ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
-
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-
-                    // This will stop an infinite loop if there are no fields to be found
-                    if ( dataModel.getModelFields().get( fgcnByFactName ) == null || dataModel.getModelFields().get( fgcnByFactName ).length == 0 ) {
-                        callback.callback( new ModelField[ 0 ] );
-                    } else {
-                        getFieldCompletions( factType,
-                                             callback );
-                    }
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fgcnByFactName );
+            loadIncrementalContent( fgcnByFactName,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            // This will stop an infinite loop if there are no fields to be found
+                                            if ( dataModel.getModelFields().get( fgcnByFactName ) == null || dataModel.getModelFields().get( fgcnByFactName ).length == 0 ) {
+                                                callback.callback( new ModelField[ 0 ] );
+                                            } else {
+                                                getFieldCompletions( factType,
+                                                                     callback );
+                                            }
+                                        }
+                                    } );
 
         } else {
             callback.callback( fields );
@@ -874,19 +943,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            loadIncrementalContent( fqcnByFactName,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnByFactName );
-                    callback.callback( getMethodInfos( parameterCount,
-                                                       methodInformation ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fqcnByFactName );
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnByFactName );
+                                            callback.callback( getMethodInfos( parameterCount,
+                                                                               methodInformation ) );
+                                        }
+                                    } );
 
         } else {
             callback.callback( getMethodInfos( parameterCount,
@@ -925,19 +991,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            loadIncrementalContent( fqcnFactName,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
-                    callback.callback( getMethodParams( methodInformation,
-                                                        methodNameWithParams ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            fqcnFactName );
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
+                                            callback.callback( getMethodParams( methodInformation,
+                                                                                methodNameWithParams ) );
+                                        }
+                                    } );
 
         } else {
             callback.callback( getMethodParams( methodInformation,
@@ -971,19 +1034,16 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            loadIncrementalContent( factType,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
-                    callback.callback( getMethodInfo( methodInformation,
-                                                      methodNameWithParams ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            final List<MethodInfo> methodInformation = projectMethodInformation.get( fqcnFactName );
+                                            callback.callback( getMethodInfo( methodInformation,
+                                                                              methodNameWithParams ) );
+                                        }
+                                    } );
 
         } else {
             callback.callback( getMethodInfo( methodInformation,
@@ -1043,17 +1103,14 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
 
         //Load incremental content
         if ( methodInformation == null ) {
-            service.call( new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
+            loadIncrementalContent( factType,
+                                    new RemoteCallback<PackageDataModelOracleIncrementalPayload>() {
 
-                @Override
-                public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
-                    AsyncPackageDataModelOracleUtilities.populateDataModelOracle( AsyncPackageDataModelOracleImpl.this,
-                                                                                  dataModel );
-                    callback.callback( projectMethodInformation.get( factType ) );
-                }
-            } ).getUpdates( resourcePath,
-                            imports,
-                            factType );
+                                        @Override
+                                        public void callback( final PackageDataModelOracleIncrementalPayload dataModel ) {
+                                            callback.callback( projectMethodInformation.get( factType ) );
+                                        }
+                                    } );
 
         } else {
             callback.callback( methodInformation );
@@ -1165,6 +1222,7 @@ public class AsyncPackageDataModelOracleImpl implements AsyncPackageDataModelOra
                                                                                             imports,
                                                                                             projectModelFields,
                                                                                             factNameToFQCNHandleRegistry ) );
+        filteredFactNamesByType = AsyncPackageDataModelOracleUtilities.indexFactNamesByType( filteredModelFields );
 
         // For filling the factNameToFQCNHandleRegistry
         AsyncPackageDataModelOracleUtilities.visitMethodInformation( projectMethodInformation,
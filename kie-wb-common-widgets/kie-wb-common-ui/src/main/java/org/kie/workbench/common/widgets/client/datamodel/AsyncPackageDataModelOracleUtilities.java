@@ -24,6 +24,7 @@ import java.util.Set;
 import org.drools.workbench.models.datamodel.imports.Import;
 import org.drools.workbench.models.datamodel.imports.Imports;
 import org.drools.workbench.models.datamodel.oracle.Annotation;
+import org.drools.workbench.models.datamodel.oracle.DataType;
 import org.drools.workbench.models.datamodel.oracle.MethodInfo;
 import org.drools.workbench.models.datamodel.oracle.ModelField;
 import org.drools.workbench.models.datamodel.oracle.TypeSource;
@@ -91,6 +92,23 @@ public class AsyncPackageDataModelOracleUtilities {
         return scopedModelFields;
     }
 
+    //Index the (filtered) Fact Types by the class name of their "this" field. The first Fact Type found wins.
+    public static Map<String, String> indexFactNamesByType( final Map<String, ModelField[]> filteredModelFields ) {
+        final Map<String, String> factNamesByType = new HashMap<String, String>();
+        for ( Map.Entry<String, ModelField[]> entry : filteredModelFields.entrySet() ) {
+            if ( entry.getValue() == null ) {
+                continue;
+            }
+            for ( ModelField mf : entry.getValue() ) {
+                if ( DataType.TYPE_THIS.equals( mf.getName() ) && mf.getClassName() != null && !factNamesByType.containsKey( mf.getClassName() ) ) {
+                    factNamesByType.put( mf.getClassName(),
+                                         entry.getKey() );
+                }
+            }
+        }
+        return factNamesByType;
+    }
+
     //Filter and rename Collection Types based on package name and imports
     public static Map<String, Boolean> filterCollectionTypes( final String packageName,
                                                               final Imports imports,
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.widgets.client.datamodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.enterprise.inject.Instance;
+
+import com.google.gwt.core.client.Scheduler;
+import org.drools.workbench.models.datamodel.imports.Import;
+import org.drools.workbench.models.datamodel.imports.Imports;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.ErrorCallback;
+import org.jboss.errai.common.client.api.RemoteCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.model.LazyModelField;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
+import org.kie.workbench.common.services.datamodel.service.IncrementalDataModelService;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.client.callbacks.Callback;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class AsyncPackageDataModelOracleImplBatchingTest {
+
+    private IncrementalDataModelService service;
+    private RemoteCallback<PackageDataModelOracleIncrementalPayload> remoteCallback;
+    private List<Scheduler.ScheduledCommand> scheduledCommands;
+    private AsyncPackageDataModelOracleImpl oracle;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        service = mock( IncrementalDataModelService.class );
+        scheduledCommands = new ArrayList<Scheduler.ScheduledCommand>();
+
+        final Scheduler scheduler = mock( Scheduler.class );
+        doAnswer( new Answer<Void>() {
+            @Override
+            public Void answer( final InvocationOnMock invocation ) {
+                scheduledCommands.add( (Scheduler.ScheduledCommand) invocation.getArguments()[ 0 ] );
+                return null;
+            }
+        } ).when( scheduler ).scheduleFinally( any( Scheduler.ScheduledCommand.class ) );
+
+        final Caller<IncrementalDataModelService> caller = new Caller<IncrementalDataModelService>() {
+            @Override
+            public IncrementalDataModelService call() {
+                return service;
+            }
+
+            @Override
+            public IncrementalDataModelService call( final RemoteCallback<?> callback ) {
+                remoteCallback = (RemoteCallback<PackageDataModelOracleIncrementalPayload>) callback;
+                return service;
+            }
+
+            @Override
+            public IncrementalDataModelService call( final RemoteCallback<?> callback,
+                                                     final ErrorCallback<?> errorCallback ) {
+                return call( callback );
+            }
+        };
+
+        oracle = new AsyncPackageDataModelOracleImpl( caller,
+                                                      mock( Instance.class ),
+                                                      scheduler );
+
+        final HashMap<String, ModelField[]> modelFields = new HashMap<String, ModelField[]>();
+        modelFields.put( "org.test.Person",
+                         new ModelField[]{ getLazyThisField( "org.test.Person" ) } );
+        modelFields.put( "org.test.Address",
+                         new ModelField[]{ getLazyThisField( "org.test.Address" ) } );
+        modelFields.put( "org.test.Company",
+                         new ModelField[]{ getLazyThisField( "org.test.Company" ) } );
+
+        final Imports imports = new Imports();
+        imports.addImport( new Import( "org.test.Person" ) );
+        imports.addImport( new Import( "org.test.Address" ) );
+        imports.addImport( new Import( "org.test.Company" ) );
+
+        oracle.setPackageName( "org" );
+        oracle.addModelFields( modelFields );
+        oracle.filter( imports );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFactTypesRequestedTogetherAreLoadedInASingleCall() throws Exception {
+        final Callback<ModelField[]> personCallback = mock( Callback.class );
+        final Callback<ModelField[]> addressCallback = mock( Callback.class );
+
+        oracle.getFieldCompletions( "Person",
+                                    personCallback );
+        oracle.getFieldCompletions( "Address",
+                                    addressCallback );
+
+        assertEquals( 1,
+                      scheduledCommands.size() );
+        verifyZeroInteractions( service );
+
+        scheduledCommands.get( 0 ).execute();
+
+        verify( service ).getBatchedUpdates( any( Path.class ),
+                                             any( Imports.class ),
+                                             eq( new HashSet<String>( Arrays.asList( "org.test.Person",
+                                                                                     "org.test.Address" ) ) ) );
+        verify( service,
+                never() ).getUpdates( any( Path.class ),
+                                      any( Imports.class ),
+                                      anyString() );
+
+        remoteCallback.callback( createPayload( "org.test.Person",
+                                                "org.test.Address" ) );
+
+        assertHasField( personCallback,
+                        "name" );
+        assertHasField( addressCallback,
+                        "name" );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSingleFactTypeIsLoadedWithoutBatching() throws Exception {
+        final Callback<ModelField[]> personCallback = mock( Callback.class );
+
+        oracle.getFieldCompletions( "Person",
+                                    personCallback );
+
+        assertEquals( 1,
+                      scheduledCommands.size() );
+
+        scheduledCommands.get( 0 ).execute();
+
+        verify( service ).getUpdates( any( Path.class ),
+                                      any( Imports.class ),
+                                      eq( "org.test.Person" ) );
+        verify( service,
+                never() ).getBatchedUpdates( any( Path.class ),
+                                             any( Imports.class ),
+                                             any( Set.class ) );
+
+        remoteCallback.callback( createPayload( "org.test.Person" ) );
+
+        assertHasField( personCallback,
+                        "name" );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFactTypeRequestedTwiceIsLoadedOnce() throws Exception {
+        final Callback<ModelField[]> firstCallback = mock( Callback.class );
+        final Callback<ModelField[]> secondCallback = mock( Callback.class );
+
+        oracle.getFieldCompletions( "Person",
+                                    firstCallback );
+        oracle.getFieldCompletions( "Person",
+                                    secondCallback );
+
+        assertEquals( 1,
+                      scheduledCommands.size() );
+
+        scheduledCommands.get( 0 ).execute();
+
+        verify( service,
+                times( 1 ) ).getUpdates( any( Path.class ),
+                                         any( Imports.class ),
+                                         eq( "org.test.Person" ) );
+
+        remoteCallback.callback( createPayload( "org.test.Person" ) );
+
+        assertHasField( firstCallback,
+                        "name" );
+        assertHasField( secondCallback,
+                        "name" );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSeveralFactTypesRequestedTogetherAreLoadedInASingleCall() throws Exception {
+        final Callback<ModelField[]> personCallback = mock( Callback.class );
+        final Callback<ModelField[]> addressCallback = mock( Callback.class );
+        final Callback<ModelField[]> secondPersonCallback = mock( Callback.class );
+        final Callback<ModelField[]> companyCallback = mock( Callback.class );
+
+        oracle.getFieldCompletions( "Person",
+                                    personCallback );
+        oracle.getFieldCompletions( "Address",
+                                    addressCallback );
+        oracle.getFieldCompletions( "Person",
+                                    secondPersonCallback );
+        oracle.getFieldCompletions( "Company",
+                                    companyCallback );
+
+        assertEquals( 1,
+                      scheduledCommands.size() );
+        verifyZeroInteractions( service );
+
+        scheduledCommands.get( 0 ).execute();
+
+        verify( service,
+                times( 1 ) ).getBatchedUpdates( any( Path.class ),
+                                                any( Imports.class ),
+                                                eq( new HashSet<String>( Arrays.asList( "org.test.Person",
+                                                                                        "org.test.Address",
+                                                                                        "org.test.Company" ) ) ) );
+        verify( service,
+                never() ).getUpdates( any( Path.class ),
+                                      any( Imports.class ),
+                                      anyString() );
+
+        remoteCallback.callback( createPayload( "org.test.Person",
+                                                "org.test.Address",
+                                                "org.test.Company" ) );
+
+        assertHasField( personCallback,
+                        "personId" );
+        assertHasField( secondPersonCallback,
+                        "personId" );
+        assertHasField( addressCallback,
+                        "addressId" );
+        assertHasField( companyCallback,
+                        "companyId" );
+        assertHasNoField( personCallback,
+                          "addressId" );
+        assertHasNoField( addressCallback,
+                          "companyId" );
+        assertHasNoField( companyCallback,
+                          "personId" );
+    }
+
+    private PackageDataModelOracleIncrementalPayload createPayload( final String... factTypes ) {
+        final PackageDataModelOracleIncrementalPayload payload = new PackageDataModelOracleIncrementalPayload();
+        final HashMap<String, ModelField[]> modelFields = new HashMap<String, ModelField[]>();
+        for ( String factType : factTypes ) {
+            modelFields.put( factType,
+                             new ModelField[]{
+                                     new ModelField( "this",
+                                                     factType,
+                                                     ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                                     ModelField.FIELD_ORIGIN.SELF,
+                                                     FieldAccessorsAndMutators.ACCESSOR,
+                                                     "this" ),
+                                     new ModelField( "name",
+                                                     "String",
+                                                     ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                                     ModelField.FIELD_ORIGIN.DECLARED,
+                                                     FieldAccessorsAndMutators.BOTH,
+                                                     "String" ),
+                                     new ModelField( getIdFieldName( factType ),
+                                                     "Long",
+                                                     ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                                     ModelField.FIELD_ORIGIN.DECLARED,
+                                                     FieldAccessorsAndMutators.BOTH,
+                                                     "Long" ) } );
+        }
+        payload.setModelFields( modelFields );
+        return payload;
+    }
+
+    private String getIdFieldName( final String factType ) {
+        final String simpleName = factType.substring( factType.lastIndexOf( '.' ) + 1 );
+        return simpleName.substring( 0,
+                                     1 ).toLowerCase() + simpleName.substring( 1 ) + "Id";
+    }
+
+    private LazyModelField getLazyThisField( final String clazz ) {
+        return new LazyModelField( "this",
+                                   clazz,
+                                   ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                   ModelField.FIELD_ORIGIN.SELF,
+                                   FieldAccessorsAndMutators.ACCESSOR,
+                                   "this" );
+    }
+
+    private void assertHasField( final Callback<ModelField[]> callback,
+                                 final String fieldName ) {
+        assertTrue( "Field '" + fieldName + "' not found",
+                    hasField( callback,
+                              fieldName ) );
+    }
+
+    private void assertHasNoField( final Callback<ModelField[]> callback,
+                                   final String fieldName ) {
+        assertFalse( "Field '" + fieldName + "' not expected",
+                     hasField( callback,
+                               fieldName ) );
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean hasField( final Callback<ModelField[]> callback,
+                              final String fieldName ) {
+        final ArgumentCaptor<ModelField[]> fieldsCaptor = ArgumentCaptor.forClass( ModelField[].class );
+        verify( callback ).callback( fieldsCaptor.capture() );
+
+        for ( ModelField field : fieldsCaptor.getValue() ) {
+            if ( fieldName.equals( field.getName() ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
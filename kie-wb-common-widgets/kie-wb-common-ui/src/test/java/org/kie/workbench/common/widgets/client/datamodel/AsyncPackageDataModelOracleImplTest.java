@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.enterprise.inject.Instance;
 
 import org.drools.workbench.models.datamodel.imports.Import;
@@ -61,7 +62,8 @@ public class AsyncPackageDataModelOracleImplTest {
     @Before
     public void setUp() throws Exception {
         AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( new Service(),
-                                                                                  validatorInstance );
+                                                                                  validatorInstance,
+                                                                                  new SynchronousScheduler() );
         personPayload = createPersonPayload();
         addressPayload = createAddressPayload();
         giantPayload = createGiantPayload();
@@ -670,6 +672,15 @@ public class AsyncPackageDataModelOracleImplTest {
 
                 return null;
             }
+
+            @Override
+            public PackageDataModelOracleIncrementalPayload getBatchedUpdates( Path resourcePath,
+                                                                               Imports imports,
+                                                                               Set<String> factTypes ) {
+                callback.callback( defaultPayload );
+
+                return null;
+            }
         };
 
         @Override
@@ -24,6 +24,7 @@ import java.util.TreeMap;
 
 import org.drools.workbench.models.datamodel.imports.Import;
 import org.drools.workbench.models.datamodel.imports.Imports;
+import org.drools.workbench.models.datamodel.oracle.DataType;
 import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
 import org.drools.workbench.models.datamodel.oracle.ModelField;
 import org.junit.Test;
@@ -108,6 +109,26 @@ public class AsyncPackageDataModelOracleUtilitiesTest {
         assertEquals( "org.test.sub.Location", addressSuperTypes.get( 0 ) );
     }
 
+    @Test
+    public void testIndexFactNamesByType() {
+        Map<String, ModelField[]> filteredModelFields = new TreeMap<String, ModelField[]>();
+        filteredModelFields.put( "Person", new ModelField[]{
+                getThisModelField( "org.test.sub.Person" ),
+                getModelField( "Address", "org.test.sub.Address" ) } );
+        filteredModelFields.put( "Address", new ModelField[]{ getThisModelField( "org.test.sub.Address" ) } );
+        filteredModelFields.put( "Unknown", null );
+
+        Map<String, String> factNamesByType = AsyncPackageDataModelOracleUtilities.indexFactNamesByType( filteredModelFields );
+
+        assertEquals( 2, factNamesByType.size() );
+        assertEquals( "Person", factNamesByType.get( "org.test.sub.Person" ) );
+        assertEquals( "Address", factNamesByType.get( "org.test.sub.Address" ) );
+    }
+
+    private ModelField getThisModelField( String className ) {
+        return new ModelField( DataType.TYPE_THIS, className, ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS, ModelField.FIELD_ORIGIN.SELF, FieldAccessorsAndMutators.ACCESSOR, DataType.TYPE_THIS );
+    }
+
     private ModelField getModelField( String type,
                                       String className ) {
         return new ModelField( "field", className, ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS, ModelField.FIELD_ORIGIN.DELEGATED, FieldAccessorsAndMutators.BOTH, type );
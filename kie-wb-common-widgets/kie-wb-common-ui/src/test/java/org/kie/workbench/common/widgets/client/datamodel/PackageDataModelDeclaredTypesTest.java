@@ -87,7 +87,8 @@ public class PackageDataModelDeclaredTypesTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( packageLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( "t1p1" );
@@ -75,7 +75,8 @@ public class PackageDataModelExtendJavaTypeTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( projectLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( "t4p1" );
@@ -118,7 +119,8 @@ public class PackageDataModelExtendJavaTypeTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( packageLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( "t4p1" );
@@ -160,7 +162,8 @@ public class PackageDataModelExtendJavaTypeTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( projectLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( "t5p1" );
@@ -202,7 +205,8 @@ public class PackageDataModelExtendJavaTypeTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( packageLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( "t5p1" );
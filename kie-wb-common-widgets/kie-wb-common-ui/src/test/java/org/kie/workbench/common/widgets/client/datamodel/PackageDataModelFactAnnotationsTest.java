@@ -69,7 +69,8 @@ public class PackageDataModelFactAnnotationsTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( packageLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( packageLoader.getPackageName() );
@@ -117,7 +118,8 @@ public class PackageDataModelFactAnnotationsTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( packageLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( packageLoader.getPackageName() );
@@ -175,7 +177,8 @@ public class PackageDataModelFactAnnotationsTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( packageLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( packageLoader.getPackageName() );
@@ -229,7 +232,8 @@ public class PackageDataModelFactAnnotationsTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( packageLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( packageLoader.getPackageName() );
@@ -275,7 +279,8 @@ public class PackageDataModelFactAnnotationsTest {
         //Emulate server-to-client conversions
         final Caller<IncrementalDataModelService> service = new MockIncrementalDataModelServiceCaller( packageLoader );
         final AsyncPackageDataModelOracle oracle = new AsyncPackageDataModelOracleImpl( service,
-                                                                                        validatorInstance );
+                                                                                        validatorInstance,
+                                                                                        new SynchronousScheduler() );
 
         final PackageDataModelOracleBaselinePayload dataModel = new PackageDataModelOracleBaselinePayload();
         dataModel.setPackageName( packageLoader.getPackageName() );
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.widgets.client.datamodel;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.enterprise.inject.Instance;
+
+import org.drools.workbench.models.datamodel.imports.Import;
+import org.drools.workbench.models.datamodel.imports.Imports;
+import org.drools.workbench.models.datamodel.oracle.DataType;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.jboss.errai.common.client.api.Caller;
+import org.jboss.errai.common.client.api.ErrorCallback;
+import org.jboss.errai.common.client.api.RemoteCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.model.LazyModelField;
+import org.kie.workbench.common.services.datamodel.model.PackageDataModelOracleIncrementalPayload;
+import org.kie.workbench.common.services.datamodel.service.IncrementalDataModelService;
+import org.uberfire.client.callbacks.Callback;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for AsyncPackageDataModelOracle.getFactNameFromType(), that uses an index of the filtered Fact Types by the
+ * class name of their "this" field.
+ */
+public class PackageDataModelFactNameFromTypeTest {
+
+    private static final int BENCHMARK_FACT_TYPES = 2000;
+
+    private static final String[] TYPES = new String[]{
+            "org.test.Person", "Person",
+            "org.test.Bank", "Bank",
+            "org.test.Mortgage", "Mortgage",
+            "org.other.Address", "Address",
+            "org.test.Unknown", "Unknown"
+    };
+
+    private Set<String> projectFactTypes = new HashSet<String>();
+    private RemoteCallback<PackageDataModelOracleIncrementalPayload> remoteCallback;
+    private AsyncPackageDataModelOracleImpl oracle;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        final IncrementalDataModelService service = mock( IncrementalDataModelService.class );
+        final Caller<IncrementalDataModelService> caller = new Caller<IncrementalDataModelService>() {
+            @Override
+            public IncrementalDataModelService call() {
+                return service;
+            }
+
+            @Override
+            public IncrementalDataModelService call( final RemoteCallback<?> callback ) {
+                remoteCallback = (RemoteCallback<PackageDataModelOracleIncrementalPayload>) callback;
+                return service;
+            }
+
+            @Override
+            public IncrementalDataModelService call( final RemoteCallback<?> callback,
+                                                     final ErrorCallback<?> errorCallback ) {
+                return call( callback );
+            }
+        };
+
+        oracle = new AsyncPackageDataModelOracleImpl( caller,
+                                                      mock( Instance.class ),
+                                                      new SynchronousScheduler() );
+
+        final Map<String, ModelField[]> modelFields = new HashMap<String, ModelField[]>();
+        modelFields.put( "org.test.Person",
+                         new ModelField[]{ getLazyThisField( "org.test.Person" ) } );
+        modelFields.put( "org.test.Bank",
+                         new ModelField[]{ getLazyThisField( "org.test.Bank" ) } );
+        modelFields.put( "org.other.Address",
+                         new ModelField[]{ getLazyThisField( "org.other.Address" ) } );
+
+        oracle.setPackageName( "org.test" );
+        addModelFields( modelFields );
+        oracle.filter( new Imports() );
+    }
+
+    @Test
+    public void testFactNameFromTypeAfterFilter() throws Exception {
+        assertEquals( "Person",
+                      oracle.getFactNameFromType( "org.test.Person" ) );
+        assertEquals( "Person",
+                      oracle.getFactNameFromType( "Person" ) );
+        assertFalse( oracle.getFilteredFactTypes().containsKey( "Address" ) );
+        assertSameAsScan();
+
+        final Imports imports = new Imports();
+        imports.addImport( new Import( "org.other.Address" ) );
+        oracle.filter( imports );
+
+        assertTrue( oracle.getFilteredFactTypes().containsKey( "Address" ) );
+        assertEquals( "Address",
+                      oracle.getFactNameFromType( "org.other.Address" ) );
+        assertEquals( "Person",
+                      oracle.getFactNameFromType( "org.test.Person" ) );
+        assertSameAsScan();
+
+        oracle.filter( new Imports() );
+
+        assertFalse( oracle.getFilteredFactTypes().containsKey( "Address" ) );
+        assertEquals( "Person",
+                      oracle.getFactNameFromType( "org.test.Person" ) );
+        assertSameAsScan();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFactNameFromTypeAfterIncrementalUpdate() throws Exception {
+        final Callback<ModelField[]> callback = mock( Callback.class );
+
+        oracle.getFieldCompletions( "Person",
+                                    callback );
+        remoteCallback.callback( createPayload( "org.test.Person",
+                                                "org.test.Mortgage" ) );
+
+        verify( callback ).callback( any( ModelField[].class ) );
+        assertEquals( "Person",
+                      oracle.getFactNameFromType( "org.test.Person" ) );
+        assertEquals( "Bank",
+                      oracle.getFactNameFromType( "org.test.Bank" ) );
+        //Fact Types only known after the incremental update are also indexed
+        assertEquals( "Mortgage",
+                      oracle.getFactNameFromType( "org.test.Mortgage" ) );
+        assertSameAsScan();
+    }
+
+    @Test
+    public void testFactNameFromUnknownType() throws Exception {
+        assertNull( oracle.getFactNameFromType( "org.test.Unknown" ) );
+        assertNull( oracle.getFactNameFromType( "" ) );
+        assertNull( oracle.getFactNameFromType( null ) );
+    }
+
+    @Test
+    public void testFactNameFromTypeWithManyFactTypes() throws Exception {
+        final Map<String, ModelField[]> modelFields = new HashMap<String, ModelField[]>();
+        for ( int i = 0; i < BENCHMARK_FACT_TYPES; i++ ) {
+            final String type = "org.test.Fact" + i;
+            modelFields.put( type,
+                             new ModelField[]{ getThisField( type ),
+                                     new ModelField( "name",
+                                                     "String",
+                                                     ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                                     ModelField.FIELD_ORIGIN.DECLARED,
+                                                     FieldAccessorsAndMutators.BOTH,
+                                                     "String" ) } );
+        }
+        addModelFields( modelFields );
+        oracle.filter();
+
+        //Warm up both lookups before measuring them
+        lookupAll( true );
+        lookupAll( false );
+
+        final long indexStart = System.nanoTime();
+        lookupAll( true );
+        final long indexTime = System.nanoTime() - indexStart;
+
+        final long scanStart = System.nanoTime();
+        lookupAll( false );
+        final long scanTime = System.nanoTime() - scanStart;
+
+        //The index makes each lookup independent of the number of Fact Types, while the scan visits all of them
+        assertTrue( "Indexed lookups took " + indexTime + "ns, scanning took " + scanTime + "ns",
+                    indexTime < scanTime );
+    }
+
+    private void lookupAll( final boolean indexed ) {
+        for ( int i = 0; i < BENCHMARK_FACT_TYPES; i++ ) {
+            final String type = "org.test.Fact" + i;
+            final String factName = indexed ? oracle.getFactNameFromType( type ) : scanFactNameFromType( type );
+            assertEquals( "Fact" + i,
+                          factName );
+        }
+    }
+
+    //The indexed lookup must give the same results as the full scan it replaced
+    private void assertSameAsScan() {
+        for ( String type : TYPES ) {
+            assertEquals( type,
+                          scanFactNameFromType( type ),
+                          oracle.getFactNameFromType( type ) );
+        }
+    }
+
+    //Lookup used by getFactNameFromType() before the Fact Types were indexed: scan the fields of every filtered Fact
+    //Type and then fall back to the project's Fact Types, that is the part of getFactNameFromType() left unchanged
+    private String scanFactNameFromType( final String type ) {
+        final Map<String, ModelField[]> filteredModelFields = oracle.getFilteredFactTypes();
+        if ( filteredModelFields.containsKey( type ) ) {
+            return type;
+        }
+        for ( Map.Entry<String, ModelField[]> entry : filteredModelFields.entrySet() ) {
+            for ( ModelField mf : entry.getValue() ) {
+                if ( DataType.TYPE_THIS.equals( mf.getName() ) && type.equals( mf.getClassName() ) ) {
+                    return entry.getKey();
+                }
+            }
+        }
+        final String fqcnByFactName = oracle.getFQCNByFactName( type );
+        if ( projectFactTypes.contains( fqcnByFactName ) ) {
+            return AsyncPackageDataModelOracleUtilities.getTypeName( fqcnByFactName );
+        }
+        return null;
+    }
+
+    private PackageDataModelOracleIncrementalPayload createPayload( final String... factTypes ) {
+        final PackageDataModelOracleIncrementalPayload payload = new PackageDataModelOracleIncrementalPayload();
+        final HashMap<String, ModelField[]> modelFields = new HashMap<String, ModelField[]>();
+        for ( String factType : factTypes ) {
+            modelFields.put( factType,
+                             new ModelField[]{
+                                     getThisField( factType ),
+                                     new ModelField( "name",
+                                                     "String",
+                                                     ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                                     ModelField.FIELD_ORIGIN.DECLARED,
+                                                     FieldAccessorsAndMutators.BOTH,
+                                                     "String" ) } );
+        }
+        payload.setModelFields( modelFields );
+        projectFactTypes.addAll( modelFields.keySet() );
+        return payload;
+    }
+
+    private void addModelFields( final Map<String, ModelField[]> modelFields ) {
+        oracle.addModelFields( modelFields );
+        projectFactTypes.addAll( modelFields.keySet() );
+    }
+
+    private ModelField getThisField( final String clazz ) {
+        return new ModelField( DataType.TYPE_THIS,
+                               clazz,
+                               ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                               ModelField.FIELD_ORIGIN.SELF,
+                               FieldAccessorsAndMutators.ACCESSOR,
+                               DataType.TYPE_THIS );
+    }
+
+    private LazyModelField getLazyThisField( final String clazz ) {
+        return new LazyModelField( DataType.TYPE_THIS,
+                                   clazz,
+                                   ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                   ModelField.FIELD_ORIGIN.SELF,
+                                   FieldAccessorsAndMutators.ACCESSOR,
+                                   DataType.TYPE_THIS );
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.widgets.client.datamodel;
+
+import com.google.gwt.core.client.Scheduler;
+
+/**
+ * Scheduler that executes the commands straight away, as there's no event loop in the unit tests.
+ */
+public class SynchronousScheduler extends Scheduler {
+
+    @Override
+    public void scheduleDeferred( final ScheduledCommand cmd ) {
+        cmd.execute();
+    }
+
+    @Override
+    public void scheduleEntry( final RepeatingCommand cmd ) {
+        execute( cmd );
+    }
+
+    @Override
+    public void scheduleEntry( final ScheduledCommand cmd ) {
+        cmd.execute();
+    }
+
+    @Override
+    public void scheduleFinally( final RepeatingCommand cmd ) {
+        execute( cmd );
+    }
+
+    @Override
+    public void scheduleFinally( final ScheduledCommand cmd ) {
+        cmd.execute();
+    }
+
+    @Override
+    public void scheduleFixedDelay( final RepeatingCommand cmd,
+                                    final int delayMs ) {
+        execute( cmd );
+    }
+
+    @Override
+    public void scheduleFixedPeriod( final RepeatingCommand cmd,
+                                     final int delayMs ) {
+        execute( cmd );
+    }
+
+    @Override
+    public void scheduleIncremental( final RepeatingCommand cmd ) {
+        execute( cmd );
+    }
+
+    private void execute( final RepeatingCommand cmd ) {
+        while ( cmd.execute() ) {
+            //Repeat until the command is done
+        }
+    }
+}
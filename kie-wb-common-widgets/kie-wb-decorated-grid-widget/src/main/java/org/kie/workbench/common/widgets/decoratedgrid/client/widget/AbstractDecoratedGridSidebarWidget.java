@@ -17,6 +17,7 @@ package org.kie.workbench.common.widgets.decoratedgrid.client.widget;
 
 import com.google.gwt.event.shared.EventBus;
 import com.google.gwt.user.client.ui.Composite;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowWindow;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.AppendRowEvent;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.DeleteRowEvent;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.InsertRowEvent;
@@ -94,6 +95,15 @@ public abstract class AbstractDecoratedGridSidebarWidget<M, T> extends Composite
      */
     abstract void redraw();
 
+    /**
+     * Set the rows rendered by the grid when it is rendered in windowed mode,
+     * so the sidebar can restrict the controls it creates to the same rows.
+     * Sidebars that always render controls for every row can ignore this.
+     * @param rows The rendered rows or null if all rows are rendered
+     */
+    public void setRenderedRows( RowWindow rows ) {
+    }
+
     /**
      * Show the Context Menu
      * @param index
@@ -17,6 +17,7 @@ package org.kie.workbench.common.widgets.decoratedgrid.client.widget;
 
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.event.dom.client.ScrollEvent;
 import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.event.logical.shared.ResizeEvent;
 import com.google.gwt.event.logical.shared.ResizeHandler;
@@ -115,6 +116,13 @@ public abstract class AbstractDecoratedGridWidget<M, T, C> extends Composite
         scrollPanel = new ScrollPanel();
         scrollPanel.add( gridWidget );
         scrollPanel.addScrollHandler( getScrollHandler() );
+        scrollPanel.addScrollHandler( new ScrollHandler() {
+
+            public void onScroll( ScrollEvent event ) {
+                assertRenderedRows();
+            }
+
+        } );
 
         initialiseHeaderWidget();
         initialiseSidebarWidget();
@@ -141,6 +149,26 @@ public abstract class AbstractDecoratedGridWidget<M, T, C> extends Composite
                                        + "px" );
         sidebarWidget.setHeight( scrollPanel.getElement().getClientHeight()
                                          + "px" );
+        assertRenderedRows();
+    }
+
+    /**
+     * Enable or disable windowed rendering of the grid, where only rows
+     * within (or close to) the visible area are rendered. This is useful for
+     * grids containing a large number of rows.
+     * @param isWindowed
+     */
+    public void setWindowedRendering( boolean isWindowed ) {
+        gridWidget.setWindowedRendering( isWindowed );
+        assertRenderedRows();
+    }
+
+    //Inform the grid of the visible area and the sidebar of the rows rendered
+    //by the grid, so rows scrolled into view are rendered by both
+    private void assertRenderedRows() {
+        gridWidget.setViewport( scrollPanel.getVerticalScrollPosition(),
+                                scrollPanel.getElement().getClientHeight() );
+        sidebarWidget.setRenderedRows( gridWidget.getRenderedRows() );
     }
 
     /**
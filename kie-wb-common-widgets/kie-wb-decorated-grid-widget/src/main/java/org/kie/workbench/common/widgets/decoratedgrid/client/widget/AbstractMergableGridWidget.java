@@ -41,6 +41,7 @@ import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Dynamic
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.GroupedDynamicDataRow;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowMapper;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowWindow;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.AppendRowEvent;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.CellStateChangedEvent;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.ColumnResizeEvent;
@@ -205,6 +206,16 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
 
     protected final boolean isReadOnly;
 
+    //Number of rows rendered above and below the viewport in windowed mode
+    protected static final int WINDOW_BUFFER_ROWS = 20;
+
+    //Windowed rendering only materialises rows in (or close to) the viewport.
+    //renderedRows is null when all rows are rendered
+    protected boolean isWindowed = false;
+    protected RowWindow renderedRows;
+    private int viewportScrollOffset = 0;
+    private int viewportHeight = 0;
+
     /**
      * A grid of cells.
      */
@@ -670,6 +681,24 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
 
         Coordinate hc = cv.getHtmlCoordinate();
         TableRowElement tre = tbody.getRows().getItem( hc.getRow() ).<TableRowElement>cast();
+
+        // Cells in placeholder rows have no element; derive extents from the row and column sizes
+        if ( !isRowRendered( hc.getRow() ) ) {
+            int offsetX = 0;
+            for ( int iCol = 0; iCol < cv.getCoordinate().getCol(); iCol++ ) {
+                DynamicColumn<T> col = columns.get( iCol );
+                if ( col.isVisible() ) {
+                    offsetX = offsetX + col.getWidth();
+                }
+            }
+            return new CellSelectionDetail( cv.getCoordinate(),
+                                            offsetX,
+                                            tre.getOffsetTop(),
+                                            resources.rowHeight() * Math.max( cv.getRowSpan(),
+                                                                              1 ),
+                                            columns.get( cv.getCoordinate().getCol() ).getWidth() );
+        }
+
         TableCellElement tce = tre.getCells().getItem( hc.getCol() ).<TableCellElement>cast();
         int offsetX = tce.getOffsetLeft();
         int offsetY = tce.getOffsetTop();
@@ -828,6 +857,93 @@ public abstract class AbstractMergableGridWidget<M, T> extends Widget
         reindexColumns();
     }
 
+    /**
+     * Enable or disable windowed rendering. When enabled only rows within the
+     * viewport, plus a buffer, are rendered. Other rows are represented by
+     * empty placeholders of the same height so scrolling and alignment with
+     * the sidebar is unaffected. The viewport should be provided by calling
+     * setViewport(int, int) whenever the grid is scrolled or resized.
+     * @param isWindowed
+     */
+    public void setWindowedRendering( boolean isWindowed ) {
+        if ( this.isWindowed == isWindowed ) {
+            return;
+        }
+        this.isWindowed = isWindowed;
+        if ( data != null ) {
+            redraw();
+        }
+    }
+
+    public boolean isWindowedRendering() {
+        return isWindowed;
+    }
+
+    /**
+     * Set the visible area of the grid. In windowed mode rows that have
+     * scrolled into view are rendered and those that have scrolled out of
+     * view are replaced by placeholders.
+     * @param scrollOffset Vertical scroll position, in pixels
+     * @param viewportHeight Height of the visible area, in pixels
+     */
+    public void setViewport( int scrollOffset,
+                             int viewportHeight ) {
+        if ( scrollOffset < 0 ) {
+            throw new IllegalArgumentException( "scrollOffset cannot be less than zero" );
+        }
+        if ( viewportHeight < 0 ) {
+            throw new IllegalArgumentException( "viewportHeight cannot be less than zero" );
+        }
+        this.viewportScrollOffset = scrollOffset;
+        this.viewportHeight = viewportHeight;
+        if ( isWindowed && data != null ) {
+            RowWindow previousRows = renderedRows;
+            renderedRows = calculateRenderedRows();
+            if ( !renderedRows.equals( previousRows ) ) {
+                redrawWindow( previousRows,
+                              renderedRows );
+            }
+        }
+    }
+
+    /**
+     * Rows currently rendered
+     * @return The rendered rows or null if all rows are rendered
+     */
+    public RowWindow getRenderedRows() {
+        return renderedRows;
+    }
+
+    //Calculate the rows to render, or null if all rows should be rendered
+    protected RowWindow calculateRenderedRows() {
+        if ( !isWindowed ) {
+            return null;
+        }
+        return RowWindow.calculate( data,
+                                    viewportScrollOffset,
+                                    viewportHeight,
+                                    resources.rowHeight(),
+                                    WINDOW_BUFFER_ROWS );
+    }
+
+    /**
+     * Check whether a row is rendered or represented by a placeholder
+     * @param iRow
+     * @return
+     */
+    protected boolean isRowRendered( int iRow ) {
+        return renderedRows == null || renderedRows.contains( iRow );
+    }
+
+    /**
+     * Render rows that have moved into the window and replace rows that have
+     * left the window with placeholders.
+     * @param previousRows Rows previously rendered (can be null)
+     * @param rows Rows to be rendered
+     */
+    abstract void redrawWindow( RowWindow previousRows,
+                                RowWindow rows );
+
     public void onToggleMerging( ToggleMergingEvent event ) {
         clearSelection();
         if ( event.isMerged() ) {
@@ -43,6 +43,7 @@ import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.Paste
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.ToggleMergingEvent;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowMapper;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowWindow;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.RowGroupingChangeEvent;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.AppendRowEvent;
 
@@ -60,7 +61,8 @@ public abstract class AbstractVerticalDecoratedGridSidebarWidget<M, T> extends A
      */
     private class VerticalSelectorWidget extends CellPanel {
 
-        // Widgets (selectors) created (so they can be removed later)
+        // Widgets (selectors) created (so they can be removed later). Rows
+        // outside of the grid's rendered window have a null entry
         private ArrayList<Widget> widgets = new ArrayList<Widget>();
 
         private VerticalSelectorWidget( EventBus eventBus ) {
@@ -83,9 +85,12 @@ public abstract class AbstractVerticalDecoratedGridSidebarWidget<M, T> extends A
                              tre );
             tre.appendChild( tce );
 
-            Widget widget = makeRowWidget();
-            add( widget,
-                 tce );
+            Widget widget = null;
+            if ( isRowRendered( widgets.size() ) ) {
+                widget = makeRowWidget();
+                add( widget,
+                     tce );
+            }
 
             widgets.add( widget );
             fixStyles( widgets.size() );
@@ -106,9 +111,12 @@ public abstract class AbstractVerticalDecoratedGridSidebarWidget<M, T> extends A
                              index );
             tre.appendChild( tce );
 
-            Widget widget = makeRowWidget();
-            add( widget,
-                 tce );
+            Widget widget = null;
+            if ( isRowRendered( index ) ) {
+                widget = makeRowWidget();
+                add( widget,
+                     tce );
+            }
 
             widgets.add( index,
                          widget );
@@ -120,7 +128,9 @@ public abstract class AbstractVerticalDecoratedGridSidebarWidget<M, T> extends A
 
             //UI Components
             Widget widget = widgets.get( index );
-            remove( widget );
+            if ( widget != null ) {
+                remove( widget );
+            }
             getBody().<TableSectionElement>cast().deleteRow( index );
 
             widgets.remove( index );
@@ -141,6 +151,28 @@ public abstract class AbstractVerticalDecoratedGridSidebarWidget<M, T> extends A
 
         }
 
+        // Create selectors for rows that have moved into the rendered window
+        // and remove those for rows that have left it
+        private void assertRowWidgets() {
+            for ( int iRow = 0; iRow < widgets.size(); iRow++ ) {
+                Widget widget = widgets.get( iRow );
+                if ( isRowRendered( iRow ) ) {
+                    if ( widget == null ) {
+                        Element tce = getBody().getChild( iRow ).getFirstChild().cast();
+                        widget = makeRowWidget();
+                        add( widget,
+                             tce );
+                        widgets.set( iRow,
+                                     widget );
+                    }
+                } else if ( widget != null ) {
+                    remove( widget );
+                    widgets.set( iRow,
+                                 null );
+                }
+            }
+        }
+
         // Row styles need to be re-applied after inserting and deleting rows
         private void fixStyles( int iRow ) {
             while ( iRow < getBody().getChildCount() ) {
@@ -340,6 +372,9 @@ public abstract class AbstractVerticalDecoratedGridSidebarWidget<M, T> extends A
     protected DynamicData data;
     protected RowMapper rowMapper;
 
+    //Rows rendered by the grid, null if all rows are rendered
+    private RowWindow renderedRows;
+
     /**
      * Construct a "Sidebar" for the provided DecisionTable
      * @param resources
@@ -399,6 +434,16 @@ public abstract class AbstractVerticalDecoratedGridSidebarWidget<M, T> extends A
         selectors.redraw();
     }
 
+    @Override
+    public void setRenderedRows( RowWindow rows ) {
+        this.renderedRows = rows;
+        selectors.assertRowWidgets();
+    }
+
+    private boolean isRowRendered( int iRow ) {
+        return renderedRows == null || renderedRows.contains( iRow );
+    }
+
     public void onDeleteRow( DeleteRowEvent event ) {
         int index = rowMapper.mapToMergedRow( event.getIndex() );
         selectors.deleteRow( index );
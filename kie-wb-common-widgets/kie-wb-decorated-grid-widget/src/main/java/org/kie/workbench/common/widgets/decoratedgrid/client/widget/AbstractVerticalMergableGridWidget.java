@@ -38,6 +38,7 @@ import com.google.gwt.user.client.Event;
 import org.kie.workbench.common.widgets.decoratedgrid.client.resources.i18n.Constants;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowWindow;
 import org.kie.workbench.common.widgets.decoratedgrid.client.widget.events.UpdateSelectedCellsEvent;
 
 /**
@@ -49,6 +50,9 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
     //Deferred binding creates an appropriate class depending on browser
     private CellHeightCalculatorImpl cellHeightCalculator = GWT.create( CellHeightCalculatorImpl.class );
 
+    //Attribute marking rows that are not rendered in windowed mode
+    private static final String PLACEHOLDER_ATTRIBUTE = "data-placeholder";
+
     public AbstractVerticalMergableGridWidget( ResourcesProvider<T> resources,
                                                AbstractCellFactory<T> cellFactory,
                                                AbstractCellValueFactory<T, ?> cellValueFactory,
@@ -133,6 +137,9 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
                         break;
                 }
                 eventPhysicalCoordinate = eventPhysicalCell.getCoordinate();
+                if ( !isRowRendered( eventPhysicalCell.getHtmlCoordinate().getRow() ) ) {
+                    return;
+                }
                 eventTableCell = tbody.getRows().getItem( eventPhysicalCell.getHtmlCoordinate().getRow() ).getCells().getItem( eventPhysicalCell.getHtmlCoordinate().getCol() );
             }
         }
@@ -161,15 +168,11 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
     protected void redraw() {
 
         TableSectionElement nbody = Document.get().createTBodyElement();
+        renderedRows = calculateRenderedRows();
 
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-
-            DynamicDataRow rowData = data.get( iRow );
-
-            TableRowElement tre = Document.get().createTRElement();
+            TableRowElement tre = makeTableRowElement( iRow );
             tre.setClassName( getRowStyle( iRow ) );
-            populateTableRowElement( tre,
-                                     rowData );
             nbody.appendChild( tre );
         }
 
@@ -200,6 +203,9 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         }
 
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
+            if ( !isRowRendered( iRow ) ) {
+                continue;
+            }
             TableRowElement tre = tbody.getRows().getItem( iRow );
             DynamicDataRow rowData = data.get( iRow );
             redrawTableRowElement( rowData,
@@ -225,6 +231,9 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             CellValue<? extends Comparable<?>> cell = row
                     .get( iCol );
             Coordinate c = cell.getHtmlCoordinate();
+            if ( !isRowRendered( c.getRow() ) ) {
+                continue;
+            }
             TableRowElement tre = tbody.getRows().getItem( c.getRow() );
             TableCellElement tce = tre.getCells().getItem( c.getCol() );
             DivElement div = tce.getFirstChild().<DivElement>cast();
@@ -484,6 +493,80 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
     }
 
+    // Make a TableRowElement for the given row; either complete or a
+    // placeholder if the row is outside of the rendered window
+    private TableRowElement makeTableRowElement( int iRow ) {
+        TableRowElement tre = Document.get().createTRElement();
+        if ( isRowRendered( iRow ) ) {
+            populateTableRowElement( tre,
+                                     data.get( iRow ) );
+        } else {
+            populatePlaceholderRowElement( tre );
+        }
+        return tre;
+    }
+
+    // Populate an empty TableRowElement as a placeholder for a row that is not
+    // rendered. Placeholders have the same height as a row so the scrollable
+    // extent of the grid and alignment with the sidebar is unaffected
+    private TableRowElement populatePlaceholderRowElement( TableRowElement tre ) {
+        tre.getStyle().setHeight( resources.rowHeight(),
+                                  Unit.PX );
+        tre.setAttribute( PLACEHOLDER_ATTRIBUTE,
+                          "true" );
+        return tre;
+    }
+
+    private boolean isPlaceholderRowElement( TableRowElement tre ) {
+        return tre.hasAttribute( PLACEHOLDER_ATTRIBUTE );
+    }
+
+    // Ensure rows within the given range are rendered, or are placeholders,
+    // according to the rendered window. Rows already in the correct state
+    // are not touched.
+    private void assertRowElements( int startIndex,
+                                    int endIndex ) {
+        endIndex = Math.min( endIndex,
+                             tbody.getRows().getLength() - 1 );
+        for ( int iRow = startIndex; iRow <= endIndex; iRow++ ) {
+            TableRowElement tre = tbody.getRows().getItem( iRow );
+            if ( isRowRendered( iRow ) == !isPlaceholderRowElement( tre ) ) {
+                continue;
+            }
+            TableRowElement ntre = makeTableRowElement( iRow );
+            ntre.setClassName( getRowStyle( iRow ) );
+            tbody.replaceChild( ntre,
+                                tre );
+        }
+    }
+
+    @Override
+    void redrawWindow( RowWindow previousRows,
+                       RowWindow rows ) {
+        if ( previousRows == null ) {
+            assertRowElements( 0,
+                               data.size() - 1 );
+            return;
+        }
+
+        //Rows outside of both windows are already placeholders
+        int startIndex = Math.min( previousRows.isEmpty() ? rows.getFirstRow() : previousRows.getFirstRow(),
+                                   rows.isEmpty() ? previousRows.getFirstRow() : rows.getFirstRow() );
+        int endIndex = Math.max( previousRows.getLastRow(),
+                                 rows.getLastRow() );
+        assertRowElements( startIndex,
+                           endIndex );
+
+        //Restore focus to the active cell if it has just been rendered
+        CellValue<?> activeCell = ( rangeExtentCell == null ? rangeOriginCell : rangeExtentCell );
+        if ( activeCell != null && activeCell.isSelected() ) {
+            int iRow = activeCell.getHtmlCoordinate().getRow();
+            if ( rows.contains( iRow ) && !previousRows.contains( iRow ) ) {
+                selectCell( activeCell );
+            }
+        }
+    }
+
     // Redraw a row adding new cells if necessary. This is used to populate part
     // of a row from the given index onwards, when a new column has been
     // inserted. It is important the indexes on the underlying data have
@@ -529,17 +612,29 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
 
     @Override
     protected void createEmptyRowElement( int index ) {
-        tbody.insertRow( index );
+        TableRowElement tre = tbody.insertRow( index );
+        if ( isWindowed ) {
+            populatePlaceholderRowElement( tre );
+        }
         fixRowStyles( index );
     }
 
     @Override
     protected void createRowElement( int index,
                                      DynamicDataRow rowData ) {
+        renderedRows = calculateRenderedRows();
         TableRowElement tre = tbody.insertRow( index );
-        populateTableRowElement( tre,
-                                 rowData );
+        if ( isRowRendered( index ) ) {
+            populateTableRowElement( tre,
+                                     rowData );
+        } else {
+            populatePlaceholderRowElement( tre );
+        }
         fixRowStyles( index );
+        if ( isWindowed ) {
+            assertRowElements( 0,
+                               data.size() - 1 );
+        }
     }
 
     @Override
@@ -568,18 +663,20 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         }
 
         //Redraw replacement rows
+        renderedRows = calculateRenderedRows();
         for ( int iRow = startRedrawIndex; iRow <= endRedrawIndex; iRow++ ) {
-
-            DynamicDataRow rowData = data.get( iRow );
-
-            TableRowElement tre = Document.get().createTRElement();
-            populateTableRowElement( tre,
-                                     rowData );
+            TableRowElement tre = makeTableRowElement( iRow );
             tbody.replaceChild( tre,
                                 tbody.getChild( iRow ) );
         }
 
         fixRowStyles( startRedrawIndex );
+
+        //Rows could have moved into or out of the window
+        if ( isWindowed ) {
+            assertRowElements( 0,
+                               data.size() - 1 );
+        }
     }
 
     @Override
@@ -592,6 +689,13 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         }
         tbody.deleteRow( index );
         fixRowStyles( index );
+
+        //Rows could have moved into or out of the window
+        if ( isWindowed ) {
+            renderedRows = calculateRenderedRows();
+            assertRowElements( 0,
+                               data.size() - 1 );
+        }
     }
 
     @Override
@@ -602,6 +706,9 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         }
 
         Coordinate hc = cell.getHtmlCoordinate();
+        if ( !isRowRendered( hc.getRow() ) ) {
+            return;
+        }
         TableRowElement tre = tbody.getRows().getItem( hc.getRow() )
                 .<TableRowElement>cast();
         TableCellElement tce = tre.getCells().getItem( hc.getCol() )
@@ -640,7 +747,7 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
             DynamicDataRow rowData = data.get( iRow );
             CellValue<? extends Comparable<?>> cell = rowData.get( index );
 
-            if ( cell.getRowSpan() > 0 ) {
+            if ( cell.getRowSpan() > 0 && isRowRendered( iRow ) ) {
                 Coordinate hc = cell.getHtmlCoordinate();
                 TableRowElement tre = tbody.getRows().getItem( hc.getRow() );
                 TableCellElement tce = tre.getCells().getItem( hc.getCol() );
@@ -656,6 +763,9 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         }
 
         Coordinate hc = cell.getHtmlCoordinate();
+        if ( !isRowRendered( hc.getRow() ) ) {
+            return;
+        }
         TableRowElement tre = tbody.getRows().getItem( hc.getRow() )
                 .<TableRowElement>cast();
         TableCellElement tce = tre.getCells().getItem( hc.getCol() )
@@ -682,6 +792,9 @@ public abstract class AbstractVerticalMergableGridWidget<M, T> extends AbstractM
         }
 
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
+            if ( !isRowRendered( iRow ) ) {
+                continue;
+            }
             DynamicDataRow rowData = data.get( iRow );
             TableCellElement tce = makeTableCellElement( index,
                                                          rowData );
@@ -94,7 +94,18 @@ public class DynamicData
         visibleColumns.add( index,
                             isVisible );
 
-        assertModelMerging();
+        //Only the new column needs merging, but every cell to its right has a new coordinate
+        if ( data.size() == 0 ) {
+            return;
+        }
+        if ( isMerged ) {
+            assertColumnMerging( index,
+                                 0,
+                                 data.size() - 1 );
+        } else {
+            resetColumnMerging( index );
+        }
+        assertModelIndexes( 0 );
     }
 
     /**
@@ -111,7 +122,9 @@ public class DynamicData
         }
         visibleColumns.add( targetColumnIndex,
                             visibleColumns.remove( sourceColumnIndex ) );
-        assertModelMerging();
+
+        //Merging is per column so it moves with the cells; only indexes change
+        assertModelIndexes( 0 );
     }
 
     /**
@@ -136,7 +149,7 @@ public class DynamicData
         data.add( index,
                   rowData );
 
-        assertModelMerging();
+        assertRowMerging( index );
     }
 
     /**
@@ -200,12 +213,14 @@ public class DynamicData
             row.remove( index );
         }
         visibleColumns.remove( index );
-        assertModelMerging();
+
+        //Merging is per column so the remaining columns are not affected; only indexes change
+        assertModelIndexes( 0 );
     }
 
     public DynamicDataRow deleteRow( int index ) {
         DynamicDataRow row = data.remove( index );
-        assertModelMerging();
+        assertRowMerging( index );
         return row;
     }
 
@@ -297,7 +312,7 @@ public class DynamicData
         //Delete "grouped" row and replace with individual rows
         List<DynamicDataRow> expandedRow = expandGroupedRow( row,
                                                              bRecursive );
-        deleteRow( startRowIndex );
+        data.remove( startRowIndex );
         data.addAll( startRowIndex,
                      expandedRow );
 
@@ -335,7 +350,15 @@ public class DynamicData
             throw new IllegalArgumentException( "c cannot be null" );
         }
         data.get( c.getRow() ).get( c.getCol() ).setValue( value );
-        assertModelMerging();
+
+        //Changing a value can only affect merging of the runs of cells adjacent to it in the same column
+        if ( isMerged ) {
+            final int[] range = assertColumnMerging( c.getCol(),
+                                                     c.getRow(),
+                                                     c.getRow() );
+            assertModelIndexes( range[ 0 ],
+                                range[ 1 ] );
+        }
     }
 
     /**
@@ -463,54 +486,231 @@ public class DynamicData
         }
 
         for ( int iRow = 0; iRow < data.size(); iRow++ ) {
-            DynamicDataRow row = data.get( iRow );
+            assertRowIndexes( iRow );
+        }
+    }
 
-            int colCount = 0;
-            for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+    //Re-index all rows from the given one, resetting coordinates as a full re-merge would
+    private void assertModelIndexes( int minRowIndex ) {
+        for ( int iRow = Math.max( minRowIndex,
+                                   0 ); iRow < data.size(); iRow++ ) {
+            resetRowIndexes( iRow );
+            assertRowIndexes( iRow );
+        }
+    }
 
-                int newRow = iRow;
-                int newCol = colCount;
-                CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
-                indexCell.setCoordinate( new Coordinate( iRow,
-                                                         iCol ) );
+    //Re-index the given range of rows. Subsequent rows are only re-indexed while HTML coordinates keep
+    //changing, as hidden or merged cells take their HTML coordinate from the row above.
+    private void assertModelIndexes( int minRowIndex,
+                                     int maxRowIndex ) {
+        for ( int iRow = minRowIndex; iRow < data.size(); iRow++ ) {
+            final DynamicDataRow row = data.get( iRow );
+            final List<Coordinate> htmlCoordinates = new ArrayList<Coordinate>( row.size() );
+            for ( CellValue<? extends Comparable<?>> cell : row ) {
+                htmlCoordinates.add( cell.getHtmlCoordinate() );
+            }
 
-                // Don't index hidden columns; indexing is used to
-                // map between HTML elements and the data behind
-                if ( visibleColumns.get( iCol ) ) {
+            resetRowIndexes( iRow );
+            assertRowIndexes( iRow );
 
-                    if ( indexCell.getRowSpan() != 0 ) {
-                        newRow = iRow;
-                        newCol = colCount++;
+            if ( iRow >= maxRowIndex ) {
+                boolean isChanged = false;
+                for ( int iCol = 0; iCol < row.size() && !isChanged; iCol++ ) {
+                    isChanged = !row.get( iCol ).getHtmlCoordinate().equals( htmlCoordinates.get( iCol ) );
+                }
+                if ( !isChanged ) {
+                    return;
+                }
+            }
+        }
+    }
 
-                        CellValue<? extends Comparable<?>> cell = data.get( newRow ).get( newCol );
-                        cell.setPhysicalCoordinate( new Coordinate( iRow,
-                                                                    iCol ) );
+    private void resetRowIndexes( int iRow ) {
+        final DynamicDataRow row = data.get( iRow );
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            Coordinate c = new Coordinate( iRow,
+                                           iCol );
+            CellValue<?> cell = row.get( iCol );
+            cell.setCoordinate( c );
+            cell.setHtmlCoordinate( c );
+            cell.setPhysicalCoordinate( c );
+        }
+
+        //A full re-merge indexes the unmerged model first, so physical coordinates not
+        //overwritten by indexing the merged model are those of the unmerged model
+        int colCount = 0;
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+            if ( visibleColumns.get( iCol ) ) {
+                row.get( colCount++ ).setPhysicalCoordinate( new Coordinate( iRow,
+                                                                             iCol ) );
+            }
+        }
+    }
+
+    private void assertRowIndexes( int iRow ) {
+        DynamicDataRow row = data.get( iRow );
+
+        int colCount = 0;
+        for ( int iCol = 0; iCol < row.size(); iCol++ ) {
+
+            int newRow = iRow;
+            int newCol = colCount;
+            CellValue<? extends Comparable<?>> indexCell = row.get( iCol );
+            indexCell.setCoordinate( new Coordinate( iRow,
+                                                     iCol ) );
+
+            // Don't index hidden columns; indexing is used to
+            // map between HTML elements and the data behind
+            if ( visibleColumns.get( iCol ) ) {
+
+                if ( indexCell.getRowSpan() != 0 ) {
+                    newRow = iRow;
+                    newCol = colCount++;
+
+                    CellValue<? extends Comparable<?>> cell = data.get( newRow ).get( newCol );
+                    cell.setPhysicalCoordinate( new Coordinate( iRow,
+                                                                iCol ) );
 
-                    } else {
-                        DynamicDataRow priorRow = data.get( iRow - 1 );
-                        CellValue<? extends Comparable<?>> priorCell = priorRow.get( iCol );
-                        Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
-                        newRow = priorHtmlCoordinate.getRow();
-                        newCol = priorHtmlCoordinate.getCol();
-                    }
                 } else {
-                    final int priorColIndex = ( iCol > 0 ? iCol - 1 : 0 );
-                    CellValue<? extends Comparable<?>> priorCell = row.get( priorColIndex );
+                    DynamicDataRow priorRow = data.get( iRow - 1 );
+                    CellValue<? extends Comparable<?>> priorCell = priorRow.get( iCol );
                     Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
                     newRow = priorHtmlCoordinate.getRow();
                     newCol = priorHtmlCoordinate.getCol();
                 }
-                indexCell.setHtmlCoordinate( new Coordinate( newRow,
-                                                             newCol ) );
+            } else {
+                final int priorColIndex = ( iCol > 0 ? iCol - 1 : 0 );
+                CellValue<? extends Comparable<?>> priorCell = row.get( priorColIndex );
+                Coordinate priorHtmlCoordinate = priorCell.getHtmlCoordinate();
+                newRow = priorHtmlCoordinate.getRow();
+                newCol = priorHtmlCoordinate.getCol();
+            }
+            indexCell.setHtmlCoordinate( new Coordinate( newRow,
+                                                         newCol ) );
+        }
+    }
+
+    //Re-merge and re-index the rows around a row that has been inserted or deleted at the given index
+    private void assertRowMerging( int index ) {
+
+        if ( data.size() == 0 ) {
+            return;
+        }
+
+        int minRowIndex = index;
+        if ( isMerged ) {
+            final int COLUMNS = data.get( 0 ).size();
+            for ( int iCol = 0; iCol < COLUMNS; iCol++ ) {
+                final int[] range = assertColumnMerging( iCol,
+                                                         index,
+                                                         index );
+                minRowIndex = Math.min( minRowIndex,
+                                        range[ 0 ] );
+            }
+        } else if ( index < data.size() ) {
+            for ( CellValue<?> cell : data.get( index ) ) {
+                cell.setRowSpan( 1 );
+            }
+        }
+
+        //Rows following the insertion or deletion have moved
+        assertModelIndexes( minRowIndex );
+    }
+
+    //Re-merge the runs of cells in a column that could be affected by a change to the given range of rows. The
+    //runs containing the rows immediately above and below the range are included, as the change could join or
+    //split them. Returns the first and last rows whose merging was re-computed.
+    private int[] assertColumnMerging( int iCol,
+                                       int minRowIndex,
+                                       int maxRowIndex ) {
+
+        int startRowIndex = Math.max( minRowIndex - 1,
+                                      0 );
+        while ( startRowIndex > 0 && data.get( startRowIndex ).get( iCol ).getRowSpan() == 0 ) {
+            startRowIndex--;
+        }
+        int endRowIndex = Math.min( maxRowIndex + 1,
+                                    data.size() - 1 );
+        while ( endRowIndex < data.size() - 1 && data.get( endRowIndex + 1 ).get( iCol ).getRowSpan() == 0 ) {
+            endRowIndex++;
+        }
+
+        int headRowIndex = startRowIndex;
+        CellValue<?> cell1 = data.get( headRowIndex ).get( iCol );
+        for ( int iRow = startRowIndex + 1; iRow <= endRowIndex; iRow++ ) {
+            CellValue<?> cell2 = data.get( iRow ).get( iCol );
+            if ( isSplit( cell1,
+                          cell2 ) ) {
+                mergeRows( iCol,
+                           headRowIndex,
+                           iRow );
+                headRowIndex = iRow;
+                cell1 = cell2;
+            }
+        }
+        mergeRows( iCol,
+                   headRowIndex,
+                   endRowIndex + 1 );
+
+        return new int[]{ startRowIndex, endRowIndex };
+    }
+
+    //Clear merging of a column
+    private void resetColumnMerging( int iCol ) {
+        for ( DynamicDataRow row : data ) {
+            row.get( iCol ).setRowSpan( 1 );
+        }
+    }
+
+    //Merge the cells of a column between the start row (inclusive) and the end row (exclusive)
+    private void mergeRows( int iCol,
+                            int iStartRowIndex,
+                            int iEndRowIndex ) {
+        for ( int iRow = iStartRowIndex; iRow < iEndRowIndex; iRow++ ) {
+            data.get( iRow ).get( iCol ).setRowSpan( 0 );
+        }
+        data.get( iStartRowIndex ).get( iCol ).setRowSpan( iEndRowIndex - iStartRowIndex );
+    }
+
+    //Check whether a cell starts a new run of merged cells, given the first cell of the current run
+    @SuppressWarnings("rawtypes")
+    private boolean isSplit( CellValue<?> cell1,
+                             CellValue<?> cell2 ) {
+        boolean bSplit = true;
+        if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
+            if ( cell1.getValue().equals( cell2.getValue() ) ) {
+                bSplit = false;
+                if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+                if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                    bSplit = true;
+                }
+            }
+        } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
+            bSplit = false;
+            if ( cell1 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
+            }
+            if ( cell2 instanceof CellValue.GroupedCellValue ) {
+                CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
+                if ( gcv.hasMultipleValues() ) {
+                    bSplit = true;
+                }
             }
         }
+        return bSplit;
     }
 
     /**
      * Ensure merging and indexing is reflected in the entire model. This should
      * be called whenever any changes are made to the underlying data externally
      * to the add/remove methods provided publicly herein, such as bulk move
-     * operations.
+     * operations. The add/remove/set methods themselves only re-merge and
+     * re-index the rows and columns they affect.
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public void assertModelMerging() {
@@ -553,32 +753,8 @@ public class DynamicData
                     cell2 = data.get( iRow ).get( iCol );
 
                     //Merge if both cells contain the same value and neither is grouped
-                    boolean bSplit = true;
-                    if ( !cell1.isEmpty() && !cell2.isEmpty() ) {
-                        if ( cell1.getValue().equals( cell2.getValue() ) ) {
-                            bSplit = false;
-                            if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                            if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                                bSplit = true;
-                            }
-                        }
-                    } else if ( cell1.isOtherwise() && cell2.isOtherwise() ) {
-                        bSplit = false;
-                        if ( cell1 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell1;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                        if ( cell2 instanceof CellValue.GroupedCellValue ) {
-                            CellValue.GroupedCellValue gcv = (CellValue.GroupedCellValue) cell2;
-                            if ( gcv.hasMultipleValues() ) {
-                                bSplit = true;
-                            }
-                        }
-                    }
+                    boolean bSplit = isSplit( cell1,
+                                              cell2 );
 
                     if ( bSplit ) {
                         mergeCells( cell1,
@@ -687,7 +863,7 @@ public class DynamicData
             if ( row instanceof GroupedDynamicDataRow ) {
                 List<DynamicDataRow> expandedRow = expandGroupedRow( row,
                                                                      true );
-                deleteRow( iRow );
+                data.remove( iRow );
                 data.addAll( iRow,
                              expandedRow );
                 iRow = iRow + expandedRow.size() - 1;
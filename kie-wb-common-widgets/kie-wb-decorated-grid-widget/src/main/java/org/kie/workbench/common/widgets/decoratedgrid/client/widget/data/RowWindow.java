@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.client.widget.data;
+
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+
+/**
+ * A contiguous range of rows that need to be rendered for a given scroll
+ * position and viewport height when a grid is rendered in "windowed" mode.
+ * The range includes a buffer of rows either side of the viewport and is
+ * widened so that it never starts or ends part way through a merged cell;
+ * i.e. every cell spanning rows is either wholly inside or wholly outside
+ * of the window.
+ */
+public class RowWindow {
+
+    /**
+     * An empty window, used when there are no rows
+     */
+    public static final RowWindow EMPTY = new RowWindow( 0,
+                                                         -1 );
+
+    private final int firstRow;
+    private final int lastRow;
+
+    public RowWindow( int firstRow,
+                      int lastRow ) {
+        this.firstRow = firstRow;
+        this.lastRow = lastRow;
+    }
+
+    /**
+     * Calculate the rows to render
+     * @param data The data being rendered
+     * @param scrollOffset The vertical scroll position, in pixels
+     * @param viewportHeight The height of the visible area, in pixels
+     * @param rowHeight The height of a single row, in pixels
+     * @param bufferRows The number of additional rows to render above and
+     * below the visible area
+     * @return
+     */
+    public static RowWindow calculate( DynamicData data,
+                                       int scrollOffset,
+                                       int viewportHeight,
+                                       int rowHeight,
+                                       int bufferRows ) {
+        if ( data == null ) {
+            throw new IllegalArgumentException( "data cannot be null" );
+        }
+        if ( scrollOffset < 0 ) {
+            throw new IllegalArgumentException( "scrollOffset cannot be less than zero" );
+        }
+        if ( viewportHeight < 0 ) {
+            throw new IllegalArgumentException( "viewportHeight cannot be less than zero" );
+        }
+        if ( rowHeight <= 0 ) {
+            throw new IllegalArgumentException( "rowHeight must be greater than zero" );
+        }
+        if ( bufferRows < 0 ) {
+            throw new IllegalArgumentException( "bufferRows cannot be less than zero" );
+        }
+        if ( data.size() == 0 ) {
+            return EMPTY;
+        }
+
+        final int maxRow = data.size() - 1;
+        int firstRow = Math.min( scrollOffset / rowHeight,
+                                 maxRow );
+        int lastRow = ( scrollOffset + viewportHeight ) / rowHeight;
+        firstRow = Math.max( firstRow - bufferRows,
+                             0 );
+        lastRow = Math.min( lastRow + bufferRows,
+                            maxRow );
+
+        //Move the start up to the top of any merged cell it falls within
+        while ( firstRow > 0 && isMergedWithRowAbove( data.get( firstRow ) ) ) {
+            firstRow--;
+        }
+
+        //Extend the end to the bottom of any merged cell starting within the window
+        for ( int iRow = firstRow; iRow <= lastRow; iRow++ ) {
+            for ( CellValue<? extends Comparable<?>> cell : data.get( iRow ) ) {
+                final int rowSpan = cell.getRowSpan();
+                if ( rowSpan > 1 ) {
+                    lastRow = Math.max( lastRow,
+                                        Math.min( iRow + rowSpan - 1,
+                                                  maxRow ) );
+                }
+            }
+        }
+
+        return new RowWindow( firstRow,
+                              lastRow );
+    }
+
+    private static boolean isMergedWithRowAbove( DynamicDataRow row ) {
+        for ( CellValue<? extends Comparable<?>> cell : row ) {
+            if ( cell.getRowSpan() == 0 ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getFirstRow() {
+        return firstRow;
+    }
+
+    public int getLastRow() {
+        return lastRow;
+    }
+
+    public boolean isEmpty() {
+        return lastRow < firstRow;
+    }
+
+    public boolean contains( int iRow ) {
+        return iRow >= firstRow && iRow <= lastRow;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        if ( this == o ) {
+            return true;
+        }
+        if ( !( o instanceof RowWindow ) ) {
+            return false;
+        }
+        RowWindow that = (RowWindow) o;
+        return firstRow == that.firstRow && lastRow == that.lastRow;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * firstRow + lastRow;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + firstRow + "," + lastRow + ")";
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.Coordinate;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that merging and indexing maintained by DynamicData's mutators matches a full re-computation
+ */
+public class DynamicDataTestsWithLocalisedMerging {
+
+    private static final String[] VALUES = new String[]{ "a", "b", "c", "" };
+
+    private static final int OPERATIONS = 300;
+
+    @Test
+    public void testRandomEditsMerged() {
+        for ( long seed = 0; seed < 20; seed++ ) {
+            assertRandomEdits( new Random( seed ),
+                               true );
+        }
+    }
+
+    @Test
+    public void testRandomEditsNotMerged() {
+        for ( long seed = 0; seed < 5; seed++ ) {
+            assertRandomEdits( new Random( seed ),
+                               false );
+        }
+    }
+
+    private void assertRandomEdits( final Random random,
+                                    final boolean isMerged ) {
+        final DynamicData data = new DynamicData();
+        final int columns = 4;
+        for ( int iCol = 0; iCol < columns; iCol++ ) {
+            data.addColumn( iCol,
+                            new ArrayList<CellValue<? extends Comparable<?>>>(),
+                            true );
+        }
+        for ( int iRow = 0; iRow < 20; iRow++ ) {
+            data.addRow( makeRow( random,
+                                  columns ) );
+        }
+        data.setMerged( isMerged );
+
+        int numberOfColumns = columns;
+        for ( int i = 0; i < OPERATIONS; i++ ) {
+            final int operation = random.nextInt( 8 );
+            final String description;
+            switch ( operation ) {
+                case 0:
+                    final int insertIndex = random.nextInt( data.size() + 1 );
+                    description = "addRow(" + insertIndex + ")";
+                    data.addRow( insertIndex,
+                                 makeRow( random,
+                                          numberOfColumns ) );
+                    break;
+                case 1:
+                    if ( data.size() < 2 ) {
+                        continue;
+                    }
+                    final int deleteIndex = random.nextInt( data.size() );
+                    description = "deleteRow(" + deleteIndex + ")";
+                    data.deleteRow( deleteIndex );
+                    break;
+                case 2:
+                    final int addColumnIndex = random.nextInt( numberOfColumns + 1 );
+                    description = "addColumn(" + addColumnIndex + ")";
+                    final List<CellValue<? extends Comparable<?>>> columnData = new ArrayList<CellValue<? extends Comparable<?>>>();
+                    for ( int iRow = 0; iRow < data.size(); iRow++ ) {
+                        columnData.add( makeCell( random ) );
+                    }
+                    data.addColumn( addColumnIndex,
+                                    columnData,
+                                    random.nextBoolean() );
+                    numberOfColumns++;
+                    break;
+                case 3:
+                    if ( numberOfColumns < 2 ) {
+                        continue;
+                    }
+                    final int deleteColumnIndex = random.nextInt( numberOfColumns );
+                    description = "deleteColumn(" + deleteColumnIndex + ")";
+                    data.deleteColumn( deleteColumnIndex );
+                    numberOfColumns--;
+                    break;
+                case 4:
+                    final int sourceColumnIndex = random.nextInt( numberOfColumns );
+                    final int targetColumnIndex = random.nextInt( numberOfColumns );
+                    description = "moveColumn(" + sourceColumnIndex + "," + targetColumnIndex + ")";
+                    data.moveColumn( sourceColumnIndex,
+                                     targetColumnIndex );
+                    break;
+                default:
+                    final Coordinate c = new Coordinate( random.nextInt( data.size() ),
+                                                         random.nextInt( numberOfColumns ) );
+                    final String value = VALUES[ random.nextInt( VALUES.length ) ];
+                    description = "set(" + c + "," + value + ")";
+                    data.set( c,
+                              value );
+            }
+
+            final List<String> state = snapshot( data );
+            data.assertModelMerging();
+            assertEquals( "Merging differs from a full re-computation after " + description,
+                          snapshot( data ),
+                          state );
+        }
+    }
+
+    private DynamicDataRow makeRow( final Random random,
+                                    final int columns ) {
+        final DynamicDataRow row = new DynamicDataRow();
+        for ( int iCol = 0; iCol < columns; iCol++ ) {
+            row.add( makeCell( random ) );
+        }
+        return row;
+    }
+
+    private CellValue<String> makeCell( final Random random ) {
+        return new CellValue<String>( VALUES[ random.nextInt( VALUES.length ) ] );
+    }
+
+    private List<String> snapshot( final DynamicData data ) {
+        final List<String> state = new ArrayList<String>();
+        for ( DynamicDataRow row : data ) {
+            for ( CellValue<? extends Comparable<?>> cell : row ) {
+                state.add( cell.getRowSpan() + " " + cell.getCoordinate() + " " + cell.getHtmlCoordinate() + " " + cell.getPhysicalCoordinate() );
+            }
+        }
+        return state;
+    }
+
+}
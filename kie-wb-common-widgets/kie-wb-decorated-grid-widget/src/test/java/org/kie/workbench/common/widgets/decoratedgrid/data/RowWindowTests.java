@@ -0,0 +1,220 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.widgets.decoratedgrid.data;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.CellValue;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicData;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.DynamicDataRow;
+import org.kie.workbench.common.widgets.decoratedgrid.client.widget.data.RowWindow;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the rows rendered by a grid in windowed mode
+ */
+public class RowWindowTests {
+
+    private static final int ROW_HEIGHT = 20;
+
+    @Test
+    public void testWindowAtTop() {
+        final DynamicData data = makeData( 100 );
+
+        assertEquals( new RowWindow( 0,
+                                     7 ),
+                      RowWindow.calculate( data,
+                                           0,
+                                           100,
+                                           ROW_HEIGHT,
+                                           2 ) );
+    }
+
+    @Test
+    public void testWindowScrolled() {
+        final DynamicData data = makeData( 100 );
+
+        //Rows 10 to 15 are (partially) visible
+        final RowWindow window = RowWindow.calculate( data,
+                                                      200,
+                                                      100,
+                                                      ROW_HEIGHT,
+                                                      2 );
+        assertEquals( new RowWindow( 8,
+                                     17 ),
+                      window );
+        assertFalse( window.contains( 7 ) );
+        assertTrue( window.contains( 8 ) );
+        assertTrue( window.contains( 17 ) );
+        assertFalse( window.contains( 18 ) );
+    }
+
+    @Test
+    public void testWindowWithoutBuffer() {
+        final DynamicData data = makeData( 100 );
+
+        assertEquals( new RowWindow( 10,
+                                     14 ),
+                      RowWindow.calculate( data,
+                                           210,
+                                           80,
+                                           ROW_HEIGHT,
+                                           0 ) );
+    }
+
+    @Test
+    public void testWindowAtBottom() {
+        final DynamicData data = makeData( 100 );
+
+        assertEquals( new RowWindow( 93,
+                                     99 ),
+                      RowWindow.calculate( data,
+                                           1900,
+                                           100,
+                                           ROW_HEIGHT,
+                                           2 ) );
+    }
+
+    @Test
+    public void testWindowScrolledBeyondData() {
+        final DynamicData data = makeData( 10 );
+
+        assertEquals( new RowWindow( 7,
+                                     9 ),
+                      RowWindow.calculate( data,
+                                           5000,
+                                           100,
+                                           ROW_HEIGHT,
+                                           2 ) );
+    }
+
+    @Test
+    public void testWindowWithNoRows() {
+        final RowWindow window = RowWindow.calculate( makeData( 0 ),
+                                                      0,
+                                                      100,
+                                                      ROW_HEIGHT,
+                                                      2 );
+        assertTrue( window.isEmpty() );
+        assertFalse( window.contains( 0 ) );
+    }
+
+    @Test
+    public void testWindowStartingWithinMergedCell() {
+        //Rows 5 to 9 are merged in the first column
+        final DynamicData data = makeMergedData( 100,
+                                                 5,
+                                                 9 );
+
+        assertEquals( new RowWindow( 5,
+                                     12 ),
+                      RowWindow.calculate( data,
+                                           140,
+                                           100,
+                                           ROW_HEIGHT,
+                                           0 ) );
+    }
+
+    @Test
+    public void testWindowEndingWithinMergedCell() {
+        //Rows 5 to 9 are merged in the first column
+        final DynamicData data = makeMergedData( 100,
+                                                 5,
+                                                 9 );
+
+        assertEquals( new RowWindow( 1,
+                                     9 ),
+                      RowWindow.calculate( data,
+                                           20,
+                                           100,
+                                           ROW_HEIGHT,
+                                           0 ) );
+    }
+
+    @Test
+    public void testWindowOutsideMergedCell() {
+        //Rows 5 to 9 are merged in the first column
+        final DynamicData data = makeMergedData( 100,
+                                                 5,
+                                                 9 );
+
+        assertEquals( new RowWindow( 50,
+                                     55 ),
+                      RowWindow.calculate( data,
+                                           1000,
+                                           100,
+                                           ROW_HEIGHT,
+                                           0 ) );
+    }
+
+    @Test
+    public void testWindowWithMergingDisabled() {
+        //Rows 5 to 9 have the same value in the first column but are not merged
+        final DynamicData data = makeMergedData( 100,
+                                                 5,
+                                                 9 );
+        data.setMerged( false );
+
+        assertEquals( new RowWindow( 7,
+                                     12 ),
+                      RowWindow.calculate( data,
+                                           140,
+                                           100,
+                                           ROW_HEIGHT,
+                                           0 ) );
+    }
+
+    private DynamicData makeData( final int rows ) {
+        final DynamicData data = new DynamicData();
+        data.addColumn( 0,
+                        new ArrayList<CellValue<? extends Comparable<?>>>(),
+                        true );
+        data.addColumn( 1,
+                        new ArrayList<CellValue<? extends Comparable<?>>>(),
+                        true );
+        for ( int iRow = 0; iRow < rows; iRow++ ) {
+            final DynamicDataRow row = new DynamicDataRow();
+            row.add( new CellValue<Integer>( iRow ) );
+            row.add( new CellValue<Integer>( iRow ) );
+            data.addRow( row );
+        }
+        return data;
+    }
+
+    private DynamicData makeMergedData( final int rows,
+                                        final int firstMergedRow,
+                                        final int lastMergedRow ) {
+        final DynamicData data = new DynamicData();
+        data.addColumn( 0,
+                        new ArrayList<CellValue<? extends Comparable<?>>>(),
+                        true );
+        data.addColumn( 1,
+                        new ArrayList<CellValue<? extends Comparable<?>>>(),
+                        true );
+        for ( int iRow = 0; iRow < rows; iRow++ ) {
+            final DynamicDataRow row = new DynamicDataRow();
+            final boolean isMerged = iRow >= firstMergedRow && iRow <= lastMergedRow;
+            row.add( new CellValue<Integer>( isMerged ? -1 : iRow ) );
+            row.add( new CellValue<Integer>( iRow ) );
+            data.addRow( row );
+        }
+        data.setMerged( true );
+        return data;
+    }
+
+}